@@ -0,0 +1,50 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.PipelineApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arranque de la aplicación completa para los benchmarks.
+ * <p>
+ * Levanta el contexto de Spring con un puerto aleatorio, sin registro de SQL y
+ * cargando el CSV indicado con el modo {@code jdbc}, de modo que las consultas
+ * se miden sobre los mismos componentes que en producción. Las propiedades se
+ * pasan como argumentos de línea de comandos para que tengan precedencia sobre
+ * {@code application.properties}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Arranca la aplicación y carga el CSV.
+     *
+     * @param csv CSV a cargar; {@code null} para arrancar con la tabla vacía.
+     * @param properties Propiedades adicionales con el formato
+     * {@code nombre=valor}.
+     * @return El contexto iniciado; debe cerrarse al terminar.
+     */
+    static ConfigurableApplicationContext start(Path csv, String... properties) {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--pipeline.loader.mode=jdbc",
+                "--pipeline.loader.csv=" + (csv == null ? "file:target/jmh-data/sin-datos.csv" : csv.toUri())));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(PipelineApplication.class).run(args.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,89 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.LoadResult;
+import com.arkondata.pruebatecnica.pipeline.ingest.ParallelCsvIngester;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointBatchLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de un CSV completo en la tabla {@code wifi_access_points} de H2.
+ * <p>
+ * Cada medición parte de la tabla vacía y carga el archivo con el cargador
+ * por lotes JDBC ({@code jdbc}) o con el análisis en paralelo sobre el archivo
+ * mapeado en memoria ({@code parallel}), los mismos componentes de los modos
+ * de carga inicial.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CsvLoadBenchmark {
+
+    @Param({"33516", "1000000"})
+    public int rows;
+
+    @Param({"jdbc", "parallel"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private WifiAccessPointBatchLoader batchLoader;
+    private ParallelCsvIngester parallelIngester;
+    private Path csv;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        csv = SyntheticDataset.csv(rows);
+        context = BenchmarkApplication.start(null);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        batchLoader = context.getBean(WifiAccessPointBatchLoader.class);
+        parallelIngester = context.getBean(ParallelCsvIngester.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE wifi_access_points RESTART IDENTITY");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoadResult load() throws IOException, SQLException {
+        if ("parallel".equals(mode)) {
+            return parallelIngester.load(csv);
+        }
+        try (InputStream in = Files.newInputStream(csv)) {
+            return batchLoader.load(in);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas puntuales del servicio: por colonia, por ID y los {@code k} más
+ * cercanos, para varios tamaños del conjunto y motores de proximidad.
+ * <p>
+ * La caché se desactiva ({@code spring.cache.type=none}) para medir la
+ * consulta y no el acierto en Caffeine. Las colonias, los IDs y los orígenes
+ * se eligen de forma determinista del propio conjunto y se recorren en orden.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class LookupBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"33516", "1000000"})
+    public int rows;
+
+    @Param({"memory", "database"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private IWifiAccessPointService service;
+    private String[] colonias;
+    private long[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void start() throws IOException {
+        context = BenchmarkApplication.start(SyntheticDataset.csv(rows),
+                "pipeline.proximity.engine=" + engine, "spring.cache.type=none");
+        service = context.getBean(IWifiAccessPointService.class);
+        List<WifiAccessPointDto> points = context.getBean(WifiAccessPointDataset.class).current().all();
+        SplittableRandom random = new SplittableRandom(42);
+        Set<String> names = new LinkedHashSet<>();
+        ids = new long[SAMPLES];
+        latitudes = new double[SAMPLES];
+        longitudes = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            WifiAccessPointDto point;
+            do {
+                point = points.get(random.nextInt(points.size()));
+            } while (point.getLatitud() == null || point.getLongitud() == null || point.getColonia() == null);
+            names.add(point.getColonia());
+            ids[i] = point.getId();
+            latitudes[i] = point.getLatitud();
+            longitudes[i] = point.getLongitud();
+        }
+        List<String> sampled = new ArrayList<>(names);
+        colonias = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            colonias[i] = sampled.get(i % sampled.size());
+        }
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<WifiAccessPointDto> findByColonia() {
+        return service.findByColonia(colonias[next++ & (SAMPLES - 1)], FIRST_PAGE);
+    }
+
+    @Benchmark
+    public WifiAccessPointDto findById() {
+        return service.findById(ids[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public List<WifiAccessPointDistance> findNearest() {
+        int sample = next++ & (SAMPLES - 1);
+        return service.findNearest(latitudes[sample], longitudes[sample], 10);
+    }
+}
@@ -0,0 +1,96 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por proximidad con {@link IWifiAccessPointService#findByProximity}
+ * para varios radios, tamaños del conjunto y motores de búsqueda.
+ * <p>
+ * Los orígenes son {@value #ORIGINS} puntos del propio conjunto, elegidos de
+ * forma determinista y recorridos en orden, para medir zonas densas y
+ * dispersas en vez de repetir una sola consulta. Se pide la primera página de
+ * 20 resultados con el total.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProximityBenchmark {
+
+    private static final int ORIGINS = 256;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"33516", "1000000"})
+    public int rows;
+
+    @Param({"memory", "database"})
+    public String engine;
+
+    @Param({"0.5", "1", "5"})
+    public double radius;
+
+    private ConfigurableApplicationContext context;
+    private IWifiAccessPointService service;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void start() throws IOException {
+        context = BenchmarkApplication.start(SyntheticDataset.csv(rows), "pipeline.proximity.engine=" + engine);
+        service = context.getBean(IWifiAccessPointService.class);
+        List<WifiAccessPointDto> points = context.getBean(WifiAccessPointDataset.class).current().all();
+        SplittableRandom random = new SplittableRandom(42);
+        latitudes = new double[ORIGINS];
+        longitudes = new double[ORIGINS];
+        for (int i = 0; i < ORIGINS; i++) {
+            WifiAccessPointDto point;
+            do {
+                point = points.get(random.nextInt(points.size()));
+            } while (point.getLatitud() == null || point.getLongitud() == null);
+            latitudes[i] = point.getLatitud();
+            longitudes[i] = point.getLongitud();
+        }
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<WifiAccessPointDto> findByProximity() {
+        int origin = next++ & (ORIGINS - 1);
+        return service.findByProximity(latitudes[origin], longitudes[origin], radius, FIRST_PAGE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización con Jackson de un {@code Page<WifiAccessPointDto>}, tal como la
+ * escribe el controlador.
+ * <p>
+ * Usa el {@link ObjectMapper} configurado por Spring Boot y una página del
+ * conjunto publicado leída una sola vez al iniciar.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SerializationBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private Page<WifiAccessPointDto> page;
+
+    @Setup
+    public void start() throws IOException {
+        context = BenchmarkApplication.start(SyntheticDataset.csv(SyntheticDataset.BUNDLED_ROWS));
+        objectMapper = context.getBean(ObjectMapper.class);
+        page = context.getBean(IWifiAccessPointService.class).findAll(PageRequest.of(0, pageSize));
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,75 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.config.SqlScriptGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación del script SQL a partir del CSV con
+ * {@link SqlScriptGenerator#generateSqlScript}.
+ * <p>
+ * El CSV se lee de memoria y el script se descarta mientras se cuentan sus
+ * bytes, por lo que se mide sólo el análisis y el formato.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SqlScriptGeneratorBenchmark {
+
+    @Param({"33516", "1000000"})
+    public int rows;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = Files.readAllBytes(SyntheticDataset.csv(rows));
+    }
+
+    @Benchmark
+    public long generateSqlScript() {
+        CountingOutputStream sql = new CountingOutputStream();
+        SqlScriptGenerator.generateSqlScript(new ByteArrayInputStream(csv), sql);
+        return sql.count;
+    }
+
+    /**
+     * Salida que sólo cuenta los bytes escritos.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
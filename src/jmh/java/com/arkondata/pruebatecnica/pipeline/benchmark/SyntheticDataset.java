@@ -0,0 +1,159 @@
+package com.arkondata.pruebatecnica.pipeline.benchmark;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.CsvTokenizer;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointCsv;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de conjuntos de datos sintéticos a partir del CSV de la CDMX.
+ * <p>
+ * Escala el conjunto publicado al número de filas pedido repitiéndolo: la
+ * primera copia es idéntica al original y las siguientes desplazan cada punto
+ * hasta ±{@value #JITTER_DEGREES}° (unos 200 m) y agregan un sufijo al
+ * {@code idgob}, de modo que se conservan la densidad por zona y la
+ * distribución de colonias y alcaldías. La generación es determinista: el
+ * mismo número de filas produce siempre el mismo archivo.
+ * </p>
+ * <p>
+ * Los archivos se guardan en {@code target/jmh-data} y se reutilizan entre
+ * ejecuciones. También puede usarse desde la línea de comandos:
+ * {@code SyntheticDataset <filas> <archivo de salida>}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class SyntheticDataset {
+
+    /**
+     * Número de filas del CSV publicado.
+     */
+    public static final int BUNDLED_ROWS = 33516;
+
+    private static final String SOURCE = "data/2024-01-18-puntos_de_acceso_wifi.csv";
+
+    private static final double JITTER_DEGREES = 0.002;
+
+    private static final Path DIRECTORY = Paths.get("target", "jmh-data");
+
+    private SyntheticDataset() {
+    }
+
+    /**
+     * Devuelve un CSV con el número de filas pedido, generándolo si aún no
+     * existe.
+     *
+     * @param rows Número de filas de datos, sin contar la cabecera.
+     * @return La ruta del archivo.
+     * @throws IOException Si ocurre un error al leer el original o al
+     * escribir el archivo.
+     */
+    public static synchronized Path csv(int rows) throws IOException {
+        Path file = DIRECTORY.resolve("wifi_access_points-" + rows + ".csv").toAbsolutePath();
+        if (!Files.exists(file)) {
+            Files.createDirectories(DIRECTORY);
+            Path temporary = Files.createTempFile(DIRECTORY, "wifi_access_points-", ".tmp");
+            write(rows, temporary);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return file;
+    }
+
+    /**
+     * Escribe un CSV sintético con el número de filas pedido.
+     *
+     * @param rows Número de filas de datos, sin contar la cabecera.
+     * @param output Archivo de salida.
+     * @throws IOException Si ocurre un error al leer el original o al
+     * escribir el archivo.
+     */
+    public static void write(int rows, Path output) throws IOException {
+        List<String[]> source = readSource();
+        SplittableRandom random = new SplittableRandom(rows);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("id,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n");
+            for (int row = 0; row < rows; row++) {
+                String[] fields = source.get(row % source.size());
+                int copy = row / source.size();
+                writeField(out, copy == 0 ? fields[WifiAccessPointCsv.IDGOB] : fields[WifiAccessPointCsv.IDGOB] + "-S" + copy);
+                out.write(',');
+                writeField(out, fields[WifiAccessPointCsv.PROGRAMA]);
+                out.write(',');
+                writeField(out, fields[WifiAccessPointCsv.FECHA_INSTALACION]);
+                out.write(',');
+                out.write(coordinate(fields[WifiAccessPointCsv.LATITUD], copy, random));
+                out.write(',');
+                out.write(coordinate(fields[WifiAccessPointCsv.LONGITUD], copy, random));
+                out.write(',');
+                writeField(out, fields[WifiAccessPointCsv.COLONIA]);
+                out.write(',');
+                writeField(out, fields[WifiAccessPointCsv.ALCALDIA]);
+                out.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Punto de entrada para generar un archivo desde la línea de comandos.
+     *
+     * @param args Número de filas y archivo de salida.
+     * @throws IOException Si ocurre un error al generar el archivo.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: SyntheticDataset <filas> <archivo de salida>");
+        }
+        write(Integer.parseInt(args[0]), Paths.get(args[1]));
+    }
+
+    private static List<String[]> readSource() throws IOException {
+        List<String[]> rows = new ArrayList<>(BUNDLED_ROWS);
+        try (InputStream in = new ClassPathResource(SOURCE).getInputStream();
+                CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            tokenizer.next(); // Omitir la cabecera del archivo CSV.
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() >= WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    rows.add(tokenizer.copyFields());
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String coordinate(String raw, int copy, SplittableRandom random) {
+        Double value = WifiAccessPointCsv.number(raw);
+        if (value == null) {
+            return "";
+        }
+        if (copy == 0) {
+            return raw.trim();
+        }
+        return String.format(Locale.ROOT, "%.8f", value + (random.nextDouble() * 2 - 1) * JITTER_DEGREES);
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,158 @@
+package com.arkondata.pruebatecnica.pipeline.coalescing;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comparte una sola ejecución entre las consultas idénticas y simultáneas de
+ * {@link com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService}
+ * por proximidad y por colonia.
+ * <p>
+ * Cuando un evento concentra el tráfico en una zona llegan muchas peticiones
+ * iguales en pocos milisegundos; con este aspecto sólo la primera consulta
+ * se ejecuta y las demás reciben su resultado mediante un
+ * {@link SingleFlight} por método. La llave incluye la versión vigente del
+ * conjunto de datos y los argumentos del método, con la latitud y la longitud
+ * redondeadas a {@code pipeline.coalescing.coordinate-precision} grados y la
+ * colonia normalizada con {@link NameFolding}: dos consultas con coordenadas
+ * dentro de la misma celda pueden recibir el resultado calculado para
+ * cualquiera de ellas.
+ * </p>
+ * <p>
+ * El aspecto se aplica antes que la caché y que la medición de los métodos,
+ * así que las llamadas que esperan no consultan la caché ni cuentan en
+ * {@code wifi.service}. Por cada método se publican:
+ * </p>
+ * <ul>
+ * <li>{@code wifi.coalescing.calls}: llamadas con {@code role=executed}, que
+ * ejecutaron la consulta, o {@code role=joined}, que compartieron una en
+ * curso; la tasa de agrupamiento es {@code joined / (executed + joined)}.</li>
+ * <li>{@code wifi.coalescing.waiting}: llamadas esperando en este
+ * momento.</li>
+ * </ul>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "pipeline.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCoalescingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final WifiAccessPointDataset dataset;
+
+    private final double coordinatePrecision;
+
+    private final Map<String, SingleFlight<List<Object>, Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inyecta el registro de métricas, el conjunto de datos y
+     * la precisión de las coordenadas.
+     *
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param dataset Conjunto de datos, para distinguir las versiones.
+     * @param coordinatePrecision Tamaño en grados de la celda en que se
+     * redondean las coordenadas de la llave.
+     */
+    @Autowired
+    public QueryCoalescingAspect(MeterRegistry meterRegistry, WifiAccessPointDataset dataset,
+            @Value("${pipeline.coalescing.coordinate-precision:0.00001}") double coordinatePrecision) {
+        if (!(coordinatePrecision > 0)) {
+            throw new IllegalArgumentException("La precisión de las coordenadas debe ser positiva: " + coordinatePrecision);
+        }
+        this.meterRegistry = meterRegistry;
+        this.dataset = dataset;
+        this.coordinatePrecision = coordinatePrecision;
+    }
+
+    /**
+     * Agrupa las búsquedas por proximidad con la misma celda, distancia y
+     * paginación.
+     *
+     * @param joinPoint Método del servicio invocado.
+     * @return El resultado de la consulta, propio o compartido.
+     * @throws Throwable La excepción de la consulta, propia o compartida.
+     */
+    @Around("execution(* com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService.findByProximity(..))"
+            + " || execution(* com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService.findSliceByProximity(..))")
+    public Object coalesceProximity(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs().clone();
+        args[0] = quantize((Double) args[0]);
+        args[1] = quantize((Double) args[1]);
+        return coalesce(joinPoint, args);
+    }
+
+    /**
+     * Agrupa las búsquedas por colonia con el mismo nombre normalizado y
+     * paginación.
+     *
+     * @param joinPoint Método del servicio invocado.
+     * @return El resultado de la consulta, propio o compartido.
+     * @throws Throwable La excepción de la consulta, propia o compartida.
+     */
+    @Around("execution(* com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService.findByColonia(..))"
+            + " || execution(* com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService.findSliceByColonia(..))")
+    public Object coalesceColonia(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs().clone();
+        args[0] = args[0] == null ? null : NameFolding.fold((String) args[0]);
+        return coalesce(joinPoint, args);
+    }
+
+    /**
+     * Ejecuta la consulta, con sus argumentos originales, o se une a la que
+     * está en curso con la misma llave.
+     */
+    private Object coalesce(ProceedingJoinPoint joinPoint, Object[] keyArgs) throws Throwable {
+        Object[] key = Arrays.copyOf(keyArgs, keyArgs.length + 1);
+        key[keyArgs.length] = dataset.currentNumber();
+        return flight(joinPoint.getSignature().getName()).execute(Arrays.asList(key), joinPoint::proceed);
+    }
+
+    private long quantize(double coordinate) {
+        return Math.round(coordinate / coordinatePrecision);
+    }
+
+    /**
+     * Obtiene el agrupador de un método, registrando sus métricas la primera
+     * vez.
+     */
+    private SingleFlight<List<Object>, Object> flight(String method) {
+        return flights.computeIfAbsent(method, key -> {
+            SingleFlight<List<Object>, Object> flight = new SingleFlight<>();
+            FunctionCounter.builder("wifi.coalescing.calls", flight, SingleFlight::getExecutions)
+                    .description("Llamadas a consultas agrupables, por rol")
+                    .tag("method", key)
+                    .tag("role", "executed")
+                    .register(meterRegistry);
+            FunctionCounter.builder("wifi.coalescing.calls", flight, SingleFlight::getJoins)
+                    .description("Llamadas a consultas agrupables, por rol")
+                    .tag("method", key)
+                    .tag("role", "joined")
+                    .register(meterRegistry);
+            Gauge.builder("wifi.coalescing.waiting", flight, SingleFlight::getWaiting)
+                    .description("Llamadas esperando una consulta en curso")
+                    .tag("method", key)
+                    .register(meterRegistry);
+            return flight;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.arkondata.pruebatecnica.pipeline.coalescing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma llave en una sola ejecución.
+ * <p>
+ * La primera llamada con una llave ejecuta el cálculo; las que llegan mientras
+ * sigue en curso esperan su resultado, o su excepción, en lugar de repetirlo.
+ * Una vez terminado el cálculo la llave se libera, de modo que las llamadas
+ * posteriores calculan de nuevo: esto no es una caché, sólo evita el trabajo
+ * duplicado simultáneo.
+ * </p>
+ *
+ * @param <K> Tipo de la llave; debe implementar {@code equals} y
+ * {@code hashCode}.
+ * @param <V> Tipo del resultado.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * Cálculo que puede lanzar cualquier excepción, como un método
+     * interceptado.
+     *
+     * @param <V> Tipo del resultado.
+     */
+    @FunctionalInterface
+    public interface Call<V> {
+
+        V call() throws Throwable;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder joins = new LongAdder();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Ejecuta un cálculo o se une al que ya está en curso con la misma llave.
+     *
+     * @param key Llave que identifica cálculos equivalentes.
+     * @param call Cálculo a ejecutar si no hay uno en curso.
+     * @return El resultado del cálculo, propio o compartido.
+     * @throws Throwable La excepción del cálculo, propio o compartido.
+     */
+    public V execute(K key, Call<V> call) throws Throwable {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> current = flights.putIfAbsent(key, flight);
+        if (current != null) {
+            joins.increment();
+            waiting.incrementAndGet();
+            try {
+                return current.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        executions.increment();
+        try {
+            V value = call.call();
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Número de cálculos ejecutados.
+     *
+     * @return Las llamadas que no encontraron un cálculo en curso.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Número de llamadas que compartieron un cálculo en curso.
+     *
+     * @return Las llamadas que esperaron el resultado de otra.
+     */
+    public long getJoins() {
+        return joins.sum();
+    }
+
+    /**
+     * Número de llamadas esperando en este momento.
+     *
+     * @return Las llamadas unidas a un cálculo que aún no termina.
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+}
@@ -0,0 +1,248 @@
+package com.arkondata.pruebatecnica.pipeline.codec;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+
+/**
+ * Codificación binaria columnar de resultados de puntos de acceso WiFi.
+ * <p>
+ * Es una alternativa compacta a JSON para clientes móviles: no repite los
+ * nombres de los campos, guarda las coordenadas en ancho fijo y escribe una
+ * sola vez cada valor de {@code programa}, {@code colonia} y {@code alcaldia}
+ * en un diccionario compartido. Todos los enteros son big-endian o varints
+ * LEB128 sin signo; los textos son UTF-8 precedidos de su longitud.
+ * </p>
+ * <pre>
+ * encabezado   "WAPC" · versión (1 byte) · tipo (1 byte) · banderas (1 byte)
+ * metadatos    LIST:   (nada)
+ *              SLICE:  número de página · tamaño · hay siguiente (1 byte) · total + 1 (0 si se omitió)
+ *              CURSOR: cursor siguiente (texto)
+ * filas        n (varint)
+ * diccionario  d (varint) · d textos
+ * columnas     id:                 n varints con la diferencia zigzag respecto al anterior
+ *              idgob:              n textos
+ *              programa:           n índices de diccionario (varint)
+ *              fecha_instalacion:  n textos AAAA-MM-DD
+ *              latitud, longitud:  n doubles IEEE 754 de 8 bytes cada una; NaN es nulo
+ *              colonia, alcaldia:  n índices de diccionario cada una
+ *              distancia:          n doubles, sólo con la bandera {@link #FLAG_DISTANCE}
+ * </pre>
+ * <p>
+ * Un texto es la longitud en bytes más uno como varint seguida de los bytes;
+ * la longitud 0 representa {@code null}. Un índice de diccionario 0 también es
+ * {@code null}; el índice {@code i} se refiere a la entrada {@code i - 1}. Las
+ * coordenadas se conservan sin pérdida.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class WifiAccessPointBinaryEncoder {
+
+    /**
+     * Tipo de contenido del formato binario.
+     */
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.arkondata.wifi-access-points");
+
+    /**
+     * Bytes iniciales de toda respuesta binaria.
+     */
+    public static final byte[] MAGIC = {'W', 'A', 'P', 'C'};
+
+    /**
+     * Versión actual del formato.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Lista simple de resultados.
+     */
+    public static final int KIND_LIST = 0;
+
+    /**
+     * Página o {@link Slice} con su número, tamaño y, si se calculó, el total.
+     */
+    public static final int KIND_SLICE = 1;
+
+    /**
+     * Página de la paginación por cursor.
+     */
+    public static final int KIND_CURSOR = 2;
+
+    /**
+     * Bandera que indica la presencia de la columna de distancia.
+     */
+    public static final int FLAG_DISTANCE = 1;
+
+    private WifiAccessPointBinaryEncoder() {
+    }
+
+    /**
+     * Codifica una lista de puntos de acceso.
+     *
+     * @param points Puntos de acceso a codificar.
+     * @param out Flujo de salida; no se cierra.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public static void writeList(List<WifiAccessPointDto> points, OutputStream out) throws IOException {
+        DataOutputStream data = open(out, KIND_LIST, 0);
+        writeRows(data, points, null);
+    }
+
+    /**
+     * Codifica una lista de puntos de acceso con su distancia al origen.
+     *
+     * @param results Resultados a codificar.
+     * @param out Flujo de salida; no se cierra.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public static void writeDistances(List<WifiAccessPointDistance> results, OutputStream out) throws IOException {
+        List<WifiAccessPointDto> points = new ArrayList<>(results.size());
+        double[] distances = new double[results.size()];
+        for (int i = 0; i < distances.length; i++) {
+            WifiAccessPointDistance result = results.get(i);
+            points.add(result.getAccessPoint());
+            distances[i] = result.getDistance();
+        }
+        DataOutputStream data = open(out, KIND_LIST, FLAG_DISTANCE);
+        writeRows(data, points, distances);
+    }
+
+    /**
+     * Codifica una página; si es un {@link Page}, incluye el total de
+     * resultados.
+     *
+     * @param slice Página a codificar.
+     * @param out Flujo de salida; no se cierra.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public static void writeSlice(Slice<WifiAccessPointDto> slice, OutputStream out) throws IOException {
+        DataOutputStream data = open(out, KIND_SLICE, 0);
+        writeVarLong(data, slice.getNumber());
+        writeVarLong(data, slice.getSize());
+        data.writeBoolean(slice.hasNext());
+        writeVarLong(data, slice instanceof Page ? ((Page<?>) slice).getTotalElements() + 1 : 0);
+        writeRows(data, slice.getContent(), null);
+    }
+
+    /**
+     * Codifica una página de la paginación por cursor.
+     *
+     * @param page Página a codificar.
+     * @param out Flujo de salida; no se cierra.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public static void writeCursorPage(CursorPage<WifiAccessPointDto> page, OutputStream out) throws IOException {
+        DataOutputStream data = open(out, KIND_CURSOR, 0);
+        writeText(data, page.getNext());
+        writeRows(data, page.getContent(), null);
+    }
+
+    private static DataOutputStream open(OutputStream out, int kind, int flags) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 8192));
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte(kind);
+        data.writeByte(flags);
+        return data;
+    }
+
+    private static void writeRows(DataOutputStream data, List<WifiAccessPointDto> points, double[] distances) throws IOException {
+        final int n = points.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] programas = new int[n];
+        int[] colonias = new int[n];
+        int[] alcaldias = new int[n];
+        for (int i = 0; i < n; i++) {
+            WifiAccessPointDto point = points.get(i);
+            programas[i] = intern(point.getPrograma(), dictionary, entries);
+            colonias[i] = intern(point.getColonia(), dictionary, entries);
+            alcaldias[i] = intern(point.getAlcaldia(), dictionary, entries);
+        }
+
+        writeVarLong(data, n);
+        writeVarLong(data, entries.size());
+        for (String entry : entries) {
+            writeText(data, entry);
+        }
+        long previous = 0;
+        for (WifiAccessPointDto point : points) {
+            long id = point.getId() == null ? 0 : point.getId();
+            long delta = id - previous;
+            writeVarLong(data, (delta << 1) ^ (delta >> 63));
+            previous = id;
+        }
+        for (WifiAccessPointDto point : points) {
+            writeText(data, point.getIdgob());
+        }
+        writeIndexes(data, programas);
+        for (WifiAccessPointDto point : points) {
+            writeText(data, point.getFecha_instalacion() == null ? null : point.getFecha_instalacion().toString());
+        }
+        for (WifiAccessPointDto point : points) {
+            data.writeDouble(point.getLatitud() == null ? Double.NaN : point.getLatitud());
+        }
+        for (WifiAccessPointDto point : points) {
+            data.writeDouble(point.getLongitud() == null ? Double.NaN : point.getLongitud());
+        }
+        writeIndexes(data, colonias);
+        writeIndexes(data, alcaldias);
+        if (distances != null) {
+            for (double distance : distances) {
+                data.writeDouble(distance);
+            }
+        }
+        data.flush();
+    }
+
+    private static int intern(String value, Map<String, Integer> dictionary, List<String> entries) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            entries.add(value);
+            index = entries.size();
+            dictionary.put(value, index);
+        }
+        return index;
+    }
+
+    private static void writeIndexes(DataOutputStream data, int[] indexes) throws IOException {
+        for (int index : indexes) {
+            writeVarLong(data, index);
+        }
+    }
+
+    private static void writeText(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(data, bytes.length + 1L);
+        data.write(bytes);
+    }
+
+    private static void writeVarLong(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+}
@@ -0,0 +1,120 @@
+package com.arkondata.pruebatecnica.pipeline.codec;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Convertidor HTTP que escribe los resultados de puntos de acceso WiFi con
+ * {@link WifiAccessPointBinaryEncoder} cuando el cliente solicita
+ * {@link WifiAccessPointBinaryEncoder#MEDIA_TYPE} en la cabecera
+ * {@code Accept}.
+ * <p>
+ * Acepta un punto de acceso, listas de puntos de acceso o de
+ * {@link WifiAccessPointDistance}, páginas ({@link Slice}) y páginas por
+ * cursor ({@link CursorPage}) de puntos de acceso. La decisión se toma con el
+ * tipo genérico declarado en el controlador, por lo que una lista vacía
+ * también se codifica. Sólo escribe; las peticiones siguen siendo JSON o
+ * parámetros.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class WifiAccessPointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * Constructor que registra el tipo de contenido binario.
+     */
+    public WifiAccessPointBinaryHttpMessageConverter() {
+        super(WifiAccessPointBinaryEncoder.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WifiAccessPointDto.class == clazz || List.class.isAssignableFrom(clazz)
+                || Slice.class.isAssignableFrom(clazz) || CursorPage.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && kind(type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz)) != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Class<?> kind = kind(type != null ? ResolvableType.forType(type) : ResolvableType.forInstance(body));
+        if (body instanceof WifiAccessPointDto) {
+            WifiAccessPointBinaryEncoder.writeList(Collections.singletonList((WifiAccessPointDto) body), outputMessage.getBody());
+        } else if (body instanceof Slice) {
+            WifiAccessPointBinaryEncoder.writeSlice((Slice<WifiAccessPointDto>) body, outputMessage.getBody());
+        } else if (body instanceof CursorPage) {
+            WifiAccessPointBinaryEncoder.writeCursorPage((CursorPage<WifiAccessPointDto>) body, outputMessage.getBody());
+        } else if (kind == WifiAccessPointDistance.class) {
+            WifiAccessPointBinaryEncoder.writeDistances((List<WifiAccessPointDistance>) body, outputMessage.getBody());
+        } else if (kind == WifiAccessPointDto.class) {
+            WifiAccessPointBinaryEncoder.writeList((List<WifiAccessPointDto>) body, outputMessage.getBody());
+        } else {
+            throw new HttpMessageNotWritableException("Tipo no soportado por el formato binario: " + type);
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato binario sólo se admite en respuestas", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("El formato binario sólo se admite en respuestas", inputMessage);
+    }
+
+    /**
+     * Tipo de elemento codificable del tipo declarado: {@link WifiAccessPointDto}
+     * o {@link WifiAccessPointDistance}; {@code null} si no se admite.
+     */
+    private static Class<?> kind(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        if (raw == null) {
+            return null;
+        }
+        if (WifiAccessPointDto.class == raw) {
+            return WifiAccessPointDto.class;
+        }
+        if (Slice.class.isAssignableFrom(raw)) {
+            return type.as(Slice.class).resolveGeneric(0) == WifiAccessPointDto.class ? WifiAccessPointDto.class : null;
+        }
+        if (CursorPage.class == raw) {
+            return type.resolveGeneric(0) == WifiAccessPointDto.class ? WifiAccessPointDto.class : null;
+        }
+        if (List.class.isAssignableFrom(raw)) {
+            Class<?> element = type.as(List.class).resolveGeneric(0);
+            return element == WifiAccessPointDto.class || element == WifiAccessPointDistance.class ? element : null;
+        }
+        return null;
+    }
+}
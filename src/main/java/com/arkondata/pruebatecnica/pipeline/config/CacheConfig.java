@@ -0,0 +1,78 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Configura la caché en proceso de las consultas de puntos de acceso WiFi.
+ * <p>
+ * Las cachés son de Caffeine, acotadas por número de entradas con expulsión
+ * W-TinyLFU y con expiración; sus límites se definen con la propiedad
+ * {@code spring.cache.caffeine.spec}. Los datos sólo cambian al recargar el
+ * conjunto, por lo que todas las cachés se vacían con cada
+ * {@link DatasetLoadedEvent}. Los aciertos, fallos y expulsiones se publican
+ * como métricas {@code cache.gets} y {@code cache.evictions} en
+ * {@code /actuator/metrics}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheConfig.class);
+
+    /**
+     * Caché de puntos de acceso por ID.
+     */
+    public static final String BY_ID = "wifiAccessPointById";
+
+    /**
+     * Caché de páginas de puntos de acceso por colonia.
+     */
+    public static final String BY_COLONIA = "wifiAccessPointsByColonia";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor que inyecta el administrador de cachés.
+     *
+     * @param cacheManager Administrador de las cachés de la aplicación.
+     */
+    public CacheConfig(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Declara las cachés al crear el administrador, para que existan desde el
+     * arranque y sus métricas se registren de inmediato.
+     *
+     * @return El ajuste del administrador de cachés de Caffeine.
+     */
+    @Bean
+    public static CacheManagerCustomizer<CaffeineCacheManager> wifiAccessPointCacheNames() {
+        return cacheManager -> cacheManager.setCacheNames(Arrays.asList(BY_ID, BY_COLONIA));
+    }
+
+    /**
+     * Vacía todas las cachés al terminar una carga de datos.
+     *
+     * @param event Evento de carga terminada.
+     */
+    @EventListener
+    public void onDatasetLoaded(DatasetLoadedEvent event) {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        LOGGER.info("Cachés {} vaciadas tras la carga de datos.", cacheManager.getCacheNames());
+    }
+}
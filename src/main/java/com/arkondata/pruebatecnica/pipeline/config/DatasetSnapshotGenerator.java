@@ -0,0 +1,89 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.CsvTokenizer;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetSnapshot;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetSnapshotWriter;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointCsv;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Generador de la instantánea binaria del conjunto de datos a partir del CSV.
+ * <p>
+ * Se ejecuta en tiempo de compilación mediante {@code exec-maven-plugin} y
+ * produce el archivo {@link DatasetSnapshot} que la aplicación mapea en
+ * memoria al iniciar en el modo de carga {@code snapshot}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class DatasetSnapshotGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetSnapshotGenerator.class);
+
+    /**
+     * Genera la instantánea a partir de un CSV.
+     * <p>
+     * La primera línea se considera cabecera y se omite. Los registros con
+     * menos columnas de las esperadas se registran en el log y se descartan,
+     * igual que en la carga JDBC.
+     * </p>
+     *
+     * @param csvInputStream El stream con el contenido del archivo CSV.
+     * @param snapshotOutputStream El stream donde se escribe la instantánea;
+     * no se cierra.
+     * @return El número de filas de la instantánea.
+     * @throws IOException Si ocurre un error al leer el CSV o al escribir.
+     */
+    public static int generateSnapshot(InputStream csvInputStream, OutputStream snapshotOutputStream) throws IOException {
+        DatasetSnapshotWriter writer = new DatasetSnapshotWriter();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8))) {
+            tokenizer.next(); // Omitir la cabecera del archivo CSV.
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() < WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    LOGGER.error(WifiAccessPointCsv.MALFORMED_MESSAGE + tokenizer.record());
+                    continue;
+                }
+                writer.add(tokenizer.fields());
+            }
+        }
+        writer.writeTo(snapshotOutputStream);
+        return writer.getRows();
+    }
+
+    /**
+     * Punto de entrada para la generación de la instantánea desde la línea de
+     * comandos.
+     * <p>
+     * Recibe la ruta del CSV en el classpath y la ruta del archivo de salida.
+     * A diferencia de {@link SqlScriptGenerator}, un error detiene la
+     * compilación en lugar de producir un artefacto incompleto.
+     * </p>
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @throws IOException Si ocurre un error al leer el CSV o al escribir.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java DatasetSnapshotGenerator <rutaCSV> <rutaInstantanea>");
+            return;
+        }
+        File outputFile = new File(args[1]);
+        outputFile.getParentFile().mkdirs(); // Asegura que el directorio exista
+        try (InputStream csvInputStream = new ClassPathResource(args[0]).getInputStream();
+                OutputStream snapshotOutputStream = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()))) {
+            int rows = generateSnapshot(csvInputStream, snapshotOutputStream);
+            LOGGER.info("Instantánea de {} filas generada en {}.", rows, outputFile);
+        }
+    }
+}
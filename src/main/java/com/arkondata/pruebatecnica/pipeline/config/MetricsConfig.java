@@ -0,0 +1,36 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configura la medición con Micrometer de los métodos anotados con
+ * {@code @Timed}.
+ * <p>
+ * Spring Boot sólo mide por sí mismo las peticiones HTTP
+ * ({@code http.server.requests}); el aspecto {@link TimedAspect} registra un
+ * temporizador por método en las clases anotadas, como el servicio de puntos
+ * de acceso ({@code wifi.service}). Los histogramas de percentiles de cada
+ * métrica se activan en {@code application.properties} y se publican en
+ * {@code /actuator/prometheus}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspecto que mide los métodos anotados con {@code @Timed}.
+     *
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @return El aspecto de medición.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
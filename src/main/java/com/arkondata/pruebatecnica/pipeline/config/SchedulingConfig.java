@@ -0,0 +1,16 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas con {@code @Scheduled}, como la recarga
+ * incremental del conjunto de datos.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,16 @@
 package com.arkondata.pruebatecnica.pipeline.config;
 
+import com.arkondata.pruebatecnica.pipeline.ingest.CsvTokenizer;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointCsv;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
 import org.springframework.core.io.ClassPathResource;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.io.InputStreamReader;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +31,11 @@ public class SqlScriptGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlScriptGenerator.class);
 
+    /**
+     * Inicio común de cada instrucción INSERT generada.
+     */
+    private static final String INSERT_PREFIX = "INSERT INTO wifi_access_points (idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia, colonia_key, alcaldia_key) VALUES (";
+
     /**
      * Genera un script SQL basado en los datos proporcionados por un archivo
      * CSV.
@@ -38,6 +45,14 @@ public class SqlScriptGenerator {
      * Asume que el archivo CSV tiene un formato específico con un número
      * esperado de columnas.
      * </p>
+     * <p>
+     * Los registros se leen con {@link CsvTokenizer}, que respeta los campos
+     * entrecomillados (incluidos los que abarcan varias líneas), y cada
+     * instrucción se arma sobre un buffer reutilizado, sin expresiones
+     * regulares ni {@code String.format} por fila. Cada fila incluye las
+     * llaves de búsqueda de colonia y alcaldía calculadas con
+     * {@link NameFolding}.
+     * </p>
      *
      * @param csvInputStream El stream de entrada que contiene los datos del
      * archivo CSV.
@@ -45,35 +60,47 @@ public class SqlScriptGenerator {
      * generado.
      */
     public static void generateSqlScript(InputStream csvInputStream, OutputStream sqlOutputStream) {
-        final int expectedColumns = 7; // Número esperado de columnas en el archivo CSV.
-        String insertTemplate = "INSERT INTO wifi_access_points (idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia) VALUES (%s, %s, %s, %s, %s, %s, %s);\n";
+        final int expectedColumns = WifiAccessPointCsv.EXPECTED_COLUMNS; // Número esperado de columnas en el archivo CSV.
 
         try (
-                BufferedReader reader = new BufferedReader(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8));
-                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(sqlOutputStream, StandardCharsets.UTF_8))) {
-            reader.readLine(); // Omitir la primera línea que usualmente contiene la cabecera del archivo CSV.
+                CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8));
+                Writer writer = new OutputStreamWriter(sqlOutputStream, StandardCharsets.UTF_8)) {
+            tokenizer.next(); // Omitir el primer registro que usualmente contiene la cabecera del archivo CSV.
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] data = line.split(",(?=([^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+            StringBuilder sql = new StringBuilder(512); // Buffer reutilizado para cada instrucción.
+            char[] out = new char[64 * 1024]; // Buffer de salida propio, sin sincronización por escritura.
+            int outLength = 0;
 
-                if (data.length < expectedColumns) {
-                    LOGGER.error("Línea mal formada, se esperaban " + expectedColumns + " columnas: " + line);
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() < expectedColumns) {
+                    LOGGER.error(WifiAccessPointCsv.MALFORMED_MESSAGE + tokenizer.record());
                     continue;
                 }
-                for (int i = 0; i < data.length; i++) {
-                    data[i] = data[i].trim(); // Elimina espacios en blanco al inicio y al final.
-                    if (data[i].isEmpty()) {
-                        data[i] = "NULL";
-                    } else if (i == 3 || i == 4) { // Índices para latitud y longitud.
-                        data[i] = cleanNumericValue(data[i]); // Limpieza adicional para valores numéricos.
-                    } else {
-                        data[i] = "'" + escapeSql(data[i]) + "'";
+                String[] data = tokenizer.fields();
+                sql.setLength(0);
+                sql.append(INSERT_PREFIX);
+                for (int i = 0; i < expectedColumns; i++) {
+                    if (i > 0) {
+                        sql.append(", ");
+                    }
+                    WifiAccessPointCsv.appendSqlLiteral(sql, data[i], WifiAccessPointCsv.isNumeric(i));
+                }
+                appendSearchKey(sql, data[WifiAccessPointCsv.COLONIA]);
+                appendSearchKey(sql, data[WifiAccessPointCsv.ALCALDIA]);
+                sql.append(");\n");
+
+                int length = sql.length();
+                if (outLength + length > out.length) {
+                    writer.write(out, 0, outLength);
+                    outLength = 0;
+                    if (length > out.length) {
+                        out = new char[length];
                     }
                 }
-                String sql = String.format(insertTemplate, (Object[]) data);
-                writer.write(sql);
+                sql.getChars(0, length, out, outLength);
+                outLength += length;
             }
+            writer.write(out, 0, outLength);
 
             LOGGER.info("Archivo SQL generado exitosamente.");
         } catch (Exception e) {
@@ -81,25 +108,10 @@ public class SqlScriptGenerator {
         }
     }
 
-    /**
-     * Escapa caracteres especiales en valores de SQL para prevenir inyecciones
-     * SQL.
-     *
-     * @param value El valor a escapar.
-     * @return El valor con caracteres especiales escapados.
-     */
-    private static String escapeSql(String value) {
-        return value.replace("'", "''");
-    }
-
-    /**
-     * Limpia el valor numérico eliminando caracteres no deseados.
-     *
-     * @param value El valor numérico a limpiar.
-     * @return Un valor numérico limpio, como una cadena.
-     */
-    private static String cleanNumericValue(String value) {
-        return value.replaceAll("[^0-9.-]", "");
+    private static void appendSearchKey(StringBuilder sql, String raw) {
+        String key = NameFolding.fold(raw);
+        sql.append(", ");
+        WifiAccessPointCsv.appendSqlLiteral(sql, key == null ? "" : key, false);
     }
 
     /**
@@ -107,8 +119,10 @@ public class SqlScriptGenerator {
      * línea de comandos.
      * <p>
      * Este método permite la ejecución directa de la generación del script SQL
-     * proporcionando la ruta del archivo CSV como primer argumento y la ruta de
-     * salida del script SQL como segundo argumento.
+     * proporcionando la ruta del archivo CSV en el classpath como primer
+     * argumento y la ruta de salida del script SQL como segundo argumento. El
+     * perfil de Maven {@code sql-script} escribe el script en el directorio de
+     * clases compiladas, nunca en {@code src/main/resources}.
      * </p>
      *
      * @param args Argumentos de la línea de comandos.
@@ -121,9 +135,7 @@ public class SqlScriptGenerator {
         try {
             InputStream csvInputStream = new ClassPathResource(args[0]).getInputStream();
 
-            // Ajuste para apuntar a 'src/main/resources'
-            String outputPath = "src/main/resources/" + args[1];
-            File outputFile = new File(outputPath);
+            File outputFile = new File(args[1]);
             outputFile.getParentFile().mkdirs(); // Asegura que el directorio exista
             OutputStream sqlOutputStream = new FileOutputStream(outputFile);
 
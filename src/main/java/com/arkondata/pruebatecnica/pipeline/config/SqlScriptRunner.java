@@ -1,13 +1,29 @@
 package com.arkondata.pruebatecnica.pipeline.config;
 
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetSnapshot;
+import com.arkondata.pruebatecnica.pipeline.ingest.LoadResult;
+import com.arkondata.pruebatecnica.pipeline.ingest.ParallelCsvIngester;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointBatchLoader;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 import javax.sql.DataSource;
 import org.springframework.core.io.Resource;
 
@@ -18,6 +34,26 @@ import org.springframework.core.io.Resource;
  * específico al inicio de la aplicación. Se utiliza para inicializar la base de
  * datos con datos necesarios o para realizar migraciones simples.
  * </p>
+ * <p>
+ * El modo de carga se elige con la propiedad {@code pipeline.loader.mode}:
+ * {@code script} ejecuta el script generado en tiempo de compilación y
+ * {@code jdbc} inserta el CSV directamente mediante
+ * {@link WifiAccessPointBatchLoader}, sin pasar por el script, y
+ * {@code parallel} además analiza el CSV mapeado en memoria con varios hilos
+ * mediante {@link ParallelCsvIngester}. El modo {@code snapshot}, el
+ * predeterminado, mapea en memoria la {@link DatasetSnapshot} generada en
+ * tiempo de compilación, sin analizar texto al iniciar.
+ * </p>
+ * <p>
+ * Al terminar la carga se publica un {@link DatasetLoadedEvent} para que los
+ * índices en memoria se construyan sobre los datos cargados. En el modo
+ * {@code snapshot} la primera versión en memoria se construye directamente de
+ * la instantánea y la tabla se llena después en un hilo aparte, que publica
+ * el evento al terminar: el servicio responde desde la versión en memoria
+ * mientras tanto, y sólo las lecturas directas de la tabla (la exportación y
+ * el motor de proximidad {@code database}) pueden ver la carga incompleta en
+ * esos primeros instantes.
+ * </p>
  *
  * @author Gilberto García Sánchez
  * @email gilgasan1@gmail.com
@@ -36,8 +72,56 @@ public class SqlScriptRunner implements CommandLineRunner {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private WifiAccessPointBatchLoader batchLoader;
+
+    @Autowired
+    private ParallelCsvIngester parallelIngester;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private WifiAccessPointDataset dataset;
+
+    @Value("${pipeline.loader.mode:snapshot}")
+    private String loaderMode; // Modo de carga inicial: 'script', 'jdbc', 'parallel' o 'snapshot'.
+
+    @Value("${pipeline.loader.csv:classpath:data/2024-01-18-puntos_de_acceso_wifi.csv}")
+    private String csvPath; // Ruta del CSV utilizado por los modos 'jdbc' y 'parallel'.
+
+    @Value("${pipeline.loader.snapshot:classpath:data/wifi_access_points.snapshot}")
+    private String snapshotPath; // Ruta de la instantánea utilizada por el modo 'snapshot'.
+
+    /**
+     * Carga los datos iniciales al inicio de la aplicación según el modo
+     * configurado.
+     *
+     * @param args Argumentos de línea de comandos pasados al iniciar la
+     * aplicación.
+     * @throws Exception Si ocurre un error durante la carga de los datos.
+     */
+    @Override
+    public void run(String... args) throws Exception {
+        if ("snapshot".equalsIgnoreCase(loaderMode)) {
+            cargarSnapshot(); // Publica el evento al terminar de llenar la tabla.
+            return;
+        }
+        LoadResult result;
+        if ("jdbc".equalsIgnoreCase(loaderMode)) {
+            result = cargarCsv();
+        } else if ("parallel".equalsIgnoreCase(loaderMode)) {
+            result = cargarCsvEnParalelo();
+        } else if ("script".equalsIgnoreCase(loaderMode)) {
+            result = ejecutarScript();
+        } else {
+            throw new IllegalStateException("Modo de carga no soportado: " + loaderMode + " (se esperaba 'script', 'jdbc', 'parallel' o 'snapshot')");
+        }
+        eventPublisher.publishEvent(new DatasetLoadedEvent(this, result));
+    }
+
     /**
-     * Ejecuta el script SQL al inicio de la aplicación.
+     * Ejecuta el script SQL generado en tiempo de compilación.
      * <p>
      * Este método carga y ejecuta un script SQL ubicado en el classpath,
      * especificado por la ruta relativa 'data/wifi_access_points.sql'. Este
@@ -45,22 +129,148 @@ public class SqlScriptRunner implements CommandLineRunner {
      * predefinidos o estructuras de base de datos al desplegar la aplicación.
      * </p>
      *
-     * @param args Argumentos de línea de comandos pasados al iniciar la
-     * aplicación.
+     * @return El resultado de la carga, con las filas contadas después de
+     * ejecutar el script, o {@code null} si no hay script.
      * @throws Exception Si ocurre un error durante la ejecución del script SQL.
      */
-    @Override
-    public void run(String... args) throws Exception {
+    private LoadResult ejecutarScript() throws Exception {
         String resourcePath = "classpath:data/wifi_access_points.sql"; // Ruta del script SQL en el classpath.
 
         Resource resource = resourceLoader.getResource(resourcePath); // Carga el recurso del script SQL.
 
         if (resource.exists() && resource.isReadable()) {
-            ScriptUtils.executeSqlScript(dataSource.getConnection(), resource); // Ejecuta el script SQL.
-            LOGGER.info("Script SQL ejecutado exitosamente al iniciar la aplicación.");
-            verificarDatos(); // Verifica los datos después de la ejecución del script.
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection()) {
+                ScriptUtils.executeSqlScript(connection, resource); // Ejecuta el script SQL.
+            }
+            long elapsed = System.nanoTime() - start;
+            LOGGER.info("Script SQL ejecutado exitosamente al iniciar la aplicación en {} ms.", elapsed / 1_000_000);
+            int cantidad = verificarDatos(); // Verifica los datos después de la ejecución del script.
+            return new LoadResult(cantidad, 0, elapsed);
+        }
+        LOGGER.warn("Script SQL no encontrado, omitiendo ejecución.");
+        return null;
+    }
+
+    /**
+     * Inserta el CSV directamente en la base de datos mediante lotes JDBC.
+     *
+     * @return El resultado de la carga, o {@code null} si no hay CSV.
+     * @throws Exception Si ocurre un error al leer el CSV o al insertar.
+     */
+    private LoadResult cargarCsv() throws Exception {
+        Resource resource = resourceLoader.getResource(csvPath);
+
+        if (resource.exists() && resource.isReadable()) {
+            LoadResult result;
+            try (InputStream csv = resource.getInputStream()) {
+                result = batchLoader.load(csv);
+            }
+            LOGGER.info("Carga JDBC de {} completada (lotes de {}): {}.", csvPath, batchLoader.getBatchSize(), result);
+            verificarDatos();
+            return result;
+        }
+        LOGGER.warn("Archivo CSV {} no encontrado, omitiendo carga.", csvPath);
+        return null;
+    }
+
+    /**
+     * Inserta el CSV analizándolo en paralelo sobre el archivo mapeado en
+     * memoria.
+     * <p>
+     * Si el CSV no está disponible como archivo (por ejemplo, dentro del JAR),
+     * se copia primero a un archivo temporal para poder mapearlo.
+     * </p>
+     *
+     * @return El resultado de la carga, o {@code null} si no hay CSV.
+     * @throws Exception Si ocurre un error al leer el CSV o al insertar.
+     */
+    private LoadResult cargarCsvEnParalelo() throws Exception {
+        Resource resource = resourceLoader.getResource(csvPath);
+
+        if (!resource.exists() || !resource.isReadable()) {
+            LOGGER.warn("Archivo CSV {} no encontrado, omitiendo carga.", csvPath);
+            return null;
+        }
+        Path file = null;
+        boolean temporary = false;
+        if (resource.isFile()) {
+            file = resource.getFile().toPath();
+        } else {
+            file = Files.createTempFile("wifi_access_points", ".csv");
+            temporary = true;
+            try (InputStream csv = resource.getInputStream()) {
+                Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        try {
+            LoadResult result = parallelIngester.load(file);
+            LOGGER.info("Carga paralela de {} completada ({} hilos, lotes de {}): {}.",
+                    csvPath, parallelIngester.getParallelism(), batchLoader.getBatchSize(), result);
+            verificarDatos();
+            return result;
+        } finally {
+            if (temporary) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Publica la instantánea binaria generada en tiempo de compilación como
+     * primera versión en memoria y la inserta en la tabla en segundo plano.
+     * <p>
+     * Si la instantánea está disponible como archivo se mapea en memoria; si
+     * está dentro del JAR se lee completa en un buffer. Si no existe (por
+     * ejemplo, al ejecutar sin la fase {@code process-classes} de Maven), se
+     * carga el CSV como en el modo 'jdbc' y se publica el evento al terminar.
+     * </p>
+     *
+     * @throws Exception Si la instantánea es inválida o si ocurre un error al
+     * cargar el CSV.
+     */
+    private void cargarSnapshot() throws Exception {
+        Resource resource = resourceLoader.getResource(snapshotPath);
+
+        if (!resource.exists() || !resource.isReadable()) {
+            LOGGER.warn("Instantánea {} no encontrada, se carga el CSV.", snapshotPath);
+            eventPublisher.publishEvent(new DatasetLoadedEvent(this, cargarCsv()));
+            return;
+        }
+        long start = System.nanoTime();
+        DatasetSnapshot snapshot;
+        if (resource.isFile()) {
+            snapshot = DatasetSnapshot.map(resource.getFile().toPath());
         } else {
-            LOGGER.warn("Script SQL no encontrado, omitiendo ejecución.");
+            try (InputStream in = resource.getInputStream()) {
+                snapshot = DatasetSnapshot.open(ByteBuffer.wrap(StreamUtils.copyToByteArray(in)));
+            }
+        }
+        long opened = System.nanoTime();
+        dataset.publish(snapshot);
+        LOGGER.info("Instantánea {} publicada en memoria en {} ms (apertura {} ms); la tabla se llena en segundo plano.",
+                snapshotPath, (System.nanoTime() - start) / 1_000_000, (opened - start) / 1_000_000);
+
+        Thread filler = new Thread(() -> llenarTabla(snapshot), "dataset-snapshot-loader");
+        filler.setDaemon(true);
+        filler.start();
+    }
+
+    /**
+     * Inserta la instantánea en la tabla y publica el evento de carga
+     * terminada. Si la inserción falla, el servicio sigue respondiendo con la
+     * versión construida de la instantánea.
+     */
+    private void llenarTabla(DatasetSnapshot snapshot) {
+        try {
+            LoadResult result = batchLoader.load(snapshot);
+            LOGGER.info("Carga de la instantánea {} en la tabla completada (lotes de {}): {}.",
+                    snapshotPath, batchLoader.getBatchSize(), result);
+            verificarDatos();
+            eventPublisher.publishEvent(new DatasetLoadedEvent(this, result));
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.error("Error al insertar la instantánea {} en la tabla; se sigue respondiendo con la versión en memoria.",
+                    snapshotPath, e);
         }
     }
 
@@ -73,8 +283,10 @@ public class SqlScriptRunner implements CommandLineRunner {
      * básica de que el script SQL se ejecutó correctamente y los datos
      * esperados están presentes.
      * </p>
+     *
+     * @return El número de puntos de acceso registrados.
      */
-    private void verificarDatos() {
+    private int verificarDatos() {
         String sql = "SELECT COUNT(*) FROM wifi_access_points"; // Consulta para contar los puntos de acceso WiFi.
         Integer cantidad = jdbcTemplate.queryForObject(sql, Integer.class); // Ejecuta la consulta.
 
@@ -83,5 +295,6 @@ public class SqlScriptRunner implements CommandLineRunner {
         } else {
             LOGGER.warn("No se encontraron puntos de acceso WiFi en la base de datos.");
         }
+        return cantidad == null ? 0 : cantidad;
     }
 }
@@ -1,6 +1,13 @@
 package com.arkondata.pruebatecnica.pipeline.config;
 
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 import springfox.documentation.builders.ApiInfoBuilder;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.Contact;
@@ -10,6 +17,7 @@ import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.spring.web.plugins.WebMvcRequestHandlerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,4 +87,40 @@ public class SwaggerConfig {
                 .version(appVersion) // Incluye la versión de la aplicación.
                 .build();
     }
+
+    /**
+     * Limita a Springfox a los mapeos de Spring MVC basados en
+     * {@code AntPathMatcher}.
+     * <p>
+     * Los endpoints de Actuator se registran siempre con
+     * {@code PathPatternParser}, aunque la aplicación use
+     * {@code ant_path_matcher}, y Springfox 3.0.0 falla al arrancar si
+     * encuentra alguno. Este post-procesador retira esos mapeos de la lista que
+     * Springfox documenta; los endpoints de Actuator siguen funcionando, sólo
+     * quedan fuera de la documentación de Swagger.
+     * </p>
+     *
+     * @return El post-procesador que ajusta el proveedor de Springfox.
+     */
+    @Bean
+    public static BeanPostProcessor springfoxHandlerProviderBeanPostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof WebMvcRequestHandlerProvider) {
+                    Field field = ReflectionUtils.findField(bean.getClass(), "handlerMappings");
+                    ReflectionUtils.makeAccessible(field);
+                    @SuppressWarnings("unchecked")
+                    List<RequestMappingInfoHandlerMapping> mappings = (List<RequestMappingInfoHandlerMapping>) ReflectionUtils.getField(field, bean);
+                    List<RequestMappingInfoHandlerMapping> antMappings = mappings.stream()
+                            .filter(mapping -> mapping.getPatternParser() == null)
+                            .collect(Collectors.toList());
+                    mappings.clear();
+                    mappings.addAll(antMappings);
+                }
+                return bean;
+            }
+        };
+    }
 }
@@ -0,0 +1,54 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import com.arkondata.pruebatecnica.pipeline.codec.WifiAccessPointBinaryHttpMessageConverter;
+import com.arkondata.pruebatecnica.pipeline.web.ConditionalGetAdvice;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC.
+ * <p>
+ * Registra el formato binario de puntos de acceso WiFi al final de la lista
+ * de convertidores: sólo se usa cuando el cliente lo pide explícitamente en
+ * la cabecera {@code Accept}, y JSON sigue siendo la respuesta por defecto,
+ * incluso con {@code Accept: *}{@code /*}.
+ * </p>
+ * <p>
+ * También registra {@link ConditionalGetAdvice} como interceptor de las
+ * consultas de puntos de acceso, salvo la exportación en streaming, para
+ * responder 304 Not Modified sin llegar al controlador.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetAdvice conditionalGetAdvice;
+
+    /**
+     * Constructor que inyecta el soporte de peticiones condicionales.
+     *
+     * @param conditionalGetAdvice Interceptor de las peticiones GET
+     * condicionales.
+     */
+    public WebConfig(ConditionalGetAdvice conditionalGetAdvice) {
+        this.conditionalGetAdvice = conditionalGetAdvice;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new WifiAccessPointBinaryHttpMessageConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetAdvice)
+                .addPathPatterns("/api/wifi-access-points/**")
+                .excludePathPatterns("/api/wifi-access-points/export");
+    }
+}
@@ -1,30 +1,53 @@
 package com.arkondata.pruebatecnica.pipeline.controller;
 
-import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CategoryCount;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.DensityGrid;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GeoJsonGeometry;
+import com.arkondata.pruebatecnica.pipeline.model.dto.MapCluster;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.ProximityOrigin;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityBatchService;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointExportService;
 import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointStatsService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiImplicitParams;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import java.util.List;
 import javax.validation.constraints.DecimalMax;
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controlador REST para la gestión de Puntos de Acceso WiFi.
  * <p>
  * Proporciona endpoints para operaciones CRUD y consultas especializadas
  * relacionadas con los Puntos de Acceso WiFi, incluyendo búsqueda por ID, por
- * nombre de colonia y por proximidad geográfica.
+ * nombre de colonia, por proximidad geográfica y por límites administrativos.
+ * </p>
+ * <p>
+ * Los endpoints paginados aceptan {@code count=false} para omitir el cálculo
+ * del total de resultados; la respuesta es entonces un {@link Slice} que sólo
+ * indica si existe una página siguiente.
  * </p>
  *
  * @author Gilberto García
@@ -35,11 +58,27 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/wifi-access-points")
 public class WifiAccessPointController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
     private final IWifiAccessPointService wifiAccessPointService;
 
+    private final IWifiAccessPointExportService wifiAccessPointExportService;
+
+    private final IWifiAccessPointStatsService wifiAccessPointStatsService;
+
+    private final IProximityBatchService proximityBatchService;
+
     @Autowired
-    public WifiAccessPointController(IWifiAccessPointService wifiAccessPointService) {
+    public WifiAccessPointController(IWifiAccessPointService wifiAccessPointService,
+            IWifiAccessPointExportService wifiAccessPointExportService,
+            IWifiAccessPointStatsService wifiAccessPointStatsService,
+            IProximityBatchService proximityBatchService) {
         this.wifiAccessPointService = wifiAccessPointService;
+        this.wifiAccessPointExportService = wifiAccessPointExportService;
+        this.wifiAccessPointStatsService = wifiAccessPointStatsService;
+        this.proximityBatchService = proximityBatchService;
     }
 
     /**
@@ -50,6 +89,7 @@ public class WifiAccessPointController {
      * ordenación.
      * </p>
      *
+     * @param count Si es {@code false}, no se calcula el total de resultados.
      * @param pageable Configuración de paginación y ordenación.
      * @return Una página de puntos de acceso WiFi.
      */
@@ -91,8 +131,87 @@ public class WifiAccessPointController {
     @ApiImplicitParam(name = "sort.unsorted", dataType = "boolean", paramType = "query",
                 value = "Indica si no se desea aplicar ninguna ordenación.")
     })
-    public Page<WifiAccessPoint> getAllWifiAccessPoints(@PageableDefault(size = 20) Pageable pageable) {
-        return wifiAccessPointService.findAll(pageable);
+    public Slice<WifiAccessPointDto> getAllWifiAccessPoints(
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return count ? wifiAccessPointService.findAll(pageable) : wifiAccessPointService.findSlice(pageable);
+    }
+
+    /**
+     * Obtiene todos los puntos de acceso WiFi con paginación por cursor.
+     * <p>
+     * Se activa al enviar el parámetro {@code cursor}. Los puntos se entregan
+     * en orden de identificador y cada respuesta incluye el cursor de la
+     * página siguiente, de modo que recorrer todo el conjunto cuesta lo mismo
+     * en la primera página que en la milésima. Un cursor que no haya sido
+     * generado por la API produce una respuesta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param cursor Cursor de la página siguiente; vacío para la primera.
+     * @param size Número máximo de puntos por página.
+     * @return La página de puntos y el cursor de la siguiente.
+     */
+    @GetMapping(params = "cursor")
+    @ApiOperation(
+            value = "Recorre todos los puntos de acceso WiFi con paginación por cursor",
+            notes = "Envíe 'cursor' vacío para la primera página y después el valor de 'next' de cada respuesta, "
+            + "hasta que 'next' sea null. El costo de cada página no depende de su profundidad."
+    )
+    public CursorPage<WifiAccessPointDto> getAllWifiAccessPointsByCursor(
+            @ApiParam(
+                    value = "Cursor opaco devuelto en 'next' por la página anterior; vacío para la primera página",
+                    required = true,
+                    example = "aWQ6MjA"
+            )
+            @RequestParam String cursor,
+            @ApiParam(
+                    value = "Cantidad de registros por página",
+                    required = false,
+                    example = "20"
+            )
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = "El tamaño de página debe ser de al menos 1")
+            @Max(value = 1000, message = "El tamaño de página máximo es 1000") int size) {
+        return wifiAccessPointService.findAfter(cursor, size);
+    }
+
+    /**
+     * Exporta todos los puntos de acceso WiFi en una sola respuesta.
+     * <p>
+     * Las filas se leen de la base de datos con un cursor y se escriben en la
+     * respuesta conforme se leen, en formato NDJSON (un objeto JSON por línea)
+     * o CSV. Sustituye el recorrido página por página de todo el conjunto.
+     * </p>
+     *
+     * @param format Formato de la exportación: {@code ndjson} o {@code csv}.
+     * @return La respuesta que escribe la exportación en streaming.
+     */
+    @GetMapping("/export")
+    @ApiOperation(
+            value = "Exporta todos los puntos de acceso WiFi",
+            notes = "Devuelve todos los puntos de acceso WiFi en orden de ID en una sola respuesta en streaming, "
+            + "como NDJSON (un objeto JSON por línea) o como CSV con cabecera."
+    )
+    public ResponseEntity<StreamingResponseBody> exportWifiAccessPoints(
+            @ApiParam(
+                    value = "Formato de la exportación: ndjson o csv",
+                    required = false,
+                    example = "ndjson"
+            )
+            @RequestParam(defaultValue = "ndjson")
+            @Pattern(regexp = "ndjson|csv", message = "Los formatos de exportación permitidos son ndjson y csv") String format) {
+        boolean csv = "csv".equals(format);
+        StreamingResponseBody body = csv
+                ? wifiAccessPointExportService::exportCsv
+                : wifiAccessPointExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"wifi_access_points." + format + "\"")
+                .body(body);
     }
 
     /**
@@ -112,7 +231,7 @@ public class WifiAccessPointController {
             + "Si no se encuentra un punto de acceso con el ID proporcionado, "
             + "se devolverá una respuesta HTTP 404 Not Found."
     )
-    public WifiAccessPoint getWifiAccessPointById(
+    public WifiAccessPointDto getWifiAccessPointById(
             @ApiParam(
                     value = "ID del punto de acceso WiFi que se desea obtener",
                     required = true,
@@ -126,11 +245,12 @@ public class WifiAccessPointController {
      * Obtiene puntos de acceso WiFi por nombre de colonia.
      * <p>
      * Busca todos los puntos de acceso WiFi localizados en una colonia
-     * específica. La respuesta es paginada y permite controlar el número de
-     * página y tamaño de página.
+     * específica, sin distinguir acentos ni mayúsculas. La respuesta es
+     * paginada y permite controlar el número de página y tamaño de página.
      * </p>
      *
      * @param colonia Nombre de la colonia para la búsqueda.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
      * @param pageable Configuración de paginación y ordenación.
      * @return Una página de puntos de acceso WiFi localizados en la colonia
      * especificada.
@@ -139,9 +259,10 @@ public class WifiAccessPointController {
     @ApiOperation(
             value = "Obtiene puntos de acceso WiFi por colonia",
             notes = "Proporciona el nombre de una colonia para buscar todos los puntos de acceso WiFi en esa área. "
+            + "La búsqueda no distingue acentos ni mayúsculas. "
             + "La respuesta es paginada y se puede controlar mediante parámetros de consulta adicionales, como 'page' y 'size'."
     )
-    public Page<WifiAccessPoint> getWifiAccessPointsByColonia(
+    public Slice<WifiAccessPointDto> getWifiAccessPointsByColonia(
             @ApiParam(
                     value = "Nombre de la colonia para buscar los puntos de acceso WiFi",
                     required = true,
@@ -149,8 +270,92 @@ public class WifiAccessPointController {
             )
             @RequestParam @NotBlank(message = "El nombre de la colonia no puede estar vacío")
             @Size(min = 2, max = 100, message = "El nombre de la colonia debe tener entre 2 y 100 caracteres") String colonia,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
+            Pageable pageable) {
+        return count
+                ? wifiAccessPointService.findByColonia(colonia, pageable)
+                : wifiAccessPointService.findSliceByColonia(colonia, pageable);
+    }
+
+    /**
+     * Sugiere nombres de colonia para autocompletado.
+     * <p>
+     * Devuelve, en orden alfabético, las colonias cuyo nombre comienza con el
+     * prefijo dado sin distinguir acentos ni mayúsculas, junto con su número
+     * de puntos de acceso. La respuesta se resuelve en memoria.
+     * </p>
+     *
+     * @param prefix Prefijo del nombre de la colonia.
+     * @param limit Número máximo de sugerencias.
+     * @return Las colonias sugeridas.
+     */
+    @GetMapping("/colonia/suggest")
+    @ApiOperation(
+            value = "Sugiere nombres de colonia",
+            notes = "Devuelve las colonias cuyo nombre comienza con el prefijo dado, sin distinguir acentos ni mayúsculas, "
+            + "en orden alfabético y con su número de puntos de acceso WiFi."
+    )
+    public List<NameSuggestion> suggestColonias(
+            @ApiParam(
+                    value = "Prefijo del nombre de la colonia",
+                    required = true,
+                    example = "alvaro ob"
+            )
+            @RequestParam @NotBlank(message = "El prefijo no puede estar vacío")
+            @Size(max = 100, message = "El prefijo debe tener como máximo 100 caracteres") String prefix,
+            @ApiParam(
+                    value = "Número máximo de sugerencias",
+                    required = false,
+                    example = "10"
+            )
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "Se debe solicitar al menos una sugerencia")
+            @Max(value = 50, message = "Se pueden solicitar como máximo 50 sugerencias") int limit) {
+        return wifiAccessPointService.suggestColonias(prefix, limit);
+    }
+
+    /**
+     * Obtiene puntos de acceso WiFi por nombre de alcaldía.
+     * <p>
+     * Busca todos los puntos de acceso WiFi localizados en una alcaldía
+     * específica, sin distinguir acentos ni mayúsculas. La respuesta es
+     * paginada.
+     * </p>
+     *
+     * @param alcaldia Nombre de la alcaldía para la búsqueda.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi localizados en la alcaldía
+     * especificada.
+     */
+    @GetMapping("/alcaldia")
+    @ApiOperation(
+            value = "Obtiene puntos de acceso WiFi por alcaldía",
+            notes = "Proporciona el nombre de una alcaldía para buscar todos los puntos de acceso WiFi en ella. "
+            + "La búsqueda no distingue acentos ni mayúsculas y la respuesta es paginada."
+    )
+    public Slice<WifiAccessPointDto> getWifiAccessPointsByAlcaldia(
+            @ApiParam(
+                    value = "Nombre de la alcaldía para buscar los puntos de acceso WiFi",
+                    required = true,
+                    example = "alvaro obregon"
+            )
+            @RequestParam @NotBlank(message = "El nombre de la alcaldía no puede estar vacío")
+            @Size(min = 2, max = 100, message = "El nombre de la alcaldía debe tener entre 2 y 100 caracteres") String alcaldia,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
             Pageable pageable) {
-        return wifiAccessPointService.findByColonia(colonia, pageable);
+        return count
+                ? wifiAccessPointService.findByAlcaldia(alcaldia, pageable)
+                : wifiAccessPointService.findSliceByAlcaldia(alcaldia, pageable);
     }
 
     /**
@@ -166,6 +371,7 @@ public class WifiAccessPointController {
      * @param longitude Longitud geográfica desde donde realizar la búsqueda.
      * @param distance Distancia en kilómetros para la búsqueda desde el punto
      * de coordenadas dado.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
      * @param pageable Configuración de paginación y ordenación.
      * @return Una página de puntos de acceso WiFi dentro del radio de búsqueda
      * especificado.
@@ -199,7 +405,7 @@ public class WifiAccessPointController {
     @ApiImplicitParam(name = "sort.unsorted", dataType = "boolean", paramType = "query",
                 value = "Indica si no se desea aplicar ninguna ordenación.")
     })
-    public Page<WifiAccessPoint> getWifiAccessPointsByProximity(
+    public Slice<WifiAccessPointDto> getWifiAccessPointsByProximity(
             @ApiParam(
                     value = "Latitud geográfica desde donde realizar la búsqueda",
                     required = true,
@@ -220,8 +426,366 @@ public class WifiAccessPointController {
                     example = "5"
             )
             @RequestParam(defaultValue = "1") @Min(value = 1, message = "La distancia para la búsqueda debe ser de al menos 1km") double distance,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
+            Pageable pageable
+    ) {
+        return count
+                ? wifiAccessPointService.findByProximity(latitude, longitude, distance, pageable)
+                : wifiAccessPointService.findSliceByProximity(latitude, longitude, distance, pageable);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi dentro de un rectángulo de
+     * coordenadas.
+     * <p>
+     * Es la consulta de la vista de un mapa: devuelve, paginados y en orden de
+     * ID, los puntos de acceso cuya latitud y longitud están dentro de los
+     * límites dados, bordes incluidos, sin calcular distancias. Sólo pueden
+     * recorrerse los primeros resultados hasta el máximo configurado; una
+     * página que llega más allá produce una respuesta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param minLat Latitud del borde sur.
+     * @param minLon Longitud del borde oeste.
+     * @param maxLat Latitud del borde norte.
+     * @param maxLon Longitud del borde este.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del rectángulo.
+     */
+    @GetMapping("/within")
+    @ApiOperation(
+            value = "Obtiene puntos de acceso WiFi dentro de un rectángulo",
+            notes = "Devuelve una lista paginada de los puntos de acceso WiFi cuya latitud y longitud están dentro del rectángulo "
+            + "indicado, bordes incluidos, ordenados por ID. Sólo pueden recorrerse los primeros resultados hasta el máximo "
+            + "configurado; una página que llega más allá, o un rectángulo con un mínimo mayor que su máximo, "
+            + "produce una respuesta HTTP 400 Bad Request."
+    )
+    public Slice<WifiAccessPointDto> getWifiAccessPointsWithin(
+            @ApiParam(
+                    value = "Latitud del borde sur",
+                    required = true,
+                    example = "19.40"
+            )
+            @RequestParam @DecimalMin(value = "-90.0", message = "La latitud mínima permitida es -90")
+            @DecimalMax(value = "90.0", message = "La latitud máxima permitida es 90") double minLat,
+            @ApiParam(
+                    value = "Longitud del borde oeste",
+                    required = true,
+                    example = "-99.18"
+            )
+            @RequestParam @DecimalMin(value = "-180.0", message = "La longitud mínima permitida es -180")
+            @DecimalMax(value = "180.0", message = "La longitud máxima permitida es 180") double minLon,
+            @ApiParam(
+                    value = "Latitud del borde norte",
+                    required = true,
+                    example = "19.44"
+            )
+            @RequestParam @DecimalMin(value = "-90.0", message = "La latitud mínima permitida es -90")
+            @DecimalMax(value = "90.0", message = "La latitud máxima permitida es 90") double maxLat,
+            @ApiParam(
+                    value = "Longitud del borde este",
+                    required = true,
+                    example = "-99.12"
+            )
+            @RequestParam @DecimalMin(value = "-180.0", message = "La longitud mínima permitida es -180")
+            @DecimalMax(value = "180.0", message = "La longitud máxima permitida es 180") double maxLon,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
+            Pageable pageable
+    ) {
+        return count
+                ? wifiAccessPointService.findWithin(minLat, minLon, maxLat, maxLon, pageable)
+                : wifiAccessPointService.findSliceWithin(minLat, minLon, maxLat, maxLon, pageable);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi dentro de los límites de una alcaldía
+     * o colonia.
+     * <p>
+     * A diferencia de la búsqueda por nombre de alcaldía o colonia, no depende
+     * de cómo se capturó el texto de cada punto: usa los polígonos de los
+     * límites administrativos cargados de GeoJSON. Sin {@code layer}, el nombre
+     * se busca primero entre las alcaldías y después entre las colonias; un
+     * nombre sin límites cargados produce una respuesta HTTP 404 Not Found.
+     * </p>
+     *
+     * @param name Nombre de la alcaldía o colonia.
+     * @param layer Capa donde buscar el nombre: {@code alcaldia} o
+     * {@code colonia}.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro de los límites.
+     */
+    @GetMapping("/in-polygon")
+    @ApiOperation(
+            value = "Obtiene puntos de acceso WiFi dentro de los límites de una alcaldía o colonia",
+            notes = "Devuelve una lista paginada, ordenada por ID, de los puntos de acceso WiFi dentro del polígono de la alcaldía "
+            + "o colonia indicada, según los límites cargados de GeoJSON. Sin 'layer', el nombre se busca primero entre las "
+            + "alcaldías. Si no hay límites con ese nombre, se devuelve una respuesta HTTP 404 Not Found."
+    )
+    public Slice<WifiAccessPointDto> getWifiAccessPointsInBoundary(
+            @ApiParam(
+                    value = "Nombre de la alcaldía o colonia, con o sin acentos",
+                    required = true,
+                    example = "Cuauhtémoc"
+            )
+            @RequestParam @NotBlank(message = "El nombre no puede estar vacío") String name,
+            @ApiParam(
+                    value = "Capa donde buscar el nombre: 'alcaldia' o 'colonia'",
+                    required = false,
+                    example = "alcaldia"
+            )
+            @RequestParam(required = false) @Pattern(regexp = "alcaldia|colonia", message = "La capa debe ser 'alcaldia' o 'colonia'") String layer,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
             Pageable pageable
     ) {
-        return wifiAccessPointService.findByProximity(latitude, longitude, distance, pageable);
+        return count
+                ? wifiAccessPointService.findInBoundary(name, layer, pageable)
+                : wifiAccessPointService.findSliceInBoundary(name, layer, pageable);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi dentro de un polígono arbitrario.
+     * <p>
+     * Recibe una geometría {@code Polygon} o {@code MultiPolygon} de GeoJSON,
+     * con huecos si los tiene. Una geometría inválida o con más vértices de los
+     * permitidos produce una respuesta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param geometry Geometría del polígono.
+     * @param count Si es {@code false}, no se calcula el total de resultados.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del polígono.
+     */
+    @PostMapping("/in-polygon")
+    @ApiOperation(
+            value = "Obtiene puntos de acceso WiFi dentro de un polígono",
+            notes = "Recibe una geometría GeoJSON 'Polygon' o 'MultiPolygon' (posiciones [longitud, latitud]) y devuelve una "
+            + "lista paginada, ordenada por ID, de los puntos de acceso WiFi dentro de ella. Una geometría inválida o con "
+            + "más vértices de los permitidos produce una respuesta HTTP 400 Bad Request."
+    )
+    public Slice<WifiAccessPointDto> getWifiAccessPointsInPolygon(
+            @ApiParam(value = "Geometría GeoJSON del polígono", required = true)
+            @RequestBody GeoJsonGeometry geometry,
+            @ApiParam(
+                    value = "Si es false, no se calcula el total de resultados: la respuesta sólo indica si hay una página siguiente",
+                    required = false,
+                    example = "false"
+            )
+            @RequestParam(defaultValue = "true") boolean count,
+            Pageable pageable
+    ) {
+        return count
+                ? wifiAccessPointService.findInPolygon(geometry, pageable)
+                : wifiAccessPointService.findSliceInPolygon(geometry, pageable);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi más cercanos a una ubicación.
+     * <p>
+     * A diferencia de la búsqueda por proximidad, no requiere un radio: devuelve
+     * los {@code k} puntos más cercanos a las coordenadas dadas, cada uno con
+     * su distancia en kilómetros, del más cercano al más lejano.
+     * </p>
+     *
+     * @param latitude Latitud geográfica desde donde realizar la búsqueda.
+     * @param longitude Longitud geográfica desde donde realizar la búsqueda.
+     * @param k Número de puntos de acceso a devolver.
+     * @return Los puntos de acceso WiFi más cercanos con su distancia.
+     */
+    @GetMapping("/nearest")
+    @ApiOperation(
+            value = "Obtiene los puntos de acceso WiFi más cercanos",
+            notes = "Devuelve los k puntos de acceso WiFi más cercanos a la ubicación geográfica proporcionada, "
+            + "cada uno con su distancia en kilómetros, ordenados del más cercano al más lejano."
+    )
+    public List<WifiAccessPointDistance> getNearestWifiAccessPoints(
+            @ApiParam(
+                    value = "Latitud geográfica desde donde realizar la búsqueda",
+                    required = true,
+                    example = "19.432608"
+            )
+            @RequestParam @DecimalMin(value = "-90.0", message = "La latitud mínima permitida es -90")
+            @DecimalMax(value = "90.0", message = "La latitud máxima permitida es 90") double latitude,
+            @ApiParam(
+                    value = "Longitud geográfica desde donde realizar la búsqueda",
+                    required = true,
+                    example = "-99.133209"
+            )
+            @RequestParam @DecimalMin(value = "-180.0", message = "La longitud mínima permitida es -180")
+            @DecimalMax(value = "180.0", message = "La longitud máxima permitida es 180") double longitude,
+            @ApiParam(
+                    value = "Número de puntos de acceso a devolver",
+                    required = false,
+                    example = "5"
+            )
+            @RequestParam(defaultValue = "5") @Min(value = 1, message = "Se debe solicitar al menos un punto de acceso")
+            @Max(value = 100, message = "Se pueden solicitar como máximo 100 puntos de acceso") int k
+    ) {
+        return wifiAccessPointService.findNearest(latitude, longitude, k);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi más cercanos a varias ubicaciones en
+     * una sola petición.
+     * <p>
+     * Cada origen indica sus coordenadas y, opcionalmente, cuántos puntos
+     * devolver ({@code k}, 5 si se omite) y una distancia máxima en
+     * kilómetros. La respuesta contiene, en el orden de los orígenes, la lista
+     * de puntos de cada uno con su distancia. Un lote con más orígenes de los
+     * permitidos o con un origen inválido produce una respuesta HTTP 400 Bad
+     * Request.
+     * </p>
+     *
+     * @param origins Orígenes de la búsqueda.
+     * @return Los puntos más cercanos a cada origen, en el orden recibido.
+     */
+    @PostMapping("/nearest/batch")
+    @ApiOperation(
+            value = "Obtiene los puntos de acceso WiFi más cercanos a varias ubicaciones",
+            notes = "Recibe un arreglo de orígenes con 'latitude', 'longitude' y, opcionalmente, 'k' (de 1 a 100, 5 por omisión) "
+            + "y 'distance' en kilómetros, y devuelve en el mismo orden la lista de puntos más cercanos a cada uno con su "
+            + "distancia. Un lote con más orígenes de los permitidos o con un origen inválido produce una respuesta "
+            + "HTTP 400 Bad Request."
+    )
+    public List<List<WifiAccessPointDistance>> getNearestWifiAccessPointsBatch(
+            @ApiParam(value = "Orígenes de la búsqueda", required = true)
+            @RequestBody List<ProximityOrigin> origins) {
+        return proximityBatchService.findNearest(origins);
+    }
+
+    /**
+     * Obtiene los grupos de puntos de acceso WiFi visibles en un mapa.
+     * <p>
+     * Devuelve, para el rectángulo y el nivel de zoom de la vista, los grupos
+     * de puntos cercanos entre sí con su centroide y su número de puntos, y
+     * los puntos que quedan solos con su ID. A partir del zoom máximo de
+     * agrupamiento se devuelven sólo puntos individuales. Los grupos se
+     * calculan al cargar los datos, por lo que el costo de cada petición
+     * depende de lo que cabe en la vista; un rectángulo que con ese zoom mide
+     * más que la vista máxima configurada produce una respuesta HTTP 400 Bad
+     * Request.
+     * </p>
+     *
+     * @param bbox Rectángulo de la vista: oeste, sur, este y norte.
+     * @param zoom Nivel de zoom del mapa.
+     * @return Los grupos y puntos individuales visibles.
+     */
+    @GetMapping("/clusters")
+    @ApiOperation(
+            value = "Obtiene los grupos de puntos de acceso WiFi para un mapa",
+            notes = "Devuelve los grupos de puntos de acceso WiFi (centroide y número de puntos) y los puntos individuales "
+            + "(con su ID) dentro del rectángulo 'bbox' (oeste,sur,este,norte) para el nivel de zoom indicado, "
+            + "como los mapas de mosaicos Web Mercator. Si el rectángulo mide más que la vista máxima con ese zoom, "
+            + "se devuelve una respuesta HTTP 400 Bad Request."
+    )
+    public List<MapCluster> getClusters(
+            @ApiParam(
+                    value = "Rectángulo de la vista: oeste,sur,este,norte en grados",
+                    required = true,
+                    example = "-99.20,19.38,-99.10,19.46"
+            )
+            @RequestParam @Size(min = 4, max = 4, message = "El rectángulo debe tener cuatro valores: oeste,sur,este,norte") double[] bbox,
+            @ApiParam(
+                    value = "Nivel de zoom del mapa",
+                    required = true,
+                    example = "13"
+            )
+            @RequestParam @Min(value = 0, message = "El zoom mínimo permitido es 0")
+            @Max(value = 24, message = "El zoom máximo permitido es 24") int zoom) {
+        return wifiAccessPointService.findClusters(bbox[0], bbox[1], bbox[2], bbox[3], zoom);
+    }
+
+    /**
+     * Cuenta los puntos de acceso WiFi por alcaldía.
+     * <p>
+     * Los conteos se calculan al cargar los datos, por lo que la respuesta no
+     * recorre los puntos de acceso.
+     * </p>
+     *
+     * @return Los conteos por alcaldía, de la más a la menos numerosa.
+     */
+    @GetMapping("/stats/alcaldias")
+    @ApiOperation(
+            value = "Cuenta los puntos de acceso WiFi por alcaldía",
+            notes = "Devuelve el número de puntos de acceso WiFi de cada alcaldía, de la más a la menos numerosa. "
+            + "Las escrituras de un nombre que sólo difieren en acentos o mayúsculas se cuentan juntas."
+    )
+    public List<CategoryCount> countByAlcaldia() {
+        return wifiAccessPointStatsService.countByAlcaldia();
+    }
+
+    /**
+     * Cuenta los puntos de acceso WiFi por colonia.
+     *
+     * @return Los conteos por colonia, de la más a la menos numerosa.
+     */
+    @GetMapping("/stats/colonias")
+    @ApiOperation(
+            value = "Cuenta los puntos de acceso WiFi por colonia",
+            notes = "Devuelve el número de puntos de acceso WiFi de cada colonia, de la más a la menos numerosa. "
+            + "Las escrituras de un nombre que sólo difieren en acentos o mayúsculas se cuentan juntas."
+    )
+    public List<CategoryCount> countByColonia() {
+        return wifiAccessPointStatsService.countByColonia();
+    }
+
+    /**
+     * Cuenta los puntos de acceso WiFi por programa.
+     *
+     * @return Los conteos por programa, del más al menos numeroso.
+     */
+    @GetMapping("/stats/programas")
+    @ApiOperation(
+            value = "Cuenta los puntos de acceso WiFi por programa",
+            notes = "Devuelve el número de puntos de acceso WiFi de cada programa, del más al menos numeroso."
+    )
+    public List<CategoryCount> countByPrograma() {
+        return wifiAccessPointStatsService.countByPrograma();
+    }
+
+    /**
+     * Obtiene la cuadrícula de densidad de los puntos de acceso WiFi.
+     * <p>
+     * Divide el plano de latitud y longitud en celdas cuadradas del tamaño
+     * indicado y devuelve el número de puntos de acceso con coordenadas de
+     * cada celda ocupada. Sólo se aceptan los tamaños precalculados al cargar
+     * los datos; cualquier otro produce una respuesta HTTP 400 Bad Request.
+     * </p>
+     *
+     * @param cellSize Lado de las celdas en grados; si se omite, se usa el
+     * primer tamaño configurado.
+     * @return La cuadrícula con las celdas ocupadas.
+     */
+    @GetMapping("/stats/grid")
+    @ApiOperation(
+            value = "Obtiene la cuadrícula de densidad de los puntos de acceso WiFi",
+            notes = "Devuelve el número de puntos de acceso WiFi con coordenadas en cada celda ocupada de una cuadrícula "
+            + "de latitud y longitud, identificadas por su esquina suroeste. Los tamaños de celda disponibles se "
+            + "configuran con 'pipeline.stats.grid-cell-sizes'."
+    )
+    public DensityGrid getDensityGrid(
+            @ApiParam(
+                    value = "Lado de las celdas en grados",
+                    required = false,
+                    example = "0.01"
+            )
+            @RequestParam(required = false) Double cellSize) {
+        return wifiAccessPointStatsService.densityGrid(cellSize);
     }
 }
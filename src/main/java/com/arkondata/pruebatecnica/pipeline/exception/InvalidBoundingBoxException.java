@@ -0,0 +1,31 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando el rectángulo pedido a {@code /within} tiene un
+ * mínimo mayor que su máximo.
+ * <p>
+ * Produce una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidBoundingBoxException extends RuntimeException {
+
+    /**
+     * Constructor que incluye los límites rechazados en el mensaje.
+     *
+     * @param minLatitude Latitud mínima recibida.
+     * @param minLongitude Longitud mínima recibida.
+     * @param maxLatitude Latitud máxima recibida.
+     * @param maxLongitude Longitud máxima recibida.
+     */
+    public InvalidBoundingBoxException(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        super(String.format("Rectángulo inválido: (%s, %s) - (%s, %s). Los mínimos no pueden ser mayores que los máximos.",
+                minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+}
@@ -0,0 +1,27 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando el cursor de paginación recibido no es válido.
+ * <p>
+ * Los cursores son opacos y sólo deben reutilizarse tal como los devolvió la
+ * API; cualquier otro valor produce una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructor que incluye el cursor rechazado en el mensaje.
+     *
+     * @param cursor El cursor recibido.
+     */
+    public InvalidCursorException(String cursor) {
+        super(String.format("Cursor de paginación inválido: '%s'", cursor));
+    }
+}
@@ -0,0 +1,28 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando el polígono enviado a {@code /in-polygon} no es una
+ * geometría {@code Polygon} o {@code MultiPolygon} de GeoJSON válida, o tiene
+ * más vértices de los permitidos en {@code pipeline.boundaries.max-vertices}.
+ * <p>
+ * Produce una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPolygonException extends RuntimeException {
+
+    /**
+     * Constructor con el motivo del rechazo.
+     *
+     * @param message Motivo por el que el polígono no es válido.
+     */
+    public InvalidPolygonException(String message) {
+        super("Polígono inválido: " + message);
+    }
+}
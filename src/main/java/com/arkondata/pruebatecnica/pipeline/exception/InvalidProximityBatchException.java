@@ -0,0 +1,28 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando un lote de {@code /nearest/batch} tiene más
+ * orígenes de los permitidos en {@code pipeline.batch.max-origins} o alguno de
+ * sus orígenes no es válido.
+ * <p>
+ * Produce una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidProximityBatchException extends RuntimeException {
+
+    /**
+     * Constructor con el motivo del rechazo.
+     *
+     * @param message Motivo por el que el lote no es válido.
+     */
+    public InvalidProximityBatchException(String message) {
+        super("Lote de búsqueda inválido: " + message);
+    }
+}
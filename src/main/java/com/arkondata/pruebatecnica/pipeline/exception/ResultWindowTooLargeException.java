@@ -0,0 +1,34 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando la página pedida a {@code /within} llega más allá
+ * del número máximo de resultados.
+ * <p>
+ * El máximo se configura en {@code pipeline.within.max-results} y acota el
+ * trabajo de cada petición sin importar el tamaño del rectángulo; una página
+ * que lo excede produce una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ResultWindowTooLargeException extends RuntimeException {
+
+    /**
+     * Constructor que incluye el final de la página y el máximo en el mensaje.
+     *
+     * @param end Posición siguiente al último resultado de la página pedida;
+     * {@code -1} si se pidieron todos los resultados sin paginar.
+     * @param maxResults Número máximo de resultados.
+     */
+    public ResultWindowTooLargeException(long end, int maxResults) {
+        super(end < 0
+                ? String.format("La búsqueda debe paginarse; se pueden recorrer como máximo %d resultados.", maxResults)
+                : String.format("La página pedida llega al resultado %d; el máximo es %d. Reduzca el rectángulo.",
+                        end, maxResults));
+    }
+}
@@ -0,0 +1,27 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando se pide a {@code /in-polygon} un límite que no está
+ * en los archivos de límites cargados.
+ * <p>
+ * Produce una respuesta HTTP 404 Not Found.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UnknownBoundaryException extends RuntimeException {
+
+    /**
+     * Constructor que incluye el nombre buscado en el mensaje.
+     *
+     * @param name Nombre del límite buscado.
+     */
+    public UnknownBoundaryException(String name) {
+        super(String.format("No hay límites cargados para '%s'", name));
+    }
+}
@@ -0,0 +1,32 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import java.util.Collection;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando se pide una cuadrícula de densidad con un tamaño
+ * de celda que no se precalculó.
+ * <p>
+ * Las cuadrículas se calculan al cargar los datos para los tamaños definidos
+ * en {@code pipeline.stats.grid-cell-sizes}; cualquier otro tamaño produce
+ * una respuesta HTTP 400 Bad Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedGridCellSizeException extends RuntimeException {
+
+    /**
+     * Constructor que incluye el tamaño rechazado y los disponibles en el
+     * mensaje.
+     *
+     * @param cellSize El tamaño de celda recibido.
+     * @param supported Los tamaños de celda precalculados.
+     */
+    public UnsupportedGridCellSizeException(double cellSize, Collection<Double> supported) {
+        super(String.format("Tamaño de celda no disponible: %s (disponibles: %s)", cellSize, supported));
+    }
+}
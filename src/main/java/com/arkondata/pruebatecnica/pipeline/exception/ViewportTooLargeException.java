@@ -0,0 +1,32 @@
+package com.arkondata.pruebatecnica.pipeline.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción lanzada cuando el rectángulo pedido a {@code /clusters} es más
+ * grande que una vista de mapa en el zoom indicado.
+ * <p>
+ * El número de grupos de una respuesta está acotado por el tamaño de la vista
+ * en píxeles; un rectángulo mayor al máximo configurado en
+ * {@code pipeline.clusters.max-viewport} produce una respuesta HTTP 400 Bad
+ * Request.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ViewportTooLargeException extends RuntimeException {
+
+    /**
+     * Constructor que incluye el tamaño de la vista y el máximo en el mensaje.
+     *
+     * @param pixels Lado mayor de la vista pedida, en píxeles.
+     * @param maxPixels Lado máximo permitido, en píxeles.
+     */
+    public ViewportTooLargeException(double pixels, int maxPixels) {
+        super(String.format("La vista pedida mide %.0f píxeles; el máximo es %d. Reduzca el rectángulo o el zoom.",
+                pixels, maxPixels));
+    }
+}
@@ -0,0 +1,102 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+/**
+ * Rectángulo de latitudes y longitudes en grados.
+ * <p>
+ * Se usa como prefiltro de las búsquedas por distancia: todo punto a menos de
+ * cierta distancia de un origen está dentro del rectángulo calculado por
+ * {@link #around(double, double, double)}, de modo que la distancia exacta
+ * sólo se evalúa sobre los candidatos que un índice por latitud y longitud ya
+ * seleccionó.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class BoundingBox {
+
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    /**
+     * Constructor con todos los límites.
+     *
+     * @param minLatitude Latitud mínima.
+     * @param maxLatitude Latitud máxima.
+     * @param minLongitude Longitud mínima.
+     * @param maxLongitude Longitud máxima.
+     */
+    public BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        this.minLatitude = minLatitude;
+        this.maxLatitude = maxLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLongitude = maxLongitude;
+    }
+
+    /**
+     * Calcula el rectángulo mínimo que contiene el círculo de radio
+     * {@code distance} alrededor de un punto.
+     * <p>
+     * La amplitud en longitud se obtiene con {@code asin(sin(r) / cos(lat))},
+     * que es exacta sobre la esfera. Si el círculo alcanza un polo o cruza el
+     * antimeridiano, el rectángulo abarca todas las longitudes.
+     * </p>
+     *
+     * @param latitude Latitud del centro.
+     * @param longitude Longitud del centro.
+     * @param distance Radio en kilómetros.
+     * @return El rectángulo que contiene el círculo.
+     */
+    public static BoundingBox around(double latitude, double longitude, double distance) {
+        double angular = distance / GeoUtils.EARTH_RADIUS_KM;
+        double latRad = Math.toRadians(latitude);
+        double minLat = latRad - angular;
+        double maxLat = latRad + angular;
+        if (minLat <= -Math.PI / 2 || maxLat >= Math.PI / 2 || angular >= Math.PI / 2) {
+            return new BoundingBox(Math.max(-90, Math.toDegrees(minLat)), Math.min(90, Math.toDegrees(maxLat)), -180, 180);
+        }
+        double deltaLon = Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(latRad)));
+        double minLon = longitude - deltaLon;
+        double maxLon = longitude + deltaLon;
+        if (minLon < -180 || maxLon > 180) {
+            minLon = -180;
+            maxLon = 180;
+        }
+        return new BoundingBox(Math.toDegrees(minLat), Math.toDegrees(maxLat), minLon, maxLon);
+    }
+
+    /**
+     * Indica si un punto está dentro del rectángulo, bordes incluidos.
+     *
+     * @param latitude Latitud del punto.
+     * @param longitude Longitud del punto.
+     * @return {@code true} si el punto está dentro.
+     */
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + minLatitude + ", " + minLongitude + " - " + maxLatitude + ", " + maxLongitude + "]";
+    }
+}
@@ -0,0 +1,414 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.Arrays;
+
+/**
+ * Índice jerárquico de agrupamiento de puntos por nivel de zoom para mapas.
+ * <p>
+ * Sigue el algoritmo de supercluster: los puntos se proyectan a Web Mercator
+ * en el cuadrado unitario y, desde el zoom máximo hacia el cero, cada nivel
+ * agrupa los elementos del nivel siguiente que quedan a menos de
+ * {@code radius} píxeles (en mosaicos de {@code extent} píxeles) de un
+ * elemento aún no agrupado. Un grupo se representa por el centroide de sus
+ * puntos ponderado por su número. Los niveles por encima del zoom máximo
+ * devuelven los puntos individuales.
+ * </p>
+ * <p>
+ * Cada nivel es un árbol k-d implícito sobre arreglos primitivos, con la
+ * misma organización que {@link KdTree}, por lo que una consulta de un
+ * rectángulo sólo visita los elementos cercanos a él: su costo depende de lo
+ * que cabe en la vista y no del tamaño del conjunto. El índice es inmutable y
+ * puede consultarse desde cualquier número de hilos sin sincronización.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class ClusterIndex {
+
+    /**
+     * Identificador de los elementos que son grupos y no puntos.
+     */
+    public static final long CLUSTER = -1;
+
+    private final int extent;
+    private final int maxZoom;
+    private final Level[] levels;
+
+    /**
+     * Construye todos los niveles a partir de arreglos paralelos de puntos.
+     *
+     * @param ids Identificadores de los puntos; deben ser distintos de
+     * {@link #CLUSTER}.
+     * @param latitudes Latitudes de los puntos.
+     * @param longitudes Longitudes de los puntos.
+     * @param size Número de puntos válidos en los arreglos.
+     * @param radius Radio de agrupamiento en píxeles.
+     * @param extent Lado de los mosaicos del mapa en píxeles.
+     * @param maxZoom Zoom máximo en el que se agrupa; a partir del siguiente
+     * se devuelven los puntos individuales.
+     */
+    public ClusterIndex(long[] ids, double[] latitudes, double[] longitudes, int size, int radius, int extent, int maxZoom) {
+        if (maxZoom < 0 || maxZoom > 30) {
+            throw new IllegalArgumentException("El zoom máximo debe estar entre 0 y 30: " + maxZoom);
+        }
+        this.extent = extent;
+        this.maxZoom = maxZoom;
+        this.levels = new Level[maxZoom + 2];
+        Level leaves = new Level(size);
+        for (int i = 0; i < size; i++) {
+            leaves.add(lngX(longitudes[i]), latY(latitudes[i]), 1, ids[i], -1);
+        }
+        leaves.index();
+        levels[maxZoom + 1] = leaves;
+        for (int zoom = maxZoom; zoom >= 0; zoom--) {
+            levels[zoom] = cluster(levels[zoom + 1], zoom, (double) radius / ((double) extent * (1L << zoom)));
+        }
+    }
+
+    /**
+     * Zoom máximo en el que se agrupa.
+     *
+     * @return El zoom máximo.
+     */
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Número de elementos de un nivel.
+     *
+     * @param zoom Nivel de zoom; los mayores al zoom máximo devuelven los
+     * puntos individuales.
+     * @return La cantidad de grupos y puntos del nivel.
+     */
+    public int size(int zoom) {
+        return level(zoom).size;
+    }
+
+    /**
+     * Lado mayor, en píxeles, de la vista de un rectángulo con cierto zoom.
+     * Como los grupos de un nivel quedan separados por al menos el radio de
+     * agrupamiento, el tamaño de la vista acota el número de grupos de una
+     * consulta.
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom.
+     * @return El ancho o el alto de la vista, el mayor de ellos.
+     */
+    public double viewportPixels(double west, double south, double east, double north, int zoom) {
+        double span = east - west >= 360 ? 360 : normalize(east) - normalize(west);
+        if (span < 0) {
+            span += 360;
+        }
+        double scale = (double) extent * Math.pow(2, zoom);
+        double width = span / 360 * scale;
+        double height = (latY(Math.max(-90, south)) - latY(Math.min(90, north))) * scale;
+        return Math.max(width, height);
+    }
+
+    /**
+     * Recorre los grupos y puntos de un nivel dentro de un rectángulo.
+     * <p>
+     * Si {@code west} es mayor que {@code east}, el rectángulo cruza el
+     * antimeridiano y se consultan ambos lados.
+     * </p>
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom.
+     * @param consumer Receptor de cada elemento encontrado.
+     */
+    public void clusters(double west, double south, double east, double north, int zoom, ClusterConsumer consumer) {
+        Level level = level(zoom);
+        double minY = latY(Math.min(90, north));
+        double maxY = latY(Math.max(-90, south));
+        if (east - west >= 360) {
+            level.range(0, 1, minY, maxY, consumer);
+            return;
+        }
+        double minLng = normalize(west);
+        double maxLng = normalize(east);
+        if (minLng > maxLng) {
+            level.range(lngX(minLng), 1, minY, maxY, consumer);
+            level.range(0, lngX(maxLng), minY, maxY, consumer);
+        } else {
+            level.range(lngX(minLng), lngX(maxLng), minY, maxY, consumer);
+        }
+    }
+
+    private Level level(int zoom) {
+        return levels[Math.max(0, Math.min(zoom, maxZoom + 1))];
+    }
+
+    /**
+     * Agrupa los elementos de un nivel en el nivel inmediato inferior.
+     */
+    private static Level cluster(Level previous, int zoom, double radius) {
+        Level next = new Level(previous.size);
+        boolean[] visited = new boolean[previous.size];
+        IntBuffer neighbors = new IntBuffer();
+        for (int i = 0; i < previous.size; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+            double x = previous.x[i];
+            double y = previous.y[i];
+            neighbors.clear();
+            previous.within(x, y, radius, neighbors);
+            long count = previous.count[i];
+            double weightedX = x * count;
+            double weightedY = y * count;
+            for (int n = 0; n < neighbors.size; n++) {
+                int neighbor = neighbors.values[n];
+                if (!visited[neighbor]) {
+                    int neighborCount = previous.count[neighbor];
+                    count += neighborCount;
+                    weightedX += previous.x[neighbor] * neighborCount;
+                    weightedY += previous.y[neighbor] * neighborCount;
+                }
+            }
+            if (count == previous.count[i]) {
+                // Sin vecinos libres: el elemento pasa igual al nivel inferior.
+                next.add(x, y, previous.count[i], previous.id[i], previous.expansion[i]);
+                continue;
+            }
+            for (int n = 0; n < neighbors.size; n++) {
+                visited[neighbors.values[n]] = true;
+            }
+            next.add(weightedX / count, weightedY / count, (int) count, CLUSTER, zoom + 1);
+        }
+        next.index();
+        return next;
+    }
+
+    private static double normalize(double longitude) {
+        if (longitude >= -180 && longitude <= 180) {
+            return longitude;
+        }
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+
+    private static double lngX(double longitude) {
+        return longitude / 360 + 0.5;
+    }
+
+    private static double latY(double latitude) {
+        double sin = Math.sin(Math.toRadians(latitude));
+        double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+        return y < 0 ? 0 : (y > 1 ? 1 : y);
+    }
+
+    private static double xLng(double x) {
+        return (x - 0.5) * 360;
+    }
+
+    private static double yLat(double y) {
+        return Math.toDegrees(Math.atan(Math.exp(Math.PI * (1 - 2 * y)))) * 2 - 90;
+    }
+
+    /**
+     * Receptor de los elementos de una consulta.
+     */
+    @FunctionalInterface
+    public interface ClusterConsumer {
+
+        /**
+         * Recibe un grupo o un punto.
+         *
+         * @param latitude Latitud del punto o del centroide del grupo.
+         * @param longitude Longitud del punto o del centroide del grupo.
+         * @param count Número de puntos; 1 para un punto individual.
+         * @param id Identificador del punto, o {@link ClusterIndex#CLUSTER} si
+         * es un grupo.
+         * @param expansionZoom Zoom en el que el grupo se divide; -1 para un
+         * punto individual.
+         */
+        void accept(double latitude, double longitude, int count, long id, int expansionZoom);
+    }
+
+    /**
+     * Elementos de un nivel en arreglos paralelos, ordenados como árbol k-d
+     * implícito: los niveles pares del árbol dividen por x y los impares por y.
+     */
+    private static final class Level {
+
+        private double[] x;
+        private double[] y;
+        private int[] count;
+        private long[] id;
+        private int[] expansion;
+        private int size;
+
+        private Level(int capacity) {
+            x = new double[capacity];
+            y = new double[capacity];
+            count = new int[capacity];
+            id = new long[capacity];
+            expansion = new int[capacity];
+        }
+
+        private void add(double px, double py, int pointCount, long pointId, int expansionZoom) {
+            x[size] = px;
+            y[size] = py;
+            count[size] = pointCount;
+            id[size] = pointId;
+            expansion[size] = expansionZoom;
+            size++;
+        }
+
+        /**
+         * Recorta los arreglos y los ordena como árbol.
+         */
+        private void index() {
+            x = Arrays.copyOf(x, size);
+            y = Arrays.copyOf(y, size);
+            count = Arrays.copyOf(count, size);
+            id = Arrays.copyOf(id, size);
+            expansion = Arrays.copyOf(expansion, size);
+            build(0, size, 0);
+        }
+
+        private void range(double minX, double maxX, double minY, double maxY, ClusterConsumer consumer) {
+            range(0, size, 0, minX, maxX, minY, maxY, consumer);
+        }
+
+        private void range(int lo, int hi, int depth, double minX, double maxX, double minY, double maxY,
+                ClusterConsumer consumer) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                double px = x[mid];
+                double py = y[mid];
+                if (px >= minX && px <= maxX && py >= minY && py <= maxY) {
+                    consumer.accept(yLat(py), xLng(px), count[mid], id[mid], expansion[mid]);
+                }
+                boolean even = (depth & 1) == 0;
+                double value = even ? px : py;
+                boolean left = (even ? minX : minY) <= value;
+                boolean right = (even ? maxX : maxY) >= value;
+                depth++;
+                if (left && right) {
+                    range(lo, mid, depth, minX, maxX, minY, maxY, consumer);
+                    lo = mid + 1;
+                } else if (left) {
+                    hi = mid;
+                } else if (right) {
+                    lo = mid + 1;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void within(double cx, double cy, double radius, IntBuffer result) {
+            within(0, size, 0, cx, cy, radius, radius * radius, result);
+        }
+
+        private void within(int lo, int hi, int depth, double cx, double cy, double radius, double radiusSquared,
+                IntBuffer result) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                double dx = x[mid] - cx;
+                double dy = y[mid] - cy;
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    result.add(mid);
+                }
+                double delta = (depth & 1) == 0 ? dx : dy;
+                depth++;
+                if (delta >= -radius && delta <= radius) {
+                    within(lo, mid, depth, cx, cy, radius, radiusSquared, result);
+                    lo = mid + 1;
+                } else if (delta > radius) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+        }
+
+        private void build(int lo, int hi, int depth) {
+            while (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                select(lo, hi - 1, mid, (depth & 1) == 0 ? x : y);
+                depth++;
+                build(lo, mid, depth);
+                lo = mid + 1;
+            }
+        }
+
+        /**
+         * Reordena {@code [lo, hi]} para que la posición {@code k} contenga el
+         * elemento que tendría con el rango ordenado por {@code keys}
+         * (selección de Hoare).
+         */
+        private void select(int lo, int hi, int k, double[] keys) {
+            while (hi > lo) {
+                double pivot = keys[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (keys[i] < pivot) {
+                        i++;
+                    }
+                    while (keys[j] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void swap(int a, int b) {
+            double px = x[a];
+            x[a] = x[b];
+            x[b] = px;
+            double py = y[a];
+            y[a] = y[b];
+            y[b] = py;
+            int c = count[a];
+            count[a] = count[b];
+            count[b] = c;
+            long i = id[a];
+            id[a] = id[b];
+            id[b] = i;
+            int e = expansion[a];
+            expansion[a] = expansion[b];
+            expansion[b] = e;
+        }
+    }
+
+    /**
+     * Lista creciente de enteros reutilizada entre búsquedas de vecinos.
+     */
+    private static final class IntBuffer {
+
+        private int[] values = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.Arrays;
+
+/**
+ * Resultado de una búsqueda espacial: identificadores y distancias en
+ * arreglos primitivos paralelos.
+ * <p>
+ * Evita crear un objeto por punto encontrado; los resultados se ordenan por
+ * distancia ascendente y, a igual distancia, por identificador, de modo que
+ * el orden es estable entre ejecuciones.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class GeoHits {
+
+    private long[] ids;
+    private double[] distances;
+    private int size;
+
+    /**
+     * Crea un resultado vacío con capacidad inicial.
+     *
+     * @param capacity Capacidad inicial.
+     */
+    public GeoHits(int capacity) {
+        int initial = Math.max(capacity, 4);
+        this.ids = new long[initial];
+        this.distances = new double[initial];
+    }
+
+    /**
+     * Agrega un punto encontrado.
+     *
+     * @param id Identificador del punto.
+     * @param distance Distancia al origen en kilómetros.
+     */
+    public void add(long id, double distance) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            distances = Arrays.copyOf(distances, size * 2);
+        }
+        ids[size] = id;
+        distances[size] = distance;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public double distance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Ordena los resultados por distancia y, en empate, por identificador.
+     *
+     * @return Este mismo resultado, ya ordenado.
+     */
+    public GeoHits sortByDistance() {
+        quickSort(0, size - 1);
+        return this;
+    }
+
+    private void quickSort(int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            double pivotDistance = distances[mid];
+            long pivotId = ids[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (less(i, pivotDistance, pivotId)) {
+                    i++;
+                }
+                while (greater(j, pivotDistance, pivotId)) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recursión sobre la mitad menor para acotar la pila.
+            if (j - lo < hi - i) {
+                quickSort(lo, j);
+                lo = i;
+            } else {
+                quickSort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(j, distances[j - 1], ids[j - 1]); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private boolean less(int index, double distance, long id) {
+        return distances[index] < distance || (distances[index] == distance && ids[index] < id);
+    }
+
+    private boolean greater(int index, double distance, long id) {
+        return distances[index] > distance || (distances[index] == distance && ids[index] > id);
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+}
@@ -0,0 +1,86 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectura de geometrías {@code Polygon} y {@code MultiPolygon} de GeoJSON
+ * (RFC 7946) como {@link Polygon}.
+ * <p>
+ * Las posiciones se leen en el orden de GeoJSON, longitud y latitud; una
+ * altitud, si existe, se ignora.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class GeoJsonPolygons {
+
+    private GeoJsonPolygons() {
+    }
+
+    /**
+     * Lee una geometría de GeoJSON.
+     *
+     * @param geometry Objeto con los miembros {@code type} y
+     * {@code coordinates}.
+     * @return El polígono.
+     * @throws IllegalArgumentException Si la geometría no es un
+     * {@code Polygon} ni un {@code MultiPolygon} válido.
+     */
+    public static Polygon read(JsonNode geometry) {
+        if (geometry == null || !geometry.isObject()) {
+            throw new IllegalArgumentException("La geometría debe ser un objeto GeoJSON");
+        }
+        return read(geometry.path("type").asText(null), geometry.get("coordinates"));
+    }
+
+    /**
+     * Lee las coordenadas de una geometría de GeoJSON.
+     *
+     * @param type Tipo de la geometría: {@code Polygon} o
+     * {@code MultiPolygon}.
+     * @param coordinates Coordenadas de la geometría.
+     * @return El polígono.
+     * @throws IllegalArgumentException Si el tipo no es soportado o las
+     * coordenadas no son válidas.
+     */
+    public static Polygon read(String type, JsonNode coordinates) {
+        List<double[]> rings = new ArrayList<>();
+        if ("Polygon".equals(type)) {
+            addRings(coordinates, rings);
+        } else if ("MultiPolygon".equals(type)) {
+            for (JsonNode polygon : array(coordinates)) {
+                addRings(polygon, rings);
+            }
+        } else {
+            throw new IllegalArgumentException("Tipo de geometría no soportado: " + type + " (se esperaba 'Polygon' o 'MultiPolygon')");
+        }
+        return Polygon.of(rings);
+    }
+
+    private static void addRings(JsonNode polygon, List<double[]> rings) {
+        for (JsonNode ring : array(polygon)) {
+            JsonNode positions = array(ring);
+            double[] coordinates = new double[positions.size() * 2];
+            int i = 0;
+            for (JsonNode position : positions) {
+                if (!position.isArray() || position.size() < 2 || !position.get(0).isNumber() || !position.get(1).isNumber()) {
+                    throw new IllegalArgumentException("Cada posición debe ser un arreglo [longitud, latitud]");
+                }
+                coordinates[i++] = position.get(0).asDouble();
+                coordinates[i++] = position.get(1).asDouble();
+            }
+            rings.add(coordinates);
+        }
+    }
+
+    private static JsonNode array(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            throw new IllegalArgumentException("Las coordenadas del polígono deben ser arreglos anidados");
+        }
+        return node;
+    }
+}
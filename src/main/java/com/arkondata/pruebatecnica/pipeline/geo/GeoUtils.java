@@ -0,0 +1,37 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+/**
+ * Utilidades de geometría sobre la esfera terrestre.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class GeoUtils {
+
+    /**
+     * Radio medio de la Tierra en kilómetros, el mismo que usa la consulta de
+     * proximidad del repositorio.
+     */
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Distancia de círculo máximo entre dos puntos, con la ley esférica de los
+     * cosenos que usa la consulta nativa de proximidad.
+     *
+     * @param latitude1 Latitud del primer punto.
+     * @param longitude1 Longitud del primer punto.
+     * @param latitude2 Latitud del segundo punto.
+     * @param longitude2 Longitud del segundo punto.
+     * @return La distancia en kilómetros.
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double cos = Math.cos(lat1) * Math.cos(lat2) * Math.cos(Math.toRadians(longitude2) - Math.toRadians(longitude1))
+                + Math.sin(lat1) * Math.sin(lat2);
+        return EARTH_RADIUS_KM * Math.acos(Math.min(1, Math.max(-1, cos)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.Arrays;
+
+/**
+ * Conteo de puntos por celda de una cuadrícula de latitud y longitud.
+ * <p>
+ * Las celdas miden {@code cellSize} grados por lado y se identifican por su
+ * fila {@code floor(latitud / cellSize)} y su columna
+ * {@code floor(longitud / cellSize)}, empacadas en un {@code long} con el
+ * bit de signo de la columna invertido para que el orden numérico de las
+ * llaves sea el de fila y luego columna. Sólo se
+ * guardan las celdas con al menos un punto, en dos arreglos primitivos
+ * paralelos ordenados por fila y columna, de modo que el conteo ocupa 12
+ * bytes por celda ocupada y una celda se encuentra con búsqueda binaria.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class GridCounts {
+
+    private final double cellSize;
+    private final long[] cells;
+    private final int[] counts;
+
+    /**
+     * Cuenta los puntos de cada celda.
+     *
+     * @param cellSize Lado de las celdas en grados; debe ser positivo.
+     * @param latitudes Latitudes de los puntos.
+     * @param longitudes Longitudes de los puntos.
+     * @param size Número de puntos válidos en los arreglos.
+     */
+    public GridCounts(double cellSize, double[] latitudes, double[] longitudes, int size) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("El tamaño de celda debe ser positivo: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(row(latitudes[i]), column(longitudes[i]));
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                distinct++;
+            }
+        }
+        this.cells = new long[distinct];
+        this.counts = new int[distinct];
+        int cell = -1;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                cells[++cell] = keys[i];
+            }
+            counts[cell]++;
+        }
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Número de celdas con al menos un punto.
+     *
+     * @return La cantidad de celdas ocupadas.
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Latitud del borde sur de una celda.
+     *
+     * @param index Índice de la celda, entre 0 y {@link #size()}.
+     * @return La latitud mínima de la celda.
+     */
+    public double south(int index) {
+        return degrees((int) (cells[index] >> 32));
+    }
+
+    /**
+     * Longitud del borde oeste de una celda.
+     *
+     * @param index Índice de la celda, entre 0 y {@link #size()}.
+     * @return La longitud mínima de la celda.
+     */
+    public double west(int index) {
+        return degrees((int) cells[index] ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * Puntos de una celda.
+     *
+     * @param index Índice de la celda, entre 0 y {@link #size()}.
+     * @return El número de puntos de la celda.
+     */
+    public int count(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Puntos de la celda que contiene una coordenada.
+     *
+     * @param latitude Latitud de la coordenada.
+     * @param longitude Longitud de la coordenada.
+     * @return El número de puntos de la celda; 0 si está vacía.
+     */
+    public int countAt(double latitude, double longitude) {
+        int index = Arrays.binarySearch(cells, key(row(latitude), column(longitude)));
+        return index < 0 ? 0 : counts[index];
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellSize);
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / cellSize);
+    }
+
+    /**
+     * Borde de una fila o columna, redondeado para no arrastrar el error de
+     * la multiplicación (por ejemplo, 19.43 en vez de 19.430000000000003).
+     */
+    private double degrees(int index) {
+        return Math.round(index * cellSize * 1e9) / 1e9;
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | ((column ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,483 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.Arrays;
+
+/**
+ * Árbol k-d inmutable de dos dimensiones (latitud, longitud) sobre arreglos
+ * primitivos.
+ * <p>
+ * El árbol se almacena de forma implícita: para un rango {@code [lo, hi)} el
+ * nodo es el elemento central, el subárbol izquierdo ocupa {@code [lo, mid)} y
+ * el derecho {@code (mid, hi)}. Los niveles pares dividen por latitud y los
+ * impares por longitud. No hay objetos por nodo, por lo que el árbol ocupa
+ * 24 bytes por punto y puede consultarse desde cualquier número de hilos sin
+ * sincronización.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class KdTree {
+
+    private final long[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    /**
+     * Construye el árbol a partir de arreglos paralelos de puntos.
+     * <p>
+     * Los arreglos recibidos se copian; pueden reutilizarse después.
+     * </p>
+     *
+     * @param ids Identificadores de los puntos.
+     * @param latitudes Latitudes de los puntos.
+     * @param longitudes Longitudes de los puntos.
+     * @param size Número de puntos válidos en los arreglos.
+     */
+    public KdTree(long[] ids, double[] latitudes, double[] longitudes, int size) {
+        this.ids = Arrays.copyOf(ids, size);
+        this.latitudes = Arrays.copyOf(latitudes, size);
+        this.longitudes = Arrays.copyOf(longitudes, size);
+        build(0, size, 0);
+    }
+
+    /**
+     * Número de puntos en el árbol.
+     *
+     * @return La cantidad de puntos indexados.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Busca los puntos a menos de {@code distance} kilómetros de un origen.
+     * <p>
+     * El recorrido descarta los subárboles fuera del rectángulo que contiene el
+     * círculo y calcula la distancia exacta sólo para los puntos dentro de él.
+     * </p>
+     *
+     * @param latitude Latitud del origen.
+     * @param longitude Longitud del origen.
+     * @param distance Radio de búsqueda en kilómetros (exclusivo).
+     * @return Los puntos encontrados, ordenados por distancia.
+     */
+    public GeoHits withinDistance(double latitude, double longitude, double distance) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, distance);
+        GeoHits hits = new GeoHits(64);
+        withinDistance(0, ids.length, 0, box, latitude, longitude, distance, hits);
+        return hits.sortByDistance();
+    }
+
+    /**
+     * Busca los puntos dentro de un rectángulo, bordes incluidos.
+     * <p>
+     * El recorrido sólo desciende a los subárboles que el rectángulo cruza,
+     * por lo que su costo depende del número de puntos encontrados y no del
+     * tamaño del árbol.
+     * </p>
+     *
+     * @param box Rectángulo de búsqueda.
+     * @return Los identificadores de los puntos encontrados, en orden
+     * ascendente.
+     */
+    public long[] within(BoundingBox box) {
+        Ids found = new Ids();
+        within(0, ids.length, 0, box, found);
+        return found.sorted();
+    }
+
+    /**
+     * Busca los {@code k} puntos más cercanos a un origen.
+     * <p>
+     * La búsqueda es primero-el-mejor: los subárboles pendientes se visitan en
+     * orden de su cota inferior de distancia al origen, y los candidatos se
+     * guardan en una cola acotada a {@code k} elementos. La búsqueda termina
+     * en cuanto la cota del siguiente subárbol supera al k-ésimo candidato, por
+     * lo que el costo depende de {@code k} y no del número de puntos.
+     * </p>
+     *
+     * @param latitude Latitud del origen.
+     * @param longitude Longitud del origen.
+     * @param k Número máximo de puntos a devolver.
+     * @return Los puntos encontrados, ordenados por distancia.
+     */
+    public GeoHits nearest(double latitude, double longitude, int k) {
+        int limit = Math.min(k, ids.length);
+        if (limit <= 0) {
+            return new GeoHits(0);
+        }
+        double latitudeCos = Math.cos(Math.toRadians(latitude));
+        NearestQueue candidates = new NearestQueue(limit);
+        SubtreeQueue pending = new SubtreeQueue();
+        pending.push(0, ids.length, 0, 0);
+        while (!pending.isEmpty()) {
+            double bound = pending.minBound();
+            if (candidates.isFull() && bound > candidates.worstDistance()) {
+                break;
+            }
+            int lo = pending.lo();
+            int hi = pending.hi();
+            int depth = pending.depth();
+            pending.pop();
+            // Desciende por el lado cercano y deja pendiente el lado lejano.
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                double lat = latitudes[mid];
+                double lon = longitudes[mid];
+                candidates.offer(ids[mid], GeoUtils.distanceKm(latitude, longitude, lat, lon));
+                boolean nearIsLeft;
+                double planeDistance;
+                if ((depth & 1) == 0) {
+                    nearIsLeft = latitude <= lat;
+                    planeDistance = GeoUtils.EARTH_RADIUS_KM * Math.toRadians(Math.abs(lat - latitude));
+                } else {
+                    nearIsLeft = longitude <= lon;
+                    // Al lado lejano se llega cruzando el meridiano de corte o el antimeridiano.
+                    planeDistance = Math.min(meridianDistance(latitudeCos, longitude, lon),
+                            meridianDistance(latitudeCos, longitude, 180));
+                }
+                double farBound = Math.max(bound, planeDistance);
+                depth++;
+                if (nearIsLeft) {
+                    if (!candidates.isFull() || farBound <= candidates.worstDistance()) {
+                        pending.push(mid + 1, hi, depth, farBound);
+                    }
+                    hi = mid;
+                } else {
+                    if (!candidates.isFull() || farBound <= candidates.worstDistance()) {
+                        pending.push(lo, mid, depth, farBound);
+                    }
+                    lo = mid + 1;
+                }
+            }
+        }
+        return candidates.toHits();
+    }
+
+    /**
+     * Cota inferior de la distancia desde un punto hasta cualquier punto de un
+     * meridiano: la distancia al círculo máximo que lo contiene.
+     */
+    private static double meridianDistance(double latitudeCos, double longitude, double meridian) {
+        double sin = Math.abs(Math.sin(Math.toRadians(meridian - longitude)));
+        return GeoUtils.EARTH_RADIUS_KM * Math.asin(Math.min(1, sin * latitudeCos));
+    }
+
+    private void withinDistance(int lo, int hi, int depth, BoundingBox box,
+            double latitude, double longitude, double distance, GeoHits hits) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            double lat = latitudes[mid];
+            double lon = longitudes[mid];
+            if (box.contains(lat, lon)) {
+                double d = GeoUtils.distanceKm(latitude, longitude, lat, lon);
+                if (d < distance) {
+                    hits.add(ids[mid], d);
+                }
+            }
+            double value;
+            double min;
+            double max;
+            if ((depth & 1) == 0) {
+                value = lat;
+                min = box.getMinLatitude();
+                max = box.getMaxLatitude();
+            } else {
+                value = lon;
+                min = box.getMinLongitude();
+                max = box.getMaxLongitude();
+            }
+            boolean left = min <= value;
+            boolean right = max >= value;
+            depth++;
+            if (left && right) {
+                withinDistance(lo, mid, depth, box, latitude, longitude, distance, hits);
+                lo = mid + 1;
+            } else if (left) {
+                hi = mid;
+            } else if (right) {
+                lo = mid + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void within(int lo, int hi, int depth, BoundingBox box, Ids found) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            double lat = latitudes[mid];
+            double lon = longitudes[mid];
+            if (box.contains(lat, lon)) {
+                found.add(ids[mid]);
+            }
+            boolean left;
+            boolean right;
+            if ((depth & 1) == 0) {
+                left = box.getMinLatitude() <= lat;
+                right = box.getMaxLatitude() >= lat;
+            } else {
+                left = box.getMinLongitude() <= lon;
+                right = box.getMaxLongitude() >= lon;
+            }
+            depth++;
+            if (left && right) {
+                within(lo, mid, depth, box, found);
+                lo = mid + 1;
+            } else if (left) {
+                hi = mid;
+            } else if (right) {
+                lo = mid + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void build(int lo, int hi, int depth) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, (depth & 1) == 0 ? latitudes : longitudes);
+            depth++;
+            build(lo, mid, depth);
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * Reordena {@code [lo, hi]} para que la posición {@code k} contenga el
+     * elemento que tendría con el rango ordenado por {@code keys}
+     * (selección de Hoare).
+     */
+    private void select(int lo, int hi, int k, double[] keys) {
+        while (hi > lo) {
+            double pivot = keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double lat = latitudes[a];
+        latitudes[a] = latitudes[b];
+        latitudes[b] = lat;
+        double lon = longitudes[a];
+        longitudes[a] = longitudes[b];
+        longitudes[b] = lon;
+    }
+
+    /**
+     * Lista creciente de identificadores.
+     */
+    private static final class Ids {
+
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = id;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    /**
+     * Cola de prioridad acotada con los mejores candidatos: un montículo de
+     * máximos por distancia (y por identificador en empate) cuya raíz es el
+     * peor candidato conservado.
+     */
+    private static final class NearestQueue {
+
+        private final long[] ids;
+        private final double[] distances;
+        private int size;
+
+        NearestQueue(int capacity) {
+            this.ids = new long[capacity];
+            this.distances = new double[capacity];
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        double worstDistance() {
+            return distances[0];
+        }
+
+        void offer(long id, double distance) {
+            if (size < ids.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!worse(distance, id, distances[parent], ids[parent])) {
+                        break;
+                    }
+                    ids[i] = ids[parent];
+                    distances[i] = distances[parent];
+                    i = parent;
+                }
+                ids[i] = id;
+                distances[i] = distance;
+            } else if (worse(distances[0], ids[0], distance, id)) {
+                siftDown(id, distance);
+            }
+        }
+
+        private void siftDown(long id, double distance) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && worse(distances[child + 1], ids[child + 1], distances[child], ids[child])) {
+                    child++;
+                }
+                if (!worse(distances[child], ids[child], distance, id)) {
+                    break;
+                }
+                ids[i] = ids[child];
+                distances[i] = distances[child];
+                i = child;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+
+        GeoHits toHits() {
+            GeoHits hits = new GeoHits(size);
+            for (int i = 0; i < size; i++) {
+                hits.add(ids[i], distances[i]);
+            }
+            return hits.sortByDistance();
+        }
+
+        private static boolean worse(double distance, long id, double otherDistance, long otherId) {
+            return distance > otherDistance || (distance == otherDistance && id > otherId);
+        }
+    }
+
+    /**
+     * Montículo de mínimos de subárboles pendientes, ordenados por su cota
+     * inferior de distancia al origen.
+     */
+    private static final class SubtreeQueue {
+
+        private int[] los = new int[32];
+        private int[] his = new int[32];
+        private int[] depths = new int[32];
+        private double[] bounds = new double[32];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double minBound() {
+            return bounds[0];
+        }
+
+        int lo() {
+            return los[0];
+        }
+
+        int hi() {
+            return his[0];
+        }
+
+        int depth() {
+            return depths[0];
+        }
+
+        void push(int lo, int hi, int depth, double bound) {
+            if (size == los.length) {
+                int capacity = size * 2;
+                los = Arrays.copyOf(los, capacity);
+                his = Arrays.copyOf(his, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                bounds = Arrays.copyOf(bounds, capacity);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (bounds[parent] <= bound) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            set(i, lo, hi, depth, bound);
+        }
+
+        void pop() {
+            int last = --size;
+            if (last == 0) {
+                return;
+            }
+            int lo = los[last];
+            int hi = his[last];
+            int depth = depths[last];
+            double bound = bounds[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && bounds[child + 1] < bounds[child]) {
+                    child++;
+                }
+                if (bounds[child] >= bound) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            set(i, lo, hi, depth, bound);
+        }
+
+        private void move(int from, int to) {
+            los[to] = los[from];
+            his[to] = his[from];
+            depths[to] = depths[from];
+            bounds[to] = bounds[from];
+        }
+
+        private void set(int i, int lo, int hi, int depth, double bound) {
+            los[i] = lo;
+            his[i] = hi;
+            depths[i] = depth;
+            bounds[i] = bound;
+        }
+    }
+}
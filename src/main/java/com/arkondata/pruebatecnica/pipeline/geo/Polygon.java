@@ -0,0 +1,201 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.List;
+
+/**
+ * Polígono inmutable en grados, con o sin huecos y de una o varias partes.
+ * <p>
+ * La pertenencia se decide con la regla par-impar: se cuentan los lados que
+ * cruza un rayo trazado hacia el este desde el punto, sobre todos los anillos
+ * a la vez, de modo que los huecos y las partes de un {@code MultiPolygon} no
+ * necesitan tratamiento aparte. Los puntos exactamente sobre un lado pueden
+ * quedar dentro o fuera.
+ * </p>
+ * <p>
+ * Para no recorrer todos los lados en cada consulta, el rectángulo del
+ * polígono se divide en franjas de latitud y cada franja guarda los lados que
+ * la atraviesan: un rayo horizontal sólo puede cruzar los lados de la franja
+ * de su latitud. Los lados se guardan en arreglos primitivos paralelos.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class Polygon {
+
+    /**
+     * Lados promedio por franja al dividir el rectángulo del polígono.
+     */
+    private static final int EDGES_PER_BAND = 4;
+
+    private static final int MAX_BANDS = 1 << 14;
+
+    private final BoundingBox bounds;
+    private final int vertexCount;
+    private final double[] fromLatitudes;
+    private final double[] fromLongitudes;
+    private final double[] toLatitudes;
+    private final double[] toLongitudes;
+    private final double bandHeight;
+    private final int[] bandStarts;
+    private final int[] bandEdges;
+
+    private Polygon(BoundingBox bounds, int vertexCount, double[] fromLatitudes, double[] fromLongitudes,
+            double[] toLatitudes, double[] toLongitudes, int edges) {
+        this.bounds = bounds;
+        this.vertexCount = vertexCount;
+        this.fromLatitudes = fromLatitudes;
+        this.fromLongitudes = fromLongitudes;
+        this.toLatitudes = toLatitudes;
+        this.toLongitudes = toLongitudes;
+        double height = bounds.getMaxLatitude() - bounds.getMinLatitude();
+        int bands = height > 0 ? Math.max(1, Math.min(MAX_BANDS, edges / EDGES_PER_BAND)) : 1;
+        this.bandHeight = height > 0 ? height / bands : 1;
+        this.bandStarts = new int[bands + 1];
+        for (int e = 0; e < edges; e++) {
+            int last = lastBand(e);
+            for (int b = firstBand(e); b <= last; b++) {
+                bandStarts[b + 1]++;
+            }
+        }
+        for (int b = 0; b < bands; b++) {
+            bandStarts[b + 1] += bandStarts[b];
+        }
+        this.bandEdges = new int[bandStarts[bands]];
+        int[] next = new int[bands];
+        for (int e = 0; e < edges; e++) {
+            int last = lastBand(e);
+            for (int b = firstBand(e); b <= last; b++) {
+                bandEdges[bandStarts[b] + next[b]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Construye el polígono a partir de sus anillos.
+     * <p>
+     * Cada anillo es una secuencia de posiciones {@code longitud, latitud}
+     * intercaladas, en el orden de GeoJSON; si el último vértice no repite al
+     * primero, el anillo se cierra implícitamente. Los lados horizontales se
+     * descartan porque nunca cruzan un rayo horizontal.
+     * </p>
+     *
+     * @param rings Anillos del polígono: exteriores y huecos de todas sus
+     * partes.
+     * @return El polígono.
+     * @throws IllegalArgumentException Si no hay anillos, si un anillo tiene
+     * menos de tres vértices distintos o si una coordenada está fuera de rango.
+     */
+    public static Polygon of(List<double[]> rings) {
+        if (rings.isEmpty()) {
+            throw new IllegalArgumentException("El polígono no tiene anillos");
+        }
+        int capacity = 0;
+        for (double[] ring : rings) {
+            capacity += ring.length / 2;
+        }
+        double[] fromLatitudes = new double[capacity];
+        double[] fromLongitudes = new double[capacity];
+        double[] toLatitudes = new double[capacity];
+        double[] toLongitudes = new double[capacity];
+        double minLatitude = Double.POSITIVE_INFINITY;
+        double maxLatitude = Double.NEGATIVE_INFINITY;
+        double minLongitude = Double.POSITIVE_INFINITY;
+        double maxLongitude = Double.NEGATIVE_INFINITY;
+        int vertices = 0;
+        int edges = 0;
+        for (double[] ring : rings) {
+            int n = ring.length / 2;
+            if (n > 1 && ring[0] == ring[2 * n - 2] && ring[1] == ring[2 * n - 1]) {
+                n--;
+            }
+            if (ring.length % 2 != 0 || n < 3) {
+                throw new IllegalArgumentException("Cada anillo debe tener al menos tres vértices distintos");
+            }
+            for (int i = 0; i < n; i++) {
+                double lon = ring[2 * i];
+                double lat = ring[2 * i + 1];
+                if (!(Math.abs(lat) <= 90) || !(Math.abs(lon) <= 180)) {
+                    throw new IllegalArgumentException("Coordenada fuera de rango: [" + lon + ", " + lat + "]");
+                }
+                minLatitude = Math.min(minLatitude, lat);
+                maxLatitude = Math.max(maxLatitude, lat);
+                minLongitude = Math.min(minLongitude, lon);
+                maxLongitude = Math.max(maxLongitude, lon);
+                int j = (i + 1) % n;
+                double nextLat = ring[2 * j + 1];
+                if (nextLat != lat) {
+                    fromLatitudes[edges] = lat;
+                    fromLongitudes[edges] = lon;
+                    toLatitudes[edges] = nextLat;
+                    toLongitudes[edges] = ring[2 * j];
+                    edges++;
+                }
+            }
+            vertices += n;
+        }
+        BoundingBox bounds = new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+        return new Polygon(bounds, vertices, fromLatitudes, fromLongitudes, toLatitudes, toLongitudes, edges);
+    }
+
+    /**
+     * Indica si un punto está dentro del polígono.
+     *
+     * @param latitude Latitud del punto.
+     * @param longitude Longitud del punto.
+     * @return {@code true} si el punto está dentro y fuera de todos los
+     * huecos.
+     */
+    public boolean contains(double latitude, double longitude) {
+        if (!bounds.contains(latitude, longitude)) {
+            return false;
+        }
+        int b = band(latitude);
+        boolean inside = false;
+        for (int k = bandStarts[b], end = bandStarts[b + 1]; k < end; k++) {
+            int e = bandEdges[k];
+            double fromLat = fromLatitudes[e];
+            double toLat = toLatitudes[e];
+            if ((fromLat > latitude) != (toLat > latitude)) {
+                double crossing = fromLongitudes[e]
+                        + (latitude - fromLat) * (toLongitudes[e] - fromLongitudes[e]) / (toLat - fromLat);
+                if (longitude < crossing) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Rectángulo mínimo que contiene al polígono; sirve para seleccionar los
+     * candidatos con un índice espacial.
+     *
+     * @return El rectángulo del polígono.
+     */
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Número de vértices de todos los anillos, sin repetir el de cierre.
+     *
+     * @return La cantidad de vértices.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    private int firstBand(int edge) {
+        return band(Math.min(fromLatitudes[edge], toLatitudes[edge]));
+    }
+
+    private int lastBand(int edge) {
+        return band(Math.max(fromLatitudes[edge], toLatitudes[edge]));
+    }
+
+    private int band(double latitude) {
+        int band = (int) ((latitude - bounds.getMinLatitude()) / bandHeight);
+        return Math.max(0, Math.min(bandStarts.length - 2, band));
+    }
+}
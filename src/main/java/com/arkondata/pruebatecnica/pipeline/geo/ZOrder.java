@@ -0,0 +1,85 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import java.util.Arrays;
+
+/**
+ * Orden de Morton (curva Z) para recorrer coordenadas agrupadas por cercanía.
+ * <p>
+ * Cada coordenada se cuantiza a {@value #BITS} bits por eje (unos 40 m en
+ * latitud) y los bits de latitud y longitud se intercalan: puntos cercanos
+ * tienen llaves cercanas en la mayoría de los casos, de modo que consultas
+ * espaciales hechas en ese orden visitan los mismos nodos del índice una tras
+ * otra.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class ZOrder {
+
+    private static final int BITS = 19;
+
+    private static final int INDEX_BITS = 24;
+
+    /**
+     * Número máximo de coordenadas que se pueden ordenar.
+     */
+    public static final int MAX_SIZE = 1 << INDEX_BITS;
+
+    private ZOrder() {
+    }
+
+    /**
+     * Calcula el orden de Morton de un conjunto de coordenadas.
+     * <p>
+     * La llave y la posición se empacan en un {@code long} para ordenar un
+     * solo arreglo primitivo; a igual llave se conserva el orden original.
+     * </p>
+     *
+     * @param latitudes Latitudes, en grados.
+     * @param longitudes Longitudes, en grados.
+     * @return Las posiciones de las coordenadas en orden de Morton.
+     * @throws IllegalArgumentException Si hay más de {@link #MAX_SIZE}
+     * coordenadas.
+     */
+    public static int[] order(double[] latitudes, double[] longitudes) {
+        int size = latitudes.length;
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("No se pueden ordenar más de " + MAX_SIZE + " coordenadas");
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long key = interleave(quantize(latitudes[i], 90), quantize(longitudes[i], 180));
+            keys[i] = key << INDEX_BITS | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) (keys[i] & (MAX_SIZE - 1));
+        }
+        return order;
+    }
+
+    private static int quantize(double value, double range) {
+        double normalized = (value + range) / (2 * range);
+        int max = (1 << BITS) - 1;
+        return (int) Math.max(0, Math.min(max, normalized * max));
+    }
+
+    private static long interleave(int latitude, int longitude) {
+        return spread(latitude) << 1 | spread(longitude);
+    }
+
+    /**
+     * Separa los bits de un entero con un cero entre cada uno.
+     */
+    private static long spread(int value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | x << 16) & 0x0000FFFF0000FFFFL;
+        x = (x | x << 8) & 0x00FF00FF00FF00FFL;
+        x = (x | x << 4) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | x << 2) & 0x3333333333333333L;
+        x = (x | x << 1) & 0x5555555555555555L;
+        return x;
+    }
+}
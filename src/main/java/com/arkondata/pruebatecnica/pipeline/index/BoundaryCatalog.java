@@ -0,0 +1,139 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.arkondata.pruebatecnica.pipeline.geo.GeoJsonPolygons;
+import com.arkondata.pruebatecnica.pipeline.geo.Polygon;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Límites de las alcaldías y colonias, leídos de archivos GeoJSON locales al
+ * iniciar la aplicación.
+ * <p>
+ * Cada archivo es un {@code FeatureCollection} cuyas geometrías son
+ * {@code Polygon} o {@code MultiPolygon}; el nombre de cada límite se toma de
+ * la primera propiedad presente de la lista configurada para su capa y se
+ * normaliza con {@link NameFolding}, igual que las llaves de búsqueda de
+ * los puntos. Varios límites con el mismo nombre, como las colonias homónimas
+ * de distintas alcaldías, se conservan juntos.
+ * </p>
+ * <p>
+ * Los límites no cambian con las recargas de datos. Si un archivo no existe,
+ * su capa queda vacía; un archivo mal formado impide iniciar la aplicación.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class BoundaryCatalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundaryCatalog.class);
+
+    private final Map<String, List<Polygon>> alcaldias;
+
+    private final Map<String, List<Polygon>> colonias;
+
+    /**
+     * Constructor que lee los archivos de límites configurados.
+     *
+     * @param resourceLoader Cargador de los recursos de límites.
+     * @param objectMapper Lector de JSON.
+     * @param alcaldiasPath Ruta del GeoJSON de las alcaldías.
+     * @param alcaldiaNames Propiedades de las que se toma el nombre de cada
+     * alcaldía, en orden de preferencia.
+     * @param coloniasPath Ruta del GeoJSON de las colonias.
+     * @param coloniaNames Propiedades de las que se toma el nombre de cada
+     * colonia, en orden de preferencia.
+     * @throws IOException Si un archivo existe pero no puede leerse.
+     */
+    @Autowired
+    public BoundaryCatalog(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+            @Value("${pipeline.boundaries.alcaldias:classpath:data/alcaldias.geojson}") String alcaldiasPath,
+            @Value("${pipeline.boundaries.alcaldia-name-properties:NOMGEO,alcaldia,nombre,name}") String[] alcaldiaNames,
+            @Value("${pipeline.boundaries.colonias:classpath:data/colonias.geojson}") String coloniasPath,
+            @Value("${pipeline.boundaries.colonia-name-properties:colonia,nombre,name}") String[] coloniaNames)
+            throws IOException {
+        this.alcaldias = read(resourceLoader, objectMapper, alcaldiasPath, alcaldiaNames);
+        this.colonias = read(resourceLoader, objectMapper, coloniasPath, coloniaNames);
+    }
+
+    /**
+     * Límites de una alcaldía.
+     *
+     * @param name Nombre de la alcaldía, con o sin acentos ni mayúsculas.
+     * @return Sus polígonos; vacío si no existe.
+     */
+    public List<Polygon> alcaldia(String name) {
+        return alcaldias.getOrDefault(NameFolding.fold(name), Collections.emptyList());
+    }
+
+    /**
+     * Límites de las colonias con un nombre.
+     *
+     * @param name Nombre de la colonia, con o sin acentos ni mayúsculas.
+     * @return Sus polígonos; vacío si no existe.
+     */
+    public List<Polygon> colonia(String name) {
+        return colonias.getOrDefault(NameFolding.fold(name), Collections.emptyList());
+    }
+
+    private static Map<String, List<Polygon>> read(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+            String path, String[] nameProperties) throws IOException {
+        if (path == null || path.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Resource resource = resourceLoader.getResource(path);
+        if (!resource.exists() || !resource.isReadable()) {
+            LOGGER.info("Límites {} no encontrados; la capa queda vacía.", path);
+            return Collections.emptyMap();
+        }
+        JsonNode collection;
+        try (InputStream in = resource.getInputStream()) {
+            collection = objectMapper.readTree(in);
+        }
+        Map<String, List<Polygon>> boundaries = new HashMap<>();
+        int vertices = 0;
+        for (JsonNode feature : collection.path("features")) {
+            String name = name(feature.path("properties"), nameProperties);
+            JsonNode geometry = feature.get("geometry");
+            if (name == null || geometry == null || geometry.isNull()) {
+                continue;
+            }
+            Polygon polygon;
+            try {
+                polygon = GeoJsonPolygons.read(geometry);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Límite '" + name + "' inválido en " + path + ": " + e.getMessage(), e);
+            }
+            boundaries.computeIfAbsent(NameFolding.fold(name), key -> new ArrayList<>(1)).add(polygon);
+            vertices += polygon.getVertexCount();
+        }
+        LOGGER.info("Límites {} cargados: {} nombres, {} vértices.", path, boundaries.size(), vertices);
+        return boundaries;
+    }
+
+    private static String name(JsonNode properties, String[] nameProperties) {
+        for (String property : nameProperties) {
+            JsonNode value = properties.get(property);
+            if (value != null && value.isTextual() && !value.asText().trim().isEmpty()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+}
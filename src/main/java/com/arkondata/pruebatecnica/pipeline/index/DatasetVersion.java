@@ -0,0 +1,489 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.geo.ClusterIndex;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoHits;
+import com.arkondata.pruebatecnica.pipeline.geo.GridCounts;
+import com.arkondata.pruebatecnica.pipeline.geo.KdTree;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CategoryCount;
+import com.arkondata.pruebatecnica.pipeline.model.dto.DensityGrid;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GridCell;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import com.arkondata.pruebatecnica.pipeline.search.NameTrie;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Versión inmutable del conjunto de puntos de acceso WiFi con sus índices.
+ * <p>
+ * Guarda los puntos ordenados por identificador y, sobre sus posiciones, las
+ * listas de puntos por colonia y por alcaldía, el {@link KdTree} de
+ * coordenadas, el {@link ClusterIndex} de grupos por zoom para mapas y el
+ * {@link NameTrie} de colonias, además de los conteos por
+ * alcaldía, colonia, programa y celda de cuadrícula, que se calculan una sola
+ * vez al construir la versión. Todos los índices se
+ * construyen juntos, de modo que una consulta que toma una versión ve los
+ * mismos datos en todos ellos, y ninguno cambia después de construirse: la
+ * versión puede consultarse desde cualquier número de hilos sin
+ * sincronización.
+ * </p>
+ * <p>
+ * Los puntos se comparten entre todas las consultas que usan la versión y no
+ * deben modificarse.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class DatasetVersion {
+
+    private static final int[] NONE = new int[0];
+
+    private final long number;
+    private final WifiAccessPointDto[] points;
+    private final long[] ids;
+    private final Map<String, int[]> byColonia;
+    private final Map<String, int[]> byAlcaldia;
+    private final KdTree tree;
+    private final ClusterIndex clusters;
+    private final NameTrie coloniaNames;
+    private final List<CategoryCount> alcaldiaCounts;
+    private final List<CategoryCount> coloniaCounts;
+    private final List<CategoryCount> programaCounts;
+    private final Map<Double, DensityGrid> grids;
+
+    /**
+     * Construye la versión y todos sus índices.
+     *
+     * @param number Número de versión, creciente entre publicaciones.
+     * @param points Puntos ordenados por identificador ascendente; el arreglo
+     * pasa a ser propiedad de la versión.
+     * @param coloniaKeys Llave de búsqueda de la colonia de cada punto.
+     * @param alcaldiaKeys Llave de búsqueda de la alcaldía de cada punto.
+     * @param gridCellSizes Lados en grados de las cuadrículas de densidad a
+     * precalcular.
+     * @param clusterRadius Radio de agrupamiento del índice de grupos, en
+     * píxeles.
+     * @param clusterExtent Lado de los mosaicos del mapa, en píxeles.
+     * @param clusterMaxZoom Zoom máximo en el que se agrupan los puntos.
+     */
+    DatasetVersion(long number, WifiAccessPointDto[] points, String[] coloniaKeys, String[] alcaldiaKeys, double[] gridCellSizes,
+            int clusterRadius, int clusterExtent, int clusterMaxZoom) {
+        this.number = number;
+        this.points = points;
+        this.ids = new long[points.length];
+        long[] positions = new long[points.length];
+        double[] latitudes = new double[points.length];
+        double[] longitudes = new double[points.length];
+        int located = 0;
+        for (int i = 0; i < points.length; i++) {
+            WifiAccessPointDto point = points[i];
+            ids[i] = point.getId();
+            if (point.getLatitud() != null && point.getLongitud() != null) {
+                positions[located] = i;
+                latitudes[located] = point.getLatitud();
+                longitudes[located] = point.getLongitud();
+                located++;
+            }
+        }
+        this.tree = new KdTree(positions, latitudes, longitudes, located);
+        this.clusters = clusters(positions, latitudes, longitudes, located, clusterRadius, clusterExtent, clusterMaxZoom);
+        this.byColonia = postings(coloniaKeys);
+        this.byAlcaldia = postings(alcaldiaKeys);
+        Map<String, CategoryCount> colonias = counts(points, coloniaKeys, WifiAccessPointDto::getColonia);
+        this.coloniaNames = names(colonias);
+        this.coloniaCounts = byCountDescending(colonias.values());
+        this.alcaldiaCounts = byCountDescending(counts(points, alcaldiaKeys, WifiAccessPointDto::getAlcaldia).values());
+        // Hay pocos programas distintos: cada nombre se normaliza una sola vez.
+        String[] programaKeys = new String[points.length];
+        Map<String, String> folded = new HashMap<>();
+        for (int i = 0; i < points.length; i++) {
+            String programa = points[i].getPrograma();
+            programaKeys[i] = programa == null ? null : folded.computeIfAbsent(programa, NameFolding::fold);
+        }
+        this.programaCounts = byCountDescending(counts(points, programaKeys, WifiAccessPointDto::getPrograma).values());
+        this.grids = new LinkedHashMap<>();
+        for (double cellSize : gridCellSizes) {
+            grids.put(cellSize, grid(new GridCounts(cellSize, latitudes, longitudes, located)));
+        }
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * Número de puntos en la versión.
+     *
+     * @return La cantidad de puntos.
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Todos los puntos, ordenados por identificador.
+     *
+     * @return Una vista de sólo lectura.
+     */
+    public List<WifiAccessPointDto> all() {
+        return Collections.unmodifiableList(Arrays.asList(points));
+    }
+
+    /**
+     * Busca un punto por su identificador.
+     *
+     * @param id Identificador del punto.
+     * @return El punto, o {@code null} si no existe en esta versión.
+     */
+    public WifiAccessPointDto findById(long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position < 0 ? null : points[position];
+    }
+
+    /**
+     * Puntos con identificador mayor al dado, en orden de identificador.
+     *
+     * @param id Identificador a partir del cual buscar (exclusivo).
+     * @param limit Número máximo de puntos.
+     * @return Una vista de sólo lectura de los puntos siguientes.
+     */
+    public List<WifiAccessPointDto> findAfter(long id, int limit) {
+        int position = Arrays.binarySearch(ids, id);
+        int from = position < 0 ? -position - 1 : position + 1;
+        int to = (int) Math.min((long) from + limit, points.length);
+        return all().subList(from, to);
+    }
+
+    /**
+     * Puntos de una colonia, en orden de identificador.
+     *
+     * @param coloniaKey Llave de búsqueda de la colonia.
+     * @return Una vista de sólo lectura; vacía si la colonia no existe.
+     */
+    public List<WifiAccessPointDto> findByColoniaKey(String coloniaKey) {
+        return view(coloniaKey == null ? NONE : byColonia.getOrDefault(coloniaKey, NONE));
+    }
+
+    /**
+     * Puntos de una alcaldía, en orden de identificador.
+     *
+     * @param alcaldiaKey Llave de búsqueda de la alcaldía.
+     * @return Una vista de sólo lectura; vacía si la alcaldía no existe.
+     */
+    public List<WifiAccessPointDto> findByAlcaldiaKey(String alcaldiaKey) {
+        return view(alcaldiaKey == null ? NONE : byAlcaldia.getOrDefault(alcaldiaKey, NONE));
+    }
+
+    /**
+     * Puntos dentro de un rectángulo de coordenadas, bordes incluidos, en
+     * orden de identificador.
+     *
+     * @param box Rectángulo de búsqueda.
+     * @return Una vista de sólo lectura de los puntos encontrados.
+     */
+    public List<WifiAccessPointDto> within(BoundingBox box) {
+        long[] found = tree.within(box);
+        int[] positions = new int[found.length];
+        for (int i = 0; i < found.length; i++) {
+            positions[i] = (int) found[i];
+        }
+        return view(positions);
+    }
+
+    /**
+     * Busca los puntos a menos de {@code distance} kilómetros de un origen.
+     * Los identificadores de los resultados son posiciones de esta versión,
+     * que se resuelven con {@link #get(GeoHits, int)}.
+     *
+     * @param latitude Latitud del origen.
+     * @param longitude Longitud del origen.
+     * @param distance Radio de búsqueda en kilómetros.
+     * @return Los resultados ordenados por distancia.
+     */
+    public GeoHits withinDistance(double latitude, double longitude, double distance) {
+        return tree.withinDistance(latitude, longitude, distance);
+    }
+
+    /**
+     * Busca los {@code k} puntos más cercanos a un origen. Los identificadores
+     * de los resultados son posiciones de esta versión, que se resuelven con
+     * {@link #get(GeoHits, int)}.
+     *
+     * @param latitude Latitud del origen.
+     * @param longitude Longitud del origen.
+     * @param k Número máximo de puntos.
+     * @return Los resultados ordenados por distancia.
+     */
+    public GeoHits nearest(double latitude, double longitude, int k) {
+        return tree.nearest(latitude, longitude, k);
+    }
+
+    /**
+     * Punto de un resultado espacial de esta versión.
+     *
+     * @param hits Resultado de {@link #withinDistance} o {@link #nearest}.
+     * @param index Índice dentro del resultado.
+     * @return El punto encontrado.
+     */
+    public WifiAccessPointDto get(GeoHits hits, int index) {
+        return points[(int) hits.id(index)];
+    }
+
+    /**
+     * Recorre los grupos y puntos de un nivel de zoom dentro de un rectángulo.
+     * Los identificadores de los puntos individuales son posiciones de esta
+     * versión, que se resuelven con {@link #get(long)}.
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom del mapa.
+     * @param consumer Receptor de cada grupo o punto.
+     */
+    public void clusters(double west, double south, double east, double north, int zoom,
+            ClusterIndex.ClusterConsumer consumer) {
+        clusters.clusters(west, south, east, north, zoom, consumer);
+    }
+
+    /**
+     * Lado mayor, en píxeles, de la vista de un rectángulo con cierto zoom.
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom del mapa.
+     * @return El ancho o el alto de la vista, el mayor de ellos.
+     */
+    public double clusterViewportPixels(double west, double south, double east, double north, int zoom) {
+        return clusters.viewportPixels(west, south, east, north, zoom);
+    }
+
+    /**
+     * Zoom máximo en el que se agrupan los puntos; en los siguientes se
+     * devuelven los puntos individuales.
+     *
+     * @return El zoom máximo del índice de grupos.
+     */
+    public int clusterMaxZoom() {
+        return clusters.getMaxZoom();
+    }
+
+    /**
+     * Punto en una posición de esta versión.
+     *
+     * @param position Posición devuelta por un índice de esta versión.
+     * @return El punto en esa posición.
+     */
+    public WifiAccessPointDto get(long position) {
+        return points[(int) position];
+    }
+
+    /**
+     * Sugiere colonias cuyo nombre normalizado comienza con el prefijo dado.
+     *
+     * @param prefix Prefijo tal como lo captura el usuario.
+     * @param limit Número máximo de sugerencias.
+     * @return Las sugerencias en orden alfabético.
+     */
+    public List<NameSuggestion> suggestColonias(String prefix, int limit) {
+        String key = NameFolding.fold(prefix);
+        return key == null ? Collections.emptyList() : coloniaNames.suggest(key, limit);
+    }
+
+    /**
+     * Número de puntos con coordenadas, indexados en el árbol.
+     *
+     * @return La cantidad de puntos del índice espacial.
+     */
+    public int locatedSize() {
+        return tree.size();
+    }
+
+    /**
+     * Número de colonias distintas del índice de autocompletado.
+     *
+     * @return La cantidad de llaves de colonia.
+     */
+    public int coloniaCount() {
+        return coloniaNames.size();
+    }
+
+    /**
+     * Puntos por alcaldía, de la más a la menos numerosa.
+     *
+     * @return Los conteos precalculados, de sólo lectura.
+     */
+    public List<CategoryCount> countsByAlcaldia() {
+        return alcaldiaCounts;
+    }
+
+    /**
+     * Puntos por colonia, de la más a la menos numerosa.
+     *
+     * @return Los conteos precalculados, de sólo lectura.
+     */
+    public List<CategoryCount> countsByColonia() {
+        return coloniaCounts;
+    }
+
+    /**
+     * Puntos por programa, del más al menos numeroso.
+     *
+     * @return Los conteos precalculados, de sólo lectura.
+     */
+    public List<CategoryCount> countsByPrograma() {
+        return programaCounts;
+    }
+
+    /**
+     * Cuadrícula de densidad precalculada para un tamaño de celda.
+     *
+     * @param cellSize Lado de las celdas en grados.
+     * @return La cuadrícula, o {@code null} si ese tamaño no se precalculó.
+     */
+    public DensityGrid densityGrid(double cellSize) {
+        return grids.get(cellSize);
+    }
+
+    private List<WifiAccessPointDto> view(int[] positions) {
+        return new PositionList(points, positions);
+    }
+
+    /**
+     * Agrupa las posiciones por llave; cada lista queda en orden ascendente.
+     */
+    private static Map<String, int[]> postings(String[] keys) {
+        Map<String, int[]> postings = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        for (String key : keys) {
+            if (key != null) {
+                sizes.merge(key, 1, Integer::sum);
+            }
+        }
+        sizes.forEach((key, size) -> postings.put(key, new int[size]));
+        Map<String, Integer> filled = new HashMap<>(sizes.size() * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                int next = filled.merge(keys[i], 1, Integer::sum) - 1;
+                postings.get(keys[i])[next] = i;
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Cuenta los puntos por llave. Cuando varias escrituras de un nombre
+     * comparten la misma llave (por ejemplo, con y sin acentos), se conserva
+     * la más frecuente y se suman sus puntos de acceso.
+     */
+    private static Map<String, CategoryCount> counts(WifiAccessPointDto[] points, String[] keys,
+            Function<WifiAccessPointDto, String> name) {
+        Map<String, Map<String, Integer>> spellings = new HashMap<>();
+        for (int i = 0; i < points.length; i++) {
+            if (keys[i] != null) {
+                spellings.computeIfAbsent(keys[i], k -> new LinkedHashMap<>()).merge(name.apply(points[i]), 1, Integer::sum);
+            }
+        }
+        Map<String, CategoryCount> counts = new HashMap<>(spellings.size() * 2);
+        spellings.forEach((key, names) -> {
+            String best = null;
+            int bestCount = 0;
+            long total = 0;
+            for (Map.Entry<String, Integer> entry : names.entrySet()) {
+                total += entry.getValue();
+                if (entry.getValue() > bestCount) {
+                    best = entry.getKey();
+                    bestCount = entry.getValue();
+                }
+            }
+            counts.put(key, new CategoryCount(best, total));
+        });
+        return counts;
+    }
+
+    /**
+     * Construye el índice de colonias con el nombre más frecuente de cada
+     * llave.
+     */
+    private static NameTrie names(Map<String, CategoryCount> counts) {
+        NameTrie trie = new NameTrie();
+        counts.forEach((key, count) -> trie.add(key, count.getName(), count.getAccessPoints()));
+        return trie;
+    }
+
+    private static List<CategoryCount> byCountDescending(Collection<CategoryCount> counts) {
+        List<CategoryCount> sorted = new ArrayList<>(counts);
+        sorted.sort(Comparator.comparingLong(CategoryCount::getAccessPoints).reversed()
+                .thenComparing(CategoryCount::getName));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Construye el índice de grupos con los puntos cuyas coordenadas son
+     * válidas; los que tienen la latitud y la longitud invertidas o fuera de
+     * rango no pueden ubicarse en el mapa.
+     */
+    private static ClusterIndex clusters(long[] positions, double[] latitudes, double[] longitudes, int located,
+            int radius, int extent, int maxZoom) {
+        long[] validPositions = new long[located];
+        double[] validLatitudes = new double[located];
+        double[] validLongitudes = new double[located];
+        int valid = 0;
+        for (int i = 0; i < located; i++) {
+            if (Math.abs(latitudes[i]) <= 90 && Math.abs(longitudes[i]) <= 180) {
+                validPositions[valid] = positions[i];
+                validLatitudes[valid] = latitudes[i];
+                validLongitudes[valid] = longitudes[i];
+                valid++;
+            }
+        }
+        return new ClusterIndex(validPositions, validLatitudes, validLongitudes, valid, radius, extent, maxZoom);
+    }
+
+    private static DensityGrid grid(GridCounts counts) {
+        List<GridCell> cells = new ArrayList<>(counts.size());
+        for (int i = 0; i < counts.size(); i++) {
+            cells.add(new GridCell(counts.south(i), counts.west(i), counts.count(i)));
+        }
+        return new DensityGrid(counts.getCellSize(), Collections.unmodifiableList(cells));
+    }
+
+    /**
+     * Vista de sólo lectura de los puntos en un conjunto de posiciones.
+     */
+    private static final class PositionList extends AbstractList<WifiAccessPointDto> implements RandomAccess {
+
+        private final WifiAccessPointDto[] points;
+        private final int[] positions;
+
+        private PositionList(WifiAccessPointDto[] points, int[] positions) {
+            this.points = points;
+            this.positions = positions;
+        }
+
+        @Override
+        public WifiAccessPointDto get(int index) {
+            return points[positions[index]];
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
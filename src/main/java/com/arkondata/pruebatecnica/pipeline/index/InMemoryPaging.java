@@ -0,0 +1,200 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Ordenación y paginación de listas de puntos en memoria con la misma
+ * semántica que las consultas paginadas del repositorio.
+ * <p>
+ * El orden admite las propiedades de {@link WifiAccessPointDto} expuestas por la
+ * API; los valores nulos van primero en orden ascendente y al final en
+ * descendente, como en H2, salvo que el {@link Sort} indique otra cosa. La
+ * ordenación es estable, así que los empates conservan el orden de la lista
+ * recibida.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class InMemoryPaging {
+
+    private static final Map<String, Function<WifiAccessPointDto, Comparable<?>>> PROPERTIES = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> IGNORE_CASE = (a, b) -> a instanceof String && b instanceof String
+            ? String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b)
+            : ((Comparable<Object>) a).compareTo(b);
+
+    static {
+        PROPERTIES.put("id", WifiAccessPointDto::getId);
+        PROPERTIES.put("idgob", WifiAccessPointDto::getIdgob);
+        PROPERTIES.put("programa", WifiAccessPointDto::getPrograma);
+        PROPERTIES.put("fecha_instalacion", WifiAccessPointDto::getFecha_instalacion);
+        PROPERTIES.put("latitud", WifiAccessPointDto::getLatitud);
+        PROPERTIES.put("longitud", WifiAccessPointDto::getLongitud);
+        PROPERTIES.put("colonia", WifiAccessPointDto::getColonia);
+        PROPERTIES.put("alcaldia", WifiAccessPointDto::getAlcaldia);
+    }
+
+    private InMemoryPaging() {
+    }
+
+    /**
+     * Indica si el orden puede resolverse en memoria.
+     *
+     * @param sort Orden solicitado.
+     * @return {@code true} si todas sus propiedades son conocidas.
+     */
+    public static boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!PROPERTIES.containsKey(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordena la lista según la página y devuelve la página solicitada con el
+     * total de elementos.
+     *
+     * @param rows Todos los resultados, en su orden natural.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return La página solicitada.
+     */
+    public static Page<WifiAccessPointDto> page(List<WifiAccessPointDto> rows, Pageable pageable) {
+        return toPage(sort(rows, pageable.getSort()), pageable);
+    }
+
+    /**
+     * Devuelve la página solicitada de una lista ya ordenada por un criterio
+     * principal, como la distancia al origen de una búsqueda por proximidad.
+     * El orden de la página sólo desempata los elementos con el mismo valor
+     * del criterio principal, igual que los criterios que siguen a
+     * {@code ORDER BY distancia} en la consulta SQL.
+     *
+     * @param rows Todos los resultados, en orden ascendente de {@code ranks}.
+     * @param ranks Valor del criterio principal de cada resultado.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return La página solicitada.
+     */
+    public static Page<WifiAccessPointDto> page(List<WifiAccessPointDto> rows, double[] ranks, Pageable pageable) {
+        return toPage(sortTies(rows, ranks, pageable.getSort()), pageable);
+    }
+
+    private static Page<WifiAccessPointDto> toPage(List<WifiAccessPointDto> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(new ArrayList<>(sorted), pageable, sorted.size());
+        }
+        return new PageImpl<>(content(sorted, pageable), pageable, sorted.size());
+    }
+
+    /**
+     * Ordena la lista según la página y devuelve la porción solicitada.
+     *
+     * @param rows Todos los resultados, en su orden natural.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return La porción solicitada.
+     */
+    public static Slice<WifiAccessPointDto> slice(List<WifiAccessPointDto> rows, Pageable pageable) {
+        return toSlice(sort(rows, pageable.getSort()), pageable);
+    }
+
+    /**
+     * Devuelve la porción solicitada de una lista ya ordenada por un criterio
+     * principal; el orden de la página sólo desempata, como en
+     * {@link #page(List, double[], Pageable)}.
+     *
+     * @param rows Todos los resultados, en orden ascendente de {@code ranks}.
+     * @param ranks Valor del criterio principal de cada resultado.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return La porción solicitada.
+     */
+    public static Slice<WifiAccessPointDto> slice(List<WifiAccessPointDto> rows, double[] ranks, Pageable pageable) {
+        return toSlice(sortTies(rows, ranks, pageable.getSort()), pageable);
+    }
+
+    private static Slice<WifiAccessPointDto> toSlice(List<WifiAccessPointDto> sorted, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(new ArrayList<>(sorted), pageable, false);
+        }
+        List<WifiAccessPointDto> content = content(sorted, pageable);
+        return new SliceImpl<>(content, pageable, pageable.getOffset() + content.size() < sorted.size());
+    }
+
+    private static List<WifiAccessPointDto> content(List<WifiAccessPointDto> sorted, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return from == to ? Collections.emptyList() : new ArrayList<>(sorted.subList(from, to));
+    }
+
+    private static List<WifiAccessPointDto> sort(List<WifiAccessPointDto> rows, Sort sort) {
+        if (sort.isUnsorted()) {
+            return rows;
+        }
+        List<WifiAccessPointDto> sorted = new ArrayList<>(rows);
+        sorted.sort(comparator(sort));
+        return sorted;
+    }
+
+    /**
+     * Ordena cada tramo de elementos con el mismo valor en {@code ranks},
+     * sin mover los elementos entre tramos.
+     */
+    private static List<WifiAccessPointDto> sortTies(List<WifiAccessPointDto> rows, double[] ranks, Sort sort) {
+        if (sort.isUnsorted()) {
+            return rows;
+        }
+        Comparator<WifiAccessPointDto> comparator = comparator(sort);
+        List<WifiAccessPointDto> sorted = new ArrayList<>(rows);
+        int start = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size() || ranks[i] != ranks[start]) {
+                if (i - start > 1) {
+                    sorted.subList(start, i).sort(comparator);
+                }
+                start = i;
+            }
+        }
+        return sorted;
+    }
+
+    private static Comparator<WifiAccessPointDto> comparator(Sort sort) {
+        Comparator<WifiAccessPointDto> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<WifiAccessPointDto> next = comparator(order);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<WifiAccessPointDto> comparator(Sort.Order order) {
+        Function<WifiAccessPointDto, Comparable<?>> property = PROPERTIES.get(order.getProperty());
+        if (property == null) {
+            throw new IllegalArgumentException("Propiedad de ordenación desconocida: " + order.getProperty());
+        }
+        Comparator values = order.isIgnoreCase() ? IGNORE_CASE : Comparator.naturalOrder();
+        if (order.isDescending()) {
+            values = values.reversed();
+        }
+        boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NATIVE
+                ? order.isAscending()
+                : order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+        values = nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+        return Comparator.comparing((Function) property, values);
+    }
+}
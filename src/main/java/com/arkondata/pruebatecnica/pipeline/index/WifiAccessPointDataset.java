@@ -0,0 +1,225 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetSnapshot;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conjunto de puntos de acceso WiFi en memoria, publicado por versiones.
+ * <p>
+ * Cada vez que se publica un {@link DatasetLoadedEvent} se lee la tabla con
+ * JDBC (sin entidades de Hibernate) y se construye una {@link DatasetVersion}
+ * nueva a un lado de la vigente; al terminar se publica con una sola
+ * escritura volátil. Las consultas toman la versión vigente al empezar y la
+ * usan hasta terminar, por lo que nunca esperan a la recarga ni ven datos a
+ * medio aplicar. Una versión reemplazada se libera cuando terminan las
+ * consultas que aún la usan.
+ * </p>
+ * <p>
+ * La construcción se ejecuta antes que los demás oyentes del evento, de modo
+ * que las cachés se vacían cuando la versión nueva ya está publicada.
+ * </p>
+ * <p>
+ * Al iniciar con una {@link DatasetSnapshot}, la primera versión se construye
+ * directamente de sus columnas con {@link #publish(DatasetSnapshot)}, sin
+ * esperar a que la tabla se llene.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class WifiAccessPointDataset {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointDataset.class);
+
+    private static final String POINTS_SQL = "SELECT id, idgob, programa, fecha_instalacion, latitud, longitud, "
+            + "colonia, alcaldia, colonia_key, alcaldia_key FROM wifi_access_points ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final double[] gridCellSizes;
+
+    private final int clusterRadius;
+
+    private final int clusterExtent;
+
+    private final int clusterMaxZoom;
+
+    private volatile DatasetVersion current;
+
+    /**
+     * Constructor que inyecta el acceso JDBC a la tabla de puntos y los
+     * parámetros de los índices que se construyen con cada versión.
+     *
+     * @param jdbcTemplate Plantilla JDBC de la base de datos.
+     * @param gridCellSizes Lados en grados de las cuadrículas de densidad que
+     * se precalculan con cada versión.
+     * @param clusterRadius Radio de agrupamiento para mapas, en píxeles.
+     * @param clusterExtent Lado de los mosaicos del mapa, en píxeles.
+     * @param clusterMaxZoom Zoom máximo en el que se agrupan los puntos.
+     */
+    @Autowired
+    public WifiAccessPointDataset(JdbcTemplate jdbcTemplate,
+            @Value("${pipeline.stats.grid-cell-sizes:0.01}") double[] gridCellSizes,
+            @Value("${pipeline.clusters.radius:40}") int clusterRadius,
+            @Value("${pipeline.clusters.extent:512}") int clusterExtent,
+            @Value("${pipeline.clusters.max-zoom:16}") int clusterMaxZoom) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gridCellSizes = gridCellSizes.clone();
+        this.clusterRadius = clusterRadius;
+        this.clusterExtent = clusterExtent;
+        this.clusterMaxZoom = clusterMaxZoom;
+    }
+
+    /**
+     * Construye y publica una versión nueva al terminar una carga de datos.
+     *
+     * @param event Evento de carga terminada.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDatasetLoaded(DatasetLoadedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Lee la tabla, construye una versión nueva y la publica. Las
+     * reconstrucciones simultáneas se ejecutan una tras otra.
+     *
+     * @return La versión publicada.
+     */
+    public synchronized DatasetVersion rebuild() {
+        long start = System.nanoTime();
+        PointCollector collector = new PointCollector();
+        jdbcTemplate.query(POINTS_SQL, collector);
+        return publish(collector, start);
+    }
+
+    /**
+     * Construye y publica una versión con las filas de una instantánea, sin
+     * leer la tabla.
+     * <p>
+     * Los identificadores se asignan en el orden de la instantánea a partir
+     * de 1, los mismos que genera la tabla vacía al insertar la instantánea
+     * con {@link com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointBatchLoader#load(DatasetSnapshot)}.
+     * La carga publica después un {@link DatasetLoadedEvent} y la versión
+     * siguiente se lee de la tabla como cualquier otra.
+     * </p>
+     *
+     * @param snapshot Instantánea del conjunto de datos.
+     * @return La versión publicada.
+     */
+    public synchronized DatasetVersion publish(DatasetSnapshot snapshot) {
+        long start = System.nanoTime();
+        PointCollector collector = new PointCollector();
+        for (int row = 0, rows = snapshot.getRows(); row < rows; row++) {
+            collector.add(row + 1L, snapshot.getText(DatasetSnapshot.IDGOB, row),
+                    snapshot.getText(DatasetSnapshot.PROGRAMA, row), snapshot.getText(DatasetSnapshot.FECHA_INSTALACION, row),
+                    snapshot.getLatitud(row), snapshot.getLongitud(row),
+                    snapshot.getText(DatasetSnapshot.COLONIA, row), snapshot.getText(DatasetSnapshot.ALCALDIA, row),
+                    snapshot.getText(DatasetSnapshot.COLONIA_KEY, row), snapshot.getText(DatasetSnapshot.ALCALDIA_KEY, row));
+        }
+        return publish(collector, start);
+    }
+
+    private DatasetVersion publish(PointCollector collector, long start) {
+        DatasetVersion previous = current;
+        DatasetVersion built = new DatasetVersion(previous == null ? 1 : previous.getNumber() + 1,
+                collector.points.toArray(new WifiAccessPointDto[0]),
+                collector.coloniaKeys.toArray(new String[0]),
+                collector.alcaldiaKeys.toArray(new String[0]),
+                gridCellSizes, clusterRadius, clusterExtent, clusterMaxZoom);
+        current = built;
+        LOGGER.info("Versión {} del conjunto de datos publicada con {} puntos ({} con coordenadas, {} colonias) en {} ms.",
+                built.getNumber(), built.size(), built.locatedSize(), built.coloniaCount(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Versión vigente.
+     *
+     * @return La versión publicada, o {@code null} si aún no se ha construido.
+     */
+    public DatasetVersion current() {
+        return current;
+    }
+
+    /**
+     * Número de la versión vigente, usado en las llaves de caché para que una
+     * entrada calculada con una versión anterior no se sirva después del
+     * cambio.
+     *
+     * @return El número de versión, o 0 si aún no se ha construido.
+     */
+    public long currentNumber() {
+        DatasetVersion version = current;
+        return version == null ? 0 : version.getNumber();
+    }
+
+    /**
+     * Tamaños de celda de las cuadrículas de densidad que se precalculan con
+     * cada versión.
+     *
+     * @return Los lados de las celdas en grados, en el orden configurado.
+     */
+    public List<Double> getGridCellSizes() {
+        List<Double> sizes = new ArrayList<>(gridCellSizes.length);
+        for (double size : gridCellSizes) {
+            sizes.add(size);
+        }
+        return sizes;
+    }
+
+    /**
+     * Convierte las filas en puntos, compartiendo una sola instancia de los
+     * textos repetidos (programa, colonia, alcaldía y sus llaves). La fecha de
+     * instalación se interpreta al construir cada punto.
+     */
+    private static final class PointCollector implements RowCallbackHandler {
+
+        private final List<WifiAccessPointDto> points = new ArrayList<>();
+        private final List<String> coloniaKeys = new ArrayList<>();
+        private final List<String> alcaldiaKeys = new ArrayList<>();
+        private final Map<String, String> texts = new HashMap<>();
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            add(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), getDouble(rs, 5), getDouble(rs, 6),
+                    rs.getString(7), rs.getString(8), rs.getString(9), rs.getString(10));
+        }
+
+        private void add(long id, String idgob, String programa, String fechaInstalacion, Double latitud, Double longitud,
+                String colonia, String alcaldia, String coloniaKey, String alcaldiaKey) {
+            points.add(new WifiAccessPointDto(id, idgob, shared(programa), fechaInstalacion, latitud, longitud,
+                    shared(colonia), shared(alcaldia)));
+            coloniaKeys.add(shared(coloniaKey));
+            alcaldiaKeys.add(shared(alcaldiaKey));
+        }
+
+        private String shared(String text) {
+            return text == null ? null : texts.computeIfAbsent(text, t -> t);
+        }
+
+        private static Double getDouble(ResultSet rs, int column) throws SQLException {
+            double value = rs.getDouble(column);
+            return rs.wasNull() ? null : value;
+        }
+    }
+}
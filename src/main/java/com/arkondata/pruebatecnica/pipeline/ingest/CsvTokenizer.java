@@ -0,0 +1,286 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Tokenizador CSV en streaming basado en una máquina de estados.
+ * <p>
+ * Lee registros de un {@link Reader} respetando las comillas dobles de RFC
+ * 4180: las comas y saltos de línea dentro de un campo entrecomillado forman
+ * parte del valor y una comilla duplicada ({@code ""}) representa una comilla
+ * literal. No utiliza expresiones regulares y reutiliza sus buffers entre
+ * registros, por lo que el arreglo devuelto por {@link #fields()} sólo es
+ * válido hasta la siguiente llamada a {@link #next()}.
+ * </p>
+ * <p>
+ * Las líneas vacías se omiten y el BOM UTF-8 inicial, si existe, se descarta.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class CsvTokenizer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    // Estados de la máquina de estados.
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean firstRead = true;
+
+    private final StringBuilder field = new StringBuilder(128);
+    private String[] fields = new String[16];
+    private int fieldCount;
+
+    private long lineNumber = 1;
+    private long recordLine;
+
+    /**
+     * Crea un tokenizador con el tamaño de buffer predeterminado (64 KB).
+     *
+     * @param reader Fuente de caracteres del archivo CSV.
+     */
+    public CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Crea un tokenizador con un tamaño de buffer específico.
+     *
+     * @param reader Fuente de caracteres del archivo CSV.
+     * @param bufferSize Tamaño en caracteres del buffer de lectura.
+     */
+    public CsvTokenizer(Reader reader, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("El tamaño del buffer debe ser positivo: " + bufferSize);
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Avanza al siguiente registro del archivo.
+     *
+     * @return {@code true} si se leyó un registro; {@code false} al llegar al
+     * final del archivo.
+     * @throws IOException Si ocurre un error al leer la fuente.
+     */
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        field.setLength(0);
+        int state = FIELD_START;
+        boolean anyChar = false;
+        recordLine = lineNumber;
+
+        while (true) {
+            if (position >= limit && !fill()) {
+                // Fin de archivo: cierra el registro en curso, si lo hay.
+                if (!anyChar && fieldCount == 0) {
+                    return false;
+                }
+                endField();
+                return true;
+            }
+            char c = buffer[position++];
+            switch (state) {
+                case FIELD_START:
+                    if (c == '"') {
+                        state = QUOTED;
+                        anyChar = true;
+                    } else if (c == ',') {
+                        endField();
+                        anyChar = true;
+                    } else if (c == '\n' || c == '\r') {
+                        if (c == '\r') {
+                            skipLineFeed();
+                        }
+                        lineNumber++;
+                        if (!anyChar) {
+                            // Línea vacía: se ignora y se sigue con la siguiente.
+                            recordLine = lineNumber;
+                            continue;
+                        }
+                        endField();
+                        return true;
+                    } else {
+                        field.append(c);
+                        state = UNQUOTED;
+                        anyChar = true;
+                    }
+                    break;
+                case UNQUOTED:
+                    if (c == ',') {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        if (c == '\r') {
+                            skipLineFeed();
+                        }
+                        lineNumber++;
+                        endField();
+                        return true;
+                    } else {
+                        field.append(c);
+                    }
+                    break;
+                case QUOTED:
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append(c);
+                    }
+                    break;
+                default: // QUOTE_IN_QUOTED
+                    if (c == '"') {
+                        // Comilla escapada dentro del campo.
+                        field.append('"');
+                        state = QUOTED;
+                    } else if (c == ',') {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\n' || c == '\r') {
+                        if (c == '\r') {
+                            skipLineFeed();
+                        }
+                        lineNumber++;
+                        endField();
+                        return true;
+                    } else {
+                        // Texto después de la comilla de cierre: se conserva tal cual.
+                        field.append(c);
+                        state = UNQUOTED;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Número de campos del registro actual.
+     *
+     * @return La cantidad de campos leídos.
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Obtiene un campo del registro actual.
+     *
+     * @param index Índice del campo, comenzando en 0.
+     * @return El valor del campo, sin comillas envolventes.
+     */
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Campo " + index + " fuera de rango (" + fieldCount + ")");
+        }
+        return fields[index];
+    }
+
+    /**
+     * Devuelve el arreglo interno de campos del registro actual.
+     * <p>
+     * Sólo las primeras {@link #fieldCount()} posiciones son válidas y el
+     * arreglo se reutiliza en la siguiente llamada a {@link #next()}.
+     * </p>
+     *
+     * @return El arreglo reutilizable de campos.
+     */
+    public String[] fields() {
+        return fields;
+    }
+
+    /**
+     * Copia los campos del registro actual a un arreglo nuevo.
+     *
+     * @return Los campos del registro actual.
+     */
+    public String[] copyFields() {
+        return Arrays.copyOf(fields, fieldCount);
+    }
+
+    /**
+     * Línea física (1-based) donde comenzó el registro actual.
+     *
+     * @return El número de línea de inicio del registro.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reconstruye el registro actual separando sus campos con comas, útil para
+     * mensajes de diagnóstico.
+     *
+     * @return El registro actual como texto.
+     */
+    public String record() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(fields[i]);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void endField() {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fields.length * 2);
+        }
+        fields[fieldCount++] = field.length() == 0 ? "" : field.toString();
+        field.setLength(0);
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (position >= limit && !fill()) {
+            return;
+        }
+        if (buffer[position] == '\n') {
+            position++;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            limit = position = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        if (firstRead) {
+            firstRead = false;
+            if (buffer[0] == BOM) {
+                position = 1;
+                if (limit == 1) {
+                    return fill();
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Evento publicado cuando termina una carga del conjunto de datos de puntos
+ * de acceso WiFi.
+ * <p>
+ * Los componentes que mantienen estructuras derivadas de la tabla (índices en
+ * memoria, cachés, estadísticas) escuchan este evento para reconstruirse a
+ * partir de los datos recién cargados.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class DatasetLoadedEvent extends ApplicationEvent {
+
+    private final LoadResult result;
+
+    /**
+     * Constructor del evento.
+     *
+     * @param source Componente que realizó la carga.
+     * @param result Resultado de la carga, o {@code null} si no había datos
+     * que cargar o si la carga falló después de confirmar parte de los
+     * cambios.
+     */
+    public DatasetLoadedEvent(Object source, LoadResult result) {
+        super(source);
+        this.result = result;
+    }
+
+    public LoadResult getResult() {
+        return result;
+    }
+}
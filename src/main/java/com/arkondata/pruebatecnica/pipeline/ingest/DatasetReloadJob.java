@@ -0,0 +1,206 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que aplica las nuevas versiones publicadas del CSV.
+ * <p>
+ * El conjunto de datos se publica con la fecha en el nombre del archivo, por
+ * ejemplo {@code 2024-01-18-puntos_de_acceso_wifi.csv}. La tarea revisa
+ * periódicamente el directorio {@code pipeline.reload.directory} y, si
+ * encuentra un archivo con fecha posterior a la del conjunto cargado, lo
+ * aplica con {@link WifiAccessPointDeltaLoader} y publica un
+ * {@link DatasetLoadedEvent} para que los índices y las cachés se
+ * reconstruyan. La fecha inicial se toma del nombre de
+ * {@code pipeline.loader.csv}.
+ * </p>
+ * <p>
+ * El delta se confirma por lotes, así que una recarga que falla a la mitad
+ * puede dejar cambios en la tabla. En ese caso el evento también se publica,
+ * sin resultado, para que la versión en memoria y las cachés no sigan
+ * sirviendo datos que ya no coinciden con la tabla; la fecha cargada no
+ * avanza y la siguiente revisión vuelve a aplicar el archivo, que sólo
+ * escribe lo que falte.
+ * </p>
+ * <p>
+ * Sólo se crea si la propiedad {@code pipeline.reload.directory} está
+ * definida, y no revisa el directorio hasta que termina la carga inicial.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+@ConditionalOnProperty(name = "pipeline.reload.directory")
+public class DatasetReloadJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetReloadJob.class);
+
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})-puntos_de_acceso_wifi\\.csv");
+
+    private final WifiAccessPointDeltaLoader deltaLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path directory;
+    private final long interval;
+
+    private volatile boolean loaded;
+    private volatile Instant nextCheck;
+    private LocalDate loadedDate;
+
+    /**
+     * Constructor que inyecta el cargador incremental y la configuración de
+     * la recarga.
+     *
+     * @param deltaLoader Cargador que aplica las diferencias.
+     * @param eventPublisher Publicador del evento de carga terminada.
+     * @param directory Directorio donde se publican las nuevas versiones.
+     * @param initialCsv CSV de la carga inicial, cuyo nombre indica la fecha
+     * del conjunto cargado.
+     * @param interval Milisegundos entre el fin de una revisión y el inicio de
+     * la siguiente.
+     */
+    @Autowired
+    public DatasetReloadJob(WifiAccessPointDeltaLoader deltaLoader, ApplicationEventPublisher eventPublisher,
+            @Value("${pipeline.reload.directory}") String directory,
+            @Value("${pipeline.loader.csv:classpath:data/2024-01-18-puntos_de_acceso_wifi.csv}") String initialCsv,
+            @Value("${pipeline.reload.interval:3600000}") long interval) {
+        this.deltaLoader = deltaLoader;
+        this.eventPublisher = eventPublisher;
+        this.directory = Paths.get(directory);
+        this.interval = interval;
+        this.nextCheck = Instant.now();
+        this.loadedDate = datasetDate(initialCsv.substring(initialCsv.lastIndexOf('/') + 1));
+    }
+
+    /**
+     * Habilita la revisión del directorio después de la carga inicial.
+     *
+     * @param event Evento de carga terminada.
+     */
+    @EventListener
+    public void onDatasetLoaded(DatasetLoadedEvent event) {
+        loaded = true;
+    }
+
+    /**
+     * Momento aproximado de la siguiente revisión del directorio; hasta
+     * entonces el conjunto de datos no cambia, salvo por una recarga
+     * explícita con {@link #reload(Path)}.
+     *
+     * @return El momento de la siguiente revisión.
+     */
+    public Instant getNextCheck() {
+        return nextCheck;
+    }
+
+    /**
+     * Aplica la versión más reciente del directorio si es posterior a la
+     * cargada. Los errores se registran en el log y se reintentan en la
+     * siguiente ejecución.
+     */
+    @Scheduled(fixedDelayString = "${pipeline.reload.interval:3600000}")
+    public synchronized void reloadIfNewer() {
+        try {
+            checkDirectory();
+        } finally {
+            nextCheck = Instant.now().plusMillis(interval);
+        }
+    }
+
+    private void checkDirectory() {
+        if (!loaded) {
+            return;
+        }
+        Path newest = null;
+        LocalDate newestDate = loadedDate;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                LocalDate date = datasetDate(file.getFileName().toString());
+                if (date != null && (newestDate == null || date.isAfter(newestDate))) {
+                    newest = file;
+                    newestDate = date;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("No se pudo revisar el directorio de recarga {}", directory, e);
+            return;
+        }
+        if (newest == null) {
+            return;
+        }
+        try {
+            reload(newest);
+            loadedDate = newestDate;
+        } catch (IOException | SQLException e) {
+            LOGGER.error("Error al aplicar la nueva versión {}", newest, e);
+        }
+    }
+
+    /**
+     * Aplica un CSV como nueva versión del conjunto de datos y publica el
+     * evento de carga terminada si la tabla cambió, aunque la recarga falle
+     * después de confirmar algún lote.
+     *
+     * @param csv Ruta del nuevo CSV.
+     * @return El tamaño del delta aplicado.
+     * @throws IOException Si ocurre un error al leer el CSV.
+     * @throws SQLException Si ocurre un error al modificar la tabla.
+     */
+    public synchronized DeltaResult reload(Path csv) throws IOException, SQLException {
+        AtomicLong committed = new AtomicLong();
+        DeltaResult result = null;
+        try (InputStream in = Files.newInputStream(csv)) {
+            result = deltaLoader.apply(in, committed);
+            LOGGER.info("Recarga incremental de {} completada: {}.", csv.getFileName(), result);
+            return result;
+        } finally {
+            if (committed.get() > 0) {
+                if (result == null) {
+                    LOGGER.warn("La recarga de {} falló con {} cambios ya confirmados; se reconstruye la versión en memoria.",
+                            csv.getFileName(), committed.get());
+                }
+                eventPublisher.publishEvent(new DatasetLoadedEvent(this, result == null ? null : result.toLoadResult()));
+            }
+        }
+    }
+
+    /**
+     * Fecha de publicación indicada en el nombre de un archivo del conjunto de
+     * datos.
+     *
+     * @param fileName Nombre del archivo, sin directorio.
+     * @return La fecha, o {@code null} si el nombre no sigue el formato.
+     */
+    static LocalDate datasetDate(String fileName) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(matcher.group(1));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
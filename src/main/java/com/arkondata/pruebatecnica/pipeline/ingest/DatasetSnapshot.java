@@ -0,0 +1,213 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Instantánea binaria del conjunto de puntos de acceso WiFi.
+ * <p>
+ * La genera {@link DatasetSnapshotWriter} en tiempo de compilación a partir
+ * del CSV, y en el arranque se lee mapeada en memoria en lugar de volver a
+ * analizar el CSV o el script SQL. El formato es columnar, con todos los
+ * valores en little-endian y alineados, de modo que la fila {@code i} de
+ * cualquier columna se lee directamente por su posición:
+ * </p>
+ * <pre>
+ * encabezado (24 bytes)  "WAPS" · versión · filas · entradas del diccionario · bytes del diccionario · CRC32
+ * latitud                filas × double (NaN es nulo)
+ * longitud               filas × double (NaN es nulo)
+ * columnas de texto      7 × filas × int: índice en el diccionario, 0 es nulo
+ * diccionario            (entradas + 1) × int con el desplazamiento de cada entrada · bytes UTF-8
+ * </pre>
+ * <p>
+ * Las columnas de texto son, en orden, {@link #IDGOB}, {@link #PROGRAMA},
+ * {@link #FECHA_INSTALACION}, {@link #COLONIA}, {@link #ALCALDIA},
+ * {@link #COLONIA_KEY} y {@link #ALCALDIA_KEY}; las llaves de búsqueda ya
+ * vienen normalizadas. El CRC32 cubre todo lo que sigue al encabezado. Una
+ * versión distinta de {@link #VERSION} o un CRC que no coincide se rechazan.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class DatasetSnapshot {
+
+    /**
+     * Bytes iniciales de toda instantánea.
+     */
+    static final byte[] MAGIC = {'W', 'A', 'P', 'S'};
+
+    /**
+     * Versión actual del formato.
+     */
+    public static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 24;
+
+    public static final int IDGOB = 0;
+    public static final int PROGRAMA = 1;
+    public static final int FECHA_INSTALACION = 2;
+    public static final int COLONIA = 3;
+    public static final int ALCALDIA = 4;
+    public static final int COLONIA_KEY = 5;
+    public static final int ALCALDIA_KEY = 6;
+
+    /**
+     * Número de columnas de texto.
+     */
+    public static final int TEXT_COLUMNS = 7;
+
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final String[] dictionary;
+
+    private DatasetSnapshot(ByteBuffer buffer, int rows, String[] dictionary) {
+        this.buffer = buffer;
+        this.rows = rows;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Mapea en memoria una instantánea guardada en un archivo.
+     *
+     * @param file Ruta del archivo.
+     * @return La instantánea validada.
+     * @throws IOException Si el archivo no se puede leer o no es una
+     * instantánea válida.
+     */
+    public static DatasetSnapshot map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // El mapeo sigue siendo válido después de cerrar el canal.
+            return open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Abre una instantánea contenida en un buffer, desde su posición hasta su
+     * límite.
+     *
+     * @param source Buffer con la instantánea; no se modifica.
+     * @return La instantánea validada.
+     * @throws IOException Si el contenido no es una instantánea válida.
+     */
+    public static DatasetSnapshot open(ByteBuffer source) throws IOException {
+        ByteBuffer buffer = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < HEADER_SIZE) {
+            throw new IOException("Instantánea incompleta: " + buffer.limit() + " bytes");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("El contenido no es una instantánea de puntos de acceso WiFi");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Versión de instantánea no soportada: " + version + " (se esperaba " + VERSION + ")");
+        }
+        int rows = buffer.getInt(8);
+        int entries = buffer.getInt(12);
+        int dictionaryBytes = buffer.getInt(16);
+        if (rows < 0 || entries < 0 || dictionaryBytes < 0
+                || size(rows, entries, dictionaryBytes) != buffer.limit()) {
+            throw new IOException("Tamaño de instantánea inconsistente con su encabezado");
+        }
+
+        ByteBuffer body = buffer.duplicate();
+        ((Buffer) body).position(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != buffer.getInt(20)) {
+            throw new IOException("La suma de verificación de la instantánea no coincide");
+        }
+
+        int offsets = textColumnStart(rows) + TEXT_COLUMNS * rows * 4;
+        int bytesStart = offsets + (entries + 1) * 4;
+        String[] dictionary = new String[entries];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < entries; i++) {
+            int start = buffer.getInt(offsets + i * 4);
+            int length = buffer.getInt(offsets + (i + 1) * 4) - start;
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int b = 0; b < length; b++) {
+                scratch[b] = buffer.get(bytesStart + start + b);
+            }
+            dictionary[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return new DatasetSnapshot(buffer, rows, dictionary);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Latitud de una fila.
+     *
+     * @param row Índice de la fila.
+     * @return La latitud, o {@code null} si la fila no la tiene.
+     */
+    public Double getLatitud(int row) {
+        return coordinate(HEADER_SIZE + checkRow(row) * 8);
+    }
+
+    /**
+     * Longitud de una fila.
+     *
+     * @param row Índice de la fila.
+     * @return La longitud, o {@code null} si la fila no la tiene.
+     */
+    public Double getLongitud(int row) {
+        return coordinate(HEADER_SIZE + rows * 8 + checkRow(row) * 8);
+    }
+
+    /**
+     * Valor de una columna de texto.
+     *
+     * @param column Columna, por ejemplo {@link #COLONIA}.
+     * @param row Índice de la fila.
+     * @return El valor, o {@code null} si la fila no lo tiene. Los valores
+     * repetidos son la misma instancia.
+     */
+    public String getText(int column, int row) {
+        if (column < 0 || column >= TEXT_COLUMNS) {
+            throw new IndexOutOfBoundsException("Columna de texto inexistente: " + column);
+        }
+        int index = buffer.getInt(textColumnStart(rows) + (column * rows + checkRow(row)) * 4);
+        return index == 0 ? null : dictionary[index - 1];
+    }
+
+    /**
+     * Tamaño total en bytes de una instantánea, o -1 si excede el tamaño
+     * máximo de un buffer.
+     */
+    static long size(int rows, int entries, int dictionaryBytes) {
+        long size = HEADER_SIZE + (long) rows * (16 + TEXT_COLUMNS * 4) + (entries + 1L) * 4 + dictionaryBytes;
+        return size > Integer.MAX_VALUE ? -1 : size;
+    }
+
+    static int textColumnStart(int rows) {
+        return HEADER_SIZE + rows * 16;
+    }
+
+    private Double coordinate(int offset) {
+        double value = buffer.getDouble(offset);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Fila " + row + " fuera de la instantánea de " + rows + " filas");
+        }
+        return row;
+    }
+}
@@ -0,0 +1,136 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Construye una {@link DatasetSnapshot} a partir de las filas del CSV.
+ * <p>
+ * Las filas se limpian igual que en la carga JDBC ({@link WifiAccessPointCsv})
+ * y se acumulan en columnas; cada texto distinto se guarda una sola vez en el
+ * diccionario. Las llaves de búsqueda de colonia y alcaldía se calculan aquí
+ * con {@link NameFolding}, de modo que el arranque no tiene que hacerlo.
+ * </p>
+ * <p>
+ * No es seguro para uso concurrente.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class DatasetSnapshotWriter {
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<byte[]> entries = new ArrayList<>();
+    private int dictionaryBytes;
+
+    private double[] latitudes = new double[1024];
+    private double[] longitudes = new double[1024];
+    private int[][] texts = new int[DatasetSnapshot.TEXT_COLUMNS][1024];
+    private int rows;
+
+    /**
+     * Agrega una fila del CSV.
+     *
+     * @param fields Campos de la fila en el orden del CSV; debe tener al
+     * menos {@link WifiAccessPointCsv#EXPECTED_COLUMNS} campos.
+     */
+    public void add(String[] fields) {
+        if (rows == latitudes.length) {
+            int capacity = rows * 2;
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            for (int c = 0; c < texts.length; c++) {
+                texts[c] = Arrays.copyOf(texts[c], capacity);
+            }
+        }
+        Double latitud = WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LATITUD]);
+        Double longitud = WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LONGITUD]);
+        latitudes[rows] = latitud == null ? Double.NaN : latitud;
+        longitudes[rows] = longitud == null ? Double.NaN : longitud;
+        texts[DatasetSnapshot.IDGOB][rows] = intern(WifiAccessPointCsv.text(fields[WifiAccessPointCsv.IDGOB]));
+        texts[DatasetSnapshot.PROGRAMA][rows] = intern(WifiAccessPointCsv.text(fields[WifiAccessPointCsv.PROGRAMA]));
+        texts[DatasetSnapshot.FECHA_INSTALACION][rows] = intern(WifiAccessPointCsv.text(fields[WifiAccessPointCsv.FECHA_INSTALACION]));
+        texts[DatasetSnapshot.COLONIA][rows] = intern(WifiAccessPointCsv.text(fields[WifiAccessPointCsv.COLONIA]));
+        texts[DatasetSnapshot.ALCALDIA][rows] = intern(WifiAccessPointCsv.text(fields[WifiAccessPointCsv.ALCALDIA]));
+        texts[DatasetSnapshot.COLONIA_KEY][rows] = intern(NameFolding.fold(fields[WifiAccessPointCsv.COLONIA]));
+        texts[DatasetSnapshot.ALCALDIA_KEY][rows] = intern(NameFolding.fold(fields[WifiAccessPointCsv.ALCALDIA]));
+        rows++;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Escribe la instantánea con las filas agregadas hasta el momento.
+     *
+     * @param out Flujo de salida; no se cierra.
+     * @throws IOException Si ocurre un error al escribir o si la instantánea
+     * excede el tamaño máximo de un buffer.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        long size = DatasetSnapshot.size(rows, entries.size(), dictionaryBytes);
+        if (size < 0) {
+            throw new IOException("La instantánea de " + rows + " filas excede el tamaño máximo de 2 GB");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(DatasetSnapshot.MAGIC);
+        buffer.putInt(DatasetSnapshot.VERSION);
+        buffer.putInt(rows);
+        buffer.putInt(entries.size());
+        buffer.putInt(dictionaryBytes);
+        buffer.putInt(0); // CRC32, se completa al final.
+        for (int i = 0; i < rows; i++) {
+            buffer.putDouble(latitudes[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            buffer.putDouble(longitudes[i]);
+        }
+        for (int[] column : texts) {
+            for (int i = 0; i < rows; i++) {
+                buffer.putInt(column[i]);
+            }
+        }
+        int offset = 0;
+        buffer.putInt(offset);
+        for (byte[] entry : entries) {
+            offset += entry.length;
+            buffer.putInt(offset);
+        }
+        for (byte[] entry : entries) {
+            buffer.put(entry);
+        }
+
+        byte[] bytes = buffer.array();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, DatasetSnapshot.HEADER_SIZE, bytes.length - DatasetSnapshot.HEADER_SIZE);
+        buffer.putInt(20, (int) crc.getValue());
+        out.write(bytes);
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            entries.add(bytes);
+            dictionaryBytes += bytes.length;
+            index = entries.size();
+            dictionary.put(value, index);
+        }
+        return index;
+    }
+}
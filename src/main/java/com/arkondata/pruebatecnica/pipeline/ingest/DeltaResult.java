@@ -0,0 +1,96 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado de una recarga incremental de puntos de acceso WiFi.
+ * <p>
+ * Reúne el tamaño del delta aplicado (filas insertadas, actualizadas y
+ * eliminadas), las filas que no cambiaron, las rechazadas por estar mal
+ * formadas y la duración total.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class DeltaResult {
+
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+    private final long unchanged;
+    private final long rejected;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param inserted Filas nuevas insertadas.
+     * @param updated Filas existentes actualizadas.
+     * @param deleted Filas eliminadas por no aparecer en el nuevo archivo.
+     * @param unchanged Filas que no cambiaron.
+     * @param rejected Filas descartadas por estar mal formadas.
+     * @param elapsedNanos Duración total de la recarga en nanosegundos.
+     */
+    public DeltaResult(long inserted, long updated, long deleted, long unchanged, long rejected, long elapsedNanos) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Tamaño del delta.
+     *
+     * @return Filas insertadas, actualizadas y eliminadas.
+     */
+    public long getChanges() {
+        return inserted + updated + deleted;
+    }
+
+    /**
+     * Expresa la recarga como {@link LoadResult} para publicarla en un
+     * {@link DatasetLoadedEvent}.
+     *
+     * @return Un resultado cuyas filas son las filas modificadas.
+     */
+    public LoadResult toLoadResult() {
+        return new LoadResult(getChanges(), rejected, elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d insertadas, %d actualizadas, %d eliminadas, %d sin cambios, %d rechazadas en %d ms",
+                inserted, updated, deleted, unchanged, rejected, getElapsedMillis());
+    }
+}
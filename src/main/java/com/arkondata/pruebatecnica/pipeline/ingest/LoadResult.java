@@ -0,0 +1,65 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado de una carga de puntos de acceso WiFi.
+ * <p>
+ * Reúne el número de filas insertadas, las filas rechazadas por estar mal
+ * formadas y la duración total, a partir de las cuales se calcula el
+ * rendimiento en filas por segundo.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class LoadResult {
+
+    private final long rows;
+    private final long rejected;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param rows Filas insertadas.
+     * @param rejected Filas descartadas por estar mal formadas.
+     * @param elapsedNanos Duración total de la carga en nanosegundos.
+     */
+    public LoadResult(long rows, long rejected, long elapsedNanos) {
+        this.rows = rows;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Rendimiento de la carga.
+     *
+     * @return Filas insertadas por segundo.
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d filas en %d ms (%.0f filas/s), %d rechazadas",
+                rows, getElapsedMillis(), getRowsPerSecond(), rejected);
+    }
+}
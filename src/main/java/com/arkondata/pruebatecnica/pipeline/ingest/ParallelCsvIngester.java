@@ -0,0 +1,292 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ingesta paralela de archivos CSV mapeados en memoria.
+ * <p>
+ * El archivo se mapea con {@link FileChannel#map} y se divide en rangos de
+ * bytes alineados a fin de registro. Para no cortar un campo entrecomillado que
+ * abarque varias líneas, la alineación se calcula en dos pasadas paralelas:
+ * primero se cuentan las comillas de cada tramo para conocer, por suma
+ * acumulada, si cada tramo comienza dentro de comillas; después cada tramo
+ * avanza hasta el primer salto de línea que queda fuera de ellas. Las comillas
+ * y los saltos de línea nunca forman parte de una secuencia multibyte UTF-8,
+ * por lo que el recorrido por bytes es seguro.
+ * </p>
+ * <p>
+ * Cada rango se decodifica y se analiza con {@link CsvTokenizer} en un hilo de
+ * un {@link ForkJoinPool}. Los resultados se entregan en el orden del archivo,
+ * manteniendo como máximo dos rangos por hilo en memoria, por lo que el orden
+ * de las filas insertadas es determinista.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class ParallelCsvIngester {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelCsvIngester.class);
+
+    private final WifiAccessPointBatchLoader batchLoader;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * Constructor que inyecta el cargador y la configuración de la ingesta.
+     *
+     * @param batchLoader Cargador que recibe las filas analizadas.
+     * @param parallelism Número de hilos de análisis; 0 o negativo usa el
+     * número de procesadores disponibles.
+     * @param chunkSize Tamaño aproximado en bytes de cada rango.
+     */
+    @Autowired
+    public ParallelCsvIngester(WifiAccessPointBatchLoader batchLoader,
+            @Value("${pipeline.loader.parallelism:0}") int parallelism,
+            @Value("${pipeline.loader.chunk-size:1048576}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de rango debe ser positivo: " + chunkSize);
+        }
+        this.batchLoader = batchLoader;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Carga un archivo CSV en la tabla {@code wifi_access_points}.
+     * <p>
+     * El análisis ocurre en paralelo y la inserción se hace en el orden del
+     * archivo mediante un lote de {@link WifiAccessPointBatchLoader}.
+     * </p>
+     *
+     * @param csv Ruta del archivo CSV.
+     * @return El resultado de la carga.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     * @throws SQLException Si ocurre un error al insertar los datos.
+     */
+    public LoadResult load(Path csv) throws IOException, SQLException {
+        long start = System.nanoTime();
+        try (WifiAccessPointBatchLoader.Batch batch = batchLoader.openBatch()) {
+            long rejected = parse(csv, batch::add);
+            batch.flush();
+            return new LoadResult(batch.getRows(), rejected, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Analiza un archivo CSV en paralelo y entrega sus filas en orden.
+     * <p>
+     * La primera línea se considera cabecera y se omite. Las filas entregadas
+     * son arreglos nuevos de {@link WifiAccessPointCsv#EXPECTED_COLUMNS}
+     * campos; las líneas mal formadas se registran en el log y se descartan.
+     * </p>
+     *
+     * @param csv Ruta del archivo CSV.
+     * @param handler Receptor de las filas, invocado desde el hilo que llama.
+     * @return El número de líneas mal formadas descartadas.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     * @throws SQLException Si el receptor falla al procesar una fila.
+     */
+    public long parse(Path csv, RowHandler handler) throws IOException, SQLException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long[] bounds = boundaries(channel, pool);
+            int chunks = bounds.length - 1;
+
+            Deque<ForkJoinTask<Chunk>> window = new ArrayDeque<>();
+            int next = 0;
+            long rejected = 0;
+            while (next < chunks || !window.isEmpty()) {
+                while (next < chunks && window.size() < parallelism * 2) {
+                    final int index = next++;
+                    window.add(pool.submit(() -> parseChunk(channel, index, bounds[index], bounds[index + 1])));
+                }
+                Chunk chunk = join(window.poll());
+                rejected += chunk.rejected;
+                for (String[] row : chunk.rows) {
+                    handler.handle(row);
+                }
+            }
+            LOGGER.debug("Archivo {} analizado en {} rangos con {} hilos.", csv, chunks, parallelism);
+            return rejected;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Calcula los límites de los rangos: el primero comienza después de la
+     * cabecera y todos terminan en un fin de registro.
+     */
+    private long[] boundaries(FileChannel channel, ForkJoinPool pool) throws IOException {
+        final long size = channel.size();
+        final long dataStart = recordEnd(channel, 0, false, size);
+        final int pieces = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 1, (size - dataStart + chunkSize - 1) / chunkSize));
+        final long[] raw = new long[pieces + 1];
+        for (int i = 0; i <= pieces; i++) {
+            raw[i] = dataStart + (size - dataStart) * i / pieces;
+        }
+
+        // Primera pasada: comillas por tramo, para conocer el estado al inicio de cada uno.
+        List<ForkJoinTask<Long>> counts = new ArrayList<>(pieces);
+        for (int i = 0; i < pieces; i++) {
+            final int index = i;
+            counts.add(pool.submit(() -> countQuotes(channel, raw[index], raw[index + 1])));
+        }
+        boolean[] insideQuotes = new boolean[pieces];
+        long quotes = 0;
+        for (int i = 0; i < pieces; i++) {
+            insideQuotes[i] = (quotes & 1) == 1;
+            quotes += join(counts.get(i));
+        }
+
+        // Segunda pasada: cada tramo avanza hasta el primer fin de registro.
+        List<ForkJoinTask<Long>> ends = new ArrayList<>(pieces);
+        for (int i = 1; i < pieces; i++) {
+            final int index = i;
+            final boolean quoted = insideQuotes[i];
+            ends.add(pool.submit(() -> recordEnd(channel, raw[index], quoted, size)));
+        }
+        long[] bounds = new long[pieces + 1];
+        bounds[0] = dataStart;
+        for (int i = 1; i < pieces; i++) {
+            // Un campo multilínea puede cruzar tramos completos; los límites no retroceden.
+            bounds[i] = Math.max(bounds[i - 1], join(ends.get(i - 1)));
+        }
+        bounds[pieces] = size;
+        return bounds;
+    }
+
+    private Chunk parseChunk(FileChannel channel, int index, long start, long end) {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IllegalStateException("El rango " + index + " excede el tamaño máximo mapeable: " + (end - start) + " bytes");
+        }
+        Chunk chunk = new Chunk();
+        if (end == start) {
+            return chunk;
+        }
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer);
+            CsvTokenizer tokenizer = new CsvTokenizer(new CharArrayReader(chars.array(),
+                    chars.arrayOffset() + chars.position(), chars.remaining()));
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() < WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    LOGGER.error(WifiAccessPointCsv.MALFORMED_MESSAGE + tokenizer.record());
+                    chunk.rejected++;
+                    continue;
+                }
+                chunk.rows.add(Arrays.copyOf(tokenizer.fields(), WifiAccessPointCsv.EXPECTED_COLUMNS));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (chunk.rejected > 0) {
+            LOGGER.warn("Rango {} [{}, {}): {} líneas mal formadas descartadas.", index, start, end, chunk.rejected);
+        }
+        return chunk;
+    }
+
+    private static long countQuotes(FileChannel channel, long start, long end) {
+        try {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            long quotes = 0;
+            for (int i = 0, n = buffer.limit(); i < n; i++) {
+                if (buffer.get(i) == '"') {
+                    quotes++;
+                }
+            }
+            return quotes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Busca la posición siguiente al primer salto de línea fuera de comillas a
+     * partir de {@code from}.
+     */
+    private long recordEnd(FileChannel channel, long from, boolean insideQuotes, long size) {
+        final int window = Math.min(chunkSize, 64 * 1024);
+        boolean quoted = insideQuotes;
+        try {
+            for (long offset = from; offset < size; offset += window) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(window, size - offset));
+                for (int i = 0, n = buffer.limit(); i < n; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '"') {
+                        quoted = !quoted;
+                    } else if (b == '\n' && !quoted) {
+                        return offset + i + 1;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return size;
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Receptor de las filas analizadas.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * Procesa una fila del CSV.
+         *
+         * @param fields Campos de la fila en el orden del CSV.
+         * @throws SQLException Si ocurre un error al procesar la fila.
+         */
+        void handle(String[] fields) throws SQLException;
+    }
+
+    /**
+     * Filas válidas y rechazadas de un rango.
+     */
+    private static final class Chunk {
+
+        private final List<String[]> rows = new ArrayList<>();
+        private long rejected;
+    }
+}
@@ -0,0 +1,275 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cargador directo del CSV de puntos de acceso WiFi hacia la tabla
+ * {@code wifi_access_points}.
+ * <p>
+ * A diferencia del script SQL generado en tiempo de compilación, este cargador
+ * lee el CSV en streaming con {@link CsvTokenizer} e inserta las filas con un
+ * {@link PreparedStatement} en lotes de tamaño configurable. Cada lote se
+ * confirma en su propia transacción, de modo que la memoria y el tamaño de la
+ * transacción se mantienen acotados sin importar el tamaño del archivo.
+ * </p>
+ * <p>
+ * Junto con cada fila se insertan las llaves de búsqueda de colonia y alcaldía,
+ * normalizadas con {@link NameFolding}.
+ * </p>
+ * <p>
+ * También carga una {@link DatasetSnapshot}, cuyos valores ya vienen limpios
+ * y con las llaves de búsqueda calculadas.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class WifiAccessPointBatchLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointBatchLoader.class);
+
+    private static final String INSERT_SQL = "INSERT INTO wifi_access_points "
+            + "(idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia, colonia_key, alcaldia_key) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    /**
+     * Constructor que inyecta el origen de datos y el tamaño de lote.
+     *
+     * @param dataSource Origen de datos de la tabla de destino.
+     * @param batchSize Número de filas por lote y por transacción.
+     */
+    @Autowired
+    public WifiAccessPointBatchLoader(DataSource dataSource,
+            @Value("${pipeline.loader.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo: " + batchSize);
+        }
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Carga un archivo CSV completo en la tabla {@code wifi_access_points}.
+     * <p>
+     * La primera línea se considera cabecera y se omite. Los registros con
+     * menos columnas de las esperadas se registran en el log y se descartan,
+     * igual que en {@code SqlScriptGenerator}.
+     * </p>
+     *
+     * @param csvInputStream El stream con el contenido del archivo CSV.
+     * @return El resultado de la carga.
+     * @throws IOException Si ocurre un error al leer el CSV.
+     * @throws SQLException Si ocurre un error al insertar los datos.
+     */
+    public LoadResult load(InputStream csvInputStream) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long rejected = 0;
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8));
+                Batch batch = openBatch()) {
+            tokenizer.next(); // Omitir la cabecera del archivo CSV.
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() < WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    LOGGER.error(WifiAccessPointCsv.MALFORMED_MESSAGE + tokenizer.record());
+                    rejected++;
+                    continue;
+                }
+                batch.add(tokenizer.fields());
+            }
+            batch.flush();
+            return new LoadResult(batch.getRows(), rejected, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Carga una instantánea binaria en la tabla {@code wifi_access_points}.
+     *
+     * @param snapshot La instantánea a cargar.
+     * @return El resultado de la carga; una instantánea no tiene filas
+     * rechazadas.
+     * @throws SQLException Si ocurre un error al insertar los datos.
+     */
+    public LoadResult load(DatasetSnapshot snapshot) throws SQLException {
+        long start = System.nanoTime();
+        try (Batch batch = openBatch()) {
+            for (int row = 0, rows = snapshot.getRows(); row < rows; row++) {
+                batch.add(snapshot, row);
+            }
+            batch.flush();
+            return new LoadResult(batch.getRows(), 0, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Abre un lote de inserción sobre una conexión propia.
+     * <p>
+     * El lote debe cerrarse al terminar; las filas pendientes que no se hayan
+     * confirmado con {@link Batch#flush()} se descartan al cerrarlo.
+     * </p>
+     *
+     * @return Un lote listo para recibir filas.
+     * @throws SQLException Si no se puede obtener la conexión.
+     */
+    public Batch openBatch() throws SQLException {
+        return new Batch(dataSource.getConnection(), batchSize);
+    }
+
+    /**
+     * Lote de inserción con confirmación por bloques.
+     * <p>
+     * No es seguro para uso concurrente: cada hilo debe abrir su propio lote.
+     * </p>
+     */
+    public static final class Batch implements AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final boolean previousAutoCommit;
+        private final int batchSize;
+        private int pending;
+        private long rows;
+
+        private Batch(Connection connection, int batchSize) throws SQLException {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            try {
+                this.previousAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                this.statement = connection.prepareStatement(INSERT_SQL);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Agrega una fila del CSV al lote, ejecutándolo y confirmándolo al
+         * alcanzar el tamaño configurado.
+         *
+         * @param fields Campos de la fila en el orden del CSV.
+         * @throws SQLException Si ocurre un error al insertar.
+         */
+        public void add(String[] fields) throws SQLException {
+            setText(1, fields[WifiAccessPointCsv.IDGOB]);
+            setText(2, fields[WifiAccessPointCsv.PROGRAMA]);
+            setText(3, fields[WifiAccessPointCsv.FECHA_INSTALACION]);
+            setNumber(4, fields[WifiAccessPointCsv.LATITUD]);
+            setNumber(5, fields[WifiAccessPointCsv.LONGITUD]);
+            setText(6, fields[WifiAccessPointCsv.COLONIA]);
+            setText(7, fields[WifiAccessPointCsv.ALCALDIA]);
+            setText(8, NameFolding.fold(fields[WifiAccessPointCsv.COLONIA]));
+            setText(9, NameFolding.fold(fields[WifiAccessPointCsv.ALCALDIA]));
+            addBatch();
+        }
+
+        /**
+         * Agrega una fila de una instantánea al lote, ejecutándolo y
+         * confirmándolo al alcanzar el tamaño configurado.
+         *
+         * @param snapshot Instantánea de origen.
+         * @param row Índice de la fila en la instantánea.
+         * @throws SQLException Si ocurre un error al insertar.
+         */
+        public void add(DatasetSnapshot snapshot, int row) throws SQLException {
+            setString(1, snapshot.getText(DatasetSnapshot.IDGOB, row));
+            setString(2, snapshot.getText(DatasetSnapshot.PROGRAMA, row));
+            setString(3, snapshot.getText(DatasetSnapshot.FECHA_INSTALACION, row));
+            setDouble(4, snapshot.getLatitud(row));
+            setDouble(5, snapshot.getLongitud(row));
+            setString(6, snapshot.getText(DatasetSnapshot.COLONIA, row));
+            setString(7, snapshot.getText(DatasetSnapshot.ALCALDIA, row));
+            setString(8, snapshot.getText(DatasetSnapshot.COLONIA_KEY, row));
+            setString(9, snapshot.getText(DatasetSnapshot.ALCALDIA_KEY, row));
+            addBatch();
+        }
+
+        private void addBatch() throws SQLException {
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Ejecuta y confirma las filas pendientes.
+         *
+         * @throws SQLException Si ocurre un error al insertar.
+         */
+        public void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            connection.commit();
+            rows += pending;
+            pending = 0;
+        }
+
+        /**
+         * Filas confirmadas hasta el momento.
+         *
+         * @return El número de filas insertadas.
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    connection.rollback();
+                }
+                statement.close();
+                connection.setAutoCommit(previousAutoCommit);
+            } finally {
+                connection.close();
+            }
+        }
+
+        private void setText(int index, String raw) throws SQLException {
+            setString(index, WifiAccessPointCsv.text(raw));
+        }
+
+        private void setNumber(int index, String raw) throws SQLException {
+            setDouble(index, WifiAccessPointCsv.number(raw));
+        }
+
+        private void setString(int index, String value) throws SQLException {
+            if (value == null) {
+                statement.setNull(index, Types.VARCHAR);
+            } else {
+                statement.setString(index, value);
+            }
+        }
+
+        private void setDouble(int index, Double value) throws SQLException {
+            if (value == null) {
+                statement.setNull(index, Types.DOUBLE);
+            } else {
+                statement.setDouble(index, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+/**
+ * Formato del archivo CSV de puntos de acceso WiFi.
+ * <p>
+ * Centraliza el orden de las columnas y las reglas de limpieza que aplican
+ * tanto el generador del script SQL como los cargadores directos: los valores
+ * se recortan, las cadenas vacías equivalen a {@code NULL} y las coordenadas
+ * conservan únicamente dígitos, punto y signo. Ninguna de las rutinas usa
+ * expresiones regulares ni crea cadenas intermedias.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class WifiAccessPointCsv {
+
+    /**
+     * Número esperado de columnas en el archivo CSV.
+     */
+    public static final int EXPECTED_COLUMNS = 7;
+
+    public static final int IDGOB = 0;
+    public static final int PROGRAMA = 1;
+    public static final int FECHA_INSTALACION = 2;
+    public static final int LATITUD = 3;
+    public static final int LONGITUD = 4;
+    public static final int COLONIA = 5;
+    public static final int ALCALDIA = 6;
+
+    /**
+     * Prefijo del mensaje registrado para las líneas con menos columnas de las
+     * esperadas.
+     */
+    public static final String MALFORMED_MESSAGE = "Línea mal formada, se esperaban " + EXPECTED_COLUMNS + " columnas: ";
+
+    private WifiAccessPointCsv() {
+    }
+
+    /**
+     * Indica si la columna contiene una coordenada numérica.
+     *
+     * @param column Índice de la columna.
+     * @return {@code true} para latitud y longitud.
+     */
+    public static boolean isNumeric(int column) {
+        return column == LATITUD || column == LONGITUD;
+    }
+
+    /**
+     * Recorta un valor de texto.
+     *
+     * @param raw Valor tal como aparece en el CSV.
+     * @return El valor recortado, o {@code null} si queda vacío.
+     */
+    public static String text(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String value = raw.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Interpreta una coordenada descartando los caracteres que no sean
+     * dígitos, punto o signo menos.
+     *
+     * @param raw Valor tal como aparece en el CSV.
+     * @return La coordenada, o {@code null} si el valor está vacío o no es
+     * numérico.
+     */
+    public static Double number(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        char[] digits = null;
+        int length = 0;
+        for (int i = 0, n = raw.length(); i < n; i++) {
+            char c = raw.charAt(i);
+            if (isNumericChar(c)) {
+                if (digits == null) {
+                    digits = new char[n - i];
+                }
+                digits[length++] = c;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        try {
+            return Double.valueOf(new String(digits, 0, length));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Agrega a {@code sql} la representación literal SQL de un campo.
+     * <p>
+     * Los valores vacíos se escriben como {@code NULL}, las coordenadas sin
+     * comillas y con sólo sus caracteres numéricos, y el resto como cadenas
+     * entre comillas simples con las comillas internas duplicadas para
+     * prevenir inyecciones SQL.
+     * </p>
+     *
+     * @param sql Buffer de destino.
+     * @param raw Valor tal como aparece en el CSV.
+     * @param numeric {@code true} si la columna es una coordenada.
+     */
+    public static void appendSqlLiteral(StringBuilder sql, String raw, boolean numeric) {
+        int start = 0;
+        int end = raw.length();
+        while (start < end && raw.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && raw.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            sql.append("NULL");
+            return;
+        }
+        if (numeric) {
+            int mark = sql.length();
+            for (int i = start; i < end; i++) {
+                char c = raw.charAt(i);
+                if (isNumericChar(c)) {
+                    sql.append(c);
+                }
+            }
+            if (sql.length() == mark) {
+                sql.append("NULL");
+            }
+            return;
+        }
+        sql.append('\'');
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c == '\'') {
+                sql.append('\'');
+            }
+            sql.append(c);
+        }
+        sql.append('\'');
+    }
+
+    private static boolean isNumericChar(char c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '-';
+    }
+}
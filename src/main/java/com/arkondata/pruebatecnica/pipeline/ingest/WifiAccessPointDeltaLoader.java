@@ -0,0 +1,355 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recarga incremental de la tabla {@code wifi_access_points} a partir de una
+ * nueva versión del CSV.
+ * <p>
+ * Compara el archivo con los datos cargados usando {@code idgob} como llave y
+ * escribe sólo las diferencias: inserta las filas nuevas, actualiza las que
+ * cambiaron y elimina las que ya no aparecen. Los datos cargados se resumen en
+ * memoria con el ID y una huella de 64 bits de cada fila, y el CSV se recorre
+ * en streaming, así que las escrituras y el mantenimiento de índices son
+ * proporcionales al número de cambios.
+ * </p>
+ * <p>
+ * El conjunto publicado repite algunos {@code idgob}; cada aparición se empata
+ * con la aparición del mismo orden en la tabla (por ID), de modo que un
+ * archivo idéntico no produce cambios.
+ * </p>
+ * <p>
+ * Las escrituras se agrupan en lotes de {@code pipeline.loader.batch-size}
+ * filas, cada uno en su propia transacción. Quien lea la tabla durante la
+ * recarga puede observar el delta aplicado parcialmente; el servicio de
+ * consultas no, porque sirve la versión en memoria anterior hasta que se
+ * publica la nueva. Si la recarga falla después de confirmar algún lote, esas
+ * filas permanecen en la tabla; {@link #apply(InputStream, AtomicLong)} las
+ * informa para que quien la invoque reconstruya igualmente la versión en
+ * memoria.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class WifiAccessPointDeltaLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointDeltaLoader.class);
+
+    private static final String SELECT_SQL = "SELECT id, idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia "
+            + "FROM wifi_access_points ORDER BY id";
+
+    private static final String UPDATE_SQL = "UPDATE wifi_access_points SET programa = ?, fecha_instalacion = ?, "
+            + "latitud = ?, longitud = ?, colonia = ?, alcaldia = ?, colonia_key = ?, alcaldia_key = ? WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM wifi_access_points WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final WifiAccessPointBatchLoader batchLoader;
+    private final int batchSize;
+
+    /**
+     * Constructor que inyecta el origen de datos, el cargador de inserciones y
+     * el tamaño de lote.
+     *
+     * @param dataSource Origen de datos de la tabla de destino.
+     * @param batchLoader Cargador usado para las filas nuevas.
+     * @param batchSize Número de actualizaciones o eliminaciones por lote y
+     * por transacción.
+     */
+    @Autowired
+    public WifiAccessPointDeltaLoader(DataSource dataSource, WifiAccessPointBatchLoader batchLoader,
+            @Value("${pipeline.loader.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo: " + batchSize);
+        }
+        this.dataSource = dataSource;
+        this.batchLoader = batchLoader;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Aplica un CSV como nueva versión del conjunto de datos.
+     * <p>
+     * La primera línea se considera cabecera y se omite. Los registros con
+     * menos columnas de las esperadas se registran en el log y se descartan
+     * como en la carga inicial, por lo que su fila cargada, si la hay, se
+     * elimina.
+     * </p>
+     *
+     * @param csvInputStream El stream con el contenido del nuevo CSV.
+     * @return El tamaño del delta aplicado.
+     * @throws IOException Si ocurre un error al leer el CSV.
+     * @throws SQLException Si ocurre un error al leer o modificar la tabla.
+     */
+    public DeltaResult apply(InputStream csvInputStream) throws IOException, SQLException {
+        return apply(csvInputStream, new AtomicLong());
+    }
+
+    /**
+     * Aplica un CSV como nueva versión del conjunto de datos e informa las
+     * filas confirmadas, aunque la recarga falle a la mitad.
+     *
+     * @param csvInputStream El stream con el contenido del nuevo CSV.
+     * @param committed Acumula las filas insertadas, actualizadas o eliminadas
+     * en lotes ya confirmados, también cuando el método termina con una
+     * excepción.
+     * @return El tamaño del delta aplicado.
+     * @throws IOException Si ocurre un error al leer el CSV.
+     * @throws SQLException Si ocurre un error al leer o modificar la tabla.
+     */
+    public DeltaResult apply(InputStream csvInputStream, AtomicLong committed) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Map<String, long[]> loaded = loadFingerprints();
+
+        long updated = 0;
+        long unchanged = 0;
+        long rejected = 0;
+        Map<String, Integer> occurrences = new HashMap<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8));
+                WifiAccessPointBatchLoader.Batch inserts = batchLoader.openBatch();
+                Changes changes = new Changes(dataSource.getConnection(), batchSize)) {
+            try {
+                tokenizer.next(); // Omitir la cabecera del archivo CSV.
+                while (tokenizer.next()) {
+                    if (tokenizer.fieldCount() < WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                        LOGGER.error(WifiAccessPointCsv.MALFORMED_MESSAGE + tokenizer.record());
+                        rejected++;
+                        continue;
+                    }
+                    String[] fields = tokenizer.fields();
+                    String idgob = WifiAccessPointCsv.text(fields[WifiAccessPointCsv.IDGOB]);
+                    long[] current = loaded.remove(key(idgob, occurrences));
+                    if (current == null) {
+                        inserts.add(fields);
+                    } else if (current[1] != fingerprint(fields)) {
+                        changes.update(current[0], fields);
+                        updated++;
+                    } else {
+                        unchanged++;
+                    }
+                }
+                for (long[] removed : loaded.values()) {
+                    changes.delete(removed[0]);
+                }
+                inserts.flush();
+                changes.flush();
+                DeltaResult result = new DeltaResult(inserts.getRows(), updated, loaded.size(), unchanged, rejected, System.nanoTime() - start);
+                LOGGER.debug("Delta aplicado: {}.", result);
+                return result;
+            } finally {
+                committed.addAndGet(inserts.getRows() + changes.getCommitted());
+            }
+        }
+    }
+
+    /**
+     * Lee el ID y la huella de cada fila cargada, indexados por la llave de
+     * empate.
+     */
+    private Map<String, long[]> loadFingerprints() throws SQLException {
+        Map<String, long[]> loaded = new HashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setFetchSize(batchSize);
+            try (ResultSet rs = statement.executeQuery(SELECT_SQL)) {
+                while (rs.next()) {
+                    long fingerprint = fingerprint(rs.getString("programa"), rs.getString("fecha_instalacion"),
+                            getDouble(rs, "latitud"), getDouble(rs, "longitud"), rs.getString("colonia"), rs.getString("alcaldia"));
+                    loaded.put(key(rs.getString("idgob"), occurrences), new long[]{rs.getLong("id"), fingerprint});
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Llave de empate: el {@code idgob} seguido del número de veces que ya
+     * apareció.
+     */
+    private static String key(String idgob, Map<String, Integer> occurrences) {
+        String value = idgob == null ? "" : idgob;
+        Integer seen = occurrences.merge(value, 1, Integer::sum);
+        return seen == 1 ? value : value + '\u0000' + seen;
+    }
+
+    /**
+     * Huella de una fila del CSV, calculada sobre los mismos valores limpios
+     * que se insertan en la tabla.
+     */
+    private static long fingerprint(String[] fields) {
+        return fingerprint(
+                WifiAccessPointCsv.text(fields[WifiAccessPointCsv.PROGRAMA]),
+                WifiAccessPointCsv.text(fields[WifiAccessPointCsv.FECHA_INSTALACION]),
+                WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LATITUD]),
+                WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LONGITUD]),
+                WifiAccessPointCsv.text(fields[WifiAccessPointCsv.COLONIA]),
+                WifiAccessPointCsv.text(fields[WifiAccessPointCsv.ALCALDIA]));
+    }
+
+    /**
+     * Huella FNV-1a de 64 bits de los campos que se pueden actualizar. Las
+     * llaves de búsqueda se derivan de ellos y no se incluyen.
+     */
+    private static long fingerprint(String programa, String fechaInstalacion, Double latitud, Double longitud,
+            String colonia, String alcaldia) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, programa);
+        hash = mix(hash, fechaInstalacion);
+        hash = mix(hash, latitud);
+        hash = mix(hash, longitud);
+        hash = mix(hash, colonia);
+        hash = mix(hash, alcaldia);
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return (hash ^ 0x100) * 0x100000001b3L;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return (hash ^ 0x101) * 0x100000001b3L;
+    }
+
+    private static long mix(long hash, Double value) {
+        long bits = value == null ? 0x7ff8dead00000000L : Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (bits & 0xFF)) * 0x100000001b3L;
+            bits >>>= 8;
+        }
+        return hash;
+    }
+
+    /**
+     * Lote de actualizaciones y eliminaciones con confirmación por bloques.
+     */
+    private static final class Changes implements AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement update;
+        private final PreparedStatement delete;
+        private final boolean previousAutoCommit;
+        private final int batchSize;
+        private int pendingUpdates;
+        private int pendingDeletes;
+        private long committed;
+
+        private Changes(Connection connection, int batchSize) throws SQLException {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            try {
+                this.previousAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                this.update = connection.prepareStatement(UPDATE_SQL);
+                this.delete = connection.prepareStatement(DELETE_SQL);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+
+        private void update(long id, String[] fields) throws SQLException {
+            setString(1, WifiAccessPointCsv.text(fields[WifiAccessPointCsv.PROGRAMA]));
+            setString(2, WifiAccessPointCsv.text(fields[WifiAccessPointCsv.FECHA_INSTALACION]));
+            setDouble(3, WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LATITUD]));
+            setDouble(4, WifiAccessPointCsv.number(fields[WifiAccessPointCsv.LONGITUD]));
+            setString(5, WifiAccessPointCsv.text(fields[WifiAccessPointCsv.COLONIA]));
+            setString(6, WifiAccessPointCsv.text(fields[WifiAccessPointCsv.ALCALDIA]));
+            setString(7, NameFolding.fold(fields[WifiAccessPointCsv.COLONIA]));
+            setString(8, NameFolding.fold(fields[WifiAccessPointCsv.ALCALDIA]));
+            update.setLong(9, id);
+            update.addBatch();
+            if (++pendingUpdates >= batchSize) {
+                flush();
+            }
+        }
+
+        private void delete(long id) throws SQLException {
+            delete.setLong(1, id);
+            delete.addBatch();
+            if (++pendingDeletes >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pendingUpdates > 0) {
+                update.executeBatch();
+            }
+            if (pendingDeletes > 0) {
+                delete.executeBatch();
+            }
+            if (pendingUpdates + pendingDeletes > 0) {
+                connection.commit();
+                committed += pendingUpdates + pendingDeletes;
+            }
+            pendingUpdates = 0;
+            pendingDeletes = 0;
+        }
+
+        /**
+         * Actualizaciones y eliminaciones confirmadas hasta el momento.
+         */
+        private long getCommitted() {
+            return committed;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pendingUpdates + pendingDeletes > 0) {
+                    connection.rollback();
+                }
+                update.close();
+                delete.close();
+                connection.setAutoCommit(previousAutoCommit);
+            } finally {
+                connection.close();
+            }
+        }
+
+        private void setString(int index, String value) throws SQLException {
+            if (value == null) {
+                update.setNull(index, Types.VARCHAR);
+            } else {
+                update.setString(index, value);
+            }
+        }
+
+        private void setDouble(int index, Double value) throws SQLException {
+            if (value == null) {
+                update.setNull(index, Types.DOUBLE);
+            } else {
+                update.setDouble(index, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.arkondata.pruebatecnica.pipeline.metrics;
+
+import com.arkondata.pruebatecnica.pipeline.index.DatasetVersion;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetReloadJob;
+import com.arkondata.pruebatecnica.pipeline.ingest.LoadResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica las métricas de las cargas del conjunto de datos y de la versión en
+ * memoria.
+ * <p>
+ * Cada {@link DatasetLoadedEvent} se registra con la etiqueta {@code kind}:
+ * {@code initial} para la carga al arrancar y {@code delta} para las recargas
+ * incrementales. Por cada tipo se publican:
+ * </p>
+ * <ul>
+ * <li>{@code wifi.ingest.duration}: temporizador con la duración de cada
+ * carga.</li>
+ * <li>{@code wifi.ingest.rows} y {@code wifi.ingest.rejected}: filas escritas
+ * y rechazadas, acumuladas.</li>
+ * <li>{@code wifi.ingest.last.duration}, {@code wifi.ingest.last.rows} y
+ * {@code wifi.ingest.last.throughput}: duración, filas y filas por segundo de
+ * la última carga.</li>
+ * </ul>
+ * <p>
+ * Además, {@code wifi.dataset.points} y {@code wifi.dataset.version} reflejan
+ * la versión en memoria que atiende las consultas.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Component
+public class IngestMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LastLoad> lastLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inyecta el registro de métricas y registra las métricas
+     * de la versión en memoria.
+     *
+     * @param meterRegistry Registro de métricas de la aplicación.
+     * @param dataset Conjunto de datos en memoria.
+     */
+    public IngestMetrics(MeterRegistry meterRegistry, WifiAccessPointDataset dataset) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("wifi.dataset.points", dataset, IngestMetrics::points)
+                .description("Puntos de acceso de la versión en memoria")
+                .register(meterRegistry);
+        Gauge.builder("wifi.dataset.version", dataset, WifiAccessPointDataset::currentNumber)
+                .description("Número de la versión en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el resultado de una carga terminada.
+     *
+     * @param event Evento de carga terminada.
+     */
+    @EventListener
+    public void onDatasetLoaded(DatasetLoadedEvent event) {
+        LoadResult result = event.getResult();
+        if (result == null) {
+            return;
+        }
+        String kind = event.getSource() instanceof DatasetReloadJob ? "delta" : "initial";
+        Timer.builder("wifi.ingest.duration")
+                .description("Duración de las cargas del conjunto de datos")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(result.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.counter("wifi.ingest.rows", "kind", kind).increment(result.getRows());
+        meterRegistry.counter("wifi.ingest.rejected", "kind", kind).increment(result.getRejected());
+        lastLoads.computeIfAbsent(kind, this::registerLastLoad).result = result;
+    }
+
+    /**
+     * Registra las métricas de la última carga de un tipo.
+     */
+    private LastLoad registerLastLoad(String kind) {
+        LastLoad lastLoad = new LastLoad();
+        TimeGauge.builder("wifi.ingest.last.duration", lastLoad, TimeUnit.NANOSECONDS, last -> last.result.getElapsedNanos())
+                .description("Duración de la última carga")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("wifi.ingest.last.rows", lastLoad, last -> last.result.getRows())
+                .description("Filas escritas por la última carga")
+                .tag("kind", kind)
+                .baseUnit("rows")
+                .register(meterRegistry);
+        Gauge.builder("wifi.ingest.last.throughput", lastLoad, last -> last.result.getRowsPerSecond())
+                .description("Filas por segundo de la última carga")
+                .tag("kind", kind)
+                .baseUnit("rows.per.second")
+                .register(meterRegistry);
+        return lastLoad;
+    }
+
+    private static double points(WifiAccessPointDataset dataset) {
+        DatasetVersion version = dataset.current();
+        return version == null ? 0 : version.size();
+    }
+
+    /**
+     * Resultado de la última carga de un tipo, leído por sus métricas.
+     */
+    private static final class LastLoad {
+
+        private volatile LoadResult result = new LoadResult(0, 0, 0);
+    }
+}
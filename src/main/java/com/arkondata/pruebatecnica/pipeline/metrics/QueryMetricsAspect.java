@@ -0,0 +1,91 @@
+package com.arkondata.pruebatecnica.pipeline.metrics;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra cuántas filas devuelve cada consulta del servicio de puntos de
+ * acceso WiFi.
+ * <p>
+ * Por cada método de
+ * {@link com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService}
+ * que devuelve una colección se publican dos distribuciones etiquetadas con el
+ * nombre del método:
+ * </p>
+ * <ul>
+ * <li>{@code wifi.query.rows}: filas devueltas en la respuesta (el tamaño de
+ * la página, porción o lista).</li>
+ * <li>{@code wifi.query.matches}: total de coincidencias de la consulta, sólo
+ * para los métodos que devuelven una {@link Page} con el total.</li>
+ * </ul>
+ * <p>
+ * Las búsquedas de un solo punto, como la consulta por ID, no se registran.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Aspect
+@Component
+public class QueryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> matches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que inyecta el registro de métricas.
+     *
+     * @param meterRegistry Registro de métricas de la aplicación.
+     */
+    public QueryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra el número de filas del resultado de una consulta.
+     *
+     * @param joinPoint Método del servicio invocado.
+     * @param result Resultado devuelto por el método.
+     */
+    @AfterReturning(pointcut = "execution(* com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService.*(..))",
+            returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        String method = joinPoint.getSignature().getName();
+        if (result instanceof Page) {
+            Page<?> page = (Page<?>) result;
+            summary(rows, "wifi.query.rows", "Filas devueltas por consulta", method).record(page.getNumberOfElements());
+            summary(matches, "wifi.query.matches", "Coincidencias totales por consulta", method).record(page.getTotalElements());
+        } else if (result instanceof Slice) {
+            summary(rows, "wifi.query.rows", "Filas devueltas por consulta", method).record(((Slice<?>) result).getNumberOfElements());
+        } else if (result instanceof CursorPage) {
+            summary(rows, "wifi.query.rows", "Filas devueltas por consulta", method).record(((CursorPage<?>) result).getContent().size());
+        } else if (result instanceof Collection) {
+            summary(rows, "wifi.query.rows", "Filas devueltas por consulta", method).record(((Collection<?>) result).size());
+        }
+    }
+
+    /**
+     * Obtiene la distribución de un método, registrándola la primera vez.
+     */
+    private DistributionSummary summary(Map<String, DistributionSummary> summaries, String name, String description,
+            String method) {
+        return summaries.computeIfAbsent(method, key -> DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("rows")
+                .tag("method", key)
+                .register(meterRegistry));
+    }
+}
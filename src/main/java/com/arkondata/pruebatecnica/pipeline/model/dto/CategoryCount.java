@@ -0,0 +1,37 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Número de puntos de acceso WiFi de una alcaldía, colonia o programa.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class CategoryCount {
+
+    @ApiModelProperty(notes = "Nombre tal como aparece en los datos", example = "IZTAPALAPA")
+    private final String name;
+
+    @ApiModelProperty(notes = "Número de puntos de acceso WiFi", example = "4213")
+    private final long accessPoints;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param name Nombre tal como aparece en los datos.
+     * @param accessPoints Número de puntos de acceso WiFi.
+     */
+    public CategoryCount(String name, long accessPoints) {
+        this.name = name;
+        this.accessPoints = accessPoints;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAccessPoints() {
+        return accessPoints;
+    }
+}
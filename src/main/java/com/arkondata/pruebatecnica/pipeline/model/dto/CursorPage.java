@@ -0,0 +1,44 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * Página de resultados de la paginación por cursor.
+ * <p>
+ * No incluye totales ni número de página: el cliente avanza enviando el valor
+ * de {@code next} como cursor de la siguiente petición hasta que sea
+ * {@code null}.
+ * </p>
+ *
+ * @param <T> Tipo de los elementos de la página.
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class CursorPage<T> {
+
+    @ApiModelProperty(notes = "Elementos de la página")
+    private final List<T> content;
+
+    @ApiModelProperty(notes = "Cursor opaco de la página siguiente; null si ésta es la última", example = "aWQ6MjA")
+    private final String next;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param content Elementos de la página.
+     * @param next Cursor de la página siguiente, o {@code null} si no hay más.
+     */
+    public CursorPage(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,42 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+/**
+ * Cuadrícula de densidad de los puntos de acceso WiFi con coordenadas.
+ * <p>
+ * Sólo incluye las celdas con al menos un punto, ordenadas de sur a norte y
+ * de oeste a este.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class DensityGrid {
+
+    @ApiModelProperty(notes = "Lado de las celdas en grados", example = "0.01")
+    private final double cellSize;
+
+    @ApiModelProperty(notes = "Celdas con al menos un punto de acceso WiFi")
+    private final List<GridCell> cells;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param cellSize Lado de las celdas en grados.
+     * @param cells Celdas con al menos un punto de acceso WiFi.
+     */
+    public DensityGrid(double cellSize, List<GridCell> cells) {
+        this.cellSize = cellSize;
+        this.cells = cells;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public List<GridCell> getCells() {
+        return cells;
+    }
+}
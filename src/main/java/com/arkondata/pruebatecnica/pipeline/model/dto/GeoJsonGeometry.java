@@ -0,0 +1,53 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Geometría de GeoJSON recibida en el cuerpo de una petición.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class GeoJsonGeometry {
+
+    @ApiModelProperty(notes = "Tipo de la geometría: 'Polygon' o 'MultiPolygon'", example = "Polygon")
+    private String type;
+
+    @ApiModelProperty(notes = "Anillos del polígono como arreglos de posiciones [longitud, latitud], como en GeoJSON",
+            example = "[[[-99.14, 19.43], [-99.13, 19.43], [-99.13, 19.44], [-99.14, 19.44], [-99.14, 19.43]]]")
+    private JsonNode coordinates;
+
+    /**
+     * Constructor vacío para la lectura del JSON.
+     */
+    public GeoJsonGeometry() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param type Tipo de la geometría.
+     * @param coordinates Coordenadas de la geometría.
+     */
+    public GeoJsonGeometry(String type, JsonNode coordinates) {
+        this.type = type;
+        this.coordinates = coordinates;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public JsonNode getCoordinates() {
+        return coordinates;
+    }
+
+    public void setCoordinates(JsonNode coordinates) {
+        this.coordinates = coordinates;
+    }
+}
@@ -0,0 +1,46 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Celda de la cuadrícula de densidad con su número de puntos de acceso WiFi.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class GridCell {
+
+    @ApiModelProperty(notes = "Latitud del borde sur de la celda", example = "19.43")
+    private final double minLatitude;
+
+    @ApiModelProperty(notes = "Longitud del borde oeste de la celda", example = "-99.14")
+    private final double minLongitude;
+
+    @ApiModelProperty(notes = "Número de puntos de acceso WiFi en la celda", example = "87")
+    private final long accessPoints;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param minLatitude Latitud del borde sur de la celda.
+     * @param minLongitude Longitud del borde oeste de la celda.
+     * @param accessPoints Número de puntos de acceso WiFi en la celda.
+     */
+    public GridCell(double minLatitude, double minLongitude, long accessPoints) {
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.accessPoints = accessPoints;
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public long getAccessPoints() {
+        return accessPoints;
+    }
+}
@@ -0,0 +1,66 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Grupo de puntos de acceso WiFi, o un punto individual, para mostrar en un
+ * mapa con cierto nivel de zoom.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class MapCluster {
+
+    @ApiModelProperty(notes = "Latitud del punto, o del centroide de los puntos del grupo", example = "19.432608")
+    private final double latitude;
+
+    @ApiModelProperty(notes = "Longitud del punto, o del centroide de los puntos del grupo", example = "-99.133209")
+    private final double longitude;
+
+    @ApiModelProperty(notes = "Número de puntos de acceso WiFi; 1 para un punto individual", example = "128")
+    private final int accessPoints;
+
+    @ApiModelProperty(notes = "ID del punto de acceso WiFi; sólo para los puntos individuales", example = "123")
+    private final Long id;
+
+    @ApiModelProperty(notes = "Zoom en el que el grupo se divide; sólo para los grupos", example = "14")
+    private final Integer expansionZoom;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param latitude Latitud del punto o del centroide del grupo.
+     * @param longitude Longitud del punto o del centroide del grupo.
+     * @param accessPoints Número de puntos de acceso WiFi.
+     * @param id ID del punto de acceso WiFi, o {@code null} para un grupo.
+     * @param expansionZoom Zoom en el que el grupo se divide, o {@code null}
+     * para un punto individual.
+     */
+    public MapCluster(double latitude, double longitude, int accessPoints, Long id, Integer expansionZoom) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.accessPoints = accessPoints;
+        this.id = id;
+        this.expansionZoom = expansionZoom;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public int getAccessPoints() {
+        return accessPoints;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getExpansionZoom() {
+        return expansionZoom;
+    }
+}
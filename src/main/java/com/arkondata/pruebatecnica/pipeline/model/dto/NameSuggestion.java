@@ -0,0 +1,37 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Sugerencia de autocompletado de un nombre de colonia.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class NameSuggestion {
+
+    @ApiModelProperty(notes = "Nombre tal como aparece en los datos", example = "ÁLVARO OBREGÓN")
+    private final String name;
+
+    @ApiModelProperty(notes = "Número de puntos de acceso WiFi con ese nombre", example = "42")
+    private final long accessPoints;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param name Nombre tal como aparece en los datos.
+     * @param accessPoints Número de puntos de acceso WiFi con ese nombre.
+     */
+    public NameSuggestion(String name, long accessPoints) {
+        this.name = name;
+        this.accessPoints = accessPoints;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAccessPoints() {
+        return accessPoints;
+    }
+}
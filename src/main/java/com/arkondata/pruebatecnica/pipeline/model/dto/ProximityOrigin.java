@@ -0,0 +1,77 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Origen de una búsqueda de los puntos más cercanos dentro de un lote.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class ProximityOrigin {
+
+    @ApiModelProperty(notes = "Latitud del origen", required = true, example = "19.432608")
+    private Double latitude;
+
+    @ApiModelProperty(notes = "Longitud del origen", required = true, example = "-99.133209")
+    private Double longitude;
+
+    @ApiModelProperty(notes = "Distancia máxima en kilómetros; si se omite, no se limita", example = "1.5")
+    private Double distance;
+
+    @ApiModelProperty(notes = "Número máximo de puntos a devolver, de 1 a 100; 5 si se omite", example = "5")
+    private Integer k;
+
+    /**
+     * Constructor vacío para la lectura del JSON.
+     */
+    public ProximityOrigin() {
+    }
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param latitude Latitud del origen.
+     * @param longitude Longitud del origen.
+     * @param distance Distancia máxima en kilómetros, o {@code null}.
+     * @param k Número máximo de puntos, o {@code null}.
+     */
+    public ProximityOrigin(Double latitude, Double longitude, Double distance, Integer k) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distance = distance;
+        this.k = k;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(Double distance) {
+        this.distance = distance;
+    }
+
+    public Integer getK() {
+        return k;
+    }
+
+    public void setK(Integer k) {
+        this.k = k;
+    }
+}
@@ -0,0 +1,37 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Punto de acceso WiFi acompañado de su distancia a un origen de búsqueda.
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public class WifiAccessPointDistance {
+
+    @ApiModelProperty(notes = "Punto de acceso WiFi encontrado")
+    private final WifiAccessPointDto accessPoint;
+
+    @ApiModelProperty(notes = "Distancia en kilómetros desde el origen de la búsqueda", example = "0.42")
+    private final double distance;
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param accessPoint Punto de acceso WiFi encontrado.
+     * @param distance Distancia en kilómetros desde el origen de la búsqueda.
+     */
+    public WifiAccessPointDistance(WifiAccessPointDto accessPoint, double distance) {
+        this.accessPoint = accessPoint;
+        this.distance = distance;
+    }
+
+    public WifiAccessPointDto getAccessPoint() {
+        return accessPoint;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+}
@@ -0,0 +1,146 @@
+package com.arkondata.pruebatecnica.pipeline.model.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Punto de acceso WiFi de sólo lectura, tal como lo devuelve la API.
+ * <p>
+ * Las consultas del repositorio lo construyen directamente con una proyección,
+ * sin pasar por la entidad {@link com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint}:
+ * no hay contexto de persistencia, copia para detectar cambios ni proxies, y
+ * la misma instancia puede compartirse entre peticiones, cachés e índices en
+ * memoria. La fecha de instalación, guardada como texto en la tabla, se
+ * interpreta una sola vez al construir el punto con
+ * {@link #parseDate(Long, String)}, la misma normalización que usan las
+ * exportaciones.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class WifiAccessPointDto {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointDto.class);
+
+    private static final DateTimeFormatter DAY_MONTH_YEAR = DateTimeFormatter.ofPattern("d/M/uuuu");
+
+    @ApiModelProperty(notes = "Identificador único del punto de acceso WiFi", example = "1", required = true)
+    private final Long id;
+
+    @ApiModelProperty(notes = "Identificador gubernamental del punto de acceso", example = "MX_DF_CDMX_1")
+    private final String idgob;
+
+    @ApiModelProperty(notes = "Nombre del programa bajo el cual opera el punto de acceso", example = "Internet para todos")
+    private final String programa;
+
+    @ApiModelProperty(notes = "Fecha de instalación del punto de acceso; nula si no se conoce", example = "2023-01-15")
+    private final LocalDate fecha_instalacion;
+
+    @ApiModelProperty(notes = "Latitud geográfica del punto de acceso", example = "19.4326077")
+    private final Double latitud;
+
+    @ApiModelProperty(notes = "Longitud geográfica del punto de acceso", example = "-99.133208")
+    private final Double longitud;
+
+    @ApiModelProperty(notes = "Nombre de la colonia donde se ubica el punto de acceso", example = "Centro")
+    private final String colonia;
+
+    @ApiModelProperty(notes = "Nombre de la alcaldía o municipio donde se ubica el punto de acceso", example = "Cuauhtémoc")
+    private final String alcaldia;
+
+    /**
+     * Constructor con las columnas de la tabla, en el orden en que las
+     * seleccionan las consultas del repositorio.
+     *
+     * @param id Identificador del punto.
+     * @param idgob Identificador gubernamental.
+     * @param programa Programa bajo el cual opera.
+     * @param fecha_instalacion Fecha de instalación como texto, en formato
+     * {@code AAAA-MM-DD} o {@code DD/MM/AAAA}; vacía o en otro formato se
+     * considera desconocida (ver {@link #parseDate(Long, String)}).
+     * @param latitud Latitud geográfica.
+     * @param longitud Longitud geográfica.
+     * @param colonia Colonia.
+     * @param alcaldia Alcaldía.
+     */
+    public WifiAccessPointDto(Long id, String idgob, String programa, String fecha_instalacion, Double latitud,
+            Double longitud, String colonia, String alcaldia) {
+        this.id = id;
+        this.idgob = idgob;
+        this.programa = programa;
+        this.fecha_instalacion = parseDate(id, fecha_instalacion);
+        this.latitud = latitud;
+        this.longitud = longitud;
+        this.colonia = colonia;
+        this.alcaldia = alcaldia;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getIdgob() {
+        return idgob;
+    }
+
+    public String getPrograma() {
+        return programa;
+    }
+
+    public LocalDate getFecha_instalacion() {
+        return fecha_instalacion;
+    }
+
+    public Double getLatitud() {
+        return latitud;
+    }
+
+    public Double getLongitud() {
+        return longitud;
+    }
+
+    public String getColonia() {
+        return colonia;
+    }
+
+    public String getAlcaldia() {
+        return alcaldia;
+    }
+
+    /**
+     * Interpreta la fecha de instalación guardada como texto.
+     * <p>
+     * Un texto que no está vacío pero no tiene un formato conocido se registra
+     * como advertencia con el identificador del punto, para que el dato
+     * descartado pueda corregirse en el origen.
+     * </p>
+     *
+     * @param id Identificador del punto, para el registro.
+     * @param text Fecha como texto, en formato {@code AAAA-MM-DD} o
+     * {@code DD/MM/AAAA}.
+     * @return La fecha, o {@code null} si está vacía o no tiene un formato
+     * conocido.
+     */
+    public static LocalDate parseDate(Long id, String text) {
+        if (text == null) {
+            return null;
+        }
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        try {
+            return trimmed.indexOf('/') < 0
+                    ? LocalDate.parse(trimmed)
+                    : LocalDate.parse(trimmed, DAY_MONTH_YEAR);
+        } catch (DateTimeParseException e) {
+            LOGGER.warn("Fecha de instalación con formato desconocido en el punto {}: '{}'; se considera desconocida.", id, text);
+            return null;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.arkondata.pruebatecnica.pipeline.model.entity;
 
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import javax.persistence.*;
 
@@ -11,11 +14,50 @@ import javax.persistence.*;
  * instalación, ubicación geográfica, así como la colonia y alcaldía donde se
  * encuentra.
  * </p>
+ * <p>
+ * La tabla declara índices sobre latitud y longitud para que las búsquedas por
+ * proximidad acoten los candidatos con un rango de coordenadas antes de
+ * calcular la distancia exacta.
+ * </p>
+ * <p>
+ * La colonia y la alcaldía se guardan además como llaves de búsqueda
+ * normalizadas con {@link NameFolding} (sin acentos ni mayúsculas) en columnas
+ * indexadas, que se calculan automáticamente antes de insertar o actualizar.
+ * Estas llaves no forman parte de la respuesta de la API.
+ * </p>
+ * <p>
+ * Las consultas de lectura no devuelven esta entidad sino
+ * {@link WifiAccessPointDto}; las consultas nativas lo construyen con el mapeo
+ * {@value #DTO_MAPPING}, que toma las columnas por nombre.
+ * </p>
  */
 @Entity
-@Table(name = "wifi_access_points")
+@Table(name = "wifi_access_points", indexes = {
+    @Index(name = "idx_wifi_access_points_latitud_longitud", columnList = "latitud, longitud"),
+    @Index(name = "idx_wifi_access_points_longitud", columnList = "longitud"),
+    @Index(name = "idx_wifi_access_points_colonia_key", columnList = "colonia_key"),
+    @Index(name = "idx_wifi_access_points_alcaldia_key", columnList = "alcaldia_key")
+})
+@SqlResultSetMapping(name = WifiAccessPoint.DTO_MAPPING, classes = @ConstructorResult(
+        targetClass = WifiAccessPointDto.class,
+        columns = {
+            @ColumnResult(name = "id", type = Long.class),
+            @ColumnResult(name = "idgob", type = String.class),
+            @ColumnResult(name = "programa", type = String.class),
+            @ColumnResult(name = "fecha_instalacion", type = String.class),
+            @ColumnResult(name = "latitud", type = Double.class),
+            @ColumnResult(name = "longitud", type = Double.class),
+            @ColumnResult(name = "colonia", type = String.class),
+            @ColumnResult(name = "alcaldia", type = String.class)
+        }))
 public class WifiAccessPoint {
 
+    /**
+     * Nombre del mapeo de resultados de las consultas nativas a
+     * {@link WifiAccessPointDto}.
+     */
+    public static final String DTO_MAPPING = "WifiAccessPointDto";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @ApiModelProperty(notes = "Identificador único del punto de acceso WiFi", example = "1", required = true)
@@ -49,6 +91,14 @@ public class WifiAccessPoint {
     @ApiModelProperty(notes = "Nombre de la alcaldía o municipio donde se ubica el punto de acceso", example = "Cuauhtémoc")
     private String alcaldia;
 
+    @JsonIgnore
+    @Column(name = "colonia_key")
+    private String coloniaKey;
+
+    @JsonIgnore
+    @Column(name = "alcaldia_key")
+    private String alcaldiaKey;
+
     /**
      * Constructor por defecto.
      */
@@ -141,4 +191,22 @@ public class WifiAccessPoint {
     public void setAlcaldia(String alcaldia) {
         this.alcaldia = alcaldia;
     }
+
+    public String getColoniaKey() {
+        return coloniaKey;
+    }
+
+    public String getAlcaldiaKey() {
+        return alcaldiaKey;
+    }
+
+    /**
+     * Recalcula las llaves de búsqueda a partir de la colonia y la alcaldía.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateSearchKeys() {
+        this.coloniaKey = NameFolding.fold(colonia);
+        this.alcaldiaKey = NameFolding.fold(alcaldia);
+    }
 }
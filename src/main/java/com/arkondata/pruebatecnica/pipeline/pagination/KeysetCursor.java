@@ -0,0 +1,68 @@
+package com.arkondata.pruebatecnica.pipeline.pagination;
+
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codificación de los cursores de la paginación por llave (keyset).
+ * <p>
+ * Un cursor identifica la última fila entregada mediante su llave de orden.
+ * Para el cliente es un texto opaco en Base64 URL-safe; internamente contiene
+ * el nombre de la llave y su valor, por ejemplo {@code id:1234}, para poder
+ * rechazar cursores de otro orden si en el futuro se admiten varios.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class KeysetCursor {
+
+    /**
+     * Llave de orden de los cursores actuales: el identificador de la fila.
+     */
+    public static final String ID_KEY = "id";
+
+    private static final String SEPARATOR = ":";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Codifica el cursor que apunta después de la fila dada.
+     *
+     * @param lastId Identificador de la última fila entregada.
+     * @return El cursor opaco.
+     */
+    public static String encode(long lastId) {
+        String raw = ID_KEY + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica un cursor recibido del cliente.
+     *
+     * @param cursor El cursor opaco; vacío o {@code null} indica la primera
+     * página.
+     * @return El identificador de la última fila entregada, o {@code null} para
+     * la primera página.
+     * @throws InvalidCursorException Si el cursor no fue generado por
+     * {@link #encode(long)}.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || !ID_KEY.equals(raw.substring(0, separator))) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.valueOf(raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y el Base64 mal formado.
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
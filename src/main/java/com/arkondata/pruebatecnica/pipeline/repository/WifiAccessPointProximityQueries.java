@@ -0,0 +1,80 @@
+package com.arkondata.pruebatecnica.pipeline.repository;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Búsquedas por proximidad de {@link WifiAccessPointRepository}.
+ * <p>
+ * Son consultas SQL nativas cuyo resultado se construye como
+ * {@link WifiAccessPointDto}, algo que las consultas declaradas con
+ * {@code @Query} no permiten; por eso se implementan aparte, en
+ * {@link WifiAccessPointProximityQueriesImpl}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public interface WifiAccessPointProximityQueries {
+
+    /**
+     * Busca puntos de acceso WiFi por proximidad a una ubicación geográfica.
+     * <p>
+     * Este método utiliza una consulta SQL nativa para encontrar puntos de
+     * acceso WiFi dentro de una distancia específica desde un punto geográfico
+     * dado, ordenando los resultados por proximidad y después por el orden de
+     * la página. La distancia se especifica en kilómetros.
+     * </p>
+     * <p>
+     * Los candidatos se acotan primero con el rectángulo de coordenadas que
+     * contiene el círculo de búsqueda (ver
+     * {@link com.arkondata.pruebatecnica.pipeline.geo.BoundingBox}), lo que
+     * permite usar los índices de latitud y longitud. La distancia exacta se
+     * calcula una sola vez por candidato en la subconsulta y se reutiliza para
+     * filtrar y ordenar.
+     * </p>
+     *
+     * @param latitude La latitud del punto geográfico desde el cual buscar.
+     * @param longitude La longitud del punto geográfico desde el cual buscar.
+     * @param distance La distancia máxima (en kilómetros) dentro de la cual
+     * buscar puntos de acceso.
+     * @param minLatitude Latitud mínima del rectángulo de candidatos.
+     * @param maxLatitude Latitud máxima del rectángulo de candidatos.
+     * @param minLongitude Longitud mínima del rectángulo de candidatos.
+     * @param maxLongitude Longitud máxima del rectángulo de candidatos.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi que se encuentran dentro de
+     * la distancia especificada desde el punto geográfico dado.
+     * @throws IllegalArgumentException Si la página se ordena por una
+     * propiedad desconocida.
+     */
+    Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, Pageable pageable);
+
+    /**
+     * Busca puntos de acceso WiFi por proximidad sin contar el total.
+     * <p>
+     * Misma consulta que
+     * {@link #findByProximity(double, double, double, double, double, double, double, Pageable)},
+     * sin la segunda evaluación de distancias que requiere el conteo.
+     * </p>
+     *
+     * @param latitude La latitud del punto geográfico desde el cual buscar.
+     * @param longitude La longitud del punto geográfico desde el cual buscar.
+     * @param distance La distancia máxima (en kilómetros) dentro de la cual
+     * buscar puntos de acceso.
+     * @param minLatitude Latitud mínima del rectángulo de candidatos.
+     * @param maxLatitude Latitud máxima del rectángulo de candidatos.
+     * @param minLongitude Longitud mínima del rectángulo de candidatos.
+     * @param maxLongitude Longitud máxima del rectángulo de candidatos.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi que se encuentran dentro de
+     * la distancia especificada desde el punto geográfico dado.
+     * @throws IllegalArgumentException Si la página se ordena por una
+     * propiedad desconocida.
+     */
+    Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, Pageable pageable);
+}
@@ -0,0 +1,142 @@
+package com.arkondata.pruebatecnica.pipeline.repository;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementación de las búsquedas por proximidad con consultas SQL nativas
+ * que construyen {@link WifiAccessPointDto} con el mapeo
+ * {@link WifiAccessPoint#DTO_MAPPING}.
+ * <p>
+ * La página se ordena primero por distancia y después por las propiedades
+ * que pida, que se traducen a columnas de una lista conocida antes de
+ * agregarse al SQL. Como en las consultas del repositorio, la variante
+ * {@link Slice} lee una fila más de las solicitadas en lugar de contar, y la
+ * variante {@link Page} omite el conteo cuando la página basta para conocer
+ * el total.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Transactional(readOnly = true)
+public class WifiAccessPointProximityQueriesImpl implements WifiAccessPointProximityQueries {
+
+    /**
+     * Candidatos de la búsqueda por proximidad: filas dentro del rectángulo de
+     * coordenadas, con su distancia al origen en kilómetros.
+     */
+    private static final String PROXIMITY_CANDIDATES = "SELECT w.*, "
+            + "(6371 * acos(LEAST(1, cos(radians(:latitude)) * cos(radians(w.latitud)) * "
+            + "cos(radians(w.longitud) - radians(:longitude)) + sin(radians(:latitude)) * "
+            + "sin(radians(w.latitud))))) AS distancia "
+            + "FROM wifi_access_points w "
+            + "WHERE w.latitud BETWEEN :minLatitude AND :maxLatitude "
+            + "AND w.longitud BETWEEN :minLongitude AND :maxLongitude";
+
+    private static final String PROXIMITY_SQL = "SELECT id, idgob, programa, fecha_instalacion, latitud, longitud, "
+            + "colonia, alcaldia FROM (" + PROXIMITY_CANDIDATES + ") candidatos "
+            + "WHERE distancia < :distance ORDER BY distancia ASC";
+
+    private static final String PROXIMITY_COUNT_SQL = "SELECT COUNT(*) FROM (" + PROXIMITY_CANDIDATES + ") candidatos "
+            + "WHERE distancia < :distance";
+
+    /**
+     * Propiedades por las que puede ordenarse la página; coinciden con el
+     * nombre de su columna.
+     */
+    private static final Set<String> SORTABLE = new HashSet<>(Arrays.asList(
+            "id", "idgob", "programa", "fecha_instalacion", "latitud", "longitud", "colonia", "alcaldia"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, Pageable pageable) {
+        Query query = proximityQuery(pageable.getSort(), latitude, longitude, distance,
+                minLatitude, maxLatitude, minLongitude, maxLongitude);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<WifiAccessPointDto> content = results(query);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query count = entityManager.createNativeQuery(PROXIMITY_COUNT_SQL);
+            bind(count, latitude, longitude, distance, minLatitude, maxLatitude, minLongitude, maxLongitude);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, Pageable pageable) {
+        Query query = proximityQuery(pageable.getSort(), latitude, longitude, distance,
+                minLatitude, maxLatitude, minLongitude, maxLongitude);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(results(query), pageable, false);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<WifiAccessPointDto> rows = results(query);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private Query proximityQuery(Sort sort, double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        Query query = entityManager.createNativeQuery(PROXIMITY_SQL + orderBy(sort), WifiAccessPoint.DTO_MAPPING);
+        bind(query, latitude, longitude, distance, minLatitude, maxLatitude, minLongitude, maxLongitude);
+        return query;
+    }
+
+    private static void bind(Query query, double latitude, double longitude, double distance,
+            double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        query.setParameter("latitude", latitude);
+        query.setParameter("longitude", longitude);
+        query.setParameter("distance", distance);
+        query.setParameter("minLatitude", minLatitude);
+        query.setParameter("maxLatitude", maxLatitude);
+        query.setParameter("minLongitude", minLongitude);
+        query.setParameter("maxLongitude", maxLongitude);
+    }
+
+    /**
+     * Criterios de orden que siguen a la distancia.
+     */
+    private static String orderBy(Sort sort) {
+        StringBuilder sql = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Propiedad de ordenación desconocida: " + order.getProperty());
+            }
+            sql.append(", ").append(order.isIgnoreCase() ? "LOWER(" + order.getProperty() + ")" : order.getProperty())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+            if (order.getNullHandling() == Sort.NullHandling.NULLS_FIRST) {
+                sql.append(" NULLS FIRST");
+            } else if (order.getNullHandling() == Sort.NullHandling.NULLS_LAST) {
+                sql.append(" NULLS LAST");
+            }
+        }
+        return sql.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WifiAccessPointDto> results(Query query) {
+        return query.getResultList();
+    }
+}
@@ -1,12 +1,17 @@
 package com.arkondata.pruebatecnica.pipeline.repository;
 
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
 import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repositorio para la entidad {@link WifiAccessPoint}.
@@ -14,54 +19,181 @@ import org.springframework.stereotype.Repository;
  * Este repositorio extiende {@link JpaRepository}, proporcionando métodos CRUD
  * para la entidad {@link WifiAccessPoint}. Además, define métodos
  * personalizados para consultas específicas, como la búsqueda por nombre de
- * colonia y la búsqueda por proximidad geográfica.
+ * colonia, por rectángulo de coordenadas y, en
+ * {@link WifiAccessPointProximityQueries}, por proximidad geográfica.
+ * </p>
+ * <p>
+ * Las consultas de lectura construyen directamente objetos
+ * {@link WifiAccessPointDto} inmutables con una expresión constructora, en
+ * lugar de entidades administradas: Hibernate no registra las filas en el
+ * contexto de persistencia ni guarda la copia que usaría para detectar
+ * cambios. Todas corren en transacciones de sólo lectura, que además evitan
+ * el vaciado del contexto antes de cada consulta; los métodos de escritura
+ * heredados de {@link JpaRepository} conservan su propia transacción.
+ * </p>
+ * <p>
+ * Cada consulta paginada tiene una variante {@code findSlice...} que devuelve
+ * un {@link Slice}: lee {@code size + 1} filas para saber si hay una página
+ * siguiente y nunca ejecuta la consulta de conteo.
  * </p>
  */
 @Repository
-public interface WifiAccessPointRepository extends JpaRepository<WifiAccessPoint, Long> {
+@Transactional(readOnly = true)
+public interface WifiAccessPointRepository extends JpaRepository<WifiAccessPoint, Long>, WifiAccessPointProximityQueries {
+
+    /**
+     * Selección de los puntos como {@link WifiAccessPointDto}, sin las llaves
+     * de búsqueda.
+     */
+    String SELECT_DTO = "SELECT new com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto("
+            + "w.id, w.idgob, w.programa, w.fecha_instalacion, w.latitud, w.longitud, w.colonia, w.alcaldia) "
+            + "FROM WifiAccessPoint w";
 
     /**
-     * Busca puntos de acceso WiFi por el nombre de la colonia.
+     * Condición de la búsqueda por rectángulo de coordenadas, bordes
+     * incluidos.
+     */
+    String WITHIN = "w.latitud BETWEEN :minLatitude AND :maxLatitude AND w.longitud BETWEEN :minLongitude AND :maxLongitude";
+
+    /**
+     * Obtiene una página de todos los puntos de acceso WiFi.
+     *
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi.
+     */
+    @Query(value = SELECT_DTO, countQuery = "SELECT COUNT(w) FROM WifiAccessPoint w")
+    Page<WifiAccessPointDto> findAllBy(Pageable pageable);
+
+    /**
+     * Busca un punto de acceso WiFi por su identificador.
+     *
+     * @param id Identificador del punto.
+     * @return El punto, si existe.
+     */
+    @Query(SELECT_DTO + " WHERE w.id = :id")
+    Optional<WifiAccessPointDto> findDtoById(@Param("id") Long id);
+
+    /**
+     * Busca puntos de acceso WiFi por la llave de búsqueda de la colonia.
      * <p>
      * Este método retorna una lista paginada de puntos de acceso WiFi que se
-     * encuentran en la colonia especificada.
+     * encuentran en la colonia especificada. La llave es el nombre normalizado
+     * con {@link com.arkondata.pruebatecnica.pipeline.search.NameFolding}, por
+     * lo que la búsqueda ignora acentos y mayúsculas y usa el índice de la
+     * columna {@code colonia_key}.
      * </p>
      *
-     * @param colonia El nombre de la colonia donde buscar los puntos de acceso
-     * WiFi.
+     * @param coloniaKey La llave de búsqueda de la colonia.
      * @param pageable La configuración de paginación y ordenación.
      * @return Una página de puntos de acceso WiFi encontrados en la colonia
      * especificada.
      */
-    Page<WifiAccessPoint> findByColonia(String colonia, Pageable pageable);
+    @Query(value = SELECT_DTO + " WHERE w.coloniaKey = :coloniaKey",
+            countQuery = "SELECT COUNT(w) FROM WifiAccessPoint w WHERE w.coloniaKey = :coloniaKey")
+    Page<WifiAccessPointDto> findByColoniaKey(@Param("coloniaKey") String coloniaKey, Pageable pageable);
+
+    /**
+     * Busca puntos de acceso WiFi por la llave de búsqueda de la alcaldía.
+     *
+     * @param alcaldiaKey La llave de búsqueda de la alcaldía, normalizada con
+     * {@link com.arkondata.pruebatecnica.pipeline.search.NameFolding}.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    @Query(value = SELECT_DTO + " WHERE w.alcaldiaKey = :alcaldiaKey",
+            countQuery = "SELECT COUNT(w) FROM WifiAccessPoint w WHERE w.alcaldiaKey = :alcaldiaKey")
+    Page<WifiAccessPointDto> findByAlcaldiaKey(@Param("alcaldiaKey") String alcaldiaKey, Pageable pageable);
+
+    /**
+     * Obtiene una porción de todos los puntos de acceso WiFi sin contar el
+     * total.
+     *
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi.
+     */
+    @Query(SELECT_DTO)
+    Slice<WifiAccessPointDto> findSliceBy(Pageable pageable);
+
+    /**
+     * Obtiene los puntos de acceso WiFi con identificador mayor al dado, en
+     * orden de identificador.
+     * <p>
+     * Es la consulta de la paginación por cursor: en lugar de saltar filas con
+     * {@code OFFSET}, busca directamente en la llave primaria a partir del
+     * último identificador entregado, por lo que su costo no depende de la
+     * profundidad de la página.
+     * </p>
+     *
+     * @param id Identificador de la última fila entregada.
+     * @param pageable Límite de filas; debe ser la primera página sin orden.
+     * @return Los puntos de acceso WiFi siguientes.
+     */
+    @Query(SELECT_DTO + " WHERE w.id > :id ORDER BY w.id ASC")
+    List<WifiAccessPointDto> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Busca puntos de acceso WiFi por la llave de búsqueda de la colonia sin
+     * contar el total.
+     *
+     * @param coloniaKey La llave de búsqueda de la colonia.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la colonia
+     * especificada.
+     */
+    @Query(SELECT_DTO + " WHERE w.coloniaKey = :coloniaKey")
+    Slice<WifiAccessPointDto> findSliceByColoniaKey(@Param("coloniaKey") String coloniaKey, Pageable pageable);
+
+    /**
+     * Busca puntos de acceso WiFi por la llave de búsqueda de la alcaldía sin
+     * contar el total.
+     *
+     * @param alcaldiaKey La llave de búsqueda de la alcaldía.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    @Query(SELECT_DTO + " WHERE w.alcaldiaKey = :alcaldiaKey")
+    Slice<WifiAccessPointDto> findSliceByAlcaldiaKey(@Param("alcaldiaKey") String alcaldiaKey, Pageable pageable);
 
     /**
-     * Busca puntos de acceso WiFi por proximidad a una ubicación geográfica.
+     * Busca puntos de acceso WiFi dentro de un rectángulo de coordenadas,
+     * bordes incluidos.
      * <p>
-     * Este método utiliza una consulta SQL nativa para encontrar puntos de
-     * acceso WiFi dentro de una distancia específica desde un punto geográfico
-     * dado, ordenando los resultados por proximidad. La distancia se especifica
-     * en kilómetros.
+     * Las condiciones por rango usan el índice de latitud y longitud, sin
+     * calcular distancias.
      * </p>
      *
-     * @param latitude La latitud del punto geográfico desde el cual buscar.
-     * @param longitude La longitud del punto geográfico desde el cual buscar.
-     * @param distance La distancia máxima (en kilómetros) dentro de la cual
-     * buscar puntos de acceso.
+     * @param minLatitude Latitud mínima del rectángulo.
+     * @param maxLatitude Latitud máxima del rectángulo.
+     * @param minLongitude Longitud mínima del rectángulo.
+     * @param maxLongitude Longitud máxima del rectángulo.
+     * @param pageable La configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del rectángulo.
+     */
+    @Query(value = SELECT_DTO + " WHERE " + WITHIN,
+            countQuery = "SELECT COUNT(w) FROM WifiAccessPoint w WHERE " + WITHIN)
+    Page<WifiAccessPointDto> findByLatitudBetweenAndLongitudBetween(@Param("minLatitude") double minLatitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLongitude") double maxLongitude,
+            Pageable pageable);
+
+    /**
+     * Busca puntos de acceso WiFi dentro de un rectángulo de coordenadas sin
+     * contar el total.
+     *
+     * @param minLatitude Latitud mínima del rectángulo.
+     * @param maxLatitude Latitud máxima del rectángulo.
+     * @param minLongitude Longitud mínima del rectángulo.
+     * @param maxLongitude Longitud máxima del rectángulo.
      * @param pageable La configuración de paginación y ordenación.
-     * @return Una página de puntos de acceso WiFi que se encuentran dentro de
-     * la distancia especificada desde el punto geográfico dado.
+     * @return Una porción de puntos de acceso WiFi dentro del rectángulo.
      */
-    @Query(value = "SELECT * FROM wifi_access_points WHERE "
-            + "(6371 * acos(cos(radians(:latitude)) * cos(radians(latitud)) *"
-            + "cos(radians(longitud) - radians(:longitude)) + sin(radians(:latitude)) *"
-            + "sin(radians(latitud)))) < :distance ORDER BY "
-            + "(6371 * acos(cos(radians(:latitude)) * cos(radians(latitud)) *"
-            + "cos(radians(longitud) - radians(:longitude)) + sin(radians(:latitude)) *"
-            + "sin(radians(latitud)))) ASC",
-            nativeQuery = true)
-    Page<WifiAccessPoint> findByProximity(@Param("latitude") double latitude,
-            @Param("longitude") double longitude,
-            @Param("distance") double distance,
+    @Query(SELECT_DTO + " WHERE " + WITHIN)
+    Slice<WifiAccessPointDto> findSliceByLatitudBetweenAndLongitudBetween(@Param("minLatitude") double minLatitude,
+            @Param("maxLatitude") double maxLatitude,
+            @Param("minLongitude") double minLongitude,
+            @Param("maxLongitude") double maxLongitude,
             Pageable pageable);
 }
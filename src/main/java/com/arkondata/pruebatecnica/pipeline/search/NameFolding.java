@@ -0,0 +1,61 @@
+package com.arkondata.pruebatecnica.pipeline.search;
+
+import java.text.Normalizer;
+
+/**
+ * Normalización de nombres de colonias y alcaldías para búsqueda.
+ * <p>
+ * La llave de búsqueda de un nombre se obtiene eliminando acentos y demás
+ * marcas diacríticas, pasando a minúsculas y reduciendo cualquier secuencia de
+ * espacios o signos de puntuación a un solo espacio. Así, {@code "ÁLVARO
+ * OBREGÓN"}, {@code "Alvaro  Obregon"} y {@code "álvaro-obregón"} producen la
+ * misma llave {@code "alvaro obregon"}.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class NameFolding {
+
+    private NameFolding() {
+    }
+
+    /**
+     * Calcula la llave de búsqueda de un nombre.
+     *
+     * @param name El nombre tal como se captura o se almacena.
+     * @return La llave de búsqueda, o {@code null} si el nombre es
+     * {@code null} o no contiene letras ni dígitos.
+     */
+    public static String fold(String name) {
+        if (name == null) {
+            return null;
+        }
+        String decomposed = name;
+        for (int i = 0, n = name.length(); i < n; i++) {
+            if (name.charAt(i) >= 0x80) {
+                // Sólo los nombres con caracteres no ASCII pagan la descomposición.
+                decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0, n = decomposed.length(); i < n; i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && key.length() > 0) {
+                    key.append(' ');
+                }
+                pendingSpace = false;
+                key.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return key.length() == 0 ? null : key.toString();
+    }
+}
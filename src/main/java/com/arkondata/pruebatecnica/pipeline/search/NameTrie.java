@@ -0,0 +1,125 @@
+package com.arkondata.pruebatecnica.pipeline.search;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Árbol de prefijos (trie) inmutable sobre las llaves de búsqueda de un
+ * conjunto de nombres.
+ * <p>
+ * Cada llave terminal guarda el nombre que se muestra al usuario y el número
+ * de puntos de acceso asociados. Los hijos de cada nodo se mantienen ordenados
+ * por carácter, por lo que las sugerencias se devuelven en orden alfabético de
+ * llave y la búsqueda de un prefijo cuesta una búsqueda binaria por carácter.
+ * Una vez construido puede consultarse desde cualquier número de hilos.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+public final class NameTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Agrega un nombre al árbol. Sólo debe usarse mientras se construye, antes
+     * de publicar el árbol a otros hilos.
+     *
+     * @param key Llave de búsqueda, ya normalizada con {@link NameFolding}.
+     * @param name Nombre que se muestra al usuario.
+     * @param accessPoints Número de puntos de acceso con ese nombre.
+     */
+    public void add(String key, String name, long accessPoints) {
+        Node node = root;
+        for (int i = 0, n = key.length(); i < n; i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.name == null) {
+            size++;
+        }
+        node.name = name;
+        node.accessPoints = accessPoints;
+    }
+
+    /**
+     * Número de nombres en el árbol.
+     *
+     * @return La cantidad de llaves distintas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Busca los nombres cuya llave comienza con el prefijo dado.
+     *
+     * @param prefix Prefijo ya normalizado con {@link NameFolding}.
+     * @param limit Número máximo de sugerencias.
+     * @return Las sugerencias en orden alfabético de llave.
+     */
+    public List<NameSuggestion> suggest(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0, n = prefix.length(); i < n && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<NameSuggestion> suggestions = new ArrayList<>(Math.min(limit, 16));
+        collect(node, suggestions, limit);
+        return suggestions;
+    }
+
+    private static void collect(Node node, List<NameSuggestion> suggestions, int limit) {
+        if (node.name != null) {
+            suggestions.add(new NameSuggestion(node.name, node.accessPoints));
+        }
+        for (int i = 0; i < node.childCount && suggestions.size() < limit; i++) {
+            collect(node.children[i], suggestions, limit);
+        }
+    }
+
+    /**
+     * Nodo del árbol con sus hijos en arreglos ordenados por carácter.
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private String name;
+        private long accessPoints;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, 0, childCount, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertion, labels, insertion + 1, childCount - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, childCount - insertion);
+            Node child = new Node();
+            labels[insertion] = label;
+            children[insertion] = child;
+            childCount++;
+            return child;
+        }
+    }
+}
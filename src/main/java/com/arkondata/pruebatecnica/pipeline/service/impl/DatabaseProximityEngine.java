@@ -0,0 +1,118 @@
+package com.arkondata.pruebatecnica.pipeline.service.impl;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoUtils;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de proximidad que resuelve la búsqueda en la base de datos.
+ * <p>
+ * Calcula el rectángulo de coordenadas que contiene el radio de búsqueda para
+ * que la base de datos descarte por índice los puntos lejanos antes de evaluar
+ * la distancia exacta.
+ * </p>
+ * <p>
+ * La búsqueda de los {@code k} más cercanos repite la consulta de proximidad
+ * duplicando el radio, desde {@value #NEAREST_INITIAL_RADIUS_KM} km, hasta
+ * reunir {@code k} puntos o cubrir toda la esfera. Cada intento usa la
+ * variante {@link Slice}, que lee a lo más {@code k + 1} filas ordenadas por
+ * distancia y no cuenta el total, así que su costo lo marca {@code k} y no el
+ * número de puntos dentro del radio.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "pipeline.proximity.engine", havingValue = "database")
+public class DatabaseProximityEngine implements IProximityEngine {
+
+    private static final double NEAREST_INITIAL_RADIUS_KM = 1;
+
+    /**
+     * Media circunferencia terrestre: ningún punto está más lejos.
+     */
+    private static final double MAX_DISTANCE_KM = Math.PI * GeoUtils.EARTH_RADIUS_KM;
+
+    private final WifiAccessPointRepository wifiAccessPointRepository;
+
+    /**
+     * Constructor que inyecta el repositorio de puntos de acceso WiFi.
+     *
+     * @param wifiAccessPointRepository El repositorio asociado a los puntos de
+     * acceso WiFi.
+     */
+    @Autowired
+    public DatabaseProximityEngine(WifiAccessPointRepository wifiAccessPointRepository) {
+        this.wifiAccessPointRepository = wifiAccessPointRepository;
+    }
+
+    @Override
+    public Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, distance);
+        return wifiAccessPointRepository.findByProximity(latitude, longitude, distance,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(), pageable);
+    }
+
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        BoundingBox box = BoundingBox.around(latitude, longitude, distance);
+        return wifiAccessPointRepository.findSliceByProximity(latitude, longitude, distance,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(), pageable);
+    }
+
+    @Override
+    public Page<WifiAccessPointDto> findWithin(BoundingBox box, Pageable pageable) {
+        return wifiAccessPointRepository.findByLatitudBetweenAndLongitudBetween(box.getMinLatitude(), box.getMaxLatitude(),
+                box.getMinLongitude(), box.getMaxLongitude(), pageable);
+    }
+
+    @Override
+    public Slice<WifiAccessPointDto> findSliceWithin(BoundingBox box, Pageable pageable) {
+        return wifiAccessPointRepository.findSliceByLatitudBetweenAndLongitudBetween(box.getMinLatitude(), box.getMaxLatitude(),
+                box.getMinLongitude(), box.getMaxLongitude(), pageable);
+    }
+
+    @Override
+    public List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k) {
+        Pageable firstK = PageRequest.of(0, k);
+        Slice<WifiAccessPointDto> slice;
+        double radius = NEAREST_INITIAL_RADIUS_KM;
+        while (true) {
+            // El radio final se pasa de la media circunferencia para incluir los antípodas.
+            double distance = radius >= MAX_DISTANCE_KM ? MAX_DISTANCE_KM + 1 : radius;
+            slice = findSliceByProximity(latitude, longitude, distance, firstK);
+            if (slice.getNumberOfElements() >= k || distance > MAX_DISTANCE_KM) {
+                break;
+            }
+            radius *= 2;
+        }
+        return distances(latitude, longitude, slice);
+    }
+
+    @Override
+    public List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k, double distance) {
+        if (distance > MAX_DISTANCE_KM) {
+            return findNearest(latitude, longitude, k);
+        }
+        return distances(latitude, longitude, findSliceByProximity(latitude, longitude, distance, PageRequest.of(0, k)));
+    }
+
+    private static List<WifiAccessPointDistance> distances(double latitude, double longitude, Slice<WifiAccessPointDto> slice) {
+        List<WifiAccessPointDistance> nearest = new ArrayList<>(slice.getNumberOfElements());
+        for (WifiAccessPointDto point : slice) {
+            nearest.add(new WifiAccessPointDistance(point,
+                    GeoUtils.distanceKm(latitude, longitude, point.getLatitud(), point.getLongitud())));
+        }
+        return nearest;
+    }
+}
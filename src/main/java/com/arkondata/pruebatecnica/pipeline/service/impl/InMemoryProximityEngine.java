@@ -0,0 +1,140 @@
+package com.arkondata.pruebatecnica.pipeline.service.impl;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoHits;
+import com.arkondata.pruebatecnica.pipeline.index.DatasetVersion;
+import com.arkondata.pruebatecnica.pipeline.index.InMemoryPaging;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+/**
+ * Motor de proximidad que resuelve la búsqueda con la versión vigente del
+ * conjunto de datos en memoria.
+ * <p>
+ * El árbol k-d de la versión devuelve posiciones y distancias, y los puntos
+ * se toman de la misma versión, sin consultar la base de datos. Como en la
+ * consulta SQL, los resultados por proximidad quedan en orden de distancia y
+ * el orden de la página sólo desempata puntos a la misma distancia. La
+ * búsqueda por rectángulo devuelve los puntos en orden de identificador; si
+ * la página pide otro orden, se reordenan en memoria con
+ * {@link InMemoryPaging}. Mientras no exista una versión publicada, o si el
+ * orden pedido no puede resolverse en memoria, la búsqueda se delega a
+ * {@link DatabaseProximityEngine}.
+ * </p>
+ * <p>
+ * El total de resultados se conoce sin costo adicional, por lo que la variante
+ * sin conteo sólo evita incluirlo en la respuesta.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "pipeline.proximity.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProximityEngine implements IProximityEngine {
+
+    private final WifiAccessPointDataset dataset;
+    private final DatabaseProximityEngine fallback;
+
+    /**
+     * Constructor que inyecta el repositorio y el conjunto de datos en
+     * memoria.
+     *
+     * @param wifiAccessPointRepository El repositorio asociado a los puntos de
+     * acceso WiFi, usado mientras no exista una versión publicada.
+     * @param dataset El conjunto de datos en memoria.
+     */
+    @Autowired
+    public InMemoryProximityEngine(WifiAccessPointRepository wifiAccessPointRepository, WifiAccessPointDataset dataset) {
+        this.dataset = dataset;
+        this.fallback = new DatabaseProximityEngine(wifiAccessPointRepository);
+    }
+
+    @Override
+    public Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        DatasetVersion version = dataset.current();
+        if (version == null || !InMemoryPaging.supports(pageable.getSort())) {
+            return fallback.findByProximity(latitude, longitude, distance, pageable);
+        }
+        GeoHits hits = version.withinDistance(latitude, longitude, distance);
+        return InMemoryPaging.page(points(version, hits), distances(hits), pageable);
+    }
+
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        DatasetVersion version = dataset.current();
+        if (version == null || !InMemoryPaging.supports(pageable.getSort())) {
+            return fallback.findSliceByProximity(latitude, longitude, distance, pageable);
+        }
+        GeoHits hits = version.withinDistance(latitude, longitude, distance);
+        return InMemoryPaging.slice(points(version, hits), distances(hits), pageable);
+    }
+
+    @Override
+    public Page<WifiAccessPointDto> findWithin(BoundingBox box, Pageable pageable) {
+        DatasetVersion version = dataset.current();
+        if (version == null || !InMemoryPaging.supports(pageable.getSort())) {
+            return fallback.findWithin(box, pageable);
+        }
+        return InMemoryPaging.page(version.within(box), pageable);
+    }
+
+    @Override
+    public Slice<WifiAccessPointDto> findSliceWithin(BoundingBox box, Pageable pageable) {
+        DatasetVersion version = dataset.current();
+        if (version == null || !InMemoryPaging.supports(pageable.getSort())) {
+            return fallback.findSliceWithin(box, pageable);
+        }
+        return InMemoryPaging.slice(version.within(box), pageable);
+    }
+
+    @Override
+    public List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k) {
+        return findNearest(latitude, longitude, k, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k, double distance) {
+        DatasetVersion version = dataset.current();
+        if (version == null) {
+            return fallback.findNearest(latitude, longitude, k, distance);
+        }
+        // Los k más cercanos dentro del radio son los primeros k más cercanos que no lo exceden.
+        GeoHits hits = version.nearest(latitude, longitude, k);
+        List<WifiAccessPointDistance> nearest = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size() && hits.distance(i) < distance; i++) {
+            nearest.add(new WifiAccessPointDistance(version.get(hits, i), hits.distance(i)));
+        }
+        return nearest;
+    }
+
+    /**
+     * Puntos de los resultados, en orden de distancia.
+     */
+    private static List<WifiAccessPointDto> points(DatasetVersion version, GeoHits hits) {
+        List<WifiAccessPointDto> points = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            points.add(version.get(hits, i));
+        }
+        return points;
+    }
+
+    /**
+     * Distancias de los resultados, en el mismo orden que {@link #points}.
+     */
+    private static double[] distances(GeoHits hits) {
+        double[] distances = new double[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            distances[i] = hits.distance(i);
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,175 @@
+package com.arkondata.pruebatecnica.pipeline.service.impl;
+
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidProximityBatchException;
+import com.arkondata.pruebatecnica.pipeline.geo.ZOrder;
+import com.arkondata.pruebatecnica.pipeline.model.dto.ProximityOrigin;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityBatchService;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación de las búsquedas de los puntos más cercanos a varios orígenes
+ * en una sola petición.
+ * <p>
+ * Los orígenes se recorren en orden de Morton ({@link ZOrder}), de modo que
+ * búsquedas consecutivas visitan las mismas ramas del índice espacial, y ese
+ * recorrido se divide en tramos contiguos que se resuelven en paralelo en un
+ * {@link ForkJoinPool} compartido por todas las peticiones. Cada resultado se
+ * guarda en la posición de su origen, así que la respuesta conserva el orden
+ * del lote. Los lotes pequeños, o con un solo hilo configurado, se resuelven en
+ * el hilo de la petición.
+ * </p>
+ * <p>
+ * Cada búsqueda usa el {@link IProximityEngine} configurado; con el motor de
+ * base de datos el lote sigue costando una consulta por origen.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Service
+@Timed("wifi.service")
+public class ProximityBatchServiceImpl implements IProximityBatchService {
+
+    /**
+     * Puntos devueltos por origen cuando no se indica {@code k}, como en
+     * {@code /nearest}.
+     */
+    static final int DEFAULT_K = 5;
+
+    static final int MAX_K = 100;
+
+    /**
+     * Tramos por hilo, para repartir la carga cuando unos orígenes cuestan más
+     * que otros.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Orígenes mínimos por tramo, para que el reparto no cueste más que las
+     * búsquedas.
+     */
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private final IProximityEngine proximityEngine;
+
+    private final int parallelism;
+
+    private final int maxOrigins;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor que inyecta el motor de proximidad y la configuración de los
+     * lotes.
+     *
+     * @param proximityEngine El motor de búsqueda por proximidad.
+     * @param parallelism Número de hilos para resolver un lote; 0 o negativo
+     * usa el número de procesadores disponibles.
+     * @param maxOrigins Número máximo de orígenes por lote.
+     */
+    @Autowired
+    public ProximityBatchServiceImpl(IProximityEngine proximityEngine,
+            @Value("${pipeline.batch.parallelism:0}") int parallelism,
+            @Value("${pipeline.batch.max-origins:1000}") int maxOrigins) {
+        if (maxOrigins <= 0 || maxOrigins > ZOrder.MAX_SIZE) {
+            throw new IllegalArgumentException("El número máximo de orígenes debe estar entre 1 y " + ZOrder.MAX_SIZE
+                    + ": " + maxOrigins);
+        }
+        this.proximityEngine = proximityEngine;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxOrigins = maxOrigins;
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    /**
+     * Detiene los hilos de búsqueda al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<List<WifiAccessPointDistance>> findNearest(List<ProximityOrigin> origins) {
+        if (origins == null || origins.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int size = origins.size();
+        if (size > maxOrigins) {
+            throw new InvalidProximityBatchException(String.format("tiene %d orígenes; el máximo es %d", size, maxOrigins));
+        }
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        double[] distances = new double[size];
+        int[] ks = new int[size];
+        for (int i = 0; i < size; i++) {
+            ProximityOrigin origin = origins.get(i);
+            if (origin == null || origin.getLatitude() == null || origin.getLongitude() == null) {
+                throw new InvalidProximityBatchException("el origen " + i + " no tiene latitud y longitud");
+            }
+            latitudes[i] = origin.getLatitude();
+            longitudes[i] = origin.getLongitude();
+            if (!(Math.abs(latitudes[i]) <= 90) || !(Math.abs(longitudes[i]) <= 180)) {
+                throw new InvalidProximityBatchException("el origen " + i + " está fuera de rango: ["
+                        + latitudes[i] + ", " + longitudes[i] + "]");
+            }
+            distances[i] = origin.getDistance() == null ? Double.POSITIVE_INFINITY : origin.getDistance();
+            if (!(distances[i] > 0)) {
+                throw new InvalidProximityBatchException("la distancia del origen " + i + " debe ser positiva");
+            }
+            ks[i] = origin.getK() == null ? DEFAULT_K : origin.getK();
+            if (ks[i] < 1 || ks[i] > MAX_K) {
+                throw new InvalidProximityBatchException("k del origen " + i + " debe estar entre 1 y " + MAX_K);
+            }
+        }
+
+        int[] order = ZOrder.order(latitudes, longitudes);
+        List<WifiAccessPointDistance>[] results = newResults(size);
+        int chunks = pool == null ? 1 : Math.min(parallelism * CHUNKS_PER_THREAD, (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (chunks <= 1) {
+            search(order, 0, size, latitudes, longitudes, ks, distances, results);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                final int from = (int) ((long) size * c / chunks);
+                final int to = (int) ((long) size * (c + 1) / chunks);
+                tasks.add(pool.submit(() -> search(order, from, to, latitudes, longitudes, ks, distances, results)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Resuelve los orígenes de un tramo del recorrido y guarda cada resultado
+     * en la posición original de su origen.
+     */
+    private void search(int[] order, int from, int to, double[] latitudes, double[] longitudes, int[] ks,
+            double[] distances, List<WifiAccessPointDistance>[] results) {
+        for (int i = from; i < to; i++) {
+            int origin = order[i];
+            results[origin] = proximityEngine.findNearest(latitudes[origin], longitudes[origin], ks[origin], distances[origin]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WifiAccessPointDistance>[] newResults(int size) {
+        return (List<WifiAccessPointDistance>[]) new List<?>[size];
+    }
+}
@@ -0,0 +1,219 @@
+package com.arkondata.pruebatecnica.pipeline.service.impl;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementación de la exportación completa de puntos de acceso WiFi.
+ * <p>
+ * La consulta se recorre con un cursor JDBC de sólo avance y un tamaño de
+ * lectura configurable ({@code pipeline.export.fetch-size}), y cada fila se
+ * escribe en cuanto se lee. Ni las filas ni la respuesta se acumulan en
+ * memoria, por lo que el consumo de heap es constante sin importar el número
+ * de filas. La exportación corre en una transacción de sólo lectura, que
+ * algunos controladores (por ejemplo PostgreSQL) requieren para respetar el
+ * tamaño de lectura en lugar de traer todo el resultado.
+ * </p>
+ * <p>
+ * La fecha de instalación se escribe en formato ISO o vacía, con la misma
+ * normalización que {@link WifiAccessPointDto}, para que un punto se vea
+ * igual en todos los formatos de la API.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@Service
+public class WifiAccessPointExportServiceImpl implements IWifiAccessPointExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointExportServiceImpl.class);
+
+    private static final String EXPORT_SQL = "SELECT id, idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia "
+            + "FROM wifi_access_points ORDER BY id";
+
+    private static final String CSV_HEADER = "id,idgob,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\r\n";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor que inyecta el origen de datos y la configuración de la
+     * exportación.
+     *
+     * @param dataSource Origen de datos de la tabla de puntos.
+     * @param objectMapper Mapeador JSON de la aplicación, del que se toma la
+     * fábrica de generadores.
+     * @param fetchSize Número de filas que el controlador JDBC trae por cada
+     * viaje a la base de datos.
+     */
+    @Autowired
+    public WifiAccessPointExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper,
+            @Value("${pipeline.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.setRootValueSeparator(new SerializedString("\n"));
+        long[] rows = new long[1];
+        query(rs -> {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            writeString(json, "idgob", rs.getString(2));
+            writeString(json, "programa", rs.getString(3));
+            writeString(json, "fecha_instalacion", fechaInstalacion(rs));
+            writeNumber(json, "latitud", rs, 5);
+            writeNumber(json, "longitud", rs, 6);
+            writeString(json, "colonia", rs.getString(7));
+            writeString(json, "alcaldia", rs.getString(8));
+            json.writeEndObject();
+            rows[0]++;
+        });
+        if (rows[0] > 0) {
+            json.writeRaw('\n');
+        }
+        json.flush();
+        LOGGER.info("Exportación NDJSON de {} filas en {} ms.", rows[0], (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        csv.write(CSV_HEADER);
+        long[] rows = new long[1];
+        query(rs -> {
+            csv.write(Long.toString(rs.getLong(1)));
+            for (int column = 2; column <= 8; column++) {
+                csv.write(',');
+                if (column == 5 || column == 6) {
+                    double value = rs.getDouble(column);
+                    if (!rs.wasNull()) {
+                        csv.write(Double.toString(value));
+                    }
+                } else if (column == 4) {
+                    writeCsvField(csv, fechaInstalacion(rs));
+                } else {
+                    writeCsvField(csv, rs.getString(column));
+                }
+            }
+            csv.write("\r\n");
+            rows[0]++;
+        });
+        csv.flush();
+        LOGGER.info("Exportación CSV de {} filas en {} ms.", rows[0], (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    /**
+     * Recorre la consulta de exportación entregando cada fila al escritor.
+     */
+    private void query(RowWriter writer) throws IOException {
+        try {
+            jdbcTemplate.query(EXPORT_SQL, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // El cliente cerró la conexión o falló la escritura: se corta la consulta.
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Fecha de instalación de la fila en formato ISO, normalizada como en las
+     * respuestas JSON y binarias.
+     */
+    private static String fechaInstalacion(ResultSet rs) throws SQLException {
+        LocalDate date = WifiAccessPointDto.parseDate(rs.getLong(1), rs.getString(4));
+        return date == null ? null : date.toString();
+    }
+
+    private static void writeString(JsonGenerator json, String name, String value) throws IOException {
+        if (value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeStringField(name, value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator json, String name, ResultSet rs, int column) throws IOException, SQLException {
+        double value = rs.getDouble(column);
+        if (rs.wasNull()) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * Escribe un campo CSV, entre comillas sólo si contiene comas, comillas o
+     * saltos de línea.
+     */
+    private static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0, n = value.length(); i < n && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.write('"');
+            }
+            csv.write(c);
+        }
+        csv.write('"');
+    }
+
+    /**
+     * Escritura de una fila del resultado.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -1,12 +1,44 @@
 package com.arkondata.pruebatecnica.pipeline.service.impl;
 
+import com.arkondata.pruebatecnica.pipeline.config.CacheConfig;
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidBoundingBoxException;
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidPolygonException;
 import com.arkondata.pruebatecnica.pipeline.exception.ResourceNotFoundException;
-import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.exception.ResultWindowTooLargeException;
+import com.arkondata.pruebatecnica.pipeline.exception.UnknownBoundaryException;
+import com.arkondata.pruebatecnica.pipeline.exception.ViewportTooLargeException;
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.geo.ClusterIndex;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoJsonPolygons;
+import com.arkondata.pruebatecnica.pipeline.geo.Polygon;
+import com.arkondata.pruebatecnica.pipeline.index.BoundaryCatalog;
+import com.arkondata.pruebatecnica.pipeline.index.DatasetVersion;
+import com.arkondata.pruebatecnica.pipeline.index.InMemoryPaging;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GeoJsonGeometry;
+import com.arkondata.pruebatecnica.pipeline.model.dto.MapCluster;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.pagination.KeysetCursor;
 import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.search.NameFolding;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
 import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 /**
@@ -16,21 +48,73 @@ import org.springframework.stereotype.Service;
  * de acceso WiFi, así como búsquedas específicas por colonia y proximidad
  * geográfica.
  * </p>
+ * <p>
+ * Las consultas se resuelven con la versión vigente de
+ * {@link WifiAccessPointDataset}, que cada método toma una sola vez al
+ * empezar: una recarga construye la versión siguiente a un lado y la publica
+ * de forma atómica, así que las consultas no esperan a la recarga ni compiten
+ * con sus escrituras, y nunca ven datos a medio aplicar. Mientras no exista
+ * una versión publicada, o si se pide un orden que no puede resolverse en
+ * memoria, se consulta el repositorio.
+ * </p>
+ * <p>
+ * Las búsquedas por ID y por colonia se guardan en las cachés definidas en
+ * {@link CacheConfig}. Sus llaves incluyen el número de versión, de modo que
+ * una entrada calculada con una versión anterior no se sirve después del
+ * cambio; además, las cachés se vacían con cada recarga.
+ * </p>
+ * <p>
+ * Cada método se mide con el temporizador {@code wifi.service}, etiquetado con
+ * el nombre del método, incluidas las respuestas servidas desde la caché.
+ * </p>
  */
 @Service
+@Timed("wifi.service")
 public class WifiAccessPointServiceImpl implements IWifiAccessPointService {
 
     private final WifiAccessPointRepository wifiAccessPointRepository;
 
+    private final IProximityEngine proximityEngine;
+
+    private final WifiAccessPointDataset dataset;
+
+    private final BoundaryCatalog boundaries;
+
+    private final int maxViewport;
+
+    private final int maxWithinResults;
+
+    private final int maxPolygonVertices;
+
     /**
-     * Constructor que inyecta el repositorio de puntos de acceso WiFi.
+     * Constructor que inyecta el repositorio de puntos de acceso WiFi, el
+     * motor de búsqueda por proximidad y el conjunto de datos en memoria.
      *
      * @param wifiAccessPointRepository El repositorio asociado a los puntos de
      * acceso WiFi.
+     * @param proximityEngine El motor de proximidad configurado.
+     * @param dataset El conjunto de datos en memoria.
+     * @param boundaries Los límites de alcaldías y colonias.
+     * @param maxViewport Lado máximo en píxeles de la vista que se puede pedir
+     * a la búsqueda de grupos.
+     * @param maxWithinResults Número máximo de resultados que pueden
+     * recorrerse con la paginación de la búsqueda por rectángulo.
+     * @param maxPolygonVertices Número máximo de vértices de los polígonos
+     * recibidos en la búsqueda por polígono.
      */
     @Autowired
-    public WifiAccessPointServiceImpl(WifiAccessPointRepository wifiAccessPointRepository) {
+    public WifiAccessPointServiceImpl(WifiAccessPointRepository wifiAccessPointRepository, IProximityEngine proximityEngine,
+            WifiAccessPointDataset dataset, BoundaryCatalog boundaries,
+            @Value("${pipeline.clusters.max-viewport:4096}") int maxViewport,
+            @Value("${pipeline.within.max-results:10000}") int maxWithinResults,
+            @Value("${pipeline.boundaries.max-vertices:10000}") int maxPolygonVertices) {
         this.wifiAccessPointRepository = wifiAccessPointRepository;
+        this.proximityEngine = proximityEngine;
+        this.dataset = dataset;
+        this.boundaries = boundaries;
+        this.maxViewport = maxViewport;
+        this.maxWithinResults = maxWithinResults;
+        this.maxPolygonVertices = maxPolygonVertices;
     }
 
     /**
@@ -40,28 +124,91 @@ public class WifiAccessPointServiceImpl implements IWifiAccessPointService {
      * @return Una página de puntos de acceso WiFi.
      */
     @Override
-    public Page<WifiAccessPoint> findAll(Pageable pageable) {
-        return wifiAccessPointRepository.findAll(pageable);
+    public Page<WifiAccessPointDto> findAll(Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.page(version.all(), pageable);
+        }
+        return wifiAccessPointRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Obtiene una porción de los puntos de acceso WiFi sin contar el total.
+     *
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSlice(Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.slice(version.all(), pageable);
+        }
+        return wifiAccessPointRepository.findSliceBy(pageable);
+    }
+
+    /**
+     * Obtiene los puntos de acceso WiFi siguientes a un cursor, en orden de
+     * identificador.
+     * <p>
+     * Se lee una fila más de las solicitadas para saber si existe una página
+     * siguiente sin ejecutar un conteo.
+     * </p>
+     *
+     * @param cursor Cursor devuelto por la página anterior; vacío para la
+     * primera página.
+     * @param size Número máximo de puntos de la página.
+     * @return La página de puntos y el cursor de la siguiente.
+     */
+    @Override
+    public CursorPage<WifiAccessPointDto> findAfter(String cursor, int size) {
+        Long lastId = KeysetCursor.decode(cursor);
+        long after = lastId == null ? Long.MIN_VALUE : lastId;
+        DatasetVersion version = dataset.current();
+        List<WifiAccessPointDto> rows = version != null
+                ? version.findAfter(after, size + 1)
+                : wifiAccessPointRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size + 1));
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<WifiAccessPointDto> content = rows.subList(0, size);
+        return new CursorPage<>(content, KeysetCursor.encode(content.get(size - 1).getId()));
     }
 
     /**
      * Busca un punto de acceso WiFi por su ID.
      * <p>
      * Si el punto de acceso no se encuentra, se lanza una
-     * {@link ResourceNotFoundException}.
+     * {@link ResourceNotFoundException}; los IDs inexistentes no se guardan en
+     * caché.
      * </p>
      *
      * @param id El ID del punto de acceso WiFi a buscar.
      * @return El punto de acceso WiFi encontrado.
      */
     @Override
-    public WifiAccessPoint findById(Long id) {
-        return wifiAccessPointRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("WifiAccessPoint", "id", id));
+    @Cacheable(cacheNames = CacheConfig.BY_ID, key = "{@wifiAccessPointDataset.currentNumber(), #id}")
+    public WifiAccessPointDto findById(Long id) {
+        DatasetVersion version = dataset.current();
+        if (version == null) {
+            return wifiAccessPointRepository.findDtoById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("WifiAccessPoint", "id", id));
+        }
+        WifiAccessPointDto point = version.findById(id);
+        if (point == null) {
+            throw new ResourceNotFoundException("WifiAccessPoint", "id", id);
+        }
+        return point;
     }
 
     /**
      * Encuentra puntos de acceso WiFi por el nombre de la colonia, paginados.
+     * <p>
+     * El nombre se normaliza con {@link NameFolding} y se busca por la llave
+     * indexada, de modo que "alvaro obregon" encuentra "ÁLVARO OBREGÓN". La
+     * llave de caché usa el nombre normalizado, por lo que todas las formas de
+     * escribirlo comparten la misma entrada.
+     * </p>
      *
      * @param colonia El nombre de la colonia donde buscar los puntos de acceso
      * WiFi.
@@ -70,15 +217,93 @@ public class WifiAccessPointServiceImpl implements IWifiAccessPointService {
      * especificada.
      */
     @Override
-    public Page<WifiAccessPoint> findByColonia(String colonia, Pageable pageable) {
-        return wifiAccessPointRepository.findByColonia(colonia, pageable);
+    @Cacheable(cacheNames = CacheConfig.BY_COLONIA,
+            key = "{@wifiAccessPointDataset.currentNumber(), T(com.arkondata.pruebatecnica.pipeline.search.NameFolding).fold(#colonia), #pageable}")
+    public Page<WifiAccessPointDto> findByColonia(String colonia, Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.page(version.findByColoniaKey(NameFolding.fold(colonia)), pageable);
+        }
+        return wifiAccessPointRepository.findByColoniaKey(NameFolding.fold(colonia), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la colonia sin contar
+     * el total.
+     *
+     * @param colonia El nombre de la colonia donde buscar los puntos de acceso
+     * WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la colonia
+     * especificada.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByColonia(String colonia, Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.slice(version.findByColoniaKey(NameFolding.fold(colonia)), pageable);
+        }
+        return wifiAccessPointRepository.findSliceByColoniaKey(NameFolding.fold(colonia), pageable);
+    }
+
+    /**
+     * Sugiere nombres de colonia que comienzan con el prefijo dado, mediante
+     * el índice de la versión vigente.
+     *
+     * @param prefix Prefijo capturado por el usuario.
+     * @param limit Número máximo de sugerencias.
+     * @return Las colonias sugeridas en orden alfabético; vacío si aún no
+     * existe una versión publicada.
+     */
+    @Override
+    public List<NameSuggestion> suggestColonias(String prefix, int limit) {
+        DatasetVersion version = dataset.current();
+        return version == null ? Collections.emptyList() : version.suggestColonias(prefix, limit);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la alcaldía, paginados.
+     *
+     * @param alcaldia El nombre de la alcaldía donde buscar los puntos de
+     * acceso WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    @Override
+    public Page<WifiAccessPointDto> findByAlcaldia(String alcaldia, Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.page(version.findByAlcaldiaKey(NameFolding.fold(alcaldia)), pageable);
+        }
+        return wifiAccessPointRepository.findByAlcaldiaKey(NameFolding.fold(alcaldia), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la alcaldía sin contar
+     * el total.
+     *
+     * @param alcaldia El nombre de la alcaldía donde buscar los puntos de
+     * acceso WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByAlcaldia(String alcaldia, Pageable pageable) {
+        DatasetVersion version = readable(pageable);
+        if (version != null) {
+            return InMemoryPaging.slice(version.findByAlcaldiaKey(NameFolding.fold(alcaldia)), pageable);
+        }
+        return wifiAccessPointRepository.findSliceByAlcaldiaKey(NameFolding.fold(alcaldia), pageable);
     }
 
     /**
      * Encuentra puntos de acceso WiFi por proximidad a una ubicación
      * geográfica, paginados.
      * <p>
-     * Utiliza la latitud, la longitud y la distancia para realizar la búsqueda.
+     * Utiliza la latitud, la longitud y la distancia para realizar la búsqueda
+     * mediante el {@link IProximityEngine} configurado.
      * </p>
      *
      * @param latitude La latitud desde donde buscar.
@@ -90,8 +315,270 @@ public class WifiAccessPointServiceImpl implements IWifiAccessPointService {
      * la distancia especificada desde el punto geográfico dado.
      */
     @Override
-    public Page<WifiAccessPoint> findByProximity(double latitude, double longitude, double distance, Pageable pageable) {
-        return wifiAccessPointRepository.findByProximity(latitude, longitude, distance, pageable);
+    public Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        return proximityEngine.findByProximity(latitude, longitude, distance, pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi por proximidad a una ubicación
+     * geográfica sin contar el total.
+     *
+     * @param latitude La latitud desde donde buscar.
+     * @param longitude La longitud desde donde buscar.
+     * @param distance La distancia máxima en kilómetros para incluir puntos de
+     * acceso en el resultado.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi que se encuentran dentro de
+     * la distancia especificada desde el punto geográfico dado.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance, Pageable pageable) {
+        return proximityEngine.findSliceByProximity(latitude, longitude, distance, pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un rectángulo de coordenadas
+     * mediante el {@link IProximityEngine} configurado, sin calcular
+     * distancias.
+     * <p>
+     * Sólo pueden recorrerse los primeros {@code pipeline.within.max-results}
+     * resultados; el total sí incluye todos los puntos del rectángulo, para
+     * que el cliente sepa cuándo debe reducirlo.
+     * </p>
+     *
+     * @param minLatitude Latitud del borde sur.
+     * @param minLongitude Longitud del borde oeste.
+     * @param maxLatitude Latitud del borde norte.
+     * @param maxLongitude Longitud del borde este.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del rectángulo.
+     * @throws InvalidBoundingBoxException Si algún mínimo es mayor que su
+     * máximo.
+     * @throws ResultWindowTooLargeException Si la página pedida llega más allá
+     * del máximo de resultados.
+     */
+    @Override
+    public Page<WifiAccessPointDto> findWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            Pageable pageable) {
+        return proximityEngine.findWithin(box(minLatitude, minLongitude, maxLatitude, maxLongitude, pageable), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un rectángulo de coordenadas
+     * sin contar el total.
+     *
+     * @param minLatitude Latitud del borde sur.
+     * @param minLongitude Longitud del borde oeste.
+     * @param maxLatitude Latitud del borde norte.
+     * @param maxLongitude Longitud del borde este.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro del rectángulo.
+     * @throws InvalidBoundingBoxException Si algún mínimo es mayor que su
+     * máximo.
+     * @throws ResultWindowTooLargeException Si la página pedida llega más allá
+     * del máximo de resultados.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceWithin(double minLatitude, double minLongitude, double maxLatitude,
+            double maxLongitude, Pageable pageable) {
+        return proximityEngine.findSliceWithin(box(minLatitude, minLongitude, maxLatitude, maxLongitude, pageable), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de los límites de una alcaldía o
+     * colonia cargados en {@link BoundaryCatalog}.
+     * <p>
+     * Los candidatos de cada polígono son los puntos de su rectángulo, que el
+     * {@link IProximityEngine} configurado obtiene con su índice; después se
+     * conserva cada candidato que el polígono contiene. Los resultados quedan
+     * en orden de identificador.
+     * </p>
+     *
+     * @param name Nombre de la alcaldía o colonia.
+     * @param layer Capa donde buscar el nombre: {@code alcaldia},
+     * {@code colonia} o {@code null} para buscar primero en las alcaldías.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro de los límites.
+     * @throws UnknownBoundaryException Si no hay límites con ese nombre.
+     */
+    @Override
+    public Page<WifiAccessPointDto> findInBoundary(String name, String layer, Pageable pageable) {
+        return InMemoryPaging.page(inPolygons(boundary(name, layer)), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de los límites de una alcaldía o
+     * colonia sin contar el total.
+     *
+     * @param name Nombre de la alcaldía o colonia.
+     * @param layer Capa donde buscar el nombre: {@code alcaldia},
+     * {@code colonia} o {@code null} para buscar primero en las alcaldías.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro de los límites.
+     * @throws UnknownBoundaryException Si no hay límites con ese nombre.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceInBoundary(String name, String layer, Pageable pageable) {
+        return InMemoryPaging.slice(inPolygons(boundary(name, layer)), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un polígono arbitrario, con
+     * la misma selección de candidatos que {@link #findInBoundary}.
+     *
+     * @param geometry Geometría {@code Polygon} o {@code MultiPolygon} de
+     * GeoJSON.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del polígono.
+     * @throws InvalidPolygonException Si la geometría no es válida o tiene
+     * más vértices de los permitidos.
+     */
+    @Override
+    public Page<WifiAccessPointDto> findInPolygon(GeoJsonGeometry geometry, Pageable pageable) {
+        return InMemoryPaging.page(inPolygons(Collections.singletonList(polygon(geometry))), pageable);
+    }
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un polígono arbitrario sin
+     * contar el total.
+     *
+     * @param geometry Geometría {@code Polygon} o {@code MultiPolygon} de
+     * GeoJSON.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro del polígono.
+     * @throws InvalidPolygonException Si la geometría no es válida o tiene
+     * más vértices de los permitidos.
+     */
+    @Override
+    public Slice<WifiAccessPointDto> findSliceInPolygon(GeoJsonGeometry geometry, Pageable pageable) {
+        return InMemoryPaging.slice(inPolygons(Collections.singletonList(polygon(geometry))), pageable);
+    }
+
+    /**
+     * Encuentra los {@code k} puntos de acceso WiFi más cercanos a una
+     * ubicación geográfica mediante el {@link IProximityEngine} configurado.
+     *
+     * @param latitude La latitud desde donde buscar.
+     * @param longitude La longitud desde donde buscar.
+     * @param k Número máximo de puntos a devolver.
+     * @return Los puntos encontrados con su distancia en kilómetros, del más
+     * cercano al más lejano.
+     */
+    @Override
+    public List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k) {
+        return proximityEngine.findNearest(latitude, longitude, k);
+    }
+
+    /**
+     * Agrupa los puntos de acceso WiFi de un rectángulo con el índice de
+     * grupos de la versión vigente. Los puntos individuales se devuelven con
+     * sus coordenadas exactas.
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom del mapa.
+     * @return Los grupos y los puntos individuales dentro del rectángulo;
+     * vacío si aún no hay datos cargados.
+     * @throws ViewportTooLargeException Si el rectángulo mide más que la vista
+     * máxima con ese zoom.
+     */
+    @Override
+    public List<MapCluster> findClusters(double west, double south, double east, double north, int zoom) {
+        DatasetVersion version = dataset.current();
+        if (version == null) {
+            return Collections.emptyList();
+        }
+        double pixels = version.clusterViewportPixels(west, south, east, north, zoom);
+        if (pixels > maxViewport) {
+            throw new ViewportTooLargeException(pixels, maxViewport);
+        }
+        List<MapCluster> clusters = new ArrayList<>();
+        version.clusters(west, south, east, north, zoom, (latitude, longitude, count, position, expansionZoom) -> {
+            if (position == ClusterIndex.CLUSTER) {
+                clusters.add(new MapCluster(latitude, longitude, count, null, expansionZoom));
+            } else {
+                WifiAccessPointDto point = version.get(position);
+                clusters.add(new MapCluster(point.getLatitud(), point.getLongitud(), 1, point.getId(), null));
+            }
+        });
+        return clusters;
     }
 
+    /**
+     * Valida el rectángulo y la página de una búsqueda por rectángulo.
+     */
+    private BoundingBox box(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            Pageable pageable) {
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new InvalidBoundingBoxException(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        }
+        if (pageable.isUnpaged()) {
+            throw new ResultWindowTooLargeException(-1, maxWithinResults);
+        }
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > maxWithinResults) {
+            throw new ResultWindowTooLargeException(end, maxWithinResults);
+        }
+        return new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+
+    /**
+     * Polígonos de una alcaldía o colonia.
+     */
+    private List<Polygon> boundary(String name, String layer) {
+        List<Polygon> polygons = "colonia".equals(layer) ? Collections.emptyList() : boundaries.alcaldia(name);
+        if (polygons.isEmpty() && !"alcaldia".equals(layer)) {
+            polygons = boundaries.colonia(name);
+        }
+        if (polygons.isEmpty()) {
+            throw new UnknownBoundaryException(name);
+        }
+        return polygons;
+    }
+
+    /**
+     * Lee y valida un polígono recibido en una petición.
+     */
+    private Polygon polygon(GeoJsonGeometry geometry) {
+        Polygon polygon;
+        try {
+            polygon = GeoJsonPolygons.read(geometry.getType(), geometry.getCoordinates());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPolygonException(e.getMessage());
+        }
+        if (polygon.getVertexCount() > maxPolygonVertices) {
+            throw new InvalidPolygonException(String.format("tiene %d vértices; el máximo es %d",
+                    polygon.getVertexCount(), maxPolygonVertices));
+        }
+        return polygon;
+    }
+
+    /**
+     * Puntos dentro de cualquiera de los polígonos, en orden de
+     * identificador.
+     */
+    private List<WifiAccessPointDto> inPolygons(List<Polygon> polygons) {
+        Map<Long, WifiAccessPointDto> found = new TreeMap<>();
+        for (Polygon polygon : polygons) {
+            for (WifiAccessPointDto point : proximityEngine.findWithin(polygon.getBounds(), Pageable.unpaged())) {
+                if (polygon.contains(point.getLatitud(), point.getLongitud())) {
+                    found.put(point.getId(), point);
+                }
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    /**
+     * Versión vigente si la página puede resolverse en memoria.
+     *
+     * @return La versión, o {@code null} si aún no existe o si el orden pedido
+     * no puede resolverse en memoria.
+     */
+    private DatasetVersion readable(Pageable pageable) {
+        DatasetVersion version = dataset.current();
+        return version != null && InMemoryPaging.supports(pageable.getSort()) ? version : null;
+    }
 }
@@ -0,0 +1,69 @@
+package com.arkondata.pruebatecnica.pipeline.service.impl;
+
+import com.arkondata.pruebatecnica.pipeline.exception.UnsupportedGridCellSizeException;
+import com.arkondata.pruebatecnica.pipeline.index.DatasetVersion;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CategoryCount;
+import com.arkondata.pruebatecnica.pipeline.model.dto.DensityGrid;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointStatsService;
+import io.micrometer.core.annotation.Timed;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación de las estadísticas agregadas de los puntos de acceso WiFi.
+ * <p>
+ * Los conteos por alcaldía, colonia, programa y celda se construyen junto con
+ * cada versión de {@link WifiAccessPointDataset}, al cargar o recargar los
+ * datos, así que cada método sólo toma la versión vigente y devuelve el
+ * resultado ya calculado, sin recorrer los puntos. Mientras no exista una
+ * versión publicada, los conteos están vacíos.
+ * </p>
+ */
+@Service
+@Timed("wifi.service")
+public class WifiAccessPointStatsServiceImpl implements IWifiAccessPointStatsService {
+
+    private final WifiAccessPointDataset dataset;
+
+    /**
+     * Constructor que inyecta el conjunto de datos en memoria.
+     *
+     * @param dataset El conjunto de datos en memoria.
+     */
+    @Autowired
+    public WifiAccessPointStatsServiceImpl(WifiAccessPointDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    @Override
+    public List<CategoryCount> countByAlcaldia() {
+        DatasetVersion version = dataset.current();
+        return version == null ? Collections.emptyList() : version.countsByAlcaldia();
+    }
+
+    @Override
+    public List<CategoryCount> countByColonia() {
+        DatasetVersion version = dataset.current();
+        return version == null ? Collections.emptyList() : version.countsByColonia();
+    }
+
+    @Override
+    public List<CategoryCount> countByPrograma() {
+        DatasetVersion version = dataset.current();
+        return version == null ? Collections.emptyList() : version.countsByPrograma();
+    }
+
+    @Override
+    public DensityGrid densityGrid(Double cellSize) {
+        List<Double> supported = dataset.getGridCellSizes();
+        double size = cellSize == null ? supported.get(0) : cellSize;
+        if (!supported.contains(size)) {
+            throw new UnsupportedGridCellSizeException(size, supported);
+        }
+        DatasetVersion version = dataset.current();
+        return version == null ? new DensityGrid(size, Collections.emptyList()) : version.densityGrid(size);
+    }
+}
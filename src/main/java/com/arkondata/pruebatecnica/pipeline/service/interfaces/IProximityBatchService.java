@@ -0,0 +1,25 @@
+package com.arkondata.pruebatecnica.pipeline.service.interfaces;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.ProximityOrigin;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import java.util.List;
+
+/**
+ * Interfaz para las búsquedas de los puntos más cercanos a varios orígenes en
+ * una sola petición.
+ */
+public interface IProximityBatchService {
+
+    /**
+     * Encuentra los puntos de acceso WiFi más cercanos a cada origen de un
+     * lote.
+     *
+     * @param origins Orígenes de la búsqueda, cada uno con su límite de puntos
+     * y, opcionalmente, de distancia.
+     * @return Por cada origen, en el mismo orden en que se recibieron, los
+     * puntos encontrados con su distancia, del más cercano al más lejano.
+     * @throws com.arkondata.pruebatecnica.pipeline.exception.InvalidProximityBatchException
+     * Si el lote es demasiado grande o algún origen no es válido.
+     */
+    List<List<WifiAccessPointDistance>> findNearest(List<ProximityOrigin> origins);
+}
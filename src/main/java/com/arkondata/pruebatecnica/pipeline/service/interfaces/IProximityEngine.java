@@ -0,0 +1,95 @@
+package com.arkondata.pruebatecnica.pipeline.service.interfaces;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Motor de búsqueda espacial detrás de
+ * {@link IWifiAccessPointService#findByProximity} y
+ * {@link IWifiAccessPointService#findWithin}.
+ * <p>
+ * La implementación activa se elige con la propiedad
+ * {@code pipeline.proximity.engine}: {@code database} resuelve la búsqueda
+ * con las consultas del repositorio y {@code memory} con el índice
+ * espacial en memoria.
+ * </p>
+ */
+public interface IProximityEngine {
+
+    /**
+     * Encuentra puntos de acceso WiFi a menos de cierta distancia de una
+     * ubicación, ordenados por distancia.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param distance La distancia en kilómetros para limitar la búsqueda.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi que se encuentran dentro del
+     * área especificada.
+     */
+    Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance, Pageable pageable);
+
+    /**
+     * Igual que {@link #findByProximity}, pero sin calcular el total de
+     * resultados.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param distance La distancia en kilómetros para limitar la búsqueda.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi que se encuentran dentro
+     * del área especificada.
+     */
+    Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un rectángulo de
+     * coordenadas, bordes incluidos.
+     *
+     * @param box Rectángulo de búsqueda.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del rectángulo.
+     */
+    Page<WifiAccessPointDto> findWithin(BoundingBox box, Pageable pageable);
+
+    /**
+     * Igual que {@link #findWithin}, pero sin calcular el total de
+     * resultados.
+     *
+     * @param box Rectángulo de búsqueda.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro del rectángulo.
+     */
+    Slice<WifiAccessPointDto> findSliceWithin(BoundingBox box, Pageable pageable);
+
+    /**
+     * Encuentra los {@code k} puntos de acceso WiFi más cercanos a una
+     * ubicación.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param k Número máximo de puntos a devolver.
+     * @return Los puntos encontrados con su distancia, del más cercano al más
+     * lejano.
+     */
+    List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k);
+
+    /**
+     * Encuentra los {@code k} puntos de acceso WiFi más cercanos a una
+     * ubicación entre los que están a menos de cierta distancia.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param k Número máximo de puntos a devolver.
+     * @param distance La distancia en kilómetros para limitar la búsqueda
+     * (exclusiva); {@link Double#POSITIVE_INFINITY} para no limitarla.
+     * @return Los puntos encontrados con su distancia, del más cercano al más
+     * lejano.
+     */
+    List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k, double distance);
+}
@@ -0,0 +1,36 @@
+package com.arkondata.pruebatecnica.pipeline.service.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interfaz para la exportación completa de los puntos de acceso WiFi.
+ * <p>
+ * Las exportaciones escriben todas las filas de la tabla, en orden de
+ * identificador, directamente sobre un flujo de salida, sin construir páginas
+ * ni entidades administradas.
+ * </p>
+ */
+public interface IWifiAccessPointExportService {
+
+    /**
+     * Exporta todos los puntos de acceso WiFi como JSON delimitado por saltos
+     * de línea (NDJSON): un objeto por línea, con los mismos campos que la
+     * respuesta de la API.
+     *
+     * @param out Flujo de salida; no se cierra.
+     * @return El número de filas exportadas.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    long exportNdjson(OutputStream out) throws IOException;
+
+    /**
+     * Exporta todos los puntos de acceso WiFi como CSV (RFC 4180) con una
+     * línea de cabecera.
+     *
+     * @param out Flujo de salida; no se cierra.
+     * @return El número de filas exportadas.
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    long exportCsv(OutputStream out) throws IOException;
+}
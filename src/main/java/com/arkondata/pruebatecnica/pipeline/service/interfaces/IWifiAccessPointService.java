@@ -1,8 +1,15 @@
 package com.arkondata.pruebatecnica.pipeline.service.interfaces;
 
-import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GeoJsonGeometry;
+import com.arkondata.pruebatecnica.pipeline.model.dto.MapCluster;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 /**
  * Interfaz para el servicio de gestión de puntos de acceso WiFi.
@@ -11,6 +18,11 @@ import org.springframework.data.domain.Pageable;
  * puntos de acceso WiFi, así como para realizar búsquedas especializadas por
  * colonia y proximidad geográfica.
  * </p>
+ * <p>
+ * Las consultas paginadas tienen una variante {@code findSlice...} que no
+ * calcula el total de resultados, para clientes que sólo avanzan de página en
+ * página.
+ * </p>
  */
 public interface IWifiAccessPointService {
 
@@ -20,7 +32,26 @@ public interface IWifiAccessPointService {
      * @param pageable Configuración de paginación y ordenación.
      * @return Una página conteniendo puntos de acceso WiFi.
      */
-    Page<WifiAccessPoint> findAll(Pageable pageable);
+    Page<WifiAccessPointDto> findAll(Pageable pageable);
+
+    /**
+     * Obtiene una porción de los puntos de acceso WiFi sin contar el total.
+     *
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi.
+     */
+    Slice<WifiAccessPointDto> findSlice(Pageable pageable);
+
+    /**
+     * Obtiene los puntos de acceso WiFi siguientes a un cursor, en orden de
+     * identificador.
+     *
+     * @param cursor Cursor devuelto por la página anterior; vacío para la
+     * primera página.
+     * @param size Número máximo de puntos de la página.
+     * @return La página de puntos y el cursor de la siguiente.
+     */
+    CursorPage<WifiAccessPointDto> findAfter(String cursor, int size);
 
     /**
      * Busca un punto de acceso WiFi por su ID.
@@ -29,10 +60,13 @@ public interface IWifiAccessPointService {
      * @return El punto de acceso WiFi encontrado, o lanza una excepción si no
      * se encuentra.
      */
-    WifiAccessPoint findById(Long id);
+    WifiAccessPointDto findById(Long id);
 
     /**
      * Encuentra puntos de acceso WiFi por el nombre de la colonia, paginados.
+     * <p>
+     * La comparación ignora acentos, mayúsculas y signos de puntuación.
+     * </p>
      *
      * @param colonia El nombre de la colonia donde buscar los puntos de acceso
      * WiFi.
@@ -40,7 +74,57 @@ public interface IWifiAccessPointService {
      * @return Una página de puntos de acceso WiFi encontrados en la colonia
      * especificada.
      */
-    Page<WifiAccessPoint> findByColonia(String colonia, Pageable pageable);
+    Page<WifiAccessPointDto> findByColonia(String colonia, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la colonia sin contar
+     * el total.
+     *
+     * @param colonia El nombre de la colonia donde buscar los puntos de acceso
+     * WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la colonia
+     * especificada.
+     */
+    Slice<WifiAccessPointDto> findSliceByColonia(String colonia, Pageable pageable);
+
+    /**
+     * Sugiere nombres de colonia que comienzan con el prefijo dado.
+     * <p>
+     * La comparación ignora acentos, mayúsculas y signos de puntuación.
+     * </p>
+     *
+     * @param prefix Prefijo capturado por el usuario.
+     * @param limit Número máximo de sugerencias.
+     * @return Las colonias sugeridas en orden alfabético.
+     */
+    List<NameSuggestion> suggestColonias(String prefix, int limit);
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la alcaldía, paginados.
+     * <p>
+     * La comparación ignora acentos, mayúsculas y signos de puntuación.
+     * </p>
+     *
+     * @param alcaldia El nombre de la alcaldía donde buscar los puntos de
+     * acceso WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    Page<WifiAccessPointDto> findByAlcaldia(String alcaldia, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi por el nombre de la alcaldía sin contar
+     * el total.
+     *
+     * @param alcaldia El nombre de la alcaldía donde buscar los puntos de
+     * acceso WiFi.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi encontrados en la alcaldía
+     * especificada.
+     */
+    Slice<WifiAccessPointDto> findSliceByAlcaldia(String alcaldia, Pageable pageable);
 
     /**
      * Encuentra puntos de acceso WiFi por proximidad a una ubicación
@@ -58,5 +142,117 @@ public interface IWifiAccessPointService {
      * @return Una página de puntos de acceso WiFi que se encuentran dentro del
      * área especificada.
      */
-    Page<WifiAccessPoint> findByProximity(double latitude, double longitude, double distance, Pageable pageable);
+    Page<WifiAccessPointDto> findByProximity(double latitude, double longitude, double distance, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi por proximidad a una ubicación
+     * geográfica sin contar el total.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param distance La distancia en kilómetros para limitar la búsqueda.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi que se encuentran dentro
+     * del área especificada.
+     */
+    Slice<WifiAccessPointDto> findSliceByProximity(double latitude, double longitude, double distance, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un rectángulo de coordenadas,
+     * bordes incluidos, paginados.
+     *
+     * @param minLatitude Latitud del borde sur.
+     * @param minLongitude Longitud del borde oeste.
+     * @param maxLatitude Latitud del borde norte.
+     * @param maxLongitude Longitud del borde este.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del rectángulo.
+     */
+    Page<WifiAccessPointDto> findWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un rectángulo de coordenadas
+     * sin contar el total.
+     *
+     * @param minLatitude Latitud del borde sur.
+     * @param minLongitude Longitud del borde oeste.
+     * @param maxLatitude Latitud del borde norte.
+     * @param maxLongitude Longitud del borde este.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro del rectángulo.
+     */
+    Slice<WifiAccessPointDto> findSliceWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de los límites de una alcaldía o
+     * colonia, paginados.
+     *
+     * @param name Nombre de la alcaldía o colonia.
+     * @param layer Capa donde buscar el nombre: {@code alcaldia},
+     * {@code colonia} o {@code null} para buscar primero en las alcaldías.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro de los límites.
+     */
+    Page<WifiAccessPointDto> findInBoundary(String name, String layer, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de los límites de una alcaldía o
+     * colonia sin contar el total.
+     *
+     * @param name Nombre de la alcaldía o colonia.
+     * @param layer Capa donde buscar el nombre: {@code alcaldia},
+     * {@code colonia} o {@code null} para buscar primero en las alcaldías.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro de los límites.
+     */
+    Slice<WifiAccessPointDto> findSliceInBoundary(String name, String layer, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un polígono arbitrario,
+     * paginados.
+     *
+     * @param geometry Geometría {@code Polygon} o {@code MultiPolygon} de
+     * GeoJSON.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una página de puntos de acceso WiFi dentro del polígono.
+     */
+    Page<WifiAccessPointDto> findInPolygon(GeoJsonGeometry geometry, Pageable pageable);
+
+    /**
+     * Encuentra puntos de acceso WiFi dentro de un polígono arbitrario sin
+     * contar el total.
+     *
+     * @param geometry Geometría {@code Polygon} o {@code MultiPolygon} de
+     * GeoJSON.
+     * @param pageable Configuración de paginación y ordenación.
+     * @return Una porción de puntos de acceso WiFi dentro del polígono.
+     */
+    Slice<WifiAccessPointDto> findSliceInPolygon(GeoJsonGeometry geometry, Pageable pageable);
+
+    /**
+     * Encuentra los {@code k} puntos de acceso WiFi más cercanos a una
+     * ubicación geográfica.
+     *
+     * @param latitude La latitud desde donde realizar la búsqueda.
+     * @param longitude La longitud desde donde realizar la búsqueda.
+     * @param k Número máximo de puntos a devolver.
+     * @return Los puntos encontrados con su distancia en kilómetros, del más
+     * cercano al más lejano.
+     */
+    List<WifiAccessPointDistance> findNearest(double latitude, double longitude, int k);
+
+    /**
+     * Agrupa los puntos de acceso WiFi de un rectángulo para mostrarlos en un
+     * mapa con cierto nivel de zoom.
+     *
+     * @param west Longitud del borde oeste.
+     * @param south Latitud del borde sur.
+     * @param east Longitud del borde este.
+     * @param north Latitud del borde norte.
+     * @param zoom Nivel de zoom del mapa.
+     * @return Los grupos y los puntos individuales dentro del rectángulo.
+     */
+    List<MapCluster> findClusters(double west, double south, double east, double north, int zoom);
 }
@@ -0,0 +1,47 @@
+package com.arkondata.pruebatecnica.pipeline.service.interfaces;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.CategoryCount;
+import com.arkondata.pruebatecnica.pipeline.model.dto.DensityGrid;
+import java.util.List;
+
+/**
+ * Interfaz para las estadísticas agregadas de los puntos de acceso WiFi.
+ * <p>
+ * Los conteos se calculan una sola vez por cada carga de datos, de modo que
+ * cada consulta sólo devuelve un resultado ya construido.
+ * </p>
+ */
+public interface IWifiAccessPointStatsService {
+
+    /**
+     * Cuenta los puntos de acceso por alcaldía.
+     *
+     * @return Los conteos, de la alcaldía más a la menos numerosa.
+     */
+    List<CategoryCount> countByAlcaldia();
+
+    /**
+     * Cuenta los puntos de acceso por colonia.
+     *
+     * @return Los conteos, de la colonia más a la menos numerosa.
+     */
+    List<CategoryCount> countByColonia();
+
+    /**
+     * Cuenta los puntos de acceso por programa.
+     *
+     * @return Los conteos, del programa más al menos numeroso.
+     */
+    List<CategoryCount> countByPrograma();
+
+    /**
+     * Cuenta los puntos de acceso con coordenadas por celda de una cuadrícula.
+     *
+     * @param cellSize Lado de las celdas en grados, o {@code null} para el
+     * primer tamaño configurado.
+     * @return La cuadrícula con las celdas ocupadas.
+     * @throws com.arkondata.pruebatecnica.pipeline.exception.UnsupportedGridCellSizeException
+     * Si el tamaño de celda no se precalculó.
+     */
+    DensityGrid densityGrid(Double cellSize);
+}
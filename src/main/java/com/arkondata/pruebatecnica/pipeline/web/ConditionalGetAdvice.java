@@ -0,0 +1,210 @@
+package com.arkondata.pruebatecnica.pipeline.web;
+
+import com.arkondata.pruebatecnica.pipeline.controller.WifiAccessPointController;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetReloadJob;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Peticiones GET condicionales sobre los puntos de acceso WiFi.
+ * <p>
+ * Los datos sólo cambian al recargar el conjunto, así que la misma petición
+ * produce los mismos bytes mientras no se publique otra versión. Cada
+ * respuesta exitosa de {@link WifiAccessPointController} lleva un
+ * {@code ETag} fuerte formado por el arranque de la aplicación, el número de
+ * la versión vigente y un resumen MD5 de la ruta, los parámetros y la
+ * cabecera {@code Accept}. Los parámetros se toman ya decodificados y
+ * ordenados por nombre, así que {@code a=1&b=2} y {@code b=2&a=%31} comparten
+ * {@code ETag}. Como interceptor, responde 304 Not Modified antes
+ * de llegar al controlador cuando {@code If-None-Match} contiene ese
+ * {@code ETag}, sin consultar el servicio ni serializar la respuesta.
+ * </p>
+ * <p>
+ * El {@code Cache-Control} permite guardar la respuesta hasta la siguiente
+ * revisión de {@link DatasetReloadJob}, sin pasar de
+ * {@code pipeline.http-cache.max-age}; sin recarga programada se usa ese
+ * máximo. Las respuestas de error, las de antes de la primera carga y las
+ * exportaciones en streaming no llevan estas cabeceras.
+ * </p>
+ *
+ * @author Gilberto García Sánchez
+ * @email gilgasan1@gmail.com
+ */
+@ControllerAdvice(assignableTypes = WifiAccessPointController.class)
+public class ConditionalGetAdvice implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    /**
+     * Atributo de la petición con el {@code ETag} calculado por el
+     * interceptor.
+     */
+    static final String ETAG_ATTRIBUTE = ConditionalGetAdvice.class.getName() + ".etag";
+
+    private final WifiAccessPointDataset dataset;
+
+    private final DatasetReloadJob reloadJob;
+
+    private final long maxAge;
+
+    /**
+     * Distingue las versiones de distintos arranques, que reinician su
+     * numeración.
+     */
+    private final String instance = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Constructor que inyecta el conjunto de datos y la configuración de la
+     * caché HTTP.
+     *
+     * @param dataset El conjunto de datos en memoria.
+     * @param reloadJob La recarga programada, si está configurada.
+     * @param maxAge Segundos máximos que una respuesta puede guardarse.
+     */
+    @Autowired
+    public ConditionalGetAdvice(WifiAccessPointDataset dataset, ObjectProvider<DatasetReloadJob> reloadJob,
+            @Value("${pipeline.http-cache.max-age:3600}") long maxAge) {
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("La edad máxima de la caché HTTP no puede ser negativa: " + maxAge);
+        }
+        this.dataset = dataset;
+        this.reloadJob = reloadJob.getIfAvailable();
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        long version = dataset.currentNumber();
+        if (version == 0) {
+            return true;
+        }
+        String etag = etag(request, version);
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+            writeHeaders(response, etag);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Agrega las cabeceras de caché a las respuestas exitosas de las
+     * peticiones que pasaron por el interceptor, si la versión no cambió
+     * mientras se atendían.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest) || !(response instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+        Object etag = servletRequest.getAttribute(ETAG_ATTRIBUTE);
+        if (etag != null && servletResponse.getStatus() == HttpStatus.OK.value()
+                && etag.equals(etag(servletRequest, dataset.currentNumber()))) {
+            writeHeaders(servletResponse, (String) etag);
+        }
+        return body;
+    }
+
+    private String etag(HttpServletRequest request, long version) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        String variant = request.getRequestURI() + '?' + parameters(request) + '\n' + (accept == null ? "" : accept);
+        return "\"" + instance + '-' + version + '-' + DigestUtils.md5DigestAsHex(variant.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Forma canónica de los parámetros: ordenados por nombre, con los valores
+     * repetidos en el orden recibido y todo vuelto a codificar para que
+     * ningún valor pueda confundirse con un separador.
+     */
+    private static String parameters(HttpServletRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            String name = UriUtils.encode(parameter.getKey(), StandardCharsets.UTF_8);
+            for (String value : parameter.getValue()) {
+                if (canonical.length() > 0) {
+                    canonical.append('&');
+                }
+                canonical.append(name).append('=').append(UriUtils.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return canonical.toString();
+    }
+
+    private void writeHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl().getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * Permite guardar la respuesta hasta la siguiente revisión de la recarga
+     * programada; pasado ese tiempo el cliente debe revalidar con su
+     * {@code ETag}.
+     */
+    private CacheControl cacheControl() {
+        long seconds = maxAge;
+        if (reloadJob != null) {
+            Duration untilCheck = Duration.between(Instant.now(), reloadJob.getNextCheck());
+            seconds = Math.max(0, Math.min(seconds, untilCheck.getSeconds()));
+        }
+        return seconds == 0
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(seconds, TimeUnit.SECONDS).cachePublic();
+    }
+
+    /**
+     * Compara el {@code ETag} con los de {@code If-None-Match} con la
+     * comparación débil de RFC 7232, que ignora el prefijo {@code W/}.
+     */
+    private static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        while (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+package com.arkondata.pruebatecnica.pipeline.coalescing;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link QueryCoalescingAspect} sobre un servicio simulado.
+ * <p>
+ * El servicio simulado se bloquea hasta que todas las llamadas concurrentes
+ * están esperando, para verificar que sólo una ejecuta la consulta.
+ * </p>
+ */
+public class QueryCoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry registry;
+
+    private IWifiAccessPointService target;
+
+    private IWifiAccessPointService service;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(IWifiAccessPointService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(IWifiAccessPointService.class);
+        factory.addAspect(new QueryCoalescingAspect(registry, mock(WifiAccessPointDataset.class), 0.00001));
+        service = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findByProximity_ShouldShareOneQueryAmongConcurrentCallersInSameCell() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<WifiAccessPointDto> page = new PageImpl<>(Collections.singletonList(new WifiAccessPointDto(1L, null, null, null, null, null, null, null)), pageable, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(target.findByProximity(anyDouble(), anyDouble(), eq(1.0), eq(pageable))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return page;
+        });
+
+        List<Future<Page<WifiAccessPointDto>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            // Coordenadas distintas dentro de la misma celda de 0.00001 grados
+            double offset = i * 0.0000001;
+            results.add(executor.submit(() -> service.findByProximity(19.432608 + offset, -99.133209, 1.0, pageable)));
+        }
+        awaitWaiting("findByProximity", CALLERS - 1);
+        release.countDown();
+
+        for (Future<Page<WifiAccessPointDto>> result : results) {
+            assertSame(page, result.get(10, TimeUnit.SECONDS));
+        }
+        verify(target, times(1)).findByProximity(anyDouble(), anyDouble(), anyDouble(), any());
+        assertEquals(1, calls("findByProximity", "executed"));
+        assertEquals(CALLERS - 1, calls("findByProximity", "joined"));
+        assertEquals(0, registry.get("wifi.coalescing.waiting").tag("method", "findByProximity").gauge().value());
+
+        // Terminada la consulta, una nueva llamada vuelve a ejecutarla
+        service.findByProximity(19.432608, -99.133209, 1.0, pageable);
+        verify(target, times(2)).findByProximity(anyDouble(), anyDouble(), anyDouble(), any());
+        // Otra distancia es otra consulta
+        service.findByProximity(19.432608, -99.133209, 2.0, pageable);
+        assertEquals(3, calls("findByProximity", "executed"));
+    }
+
+    @Test
+    void findByColonia_ShouldShareFailureAmongSpellingsOfSameName() throws Exception {
+        Pageable pageable = PageRequest.of(0, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        when(target.findByColonia(anyString(), eq(pageable))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new IllegalStateException("falla");
+        });
+
+        Future<Page<WifiAccessPointDto>> first = executor.submit(() -> service.findByColonia("Álvaro Obregón", pageable));
+        awaitExecutions("findByColonia", 1);
+        Future<Page<WifiAccessPointDto>> second = executor.submit(() -> service.findByColonia("alvaro obregon", pageable));
+        awaitWaiting("findByColonia", 1);
+        release.countDown();
+
+        for (Future<Page<WifiAccessPointDto>> result : Arrays.asList(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        verify(target, times(1)).findByColonia(anyString(), any());
+        assertEquals(1, calls("findByColonia", "joined"));
+    }
+
+    private double calls(String method, String role) {
+        return registry.get("wifi.coalescing.calls").tag("method", method).tag("role", role).functionCounter().count();
+    }
+
+    private void awaitExecutions(String method, int executions) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.find("wifi.coalescing.calls").tag("method", method).tag("role", "executed").functionCounter() == null
+                || calls(method, "executed") < executions) {
+            assertTrue(System.nanoTime() < deadline, "La consulta no comenzó a tiempo");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitWaiting(String method, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.find("wifi.coalescing.waiting").tag("method", method).gauge() == null
+                || registry.get("wifi.coalescing.waiting").tag("method", method).gauge().value() < waiting) {
+            assertTrue(System.nanoTime() < deadline, "Las llamadas no se unieron a tiempo");
+            Thread.sleep(5);
+        }
+    }
+}
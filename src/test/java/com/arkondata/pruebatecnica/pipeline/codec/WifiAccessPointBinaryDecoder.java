@@ -0,0 +1,172 @@
+package com.arkondata.pruebatecnica.pipeline.codec;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodificador de referencia del formato de
+ * {@link WifiAccessPointBinaryEncoder}.
+ * <p>
+ * Documenta cómo debe leer un cliente la respuesta binaria y sirve para
+ * verificar el codificador. Prioriza la claridad sobre el rendimiento.
+ * </p>
+ */
+public final class WifiAccessPointBinaryDecoder {
+
+    private WifiAccessPointBinaryDecoder() {
+    }
+
+    /**
+     * Decodifica una respuesta binaria completa.
+     *
+     * @param bytes Cuerpo de la respuesta.
+     * @return El contenido decodificado.
+     * @throws IOException Si el contenido no respeta el formato.
+     */
+    public static Decoded decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = new byte[WifiAccessPointBinaryEncoder.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, WifiAccessPointBinaryEncoder.MAGIC)) {
+            throw new IOException("Encabezado desconocido");
+        }
+        int version = in.readUnsignedByte();
+        if (version != WifiAccessPointBinaryEncoder.VERSION) {
+            throw new IOException("Versión no soportada: " + version);
+        }
+        Decoded decoded = new Decoded();
+        decoded.kind = in.readUnsignedByte();
+        int flags = in.readUnsignedByte();
+        if (decoded.kind == WifiAccessPointBinaryEncoder.KIND_SLICE) {
+            decoded.number = (int) readVarLong(in);
+            decoded.size = (int) readVarLong(in);
+            decoded.hasNext = in.readBoolean();
+            decoded.totalElements = readVarLong(in) - 1;
+        } else if (decoded.kind == WifiAccessPointBinaryEncoder.KIND_CURSOR) {
+            decoded.next = readText(in);
+        }
+
+        int n = (int) readVarLong(in);
+        String[] dictionary = new String[(int) readVarLong(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readText(in);
+        }
+        long[] ids = new long[n];
+        long id = 0;
+        for (int i = 0; i < n; i++) {
+            long zigzag = readVarLong(in);
+            id += (zigzag >>> 1) ^ -(zigzag & 1);
+            ids[i] = id;
+        }
+        String[] idgobs = readTexts(in, n);
+        String[] programas = lookups(in, dictionary, n);
+        String[] fechas = readTexts(in, n);
+        Double[] latitudes = readCoordinates(in, n);
+        Double[] longitudes = readCoordinates(in, n);
+        String[] colonias = lookups(in, dictionary, n);
+        String[] alcaldias = lookups(in, dictionary, n);
+        List<WifiAccessPointDto> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            points.add(new WifiAccessPointDto(ids[i], idgobs[i], programas[i], fechas[i], latitudes[i], longitudes[i],
+                    colonias[i], alcaldias[i]));
+        }
+        if ((flags & WifiAccessPointBinaryEncoder.FLAG_DISTANCE) != 0) {
+            decoded.distances = new double[n];
+            for (int i = 0; i < n; i++) {
+                decoded.distances[i] = in.readDouble();
+            }
+        }
+        if (in.read() != -1) {
+            throw new IOException("Bytes sobrantes al final del contenido");
+        }
+        decoded.points = points;
+        return decoded;
+    }
+
+    private static String[] lookups(DataInputStream in, String[] dictionary, int n) throws IOException {
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = lookup(dictionary, readVarLong(in));
+        }
+        return values;
+    }
+
+    private static Double[] readCoordinates(DataInputStream in, int n) throws IOException {
+        Double[] values = new Double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = readCoordinate(in);
+        }
+        return values;
+    }
+
+    private static String[] readTexts(DataInputStream in, int n) throws IOException {
+        String[] values = new String[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = readText(in);
+        }
+        return values;
+    }
+
+    private static String lookup(String[] dictionary, long index) throws IOException {
+        if (index == 0) {
+            return null;
+        }
+        if (index > dictionary.length) {
+            throw new IOException("Índice de diccionario fuera de rango: " + index);
+        }
+        return dictionary[(int) index - 1];
+    }
+
+    private static Double readCoordinate(DataInputStream in) throws IOException {
+        double value = in.readDouble();
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    /**
+     * Contenido de una respuesta binaria.
+     */
+    public static final class Decoded {
+
+        int kind;
+        int number;
+        int size;
+        boolean hasNext;
+        long totalElements = -1;
+        String next;
+        List<WifiAccessPointDto> points;
+        double[] distances;
+    }
+}
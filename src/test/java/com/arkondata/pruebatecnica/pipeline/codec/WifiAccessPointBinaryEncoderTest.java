@@ -0,0 +1,146 @@
+package com.arkondata.pruebatecnica.pipeline.codec;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link WifiAccessPointBinaryEncoder} y
+ * {@link WifiAccessPointBinaryHttpMessageConverter}.
+ * <p>
+ * Cada respuesta codificada se lee con {@link WifiAccessPointBinaryDecoder} y
+ * se compara con los datos originales.
+ * </p>
+ */
+public class WifiAccessPointBinaryEncoderTest {
+
+    @Test
+    void writeSlice_ShouldRoundTripPageMetadataAndRows() throws IOException {
+        List<WifiAccessPointDto> points = points();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeSlice(new PageImpl<>(points, PageRequest.of(2, 3), 40), out);
+
+        WifiAccessPointBinaryDecoder.Decoded decoded = WifiAccessPointBinaryDecoder.decode(out.toByteArray());
+        assertEquals(WifiAccessPointBinaryEncoder.KIND_SLICE, decoded.kind);
+        assertEquals(2, decoded.number);
+        assertEquals(3, decoded.size);
+        assertTrue(decoded.hasNext);
+        assertEquals(40, decoded.totalElements);
+        assertSamePoints(points, decoded.points);
+        assertNull(decoded.distances);
+    }
+
+    @Test
+    void writeSlice_ShouldOmitTotalOfSlice() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeSlice(new SliceImpl<>(points(), PageRequest.of(0, 3), false), out);
+
+        WifiAccessPointBinaryDecoder.Decoded decoded = WifiAccessPointBinaryDecoder.decode(out.toByteArray());
+        assertFalse(decoded.hasNext);
+        assertEquals(-1, decoded.totalElements, "Un Slice no tiene total");
+    }
+
+    @Test
+    void writeCursorPage_ShouldRoundTripNextCursor() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeCursorPage(new CursorPage<>(points(), "aWQ6MjA"), out);
+
+        WifiAccessPointBinaryDecoder.Decoded decoded = WifiAccessPointBinaryDecoder.decode(out.toByteArray());
+        assertEquals(WifiAccessPointBinaryEncoder.KIND_CURSOR, decoded.kind);
+        assertEquals("aWQ6MjA", decoded.next);
+        assertSamePoints(points(), decoded.points);
+    }
+
+    @Test
+    void writeDistances_ShouldAddDistanceColumn() throws IOException {
+        List<WifiAccessPointDto> points = points();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeDistances(Arrays.asList(
+                new WifiAccessPointDistance(points.get(0), 0.25),
+                new WifiAccessPointDistance(points.get(1), 1.5)), out);
+
+        WifiAccessPointBinaryDecoder.Decoded decoded = WifiAccessPointBinaryDecoder.decode(out.toByteArray());
+        assertEquals(WifiAccessPointBinaryEncoder.KIND_LIST, decoded.kind);
+        assertSamePoints(points.subList(0, 2), decoded.points);
+        assertArrayEquals(new double[]{0.25, 1.5}, decoded.distances);
+    }
+
+    @Test
+    void writeList_ShouldEncodeEachDictionaryValueOnce() throws IOException {
+        List<WifiAccessPointDto> points = points();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeList(points, out);
+
+        String raw = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(raw.indexOf("Cuauhtémoc"), raw.lastIndexOf("Cuauhtémoc"), "La alcaldía repetida debe escribirse una sola vez");
+        assertSamePoints(points, WifiAccessPointBinaryDecoder.decode(out.toByteArray()).points);
+    }
+
+    @Test
+    void writeList_ShouldEncodeEmptyList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        WifiAccessPointBinaryEncoder.writeList(Collections.emptyList(), out);
+
+        assertTrue(WifiAccessPointBinaryDecoder.decode(out.toByteArray()).points.isEmpty());
+    }
+
+    @Test
+    void canWrite_ShouldDependOnDeclaredElementType() {
+        WifiAccessPointBinaryHttpMessageConverter converter = new WifiAccessPointBinaryHttpMessageConverter();
+        MediaType binary = WifiAccessPointBinaryEncoder.MEDIA_TYPE;
+
+        assertTrue(converter.canWrite(ResolvableType.forClassWithGenerics(Slice.class, WifiAccessPointDto.class).getType(), PageImpl.class, binary));
+        assertTrue(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, WifiAccessPointDistance.class).getType(), List.class, binary));
+        assertTrue(converter.canWrite(ResolvableType.forClassWithGenerics(CursorPage.class, WifiAccessPointDto.class).getType(), CursorPage.class, binary));
+        assertTrue(converter.canWrite(WifiAccessPointDto.class, WifiAccessPointDto.class, binary));
+        assertFalse(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, NameSuggestion.class).getType(), List.class, binary));
+        assertFalse(converter.canWrite(WifiAccessPointDto.class, WifiAccessPointDto.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(WifiAccessPointDto.class, binary));
+    }
+
+    private static List<WifiAccessPointDto> points() {
+        WifiAccessPointDto zocalo = new WifiAccessPointDto(120L, "ZOCALO-01", "Mi_Calle", null, 19.432608, -99.133209, "CENTRO", "Cuauhtémoc");
+        WifiAccessPointDto sinCoordenadas = new WifiAccessPointDto(7L, "SAN JOSE-01", null, "2024-01-01", null, null, null, "Tláhuac");
+        WifiAccessPointDto condesa = new WifiAccessPointDto(5000000000L, "CONDESA-01", "Mi_Calle", null, 19.4119701234, -99.1633905678, "CONDESA", "Cuauhtémoc");
+        return Arrays.asList(zocalo, sinCoordenadas, condesa);
+    }
+
+    private static void assertSamePoints(List<WifiAccessPointDto> expected, List<WifiAccessPointDto> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            WifiAccessPointDto e = expected.get(i);
+            WifiAccessPointDto a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getIdgob(), a.getIdgob());
+            assertEquals(e.getPrograma(), a.getPrograma());
+            assertEquals(e.getFecha_instalacion(), a.getFecha_instalacion());
+            assertEquals(e.getLatitud(), a.getLatitud(), "Las coordenadas se conservan sin pérdida");
+            assertEquals(e.getLongitud(), a.getLongitud());
+            assertEquals(e.getColonia(), a.getColonia());
+            assertEquals(e.getAlcaldia(), a.getAlcaldia());
+        }
+    }
+}
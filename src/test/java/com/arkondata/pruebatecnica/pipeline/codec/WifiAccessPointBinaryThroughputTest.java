@@ -0,0 +1,114 @@
+package com.arkondata.pruebatecnica.pipeline.codec;
+
+import com.arkondata.pruebatecnica.pipeline.ingest.CsvTokenizer;
+import com.arkondata.pruebatecnica.pipeline.ingest.WifiAccessPointCsv;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comparación de tamaño y tiempo de serialización entre JSON y
+ * {@link WifiAccessPointBinaryEncoder}.
+ * <p>
+ * Se ejecuta sólo con {@code -Dbenchmark=true}, por ejemplo:
+ * {@code mvn test -Dtest=WifiAccessPointBinaryThroughputTest -Dbenchmark=true}.
+ * Usa las filas del CSV incluido en la aplicación.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class WifiAccessPointBinaryThroughputTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointBinaryThroughputTest.class);
+
+    private static final String CSV = "data/2024-01-18-puntos_de_acceso_wifi.csv";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareWithJson() throws IOException {
+        List<WifiAccessPointDto> all = loadBundledCsv();
+        for (int size : new int[]{20, 100, 1000, all.size()}) {
+            List<WifiAccessPointDto> content = all.subList(0, size);
+            PageImpl<WifiAccessPointDto> page = new PageImpl<>(content, PageRequest.of(0, size), all.size());
+            compare(size, page);
+        }
+    }
+
+    private void compare(int rows, PageImpl<WifiAccessPointDto> page) throws IOException {
+        final int iterations = Math.max(20, 2_000_000 / rows);
+        byte[] json = objectMapper.writeValueAsBytes(page);
+        byte[] binary = binary(page);
+        assertEquals(rows, WifiAccessPointBinaryDecoder.decode(binary).points.size());
+
+        // Calentamiento para que ambas rutas estén compiladas por el JIT
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(page);
+            binary(page);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+        long jsonNanos = (System.nanoTime() - start) / iterations;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            binary(page);
+        }
+        long binaryNanos = (System.nanoTime() - start) / iterations;
+
+        LOGGER.info("{} filas: JSON {} bytes ({} gzip) en {} µs, binario {} bytes ({} gzip) en {} µs",
+                rows, json.length, gzip(json), jsonNanos / 1000, binary.length, gzip(binary), binaryNanos / 1000);
+    }
+
+    private static byte[] binary(PageImpl<WifiAccessPointDto> page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WifiAccessPointBinaryEncoder.writeSlice(page, out);
+        return out.toByteArray();
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static List<WifiAccessPointDto> loadBundledCsv() throws IOException {
+        List<WifiAccessPointDto> points = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(
+                new ClassPathResource(CSV).getInputStream(), StandardCharsets.UTF_8))) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() < WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    continue;
+                }
+                points.add(new WifiAccessPointDto((long) points.size() + 1,
+                        WifiAccessPointCsv.text(tokenizer.field(WifiAccessPointCsv.IDGOB)),
+                        WifiAccessPointCsv.text(tokenizer.field(WifiAccessPointCsv.PROGRAMA)),
+                        WifiAccessPointCsv.text(tokenizer.field(WifiAccessPointCsv.FECHA_INSTALACION)),
+                        WifiAccessPointCsv.number(tokenizer.field(WifiAccessPointCsv.LATITUD)),
+                        WifiAccessPointCsv.number(tokenizer.field(WifiAccessPointCsv.LONGITUD)),
+                        WifiAccessPointCsv.text(tokenizer.field(WifiAccessPointCsv.COLONIA)),
+                        WifiAccessPointCsv.text(tokenizer.field(WifiAccessPointCsv.ALCALDIA))));
+            }
+        }
+        return points;
+    }
+}
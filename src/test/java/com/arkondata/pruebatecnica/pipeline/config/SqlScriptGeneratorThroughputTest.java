@@ -0,0 +1,205 @@
+package com.arkondata.pruebatecnica.pipeline.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comparación de rendimiento entre {@link SqlScriptGenerator} y la
+ * implementación anterior basada en expresiones regulares.
+ * <p>
+ * Se ejecuta sólo con {@code -Dbenchmark=true}, por ejemplo:
+ * {@code mvn test -Dtest=SqlScriptGeneratorThroughputTest -Dbenchmark=true}.
+ * El número de filas del archivo sintético se controla con
+ * {@code -Dbenchmark.rows} (10,000,000 por defecto).
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class SqlScriptGeneratorThroughputTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlScriptGeneratorThroughputTest.class);
+
+    private static final String CSV = "data/2024-01-18-puntos_de_acceso_wifi.csv";
+
+    @Test
+    void compareThroughput_BundledCsv() throws IOException {
+        byte[] csv;
+        try (InputStream in = new ClassPathResource(CSV).getInputStream()) {
+            csv = StreamUtils.copyToByteArray(in);
+        }
+        // Calentamiento para que ambas rutas estén compiladas por el JIT
+        for (int i = 0; i < 5; i++) {
+            SqlScriptGenerator.generateSqlScript(new ByteArrayInputStream(csv), new CountingOutputStream());
+            legacyGenerateSqlScript(new ByteArrayInputStream(csv), new CountingOutputStream());
+        }
+        compare("CSV incluido", 33516, () -> new ByteArrayInputStream(csv), 10);
+    }
+
+    @Test
+    void compareThroughput_SyntheticFile() throws IOException {
+        final long rows = Long.getLong("benchmark.rows", 10_000_000L);
+        byte[] csv;
+        try (InputStream in = new ClassPathResource(CSV).getInputStream()) {
+            csv = StreamUtils.copyToByteArray(in);
+        }
+        compare("CSV sintético", rows, () -> new SyntheticCsvInputStream(csv, rows), 1);
+    }
+
+    private void compare(String label, long rows, InputSupplier input, int iterations) throws IOException {
+        long legacyNanos = Long.MAX_VALUE;
+        long currentNanos = Long.MAX_VALUE;
+        long legacyBytes = 0;
+        long currentBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            legacyGenerateSqlScript(input.get(), out);
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+            legacyBytes = out.count;
+
+            out = new CountingOutputStream();
+            start = System.nanoTime();
+            SqlScriptGenerator.generateSqlScript(input.get(), out);
+            currentNanos = Math.min(currentNanos, System.nanoTime() - start);
+            currentBytes = out.count;
+        }
+        LOGGER.info("{} ({} filas): regex {} ms ({} filas/s, {} bytes), tokenizador {} ms ({} filas/s, {} bytes), aceleración x{}",
+                label, rows,
+                legacyNanos / 1_000_000, rows * 1_000_000_000L / legacyNanos, legacyBytes,
+                currentNanos / 1_000_000, rows * 1_000_000_000L / currentNanos, currentBytes,
+                String.format("%.2f", (double) legacyNanos / currentNanos));
+        assertTrue(currentBytes > 0, "El generador debe producir salida");
+    }
+
+    /**
+     * Implementación original de {@code generateSqlScript}, conservada como
+     * referencia para la comparación.
+     */
+    private static void legacyGenerateSqlScript(InputStream csvInputStream, OutputStream sqlOutputStream) throws IOException {
+        final int expectedColumns = 7;
+        String insertTemplate = "INSERT INTO wifi_access_points (idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia) VALUES (%s, %s, %s, %s, %s, %s, %s);\n";
+
+        try (
+                BufferedReader reader = new BufferedReader(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8));
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(sqlOutputStream, StandardCharsets.UTF_8))) {
+            reader.readLine();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(",(?=([^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+
+                if (data.length < expectedColumns) {
+                    continue;
+                }
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = data[i].trim();
+                    if (data[i].isEmpty()) {
+                        data[i] = "NULL";
+                    } else if (i == 3 || i == 4) {
+                        data[i] = data[i].replaceAll("[^0-9.-]", "");
+                    } else {
+                        data[i] = "'" + data[i].replace("'", "''") + "'";
+                    }
+                }
+                writer.write(String.format(insertTemplate, (Object[]) data));
+            }
+        }
+    }
+
+    private interface InputSupplier {
+
+        InputStream get() throws IOException;
+    }
+
+    /**
+     * Flujo de salida que descarta los bytes y sólo los cuenta.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * Genera un CSV de {@code rows} filas repitiendo las filas de datos del CSV
+     * original, sin materializarlo en disco ni en memoria.
+     */
+    private static final class SyntheticCsvInputStream extends InputStream {
+
+        private final byte[] source;
+        private final int dataStart;
+        private final long rows;
+        private int position;
+        private long emittedRows;
+        private boolean headerDone;
+
+        SyntheticCsvInputStream(byte[] source, long rows) {
+            this.source = source;
+            this.rows = rows;
+            int headerEnd = 0;
+            while (source[headerEnd] != '\n') {
+                headerEnd++;
+            }
+            this.dataStart = headerEnd + 1;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!headerDone) {
+                int n = Math.min(len, dataStart - position);
+                System.arraycopy(source, position, b, off, n);
+                position += n;
+                if (position == dataStart) {
+                    headerDone = true;
+                }
+                return n;
+            }
+            if (emittedRows >= rows) {
+                return -1;
+            }
+            // Copia hasta el final de la línea actual, contando las filas emitidas
+            int n = 0;
+            while (n < len && emittedRows < rows) {
+                byte c = source[position++];
+                b[off + n++] = c;
+                if (c == '\n') {
+                    emittedRows++;
+                }
+                if (position == source.length) {
+                    position = dataStart;
+                }
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link BoundingBox}.
+ * <p>
+ * Verifica que el rectángulo calculado contenga todos los puntos dentro del
+ * radio de búsqueda, de modo que el prefiltro nunca descarte un resultado
+ * válido.
+ * </p>
+ */
+public class BoundingBoxTest {
+
+    @Test
+    void around_ShouldContainEveryPointWithinDistance() {
+        Random random = new Random(42);
+        double[][] origins = {{19.432608, -99.133209}, {0, 0}, {-33.45, -70.66}, {64.1, -21.9}};
+        double[] distances = {1, 5, 50};
+        for (double[] origin : origins) {
+            for (double distance : distances) {
+                BoundingBox box = BoundingBox.around(origin[0], origin[1], distance);
+                for (int i = 0; i < 20000; i++) {
+                    // Puntos aleatorios en un cuadrado holgado alrededor del origen
+                    double latitude = origin[0] + (random.nextDouble() * 2 - 1) * distance / 50;
+                    double longitude = origin[1] + (random.nextDouble() * 2 - 1) * distance / 25;
+                    if (GeoUtils.distanceKm(origin[0], origin[1], latitude, longitude) < distance) {
+                        assertTrue(box.contains(latitude, longitude),
+                                "El punto " + latitude + ", " + longitude + " a menos de " + distance + " km debe estar en " + box);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void around_ShouldCoverAllLongitudesNearPolesAndAntimeridian() {
+        BoundingBox polar = BoundingBox.around(89.99, 10, 5);
+        assertEquals(-180, polar.getMinLongitude());
+        assertEquals(180, polar.getMaxLongitude());
+
+        BoundingBox antimeridian = BoundingBox.around(0, 179.99, 5);
+        assertTrue(antimeridian.contains(0, -179.99), "El rectángulo debe cruzar el antimeridiano");
+    }
+}
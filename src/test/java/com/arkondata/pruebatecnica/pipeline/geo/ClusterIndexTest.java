@@ -0,0 +1,117 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link ClusterIndex}.
+ * <p>
+ * Usa puntos aleatorios alrededor de la Ciudad de México y verifica que cada
+ * nivel conserve todos los puntos, que las consultas por rectángulo coincidan
+ * con filtrar el nivel completo y que los niveles superiores al zoom máximo
+ * devuelvan los puntos individuales.
+ * </p>
+ */
+public class ClusterIndexTest {
+
+    private static final int SIZE = 20000;
+
+    private static final int MAX_ZOOM = 16;
+
+    private static ClusterIndex index;
+
+    @BeforeAll
+    static void setUp() {
+        Random random = new Random(42);
+        long[] ids = new long[SIZE];
+        double[] latitudes = new double[SIZE];
+        double[] longitudes = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = i;
+            latitudes[i] = 19.43 + random.nextGaussian() * 0.08;
+            longitudes[i] = -99.13 + random.nextGaussian() * 0.08;
+        }
+        index = new ClusterIndex(ids, latitudes, longitudes, SIZE, 40, 512, MAX_ZOOM);
+    }
+
+    @Test
+    void clusters_ShouldKeepEveryPointAtEveryZoom() {
+        for (int zoom = 0; zoom <= MAX_ZOOM + 1; zoom++) {
+            List<double[]> items = query(-180, -90, 180, 90, zoom);
+            assertEquals(index.size(zoom), items.size());
+            assertEquals(SIZE, items.stream().mapToLong(item -> (long) item[2]).sum(), "Zoom " + zoom);
+            for (double[] item : items) {
+                if (item[3] == ClusterIndex.CLUSTER) {
+                    assertTrue(item[2] > 1);
+                    assertTrue(item[4] > zoom && item[4] <= MAX_ZOOM + 1, "Un grupo se divide en un zoom mayor");
+                }
+            }
+        }
+        assertEquals(1, index.size(0), "A zoom 0 toda la ciudad cabe en un grupo");
+        assertTrue(index.size(10) < index.size(14));
+    }
+
+    @Test
+    void clusters_ShouldReturnIndividualPointsAboveMaxZoom() {
+        List<double[]> items = query(-180, -90, 180, 90, 20);
+        Set<Long> ids = new HashSet<>();
+        for (double[] item : items) {
+            assertEquals(1, item[2]);
+            assertEquals(-1, item[4]);
+            ids.add((long) item[3]);
+        }
+        assertEquals(SIZE, ids.size());
+    }
+
+    @Test
+    void clusters_ShouldMatchFilteringTheWholeLevel() {
+        double west = -99.18;
+        double south = 19.40;
+        double east = -99.10;
+        double north = 19.47;
+        for (int zoom : new int[]{8, 12, 14, MAX_ZOOM + 1}) {
+            long expected = query(-180, -90, 180, 90, zoom).stream()
+                    .filter(item -> item[0] >= south - 1e-9 && item[0] <= north + 1e-9 && item[1] >= west - 1e-9 && item[1] <= east + 1e-9)
+                    .count();
+            assertEquals(expected, query(west, south, east, north, zoom).size(), "Zoom " + zoom);
+        }
+    }
+
+    @Test
+    void clusters_ShouldQueryBothSidesOfTheAntimeridian() {
+        ClusterIndex pacific = new ClusterIndex(new long[]{1, 2, 3}, new double[]{0, 0, 0}, new double[]{179.5, -179.5, 0},
+                3, 40, 512, MAX_ZOOM);
+
+        assertEquals(2, query(pacific, 179, -1, -179, 1, MAX_ZOOM + 1).size());
+        assertEquals(3, query(pacific, -180, -1, 180, 1, MAX_ZOOM + 1).size());
+    }
+
+    @Test
+    void viewportPixels_ShouldScaleWithZoom() {
+        assertEquals(512, index.viewportPixels(-180, -85.0511, 180, 85.0511, 0), 0.5);
+        assertEquals(512 * 1024, index.viewportPixels(-180, -85.0511, 180, 85.0511, 10), 512);
+        double city = index.viewportPixels(-99.20, 19.38, -99.10, 19.46, 13);
+        assertEquals(2 * city, index.viewportPixels(-99.20, 19.38, -99.10, 19.46, 14), 1e-6);
+        assertEquals(index.viewportPixels(179, -1, 181, 1, 5), index.viewportPixels(179, -1, -179, 1, 5), 1e-6,
+                "Un rectángulo que cruza el antimeridiano mide lo mismo con ambas notaciones");
+    }
+
+    private static List<double[]> query(double west, double south, double east, double north, int zoom) {
+        return query(index, west, south, east, north, zoom);
+    }
+
+    private static List<double[]> query(ClusterIndex clusterIndex, double west, double south, double east, double north, int zoom) {
+        List<double[]> items = new ArrayList<>();
+        clusterIndex.clusters(west, south, east, north, zoom,
+                (latitude, longitude, count, id, expansionZoom) -> items.add(new double[]{latitude, longitude, count, id, expansionZoom}));
+        return items;
+    }
+}
@@ -0,0 +1,65 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link GridCounts}.
+ * <p>
+ * Compara el conteo por celda con un conteo directo sobre puntos aleatorios
+ * alrededor de la Ciudad de México, a ambos lados del meridiano y del ecuador.
+ * </p>
+ */
+public class GridCountsTest {
+
+    @Test
+    void counts_ShouldMatchDirectCountPerCell() {
+        Random random = new Random(42);
+        double[][] origins = {{19.432608, -99.133209}, {0, 0}};
+        for (double[] origin : origins) {
+            int size = 20000;
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            Map<String, Integer> expected = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                latitudes[i] = origin[0] + (random.nextDouble() * 2 - 1) * 0.3;
+                longitudes[i] = origin[1] + (random.nextDouble() * 2 - 1) * 0.3;
+                expected.merge(Math.floor(latitudes[i] / 0.05) + ":" + Math.floor(longitudes[i] / 0.05), 1, Integer::sum);
+            }
+
+            GridCounts grid = new GridCounts(0.05, latitudes, longitudes, size);
+
+            assertEquals(expected.size(), grid.size());
+            long total = 0;
+            for (int i = 0; i < grid.size(); i++) {
+                if (i > 0) {
+                    assertTrue(grid.south(i) > grid.south(i - 1)
+                            || (grid.south(i) == grid.south(i - 1) && grid.west(i) > grid.west(i - 1)),
+                            "Las celdas se ordenan de sur a norte y de oeste a este");
+                }
+                assertEquals(grid.count(i), grid.countAt(grid.south(i) + 0.025, grid.west(i) + 0.025));
+                total += grid.count(i);
+            }
+            assertEquals(size, total);
+            for (int i = 0; i < size; i += 97) {
+                String cell = Math.floor(latitudes[i] / 0.05) + ":" + Math.floor(longitudes[i] / 0.05);
+                assertEquals((int) expected.get(cell), grid.countAt(latitudes[i], longitudes[i]));
+            }
+        }
+    }
+
+    @Test
+    void countAt_ShouldReturnZeroForEmptyCells() {
+        GridCounts grid = new GridCounts(0.01, new double[]{19.43}, new double[]{-99.13}, 1);
+
+        assertEquals(1, grid.countAt(19.435, -99.125));
+        assertEquals(0, grid.countAt(19.445, -99.125));
+        assertEquals(19.43, grid.south(0));
+        assertEquals(-99.13, grid.west(0));
+    }
+}
@@ -0,0 +1,149 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link KdTree}.
+ * <p>
+ * Compara los resultados del árbol con un recorrido exhaustivo de los mismos
+ * puntos, incluyendo coordenadas repetidas.
+ * </p>
+ */
+public class KdTreeTest {
+
+    @Test
+    void withinDistance_ShouldMatchBruteForceOrderedByDistance() {
+        Random random = new Random(7);
+        int size = 5000;
+        long[] ids = new long[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            // Algunos puntos comparten coordenadas, como ocurre en el CSV
+            int source = i % 10 == 0 && i > 0 ? i - 1 : i;
+            latitudes[i] = source == i ? 19.2 + random.nextDouble() * 0.4 : latitudes[source];
+            longitudes[i] = source == i ? -99.3 + random.nextDouble() * 0.4 : longitudes[source];
+        }
+        KdTree tree = new KdTree(ids, latitudes, longitudes, size);
+        assertEquals(size, tree.size());
+
+        double[] distances = {0.5, 2, 10, 100};
+        for (int q = 0; q < 50; q++) {
+            double latitude = 19.2 + random.nextDouble() * 0.4;
+            double longitude = -99.3 + random.nextDouble() * 0.4;
+            for (double distance : distances) {
+                List<Long> expected = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    if (GeoUtils.distanceKm(latitude, longitude, latitudes[i], longitudes[i]) < distance) {
+                        expected.add(ids[i]);
+                    }
+                }
+
+                GeoHits hits = tree.withinDistance(latitude, longitude, distance);
+                assertEquals(expected.size(), hits.size(), "Número de resultados para " + distance + " km");
+                List<Long> actual = new ArrayList<>();
+                for (int i = 0; i < hits.size(); i++) {
+                    actual.add(hits.id(i));
+                    if (i > 0) {
+                        assertTrue(hits.distance(i - 1) <= hits.distance(i), "Los resultados deben estar ordenados por distancia");
+                    }
+                }
+                actual.sort(null);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void within_ShouldMatchBruteForceInIdOrder() {
+        Random random = new Random(5);
+        int size = 5000;
+        long[] ids = new long[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Identificadores desordenados para comprobar el orden del resultado
+            ids[i] = (i * 7919L) % size;
+            int source = i % 10 == 0 && i > 0 ? i - 1 : i;
+            latitudes[i] = source == i ? 19.2 + random.nextDouble() * 0.4 : latitudes[source];
+            longitudes[i] = source == i ? -99.3 + random.nextDouble() * 0.4 : longitudes[source];
+        }
+        KdTree tree = new KdTree(ids, latitudes, longitudes, size);
+
+        for (int q = 0; q < 50; q++) {
+            double south = 19.15 + random.nextDouble() * 0.4;
+            double west = -99.35 + random.nextDouble() * 0.4;
+            double side = random.nextDouble() * 0.2;
+            BoundingBox box = new BoundingBox(south, south + side, west, west + side);
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (box.contains(latitudes[i], longitudes[i])) {
+                    expected.add(ids[i]);
+                }
+            }
+            expected.sort(null);
+
+            List<Long> actual = new ArrayList<>();
+            for (long id : tree.within(box)) {
+                actual.add(id);
+            }
+            assertEquals(expected, actual, "Rectángulo " + box);
+        }
+
+        // Los bordes son inclusivos
+        BoundingBox point = new BoundingBox(latitudes[3], latitudes[3], longitudes[3], longitudes[3]);
+        assertArrayEquals(new long[]{ids[3]}, tree.within(point));
+    }
+
+    @Test
+    void nearest_ShouldMatchBruteForce() {
+        Random random = new Random(11);
+        int size = 3000;
+        long[] ids = new long[size];
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            // Coordenadas repetidas y puntos a ambos lados del antimeridiano
+            int source = i % 7 == 0 && i > 0 ? i - 1 : i;
+            latitudes[i] = source == i ? -60 + random.nextDouble() * 120 : latitudes[source];
+            longitudes[i] = source == i ? -180 + random.nextDouble() * 360 : longitudes[source];
+        }
+        KdTree tree = new KdTree(ids, latitudes, longitudes, size);
+
+        double[][] origins = {{19.43, -99.13}, {0, 179.9}, {10, -179.95}, {-59, 0}, {85, 45}};
+        int[] ks = {1, 5, 37, size + 10};
+        for (double[] origin : origins) {
+            for (int k : ks) {
+                GeoHits expected = new GeoHits(size);
+                for (int i = 0; i < size; i++) {
+                    expected.add(ids[i], GeoUtils.distanceKm(origin[0], origin[1], latitudes[i], longitudes[i]));
+                }
+                expected.sortByDistance();
+
+                GeoHits hits = tree.nearest(origin[0], origin[1], k);
+                assertEquals(Math.min(k, size), hits.size());
+                for (int i = 0; i < hits.size(); i++) {
+                    assertEquals(expected.id(i), hits.id(i), "Vecino " + i + " de k=" + k);
+                    assertEquals(expected.distance(i), hits.distance(i), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void withinDistance_ShouldReturnNothingForEmptyTree() {
+        KdTree tree = new KdTree(new long[0], new double[0], new double[0], 0);
+
+        assertEquals(0, tree.withinDistance(19.43, -99.13, 10).size());
+        assertEquals(0, tree.nearest(19.43, -99.13, 5).size());
+        assertEquals(0, tree.within(new BoundingBox(-90, 90, -180, 180)).length);
+    }
+}
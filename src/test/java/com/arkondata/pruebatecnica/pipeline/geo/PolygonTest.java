@@ -0,0 +1,105 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link Polygon} y {@link GeoJsonPolygons}.
+ * <p>
+ * Compara la pertenencia con franjas contra un recorrido de todos los lados
+ * del mismo polígono, incluyendo huecos y varias partes.
+ * </p>
+ */
+public class PolygonTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void contains_ShouldMatchRayCastingOverEveryEdge() {
+        Random random = new Random(3);
+        // Estrella irregular de 400 vértices alrededor del Zócalo, con un hueco cuadrado
+        double[] outer = new double[800];
+        for (int i = 0; i < 400; i++) {
+            double angle = 2 * Math.PI * i / 400;
+            double radius = 0.02 + random.nextDouble() * 0.03;
+            outer[2 * i] = -99.13 + radius * Math.cos(angle);
+            outer[2 * i + 1] = 19.43 + radius * Math.sin(angle);
+        }
+        double[] hole = {-99.135, 19.425, -99.125, 19.425, -99.125, 19.435, -99.135, 19.435, -99.135, 19.425};
+        double[] island = {-99.0, 19.3, -98.99, 19.3, -98.99, 19.31};
+        List<double[]> rings = Arrays.asList(outer, hole, island);
+        Polygon polygon = Polygon.of(rings);
+
+        assertEquals(400 + 4 + 3, polygon.getVertexCount(), "El vértice de cierre no se cuenta");
+        for (int q = 0; q < 20000; q++) {
+            double latitude = 19.28 + random.nextDouble() * 0.2;
+            double longitude = -99.2 + random.nextDouble() * 0.22;
+            assertEquals(bruteForce(rings, latitude, longitude), polygon.contains(latitude, longitude),
+                    "Punto " + latitude + ", " + longitude);
+        }
+        assertFalse(polygon.contains(19.43, -99.13), "El centro está en el hueco");
+        assertTrue(polygon.contains(19.43, -99.145));
+        assertTrue(polygon.contains(19.301, -98.995), "La segunda parte también cuenta");
+    }
+
+    @Test
+    void read_ShouldParsePolygonAndMultiPolygon() throws IOException {
+        Polygon square = GeoJsonPolygons.read(MAPPER.readTree(
+                "{\"type\":\"Polygon\",\"coordinates\":[[[-99.14,19.43],[-99.13,19.43],[-99.13,19.44],[-99.14,19.44],[-99.14,19.43]]]}"));
+        assertTrue(square.contains(19.435, -99.135));
+        assertFalse(square.contains(19.445, -99.135));
+        assertEquals(19.43, square.getBounds().getMinLatitude(), 0);
+        assertEquals(-99.13, square.getBounds().getMaxLongitude(), 0);
+
+        Polygon parts = GeoJsonPolygons.read(MAPPER.readTree("{\"type\":\"MultiPolygon\",\"coordinates\":["
+                + "[[[0,0,10],[1,0,10],[1,1,10],[0,0,10]]],"
+                + "[[[5,5],[6,5],[6,6],[5,5]]]]}"));
+        assertEquals(6, parts.getVertexCount());
+        assertTrue(parts.contains(0.2, 0.8));
+        assertTrue(parts.contains(5.2, 5.8));
+        assertFalse(parts.contains(3, 3));
+    }
+
+    @Test
+    void read_ShouldRejectInvalidGeometries() throws IOException {
+        String[] invalid = {
+            "{\"type\":\"Point\",\"coordinates\":[-99.13,19.43]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[[[-99.14,19.43],[-99.13,19.43],[-99.14,19.43]]]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[[[19.43,-99.14],[19.43,-99.13],[19.44,-200],[19.43,-99.14]]]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[[\"a\",\"b\",\"c\",\"d\"]]}",
+            "{\"type\":\"Polygon\",\"coordinates\":[]}",
+            "{\"type\":\"Polygon\"}"
+        };
+        for (String geometry : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> GeoJsonPolygons.read(MAPPER.readTree(geometry)), geometry);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Polygon.of(Collections.emptyList()));
+    }
+
+    /**
+     * Regla par-impar sobre todos los lados, sin franjas.
+     */
+    private static boolean bruteForce(List<double[]> rings, double latitude, double longitude) {
+        boolean inside = false;
+        for (double[] ring : rings) {
+            int n = ring.length / 2;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double latI = ring[2 * i + 1];
+                double latJ = ring[2 * j + 1];
+                if ((latI > latitude) != (latJ > latitude)
+                        && longitude < ring[2 * j] + (latitude - latJ) * (ring[2 * i] - ring[2 * j]) / (latI - latJ)) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+}
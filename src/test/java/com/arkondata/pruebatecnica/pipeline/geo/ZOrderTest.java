@@ -0,0 +1,53 @@
+package com.arkondata.pruebatecnica.pipeline.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link ZOrder}.
+ */
+public class ZOrderTest {
+
+    @Test
+    void order_ShouldBePermutationGroupingQuadrantsAndKeepingTies() {
+        Random random = new Random(11);
+        int size = 2000;
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Dos grupos en hemisferios distintos, intercalados en la entrada
+            latitudes[i] = (i % 2 == 0 ? 19.2 : -33.5) + random.nextDouble() * 0.4;
+            longitudes[i] = (i % 2 == 0 ? -99.3 : -70.8) + random.nextDouble() * 0.4;
+        }
+        latitudes[7] = latitudes[3];
+        longitudes[7] = longitudes[3];
+
+        int[] order = ZOrder.order(latitudes, longitudes);
+
+        boolean[] seen = new boolean[size];
+        for (int position : order) {
+            assertFalse(seen[position]);
+            seen[position] = true;
+        }
+        // El primer bit de la llave es el de latitud: el hemisferio sur va antes
+        for (int i = 0; i < size; i++) {
+            assertEquals(i < size / 2, latitudes[order[i]] < 0);
+        }
+        int three = -1;
+        int seven = -1;
+        for (int i = 0; i < size; i++) {
+            three = order[i] == 3 ? i : three;
+            seven = order[i] == 7 ? i : seven;
+        }
+        assertEquals(three + 1, seven);
+    }
+
+    @Test
+    void order_ShouldRejectTooManyCoordinates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ZOrder.order(new double[ZOrder.MAX_SIZE + 1], new double[ZOrder.MAX_SIZE + 1]));
+    }
+}
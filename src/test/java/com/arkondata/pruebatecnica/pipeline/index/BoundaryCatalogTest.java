@@ -0,0 +1,72 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link BoundaryCatalog}.
+ * <p>
+ * Lee archivos GeoJSON temporales con la estructura de los límites de la
+ * CDMX: las alcaldías con {@code NOMGEO} y las colonias con {@code colonia}
+ * y la alcaldía a la que pertenecen.
+ * </p>
+ */
+public class BoundaryCatalogTest {
+
+    private static final String[] ALCALDIA_NAMES = {"NOMGEO", "alcaldia", "nombre", "name"};
+
+    private static final String[] COLONIA_NAMES = {"colonia", "nombre", "name"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void constructor_ShouldIndexBoundariesByFoldedName() throws IOException {
+        Path alcaldias = write("alcaldias.geojson", "{\"type\":\"FeatureCollection\",\"features\":["
+                + feature("{\"NOMGEO\":\"Cuauhtémoc\"}", "Polygon", "[[[-99.18,19.40],[-99.12,19.40],[-99.12,19.46],[-99.18,19.40]]]")
+                + ",{\"type\":\"Feature\",\"properties\":{\"NOMGEO\":\"Sin geometría\"},\"geometry\":null}]}");
+        Path colonias = write("colonias.geojson", "{\"type\":\"FeatureCollection\",\"features\":["
+                + feature("{\"colonia\":\"CENTRO\",\"alcaldia\":\"CUAUHTEMOC\"}", "Polygon", "[[[-99.14,19.42],[-99.12,19.42],[-99.12,19.44],[-99.14,19.42]]]")
+                + "," + feature("{\"colonia\":\"Centro\",\"alcaldia\":\"XOCHIMILCO\"}", "MultiPolygon", "[[[[-99.11,19.25],[-99.09,19.25],[-99.09,19.27],[-99.11,19.25]]]]")
+                + "]}");
+
+        BoundaryCatalog catalog = new BoundaryCatalog(new DefaultResourceLoader(), new ObjectMapper(),
+                alcaldias.toUri().toString(), ALCALDIA_NAMES, colonias.toUri().toString(), COLONIA_NAMES);
+
+        assertEquals(1, catalog.alcaldia("cuauhtemoc").size(), "El nombre se normaliza como las llaves de búsqueda");
+        assertTrue(catalog.alcaldia("Sin geometría").isEmpty());
+        assertEquals(2, catalog.colonia("centro").size(), "Las colonias homónimas se conservan juntas");
+        assertTrue(catalog.colonia("cuauhtemoc").isEmpty(), "La alcaldía de una colonia no es su nombre");
+    }
+
+    @Test
+    void constructor_ShouldLeaveMissingLayersEmptyAndRejectInvalidGeometries() throws IOException {
+        BoundaryCatalog empty = new BoundaryCatalog(new DefaultResourceLoader(), new ObjectMapper(),
+                directory.resolve("no-existe.geojson").toUri().toString(), ALCALDIA_NAMES, "", COLONIA_NAMES);
+        assertTrue(empty.alcaldia("Cuauhtémoc").isEmpty());
+        assertTrue(empty.colonia("Centro").isEmpty());
+
+        Path invalid = write("invalido.geojson", "{\"type\":\"FeatureCollection\",\"features\":["
+                + feature("{\"NOMGEO\":\"Tlalpan\"}", "LineString", "[[-99.18,19.40],[-99.12,19.40]]") + "]}");
+        assertThrows(IllegalStateException.class, () -> new BoundaryCatalog(new DefaultResourceLoader(), new ObjectMapper(),
+                invalid.toUri().toString(), ALCALDIA_NAMES, "", COLONIA_NAMES));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String feature(String properties, String type, String coordinates) {
+        return "{\"type\":\"Feature\",\"properties\":" + properties
+                + ",\"geometry\":{\"type\":\"" + type + "\",\"coordinates\":" + coordinates + "}}";
+    }
+}
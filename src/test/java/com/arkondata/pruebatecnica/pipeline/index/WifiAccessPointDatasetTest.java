@@ -0,0 +1,205 @@
+package com.arkondata.pruebatecnica.pipeline.index;
+
+import com.arkondata.pruebatecnica.pipeline.config.DatasetSnapshotGenerator;
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.geo.ClusterIndex;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoHits;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetSnapshot;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CategoryCount;
+import com.arkondata.pruebatecnica.pipeline.model.dto.DensityGrid;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GridCell;
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link WifiAccessPointDataset}, {@link DatasetVersion} e
+ * {@link InMemoryPaging} sobre la base de datos H2 en memoria.
+ * <p>
+ * Verifica que cada versión reúna los mismos datos en todos sus índices y que
+ * una versión ya tomada no cambie al publicarse la siguiente.
+ * </p>
+ */
+@DataJpaTest
+public class WifiAccessPointDatasetTest {
+
+    @Autowired
+    private WifiAccessPointRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private WifiAccessPointDataset dataset;
+
+    private WifiAccessPoint zocalo;
+
+    @BeforeEach
+    void setUp() {
+        dataset = new WifiAccessPointDataset(new JdbcTemplate(dataSource), new double[]{0.01, 0.1}, 40, 512, 16);
+        zocalo = repository.save(new WifiAccessPoint("ZOCALO", "Mi_Calle", null, 19.432608, -99.133209, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("SAN JOSE-01", "Mi_Calle", null, null, null, "SAN JOSE", "Tláhuac"));
+        repository.save(new WifiAccessPoint("CENTRO-02", "Mi_Calle", "2024-01-01", 19.4335, -99.1340, "Centro", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("CONDESA", "Mi_Calle", "2023-05-01", 19.411970, -99.163390, "CONDESA", "Cuauhtémoc"));
+    }
+
+    @Test
+    void rebuild_ShouldIndexEveryPointConsistently() {
+        DatasetVersion version = dataset.rebuild();
+
+        assertSame(version, dataset.current());
+        assertEquals(1, version.getNumber());
+        assertEquals(4, version.size());
+        assertEquals(3, version.locatedSize(), "Los puntos sin coordenadas no entran al índice espacial");
+        assertEquals("ZOCALO", version.findById(zocalo.getId()).getIdgob());
+        assertNull(version.findById(-1));
+
+        List<WifiAccessPointDto> centro = version.findByColoniaKey("centro");
+        assertEquals(2, centro.size(), "Las escrituras con y sin mayúsculas comparten la llave");
+        assertTrue(centro.get(0).getId() < centro.get(1).getId(), "Los puntos se devuelven en orden de ID");
+        assertEquals(3, version.findByAlcaldiaKey("cuauhtemoc").size());
+        assertTrue(version.findByColoniaKey("no existe").isEmpty());
+
+        List<NameSuggestion> suggestions = version.suggestColonias("CEN", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(2, suggestions.get(0).getAccessPoints());
+
+        GeoHits hits = version.withinDistance(19.432608, -99.133209, 1);
+        assertEquals(2, hits.size());
+        assertEquals("ZOCALO", version.get(hits, 0).getIdgob());
+
+        List<WifiAccessPointDto> centroHistorico = version.within(new BoundingBox(19.43, 19.44, -99.14, -99.13));
+        assertEquals(2, centroHistorico.size(), "Condesa queda fuera del rectángulo");
+        assertEquals("ZOCALO", centroHistorico.get(0).getIdgob(), "Los puntos se devuelven en orden de ID");
+
+        List<WifiAccessPointDto> after = version.findAfter(zocalo.getId(), 10);
+        assertEquals(3, after.size());
+        assertEquals("SAN JOSE-01", after.get(0).getIdgob());
+    }
+
+    @Test
+    void rebuild_ShouldPrecomputeCountsByCategoryAndGridCell() {
+        DatasetVersion version = dataset.rebuild();
+
+        List<CategoryCount> alcaldias = version.countsByAlcaldia();
+        assertEquals(2, alcaldias.size());
+        assertEquals("Cuauhtémoc", alcaldias.get(0).getName());
+        assertEquals(3, alcaldias.get(0).getAccessPoints());
+        CategoryCount centro = version.countsByColonia().get(0);
+        assertEquals("CENTRO", centro.getName(), "Se conserva la escritura más frecuente; en empate, la primera");
+        assertEquals(2, centro.getAccessPoints());
+        assertEquals(1, version.countsByPrograma().size());
+        assertEquals(4, version.countsByPrograma().get(0).getAccessPoints());
+
+        DensityGrid fine = version.densityGrid(0.01);
+        assertEquals(2, fine.getCells().size(), "El Zócalo y Centro-02 comparten celda; Condesa queda en otra");
+        assertEquals(3, fine.getCells().stream().mapToLong(GridCell::getAccessPoints).sum(),
+                "Los puntos sin coordenadas no se cuentan");
+        assertEquals(1, version.densityGrid(0.1).getCells().size());
+        assertNull(version.densityGrid(0.05));
+    }
+
+    @Test
+    void rebuild_ShouldClusterLocatedPointsByZoom() {
+        DatasetVersion version = dataset.rebuild();
+        List<Integer> counts = new ArrayList<>();
+        List<Long> positions = new ArrayList<>();
+        ClusterIndex.ClusterConsumer collect = (latitude, longitude, count, id, expansionZoom) -> {
+            counts.add(count);
+            positions.add(id);
+        };
+
+        version.clusters(-100, 19, -99, 20, 0, collect);
+        assertEquals(Collections.singletonList(3), counts, "A zoom 0 los tres puntos con coordenadas forman un grupo");
+
+        counts.clear();
+        positions.clear();
+        version.clusters(-100, 19, -99, 20, 20, collect);
+        assertEquals(3, counts.size());
+        assertTrue(positions.stream().map(version::get).anyMatch(point -> "ZOCALO".equals(point.getIdgob())));
+    }
+
+    @Test
+    void rebuild_ShouldNotChangePreviouslyTakenVersion() {
+        DatasetVersion first = dataset.rebuild();
+        repository.deleteById(zocalo.getId());
+        repository.save(new WifiAccessPoint("ROMA", "Mi_Calle", null, 19.41, -99.16, "ROMA NORTE", "Cuauhtémoc"));
+        repository.flush();
+
+        DatasetVersion second = dataset.rebuild();
+
+        assertSame(second, dataset.current());
+        assertEquals(2, second.getNumber());
+        assertEquals(2, dataset.currentNumber());
+        assertNull(second.findById(zocalo.getId()));
+        assertEquals(1, second.findByColoniaKey("roma norte").size());
+        assertEquals(4, first.size(), "La versión anterior conserva sus datos mientras se use");
+        assertNotNull(first.findById(zocalo.getId()));
+        assertTrue(first.findByColoniaKey("roma norte").isEmpty());
+    }
+
+    @Test
+    void publish_ShouldBuildVersionFromSnapshotWithoutReadingTheTable() throws IOException {
+        String csv = "id,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n"
+                + "ZOCALO,Mi_Calle,,19.432608,-99.133209,CENTRO,Cuauhtémoc\n"
+                + "CENTRO-02,Mi_Calle,2024-01-01,19.4335,-99.1340,Centro,Cuauhtémoc\n"
+                + "SAN JOSE-01,Mi_Calle,,,,SAN JOSE,Tláhuac\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DatasetSnapshotGenerator.generateSnapshot(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), out);
+
+        DatasetVersion version = dataset.publish(DatasetSnapshot.open(ByteBuffer.wrap(out.toByteArray())));
+
+        assertSame(version, dataset.current());
+        assertEquals(1, version.getNumber());
+        assertEquals(3, version.size(), "La tabla tiene otros cuatro puntos que la versión no lee");
+        assertEquals(2, version.locatedSize());
+        WifiAccessPointDto centro = version.findById(2);
+        assertEquals("CENTRO-02", centro.getIdgob(), "Los IDs siguen el orden de la instantánea a partir de 1");
+        assertEquals(LocalDate.of(2024, 1, 1), centro.getFecha_instalacion());
+        assertEquals(2, version.findByColoniaKey("centro").size());
+        assertEquals(1, version.findByAlcaldiaKey("tlahuac").size());
+        assertEquals(2, version.withinDistance(19.432608, -99.133209, 1).size());
+        assertEquals(1, version.suggestColonias("cen", 10).size());
+
+        assertEquals(2, dataset.rebuild().getNumber(), "La siguiente versión se lee de la tabla");
+    }
+
+    @Test
+    void paging_ShouldSortInMemoryLikeTheDatabase() {
+        DatasetVersion version = dataset.rebuild();
+
+        Page<WifiAccessPointDto> byDate = InMemoryPaging.page(version.all(), PageRequest.of(0, 3, Sort.by("fecha_instalacion")));
+        assertEquals(4, byDate.getTotalElements());
+        assertNull(byDate.getContent().get(0).getFecha_instalacion(), "Los nulos van primero en orden ascendente");
+        assertEquals(LocalDate.of(2023, 5, 1), byDate.getContent().get(2).getFecha_instalacion());
+
+        Slice<WifiAccessPointDto> lastPage = InMemoryPaging.slice(version.all(), PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "latitud")));
+        assertEquals(1, lastPage.getNumberOfElements());
+        assertNull(lastPage.getContent().get(0).getLatitud(), "Los nulos van al final en orden descendente");
+        assertFalse(lastPage.hasNext());
+
+        assertFalse(InMemoryPaging.supports(Sort.by("coloniaKey")));
+    }
+}
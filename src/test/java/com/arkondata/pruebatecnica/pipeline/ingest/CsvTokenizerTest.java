@@ -0,0 +1,89 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import com.arkondata.pruebatecnica.pipeline.config.SqlScriptGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link CsvTokenizer} y su uso desde
+ * {@link SqlScriptGenerator}.
+ * <p>
+ * Verifica el manejo de comillas, comas y saltos de línea dentro de campos,
+ * así como el script generado a partir del CSV incluido en la aplicación.
+ * </p>
+ */
+public class CsvTokenizerTest {
+
+    @Test
+    void next_ShouldSplitQuotedFieldsWithCommasAndLineBreaks() throws IOException {
+        // Campo con coma, campo con salto de línea, comilla escapada y CRLF
+        String csv = "\uFEFFid,colonia\r\n"
+                + "\"SAN PABLO I, II\",Iztapalapa\r\n"
+                + "\"SAN JOSE \n(AGUSTIN LARA)_01\",\"dice \"\"hola\"\"\"\n"
+                + "\n"
+                + "ultimo,";
+
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv), 8);
+
+        assertTrue(tokenizer.next());
+        assertArrayEquals(new String[]{"id", "colonia"}, tokenizer.copyFields(), "El BOM inicial debe descartarse");
+
+        assertTrue(tokenizer.next());
+        assertArrayEquals(new String[]{"SAN PABLO I, II", "Iztapalapa"}, tokenizer.copyFields());
+
+        assertTrue(tokenizer.next());
+        assertEquals(3, tokenizer.recordLine(), "El registro comienza en la tercera línea física");
+        assertArrayEquals(new String[]{"SAN JOSE \n(AGUSTIN LARA)_01", "dice \"hola\""}, tokenizer.copyFields());
+
+        assertTrue(tokenizer.next(), "La línea vacía debe omitirse");
+        assertArrayEquals(new String[]{"ultimo", ""}, tokenizer.copyFields());
+
+        assertFalse(tokenizer.next());
+    }
+
+    @Test
+    void generateSqlScript_ShouldEscapeAndCleanValues() {
+        String csv = "id,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n"
+                + "\"O'HIGGINS, 01\",Mi_Calle,, 19.48975987 ,-99.186 1320313,\"SAN JOSE\n(AGUSTIN LARA)\",Tláhuac\n"
+                + "incompleta,1,2\n";
+
+        String sql = generate(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("INSERT INTO wifi_access_points (idgob, programa, fecha_instalacion, latitud, longitud, colonia, alcaldia, colonia_key, alcaldia_key) "
+                + "VALUES ('O''HIGGINS, 01', 'Mi_Calle', NULL, 19.48975987, -99.1861320313, 'SAN JOSE\n(AGUSTIN LARA)', 'Tláhuac', "
+                + "'san jose agustin lara', 'tlahuac');\n", sql);
+    }
+
+    @Test
+    void generateSqlScript_ShouldProduceOneInsertPerRecordOfBundledCsv() throws IOException {
+        String sql;
+        try (InputStream csv = new ClassPathResource("data/2024-01-18-puntos_de_acceso_wifi.csv").getInputStream()) {
+            sql = generate(csv);
+        }
+
+        int inserts = 0;
+        for (int i = sql.indexOf("INSERT INTO"); i >= 0; i = sql.indexOf("INSERT INTO", i + 1)) {
+            inserts++;
+        }
+        // 33,532 líneas físicas menos la cabecera y las 15 continuaciones de campos multilínea
+        assertEquals(33516, inserts, "Cada registro lógico del CSV debe producir un INSERT");
+        assertTrue(sql.contains("VALUES ('SAN PABLO I, II Y V-LOMAS DEL PARAISO-02', 'Colonias_Periféricas', NULL, 19.332683, -99.004324, 'SAN PABLO I, II Y V-LOMAS DEL PARAISO', 'Iztapalapa', "
+                + "'san pablo i ii y v lomas del paraiso', 'iztapalapa');"),
+                "Los campos entrecomillados deben escribirse sin las comillas dobles");
+    }
+
+    private static String generate(InputStream csv) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SqlScriptGenerator.generateSqlScript(csv, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
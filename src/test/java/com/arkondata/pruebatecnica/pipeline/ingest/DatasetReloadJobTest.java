@@ -0,0 +1,98 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link DatasetReloadJob}.
+ * <p>
+ * Verifica que el evento de carga terminada se publique siempre que la tabla
+ * cambió, incluso si la recarga falla después de confirmar algún lote.
+ * </p>
+ */
+public class DatasetReloadJobTest {
+
+    @Mock
+    private WifiAccessPointDeltaLoader deltaLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path directory;
+
+    private DatasetReloadJob reloadJob;
+
+    private Path csv;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        reloadJob = new DatasetReloadJob(deltaLoader, eventPublisher, directory.toString(),
+                "classpath:data/2024-01-18-puntos_de_acceso_wifi.csv", 60000);
+        csv = Files.write(directory.resolve("2024-02-01-puntos_de_acceso_wifi.csv"), new byte[0]);
+    }
+
+    @Test
+    void reload_ShouldPublishTheResultWhenTheTableChanged() throws IOException, SQLException {
+        DeltaResult delta = new DeltaResult(1, 2, 3, 4, 0, 1000);
+        when(deltaLoader.apply(any(InputStream.class), any(AtomicLong.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, AtomicLong.class).addAndGet(6);
+            return delta;
+        });
+
+        assertSame(delta, reloadJob.reload(csv));
+
+        ArgumentCaptor<DatasetLoadedEvent> event = ArgumentCaptor.forClass(DatasetLoadedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(6, event.getValue().getResult().getRows());
+    }
+
+    @Test
+    void reload_ShouldNotPublishWhenNothingChanged() throws IOException, SQLException {
+        when(deltaLoader.apply(any(InputStream.class), any(AtomicLong.class))).thenReturn(new DeltaResult(0, 0, 0, 5, 0, 1000));
+
+        reloadJob.reload(csv);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void reload_ShouldPublishWhenItFailsAfterCommittingABatch() throws IOException, SQLException {
+        when(deltaLoader.apply(any(InputStream.class), any(AtomicLong.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, AtomicLong.class).addAndGet(1000);
+            throw new SQLException("Fallo del segundo lote");
+        });
+
+        assertThrows(SQLException.class, () -> reloadJob.reload(csv));
+
+        ArgumentCaptor<DatasetLoadedEvent> event = ArgumentCaptor.forClass(DatasetLoadedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertNull(event.getValue().getResult(), "Una recarga parcial no tiene resultado");
+    }
+
+    @Test
+    void reload_ShouldNotPublishWhenItFailsBeforeCommitting() throws IOException, SQLException {
+        when(deltaLoader.apply(any(InputStream.class), any(AtomicLong.class))).thenThrow(new IOException("CSV ilegible"));
+
+        assertThrows(IOException.class, () -> reloadJob.reload(csv));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
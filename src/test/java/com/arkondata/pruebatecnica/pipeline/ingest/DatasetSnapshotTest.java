@@ -0,0 +1,108 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import com.arkondata.pruebatecnica.pipeline.config.DatasetSnapshotGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link DatasetSnapshot} y
+ * {@link DatasetSnapshotGenerator}.
+ * <p>
+ * Verifica que la instantánea conserve los valores limpios del CSV y las
+ * llaves de búsqueda, y que se rechacen las instantáneas dañadas o de otra
+ * versión.
+ * </p>
+ */
+public class DatasetSnapshotTest {
+
+    private static final String CSV = "﻿id,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n"
+            + "\"O'HIGGINS, 01\",Mi_Calle,, 19.48975987 ,-99.186 1320313,\"SAN JOSE\n(AGUSTIN LARA)\",Tláhuac\n"
+            + "incompleta,1,2\n"
+            + "SIN-COORDENADAS,Mi_Calle,2024-01-01,,,CENTRO,Cuauhtémoc\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generateSnapshot_ShouldRoundTripCleanValuesAndSearchKeys() throws IOException {
+        DatasetSnapshot snapshot = DatasetSnapshot.open(ByteBuffer.wrap(generate(CSV)));
+
+        assertEquals(2, snapshot.getRows(), "La línea incompleta debe descartarse");
+        assertEquals("O'HIGGINS, 01", snapshot.getText(DatasetSnapshot.IDGOB, 0));
+        assertNull(snapshot.getText(DatasetSnapshot.FECHA_INSTALACION, 0));
+        assertEquals(19.48975987, snapshot.getLatitud(0));
+        assertEquals(-99.1861320313, snapshot.getLongitud(0));
+        assertEquals("SAN JOSE\n(AGUSTIN LARA)", snapshot.getText(DatasetSnapshot.COLONIA, 0));
+        assertEquals("san jose agustin lara", snapshot.getText(DatasetSnapshot.COLONIA_KEY, 0));
+        assertEquals("tlahuac", snapshot.getText(DatasetSnapshot.ALCALDIA_KEY, 0));
+
+        assertNull(snapshot.getLatitud(1));
+        assertNull(snapshot.getLongitud(1));
+        assertEquals("2024-01-01", snapshot.getText(DatasetSnapshot.FECHA_INSTALACION, 1));
+        assertSame(snapshot.getText(DatasetSnapshot.PROGRAMA, 0), snapshot.getText(DatasetSnapshot.PROGRAMA, 1),
+                "Los valores repetidos deben salir del diccionario");
+    }
+
+    @Test
+    void map_ShouldReadBundledCsvSnapshotFromFile() throws IOException {
+        Path file = tempDir.resolve("wifi_access_points.snapshot");
+        try (InputStream csv = new ClassPathResource("data/2024-01-18-puntos_de_acceso_wifi.csv").getInputStream()) {
+            Files.write(file, generate(csv));
+        }
+
+        DatasetSnapshot snapshot = DatasetSnapshot.map(file);
+
+        assertEquals(33516, snapshot.getRows());
+        assertEquals("19 DE MAYO-01", snapshot.getText(DatasetSnapshot.IDGOB, 0));
+        assertEquals("Álvaro Obregón", snapshot.getText(DatasetSnapshot.ALCALDIA, 0));
+        assertEquals(19.36260558, snapshot.getLatitud(0));
+    }
+
+    @Test
+    void open_ShouldRejectCorruptedSnapshot() throws IOException {
+        byte[] bytes = generate(CSV);
+        bytes[bytes.length - 1] ^= 1;
+
+        IOException e = assertThrows(IOException.class, () -> DatasetSnapshot.open(ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains("suma de verificación"));
+    }
+
+    @Test
+    void open_ShouldRejectOtherVersion() throws IOException {
+        byte[] bytes = generate(CSV);
+        bytes[4] = (byte) (DatasetSnapshot.VERSION + 1);
+
+        IOException e = assertThrows(IOException.class, () -> DatasetSnapshot.open(ByteBuffer.wrap(bytes)));
+        assertTrue(e.getMessage().contains("Versión"));
+    }
+
+    @Test
+    void open_ShouldRejectTruncatedSnapshot() throws IOException {
+        byte[] bytes = generate(CSV);
+
+        assertThrows(IOException.class, () -> DatasetSnapshot.open(ByteBuffer.wrap(bytes, 0, bytes.length - 8)));
+        assertThrows(IOException.class, () -> DatasetSnapshot.open(ByteBuffer.wrap("id,programa".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static byte[] generate(String csv) throws IOException {
+        return generate(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] generate(InputStream csv) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DatasetSnapshotGenerator.generateSnapshot(csv, out);
+        return out.toByteArray();
+    }
+}
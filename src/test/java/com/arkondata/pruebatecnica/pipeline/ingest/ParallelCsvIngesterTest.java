@@ -0,0 +1,90 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link ParallelCsvIngester}.
+ * <p>
+ * Verifica que el análisis en paralelo por rangos entregue exactamente las
+ * mismas filas, y en el mismo orden, que la lectura secuencial, incluso cuando
+ * los límites de los rangos caen dentro de campos multilínea.
+ * </p>
+ */
+public class ParallelCsvIngesterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parse_ShouldMatchSequentialOrderWithTinyChunks() throws IOException, SQLException {
+        // Rangos de 7 bytes para forzar cortes dentro de comillas y de campos multilínea
+        String csv = "\uFEFFid,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n"
+                + "A-01,P,,19.1,-99.1,\"COL, UNO\",Tlalpan\n"
+                + "\"SAN JOSE \n(AGUSTIN LARA)_01\",PILARES,,19.2,-99.2,SAN JOSE,Tláhuac\n"
+                + "mal,formada\n"
+                + "\"FISCALIA\n\n(BOSQUES)_01\",PILARES,,19.3,-99.3,\"PINO \"\"SUAREZ\"\"\",Álvaro Obregón\n"
+                + "Z-99,P,,19.4,-99.4,FIN,Coyoacán";
+        Path file = tempDir.resolve("puntos.csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+
+        List<String[]> rows = new ArrayList<>();
+        long rejected = new ParallelCsvIngester(null, 4, 7).parse(file, rows::add);
+
+        assertEquals(1, rejected, "La línea con dos columnas debe descartarse");
+        assertEquals(sequential(file), toList(rows));
+        assertEquals("SAN JOSE \n(AGUSTIN LARA)_01", rows.get(1)[0]);
+        assertEquals("PINO \"SUAREZ\"", rows.get(2)[5]);
+    }
+
+    @Test
+    void parse_ShouldMatchSequentialOrderOnBundledCsv() throws IOException, SQLException {
+        Path file = tempDir.resolve("bundled.csv");
+        try (InputStream in = new ClassPathResource("data/2024-01-18-puntos_de_acceso_wifi.csv").getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        long rejected = new ParallelCsvIngester(null, 4, 64 * 1024).parse(file, rows::add);
+
+        assertEquals(0, rejected);
+        assertEquals(33516, rows.size());
+        assertEquals(sequential(file), toList(rows));
+    }
+
+    private static List<List<String>> sequential(Path file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            tokenizer.next();
+            while (tokenizer.next()) {
+                if (tokenizer.fieldCount() >= WifiAccessPointCsv.EXPECTED_COLUMNS) {
+                    rows.add(Arrays.asList(Arrays.copyOf(tokenizer.fields(), WifiAccessPointCsv.EXPECTED_COLUMNS)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<List<String>> toList(List<String[]> rows) {
+        List<List<String>> result = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            result.add(Arrays.asList(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package com.arkondata.pruebatecnica.pipeline.ingest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link WifiAccessPointDeltaLoader} sobre la base de datos H2 en
+ * memoria, con un tamaño de lote menor al número de cambios.
+ * <p>
+ * Las pruebas no son transaccionales porque el cargador confirma cada lote en
+ * su propia conexión; la tabla se vacía antes y después de cada prueba.
+ * </p>
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WifiAccessPointDeltaLoaderTest {
+
+    private static final String HEADER = "id,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\n";
+
+    private static final String V1 = HEADER
+            + "ZOCALO,Mi_Calle,,19.432608,-99.133209,CENTRO,Cuauhtémoc\n"
+            + "CONDESA,Mi_Calle,2024-01-01,19.41197,-99.16339,CONDESA,Cuauhtémoc\n"
+            + "DUPLICADO,Mi_Calle,,19.1,-99.1,SAN JOSE,Tláhuac\n"
+            + "DUPLICADO,Mi_Calle,,19.2,-99.2,SAN JOSE,Tláhuac\n"
+            + "ROMA,Mi_Calle,,19.41,-99.16,ROMA NORTE,Cuauhtémoc\n";
+
+    private static final String V2 = HEADER
+            + "ZOCALO,Mi_Calle,,19.432608,-99.133209,CENTRO,Cuauhtémoc\n"
+            + "CONDESA,Mi_Calle,2024-01-01,19.41197,-99.16339,HIPÓDROMO CONDESA,Cuauhtémoc\n"
+            + "DUPLICADO,Mi_Calle,,19.1,-99.1,SAN JOSE,Tláhuac\n"
+            + "incompleta,1,2\n"
+            + "POLANCO,Mi_Calle,,19.43,-99.19,POLANCO,Miguel Hidalgo\n";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WifiAccessPointDeltaLoader deltaLoader;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM wifi_access_points");
+        WifiAccessPointBatchLoader batchLoader = new WifiAccessPointBatchLoader(dataSource, 2);
+        batchLoader.load(csv(V1));
+        deltaLoader = new WifiAccessPointDeltaLoader(dataSource, batchLoader, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM wifi_access_points");
+    }
+
+    @Test
+    void apply_ShouldWriteOnlyTheDifferences() throws IOException, SQLException {
+        Long zocaloId = idOf("ZOCALO");
+        Long condesaId = idOf("CONDESA");
+
+        DeltaResult result = deltaLoader.apply(csv(V2));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(2, result.getDeleted(), "ROMA y la segunda aparición de DUPLICADO");
+        assertEquals(2, result.getUnchanged());
+        assertEquals(1, result.getRejected());
+        assertEquals(4, result.getChanges());
+
+        assertEquals(zocaloId, idOf("ZOCALO"), "Las filas sin cambios conservan su ID");
+        assertEquals(condesaId, idOf("CONDESA"), "Las filas actualizadas conservan su ID");
+        Map<String, Object> condesa = jdbcTemplate.queryForMap(
+                "SELECT colonia, colonia_key FROM wifi_access_points WHERE idgob = 'CONDESA'");
+        assertEquals("HIPÓDROMO CONDESA", condesa.get("colonia"));
+        assertEquals("hipodromo condesa", condesa.get("colonia_key"), "La llave de búsqueda se recalcula");
+
+        List<Double> duplicados = jdbcTemplate.queryForList(
+                "SELECT latitud FROM wifi_access_points WHERE idgob = 'DUPLICADO'", Double.class);
+        assertEquals(1, duplicados.size());
+        assertEquals(19.1, duplicados.get(0));
+        assertEquals(0, count("ROMA"));
+        assertEquals(1, count("POLANCO"));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wifi_access_points", Integer.class));
+    }
+
+    @Test
+    void apply_ShouldNotChangeAnythingForTheLoadedVersion() throws IOException, SQLException {
+        DeltaResult result = deltaLoader.apply(csv(V1));
+
+        assertEquals(0, result.getChanges());
+        assertEquals(5, result.getUnchanged(), "Los idgob repetidos se empatan por orden de aparición");
+    }
+
+    @Test
+    void apply_ShouldReportCommittedRowsWhenALaterBatchFails() throws IOException {
+        String tooLong = new String(new char[300]).replace('\0', 'X');
+        String v3 = V1
+                + "POLANCO,Mi_Calle,,19.43,-99.19,POLANCO,Miguel Hidalgo\n"
+                + "ROMA SUR,Mi_Calle,,19.40,-99.16,ROMA SUR,Cuauhtémoc\n"
+                + "INVALIDA,Mi_Calle,,19.40,-99.16," + tooLong + ",Cuauhtémoc\n";
+        AtomicLong committed = new AtomicLong();
+
+        assertThrows(SQLException.class, () -> deltaLoader.apply(csv(v3), committed));
+
+        assertEquals(2, committed.get(), "El primer lote de inserciones ya se había confirmado");
+        assertEquals(1, count("POLANCO"));
+        assertEquals(1, count("ROMA SUR"));
+        assertEquals(0, count("INVALIDA"));
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wifi_access_points", Integer.class));
+    }
+
+    private Long idOf(String idgob) {
+        return jdbcTemplate.queryForObject("SELECT id FROM wifi_access_points WHERE idgob = ?", Long.class, idgob);
+    }
+
+    private int count(String idgob) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wifi_access_points WHERE idgob = ?", Integer.class, idgob);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,59 @@
+package com.arkondata.pruebatecnica.pipeline.metrics;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetReloadJob;
+import com.arkondata.pruebatecnica.pipeline.ingest.LoadResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link IngestMetrics} con un registro de métricas en memoria.
+ */
+public class IngestMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private WifiAccessPointDataset dataset;
+
+    private IngestMetrics ingestMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dataset = mock(WifiAccessPointDataset.class);
+        when(dataset.currentNumber()).thenReturn(3L);
+        ingestMetrics = new IngestMetrics(registry, dataset);
+    }
+
+    @Test
+    void onDatasetLoaded_ShouldRecordDurationRowsAndThroughputByKind() {
+        ingestMetrics.onDatasetLoaded(new DatasetLoadedEvent(this, new LoadResult(1000, 2, TimeUnit.MILLISECONDS.toNanos(500))));
+        ingestMetrics.onDatasetLoaded(new DatasetLoadedEvent(mock(DatasetReloadJob.class), new LoadResult(10, 0, TimeUnit.MILLISECONDS.toNanos(100))));
+        ingestMetrics.onDatasetLoaded(new DatasetLoadedEvent(mock(DatasetReloadJob.class), new LoadResult(30, 1, TimeUnit.MILLISECONDS.toNanos(200))));
+
+        assertEquals(1, registry.get("wifi.ingest.duration").tag("kind", "initial").timer().count());
+        assertEquals(2, registry.get("wifi.ingest.duration").tag("kind", "delta").timer().count());
+        assertEquals(1000, registry.get("wifi.ingest.rows").tag("kind", "initial").counter().count());
+        assertEquals(40, registry.get("wifi.ingest.rows").tag("kind", "delta").counter().count());
+        assertEquals(1, registry.get("wifi.ingest.rejected").tag("kind", "delta").counter().count());
+        assertEquals(2000, registry.get("wifi.ingest.last.throughput").tag("kind", "initial").gauge().value(), 0.001);
+        assertEquals(30, registry.get("wifi.ingest.last.rows").tag("kind", "delta").gauge().value());
+        assertEquals(0.2, registry.get("wifi.ingest.last.duration").tag("kind", "delta").timeGauge().value(TimeUnit.SECONDS), 0.001);
+        assertEquals(3, registry.get("wifi.dataset.version").gauge().value());
+        assertEquals(0, registry.get("wifi.dataset.points").gauge().value());
+    }
+
+    @Test
+    void onDatasetLoaded_ShouldIgnoreLoadsWithoutResult() {
+        ingestMetrics.onDatasetLoaded(new DatasetLoadedEvent(this, null));
+
+        assertNull(registry.find("wifi.ingest.duration").timer());
+    }
+}
@@ -0,0 +1,74 @@
+package com.arkondata.pruebatecnica.pipeline.metrics;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link QueryMetricsAspect} sobre un servicio simulado.
+ */
+public class QueryMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+
+    private IWifiAccessPointService target;
+
+    private IWifiAccessPointService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(IWifiAccessPointService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(IWifiAccessPointService.class);
+        factory.addAspect(new QueryMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void findByProximity_ShouldRecordReturnedRowsAndTotalMatches() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(target.findByProximity(19.4, -99.1, 1, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(new WifiAccessPointDto(1L, null, null, null, null, null, null, null), new WifiAccessPointDto(2L, null, null, null, null, null, null, null)), pageable, 57));
+
+        service.findByProximity(19.4, -99.1, 1, pageable);
+
+        DistributionSummary rows = registry.get("wifi.query.rows").tag("method", "findByProximity").summary();
+        DistributionSummary matches = registry.get("wifi.query.matches").tag("method", "findByProximity").summary();
+        assertEquals(1, rows.count());
+        assertEquals(2, rows.totalAmount());
+        assertEquals(57, matches.totalAmount());
+    }
+
+    @Test
+    void findNearest_ShouldRecordListSize() {
+        when(target.findNearest(19.4, -99.1, 5)).thenReturn(Collections.emptyList());
+
+        service.findNearest(19.4, -99.1, 5);
+
+        assertEquals(0, registry.get("wifi.query.rows").tag("method", "findNearest").summary().totalAmount());
+        assertNull(registry.find("wifi.query.matches").summary());
+    }
+
+    @Test
+    void findById_ShouldNotRecordSinglePoints() {
+        when(target.findById(1L)).thenReturn(new WifiAccessPointDto(1L, null, null, null, null, null, null, null));
+
+        service.findById(1L);
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package com.arkondata.pruebatecnica.pipeline.repository;
+
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comparación de memoria asignada y tiempo por consulta entre leer entidades
+ * administradas y leer {@link com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto}
+ * con las proyecciones de {@link WifiAccessPointRepository}.
+ * <p>
+ * Se ejecuta sólo con {@code -Dbenchmark=true}, por ejemplo:
+ * {@code mvn test -Dtest=WifiAccessPointRepositoryAllocationTest -Dbenchmark=true}.
+ * La memoria se mide con los bytes asignados por el hilo de la prueba, que
+ * incluyen la consulta, la construcción de los resultados y la transacción.
+ * </p>
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class WifiAccessPointRepositoryAllocationTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WifiAccessPointRepositoryAllocationTest.class);
+
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private WifiAccessPointRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<WifiAccessPoint> points = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            points.add(new WifiAccessPoint("IDGOB-" + i, "Mi_Calle", "", 19.3 + i * 0.0001, -99.2 + i * 0.0001,
+                    "COLONIA " + (i % 50), "ALCALDIA " + (i % 16)));
+        }
+        repository.saveAll(points);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareEntitiesWithProjections() {
+        for (int size : new int[]{20, 100, 1000}) {
+            Pageable pageable = PageRequest.of(1, size);
+            measure("entidades, transacción de escritura", size, () -> readWrite.execute(tx -> repository.findAll(pageable)));
+            measure("entidades, transacción de sólo lectura", size, () -> readOnly.execute(tx -> repository.findAll(pageable)));
+            measure("proyección, transacción de sólo lectura", size, () -> repository.findAllBy(pageable));
+        }
+    }
+
+    private static void measure(String variant, int size, Supplier<Page<?>> query) {
+        final int iterations = Math.max(50, 100_000 / size);
+        assertEquals(size, query.get().getNumberOfElements());
+
+        // Calentamiento para que todas las variantes estén compiladas por el JIT
+        for (int i = 0; i < iterations; i++) {
+            query.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            query.get();
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        bytes = (threads.getThreadAllocatedBytes(thread) - bytes) / iterations;
+
+        LOGGER.info("{} filas, {}: {} KB asignados y {} µs por consulta", size, variant, bytes / 1024, nanos / 1000);
+    }
+}
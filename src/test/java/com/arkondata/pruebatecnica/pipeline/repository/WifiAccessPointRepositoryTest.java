@@ -0,0 +1,122 @@
+package com.arkondata.pruebatecnica.pipeline.repository;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las consultas de {@link WifiAccessPointRepository} sobre la base
+ * de datos H2 en memoria.
+ */
+@DataJpaTest
+public class WifiAccessPointRepositoryTest {
+
+    @Autowired
+    private WifiAccessPointRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Zócalo, Bellas Artes (~1 km), Condesa (~3.5 km) y Coyoacán (~10 km)
+        repository.save(new WifiAccessPoint("ZOCALO", "Mi_Calle", null, 19.432608, -99.133209, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("BELLAS_ARTES", "Mi_Calle", null, 19.435180, -99.141290, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("CONDESA", "Mi_Calle", "2023-05-01", 19.411970, -99.163390, "CONDESA", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("COYOACAN", "Mi_Calle", "15/01/2024", 19.350030, -99.162210, "COYOACAN", "Coyoacán"));
+    }
+
+    @Test
+    void findByProximity_ShouldReturnPointsInsideRadiusOrderedByDistance() {
+        double latitude = 19.432608;
+        double longitude = -99.133209;
+        BoundingBox box = BoundingBox.around(latitude, longitude, 5);
+
+        Page<WifiAccessPointDto> page = repository.findByProximity(latitude, longitude, 5,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(),
+                PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements(), "Coyoacán queda fuera del radio de 5 km");
+        assertEquals("ZOCALO", page.getContent().get(0).getIdgob());
+        assertEquals("BELLAS_ARTES", page.getContent().get(1).getIdgob());
+    }
+
+    @Test
+    void findSliceByProximity_ShouldReportNextPageWithoutCounting() {
+        double latitude = 19.432608;
+        double longitude = -99.133209;
+        BoundingBox box = BoundingBox.around(latitude, longitude, 5);
+
+        Slice<WifiAccessPointDto> first = repository.findSliceByProximity(latitude, longitude, 5,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(),
+                PageRequest.of(0, 2));
+        Slice<WifiAccessPointDto> second = repository.findSliceByProximity(latitude, longitude, 5,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(),
+                PageRequest.of(1, 2));
+
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext(), "Hay un tercer punto dentro del radio");
+        assertEquals("CONDESA", second.getContent().get(0).getIdgob());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findSliceByColonia_ShouldReportNextPageWithoutCounting() {
+        Slice<WifiAccessPointDto> slice = repository.findSliceByColoniaKey("centro", PageRequest.of(0, 1));
+
+        assertEquals(1, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertFalse(repository.findSliceBy(PageRequest.of(1, 3)).hasNext(), "La segunda página de 3 contiene el último punto");
+    }
+
+    @Test
+    void save_ShouldFillFoldedSearchKeys() {
+        Page<WifiAccessPointDto> page = repository.findByAlcaldiaKey("coyoacan", PageRequest.of(0, 10));
+
+        assertEquals(1, page.getTotalElements(), "La llave de 'Coyoacán' se calcula al guardar");
+        assertEquals("COYOACAN", page.getContent().get(0).getIdgob());
+        assertEquals("coyoacan", repository.findById(page.getContent().get(0).getId()).get().getColoniaKey());
+        assertEquals(3, repository.findByAlcaldiaKey("cuauhtemoc", PageRequest.of(0, 10)).getTotalElements(),
+                "Zócalo, Bellas Artes y Condesa están en Cuauhtémoc");
+    }
+
+    @Test
+    void findSliceByProximity_ShouldOrderByDistanceThenByRequestedProperties() {
+        double latitude = 19.432608;
+        double longitude = -99.133209;
+        BoundingBox box = BoundingBox.around(latitude, longitude, 20);
+
+        Slice<WifiAccessPointDto> slice = repository.findSliceByProximity(latitude, longitude, 20,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(),
+                PageRequest.of(0, 10, Sort.by(Sort.Order.desc("colonia").ignoreCase())));
+
+        assertEquals(4, slice.getNumberOfElements());
+        assertEquals("ZOCALO", slice.getContent().get(0).getIdgob(), "La distancia es el primer criterio");
+        assertEquals("COYOACAN", slice.getContent().get(3).getIdgob());
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> repository.findSliceByProximity(latitude, longitude, 20,
+                box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude(),
+                PageRequest.of(0, 10, Sort.by("distancia; DROP TABLE wifi_access_points"))));
+    }
+
+    @Test
+    void findDtoById_ShouldParseInstallationDateOnce() {
+        Page<WifiAccessPointDto> all = repository.findAllBy(PageRequest.of(0, 10, Sort.by("id")));
+
+        assertEquals(4, all.getTotalElements());
+        assertNull(all.getContent().get(0).getFecha_instalacion(), "Sin fecha no hay valor");
+        WifiAccessPointDto condesa = repository.findDtoById(all.getContent().get(2).getId()).get();
+        assertEquals(LocalDate.of(2023, 5, 1), condesa.getFecha_instalacion());
+        assertEquals(LocalDate.of(2024, 1, 15), all.getContent().get(3).getFecha_instalacion(),
+                "También se admite el formato DD/MM/AAAA");
+        assertFalse(repository.findDtoById(-1L).isPresent());
+    }
+}
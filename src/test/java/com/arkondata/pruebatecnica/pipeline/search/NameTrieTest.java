@@ -0,0 +1,43 @@
+package com.arkondata.pruebatecnica.pipeline.search;
+
+import com.arkondata.pruebatecnica.pipeline.model.dto.NameSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de pruebas para {@link NameFolding} y {@link NameTrie}.
+ */
+public class NameTrieTest {
+
+    @Test
+    void fold_ShouldIgnoreAccentsCaseAndPunctuation() {
+        assertEquals("alvaro obregon", NameFolding.fold("ÁLVARO OBREGÓN"));
+        assertEquals("alvaro obregon", NameFolding.fold("  alvaro--Obregon "));
+        // Acento como carácter combinante (NFD) y eñe
+        assertEquals("obregon pena", NameFolding.fold("Obrego\u0301n Pen\u0303a"));
+        assertEquals("san pablo i ii y v lomas del paraiso", NameFolding.fold("SAN PABLO I, II Y V-LOMAS DEL PARAISO"));
+        assertNull(NameFolding.fold(" - "));
+        assertNull(NameFolding.fold(null));
+    }
+
+    @Test
+    void suggest_ShouldReturnNamesWithPrefixInKeyOrder() {
+        NameTrie trie = new NameTrie();
+        for (String name : new String[]{"ÁLVARO OBREGÓN", "AGRÍCOLA ORIENTAL", "ALAMOS", "ALAMEDA", "Álamos", "CENTRO"}) {
+            trie.add(NameFolding.fold(name), name, 1);
+        }
+
+        List<NameSuggestion> suggestions = trie.suggest(NameFolding.fold("Ala"), 10);
+
+        assertEquals(5, trie.size(), "'ALAMOS' y 'Álamos' comparten llave");
+        assertEquals(2, suggestions.size());
+        assertEquals("ALAMEDA", suggestions.get(0).getName());
+        assertEquals("Álamos", suggestions.get(1).getName(), "La última escritura de una llave la reemplaza");
+        assertEquals(1, trie.suggest("a", 1).size(), "El límite se respeta");
+        assertTrue(trie.suggest("x", 10).isEmpty());
+        assertEquals("ÁLVARO OBREGÓN", trie.suggest("alvaro ob", 10).get(0).getName());
+    }
+}
@@ -0,0 +1,173 @@
+package com.arkondata.pruebatecnica.pipeline.service;
+
+import com.arkondata.pruebatecnica.pipeline.geo.BoundingBox;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.impl.DatabaseProximityEngine;
+import com.arkondata.pruebatecnica.pipeline.service.impl.InMemoryProximityEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link InMemoryProximityEngine} contra
+ * {@link DatabaseProximityEngine} sobre la base de datos H2 en memoria.
+ * <p>
+ * Ambos motores deben devolver las mismas páginas en el mismo orden, de modo
+ * que cambiar {@code pipeline.proximity.engine} no altere las respuestas de
+ * la API.
+ * </p>
+ */
+@DataJpaTest
+public class InMemoryProximityEngineTest {
+
+    private static final double LATITUDE = 19.432608;
+    private static final double LONGITUDE = -99.133209;
+
+    /**
+     * Rectángulo alrededor del Centro que deja fuera a la Condesa.
+     */
+    private static final BoundingBox CENTRO = new BoundingBox(19.42, 19.44, -99.15, -99.13);
+
+    @Autowired
+    private WifiAccessPointRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private InMemoryProximityEngine memory;
+
+    private DatabaseProximityEngine database;
+
+    @BeforeEach
+    void setUp() {
+        // Varios puntos comparten coordenadas para que el orden de la página desempate distancias iguales.
+        repository.save(new WifiAccessPoint("CENTRO-B", "Mi_Calle", null, LATITUDE, LONGITUDE, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("ALAMEDA", "Mi_Calle", null, 19.4355, -99.1412, "Centro", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("CENTRO-A", "Mi_Calle", null, LATITUDE, LONGITUDE, "centro", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("CONDESA", "Mi_Calle", null, 19.411970, -99.163390, "CONDESA", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("BELLAS ARTES-2", "Mi_Calle", null, 19.4352, -99.1413, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("CENTRO-C", "Mi_Calle", null, LATITUDE, LONGITUDE, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("BELLAS ARTES-1", "Mi_Calle", null, 19.4352, -99.1413, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("SAN JOSE-01", "Mi_Calle", null, null, null, "SAN JOSE", "Tláhuac"));
+
+        WifiAccessPointDataset dataset = new WifiAccessPointDataset(new JdbcTemplate(dataSource), new double[]{0.01, 0.1}, 40, 512, 16);
+        dataset.rebuild();
+        memory = new InMemoryProximityEngine(repository, dataset);
+        database = new DatabaseProximityEngine(repository);
+    }
+
+    @Test
+    void findByProximity_ShouldMatchDatabaseOrderForSortedPages() {
+        for (Sort sort : sorts()) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 3, sort);
+                Page<WifiAccessPointDto> expected = database.findByProximity(LATITUDE, LONGITUDE, 5, pageable);
+                Page<WifiAccessPointDto> actual = memory.findByProximity(LATITUDE, LONGITUDE, 5, pageable);
+
+                assertEquals(idgobs(expected), idgobs(actual), "Orden " + sort + ", página " + page);
+                assertEquals(expected.getTotalElements(), actual.getTotalElements());
+            }
+        }
+    }
+
+    @Test
+    void findSliceByProximity_ShouldMatchDatabaseOrderForSortedPages() {
+        for (Sort sort : sorts()) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 3, sort);
+                Slice<WifiAccessPointDto> expected = database.findSliceByProximity(LATITUDE, LONGITUDE, 5, pageable);
+                Slice<WifiAccessPointDto> actual = memory.findSliceByProximity(LATITUDE, LONGITUDE, 5, pageable);
+
+                assertEquals(idgobs(expected), idgobs(actual), "Orden " + sort + ", página " + page);
+                assertEquals(expected.hasNext(), actual.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void findByProximity_ShouldKeepDistanceOrderBeforeRequestedSort() {
+        Page<WifiAccessPointDto> page = memory.findByProximity(LATITUDE, LONGITUDE, 5,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "idgob")));
+
+        List<String> idgobs = idgobs(page);
+        assertEquals(7, idgobs.size());
+        assertEquals(Arrays.asList("CENTRO-C", "CENTRO-B", "CENTRO-A"), idgobs.subList(0, 3),
+                "Los puntos en el origen van primero aunque el orden pedido los pondría al final");
+        assertEquals("CONDESA", idgobs.get(6), "El punto más lejano va al final");
+    }
+
+    @Test
+    void findWithin_ShouldMatchDatabaseOrderForSortedPages() {
+        for (Sort sort : sorts()) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 4, sort);
+                Page<WifiAccessPointDto> expected = database.findWithin(CENTRO, pageable);
+                Page<WifiAccessPointDto> actual = memory.findWithin(CENTRO, pageable);
+
+                assertEquals(idgobs(expected), idgobs(actual), "Orden " + sort + ", página " + page);
+                assertEquals(expected.getTotalElements(), actual.getTotalElements());
+            }
+        }
+    }
+
+    @Test
+    void findSliceWithin_ShouldMatchDatabaseOrderForSortedPages() {
+        for (Sort sort : sorts()) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 4, sort);
+                Slice<WifiAccessPointDto> expected = database.findSliceWithin(CENTRO, pageable);
+                Slice<WifiAccessPointDto> actual = memory.findSliceWithin(CENTRO, pageable);
+
+                assertEquals(idgobs(expected), idgobs(actual), "Orden " + sort + ", página " + page);
+                assertEquals(expected.hasNext(), actual.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void findWithin_ShouldSortEveryPointInTheBox() {
+        Page<WifiAccessPointDto> page = memory.findWithin(CENTRO,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "idgob")));
+
+        assertEquals(Arrays.asList("CENTRO-C", "CENTRO-B", "CENTRO-A", "BELLAS ARTES-2", "BELLAS ARTES-1", "ALAMEDA"),
+                idgobs(page));
+    }
+
+    /**
+     * Órdenes que determinan por completo la página; sin orden, SQL no define
+     * cómo quedan los empates.
+     */
+    private static List<Sort> sorts() {
+        List<Sort> sorts = new ArrayList<>();
+        sorts.add(Sort.by("idgob"));
+        sorts.add(Sort.by(Sort.Direction.DESC, "idgob"));
+        sorts.add(Sort.by(Sort.Order.asc("colonia").ignoreCase(), Sort.Order.desc("id")));
+        sorts.add(Sort.by(Sort.Order.desc("latitud"), Sort.Order.asc("longitud"), Sort.Order.asc("idgob")));
+        return sorts;
+    }
+
+    private static List<String> idgobs(Slice<WifiAccessPointDto> slice) {
+        List<String> idgobs = new ArrayList<>();
+        for (WifiAccessPointDto point : slice) {
+            idgobs.add(point.getIdgob());
+        }
+        return idgobs;
+    }
+}
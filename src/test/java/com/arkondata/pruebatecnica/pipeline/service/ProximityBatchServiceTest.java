@@ -0,0 +1,95 @@
+package com.arkondata.pruebatecnica.pipeline.service;
+
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidProximityBatchException;
+import com.arkondata.pruebatecnica.pipeline.model.dto.ProximityOrigin;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.service.impl.ProximityBatchServiceImpl;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de pruebas para {@link ProximityBatchServiceImpl}.
+ * <p>
+ * Usa un motor de proximidad simulado que responde con la latitud de cada
+ * origen como distancia, para verificar que los resultados del lote, resuelto
+ * en varios hilos, regresan en el orden de los orígenes.
+ * </p>
+ */
+public class ProximityBatchServiceTest {
+
+    @Mock
+    private IProximityEngine proximityEngine;
+
+    private ProximityBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(proximityEngine.findNearest(anyDouble(), anyDouble(), anyInt(), anyDouble())).thenAnswer(invocation -> {
+            WifiAccessPointDto point = new WifiAccessPointDto(null, null, null, null, invocation.getArgument(0),
+                    invocation.getArgument(1), null, null);
+            return Collections.singletonList(new WifiAccessPointDistance(point, invocation.getArgument(0)));
+        });
+        service = new ProximityBatchServiceImpl(proximityEngine, 4, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void findNearest_ShouldAnswerEveryOriginInInputOrder() {
+        Random random = new Random(3);
+        List<ProximityOrigin> origins = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            origins.add(new ProximityOrigin(19.2 + random.nextDouble() * 0.4, -99.3 + random.nextDouble() * 0.4,
+                    i % 3 == 0 ? 1.5 : null, i % 2 == 0 ? 10 : null));
+        }
+
+        List<List<WifiAccessPointDistance>> results = service.findNearest(origins);
+
+        assertEquals(origins.size(), results.size());
+        for (int i = 0; i < origins.size(); i++) {
+            assertEquals(origins.get(i).getLatitude(), results.get(i).get(0).getDistance());
+        }
+        ProximityOrigin first = origins.get(0);
+        verify(proximityEngine).findNearest(first.getLatitude(), first.getLongitude(), 10, 1.5);
+        ProximityOrigin second = origins.get(1);
+        verify(proximityEngine).findNearest(second.getLatitude(), second.getLongitude(), 5, Double.POSITIVE_INFINITY);
+        verify(proximityEngine, times(origins.size())).findNearest(anyDouble(), anyDouble(), anyInt(), anyDouble());
+    }
+
+    @Test
+    void findNearest_ShouldRejectInvalidBatches() {
+        ProximityOrigin valid = new ProximityOrigin(19.43, -99.13, null, null);
+
+        assertThrows(InvalidProximityBatchException.class,
+                () -> service.findNearest(Collections.nCopies(501, valid)));
+        assertThrows(InvalidProximityBatchException.class,
+                () -> service.findNearest(Arrays.asList(valid, new ProximityOrigin(null, -99.13, null, null))));
+        assertThrows(InvalidProximityBatchException.class,
+                () -> service.findNearest(Arrays.asList(valid, new ProximityOrigin(91.0, -99.13, null, null))));
+        assertThrows(InvalidProximityBatchException.class,
+                () -> service.findNearest(Arrays.asList(valid, new ProximityOrigin(19.43, -99.13, 0.0, null))));
+        assertThrows(InvalidProximityBatchException.class,
+                () -> service.findNearest(Arrays.asList(valid, new ProximityOrigin(19.43, -99.13, null, 101))));
+        assertTrue(service.findNearest(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(proximityEngine);
+    }
+}
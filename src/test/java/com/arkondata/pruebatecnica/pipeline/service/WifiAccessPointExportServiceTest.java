@@ -0,0 +1,96 @@
+package com.arkondata.pruebatecnica.pipeline.service;
+
+import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.impl.WifiAccessPointExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link WifiAccessPointExportServiceImpl} sobre la base de datos
+ * H2 en memoria, con un tamaño de lectura menor al número de filas.
+ */
+@DataJpaTest
+public class WifiAccessPointExportServiceTest {
+
+    @Autowired
+    private WifiAccessPointRepository repository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private WifiAccessPointExportServiceImpl exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new WifiAccessPointExportServiceImpl(dataSource, objectMapper, 2);
+        repository.save(new WifiAccessPoint("ZOCALO", "Mi_Calle", null, 19.432608, -99.133209, "CENTRO", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("SAN JOSE-01", "Mi_Calle", null, null, null, "SAN JOSE \"A\",\n(AGUSTIN LARA)", "Tláhuac"));
+        repository.save(new WifiAccessPoint("CONDESA", "Mi_Calle", "2024-01-01", 19.411970, -99.163390, "CONDESA", "Cuauhtémoc"));
+    }
+
+    @Test
+    void export_ShouldNormalizeInstallationDateLikeTheJsonResponses() throws IOException {
+        repository.save(new WifiAccessPoint("ROMA", "Mi_Calle", "15/01/2023", 19.41, -99.16, "ROMA NORTE", "Cuauhtémoc"));
+        repository.save(new WifiAccessPoint("POLANCO", "Mi_Calle", "enero de 2023", 19.43, -99.19, "POLANCO", "Miguel Hidalgo"));
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        exporter.exportNdjson(ndjson);
+        exporter.exportCsv(csv);
+
+        String[] lines = new String(ndjson.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals("2023-01-15", objectMapper.readTree(lines[3]).get("fecha_instalacion").asText());
+        assertTrue(objectMapper.readTree(lines[4]).get("fecha_instalacion").isNull(), "Un formato desconocido se exporta como null");
+        String text = new String(csv.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(text.contains(",ROMA,Mi_Calle,2023-01-15,"));
+        assertTrue(text.contains(",POLANCO,Mi_Calle,,"));
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportNdjson(out);
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, rows);
+        assertEquals(4, lines.length, "Tres líneas terminadas en salto de línea");
+        assertEquals("", lines[3]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("ZOCALO", first.get("idgob").asText());
+        assertEquals(19.432608, first.get("latitud").asDouble(), 0);
+        assertEquals("Cuauhtémoc", first.get("alcaldia").asText());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertTrue(second.get("latitud").isNull(), "Las coordenadas vacías se exportan como null");
+        assertEquals("SAN JOSE \"A\",\n(AGUSTIN LARA)", second.get("colonia").asText());
+        assertTrue(first.get("id").asLong() < second.get("id").asLong(), "Las filas se exportan en orden de ID");
+    }
+
+    @Test
+    void exportCsv_ShouldQuoteOnlyWhenNeeded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exporter.exportCsv(out);
+
+        String csv = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(3, rows);
+        assertTrue(csv.startsWith("id,idgob,programa,fecha_instalacion,latitud,longitud,colonia,alcaldia\r\n"));
+        assertTrue(csv.contains(",ZOCALO,Mi_Calle,,19.432608,-99.133209,CENTRO,Cuauhtémoc\r\n"));
+        assertTrue(csv.contains(",SAN JOSE-01,Mi_Calle,,,,\"SAN JOSE \"\"A\"\",\n(AGUSTIN LARA)\",Tláhuac\r\n"));
+        assertTrue(csv.endsWith(",CONDESA,Mi_Calle,2024-01-01,19.41197,-99.16339,CONDESA,Cuauhtémoc\r\n"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.arkondata.pruebatecnica.pipeline.service;
+
+import com.arkondata.pruebatecnica.pipeline.config.CacheConfig;
+import com.arkondata.pruebatecnica.pipeline.index.BoundaryCatalog;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetLoadedEvent;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.impl.WifiAccessPointServiceImpl;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IProximityEngine;
+import com.arkondata.pruebatecnica.pipeline.service.interfaces.IWifiAccessPointService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la caché de {@link WifiAccessPointServiceImpl}.
+ * <p>
+ * Levanta sólo el servicio, la configuración de caché y la autoconfiguración
+ * de Spring Cache, con el repositorio simulado, para verificar los aciertos y
+ * la invalidación al recargar los datos.
+ * </p>
+ */
+@SpringBootTest(classes = {CacheConfig.class, WifiAccessPointServiceImpl.class},
+        properties = "spring.cache.caffeine.spec=maximumSize=100,recordStats")
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+public class WifiAccessPointServiceCacheTest {
+
+    @Autowired
+    private IWifiAccessPointService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    private WifiAccessPointRepository repository;
+
+    @MockBean
+    private IProximityEngine proximityEngine;
+
+    @MockBean(name = "wifiAccessPointDataset")
+    private WifiAccessPointDataset dataset;
+
+    @MockBean
+    private BoundaryCatalog boundaries;
+
+    @Test
+    void findById_ShouldHitCacheUntilDatasetIsReloaded() {
+        WifiAccessPointDto point = new WifiAccessPointDto(7L, null, null, null, null, null, null, null);
+        when(repository.findDtoById(7L)).thenReturn(Optional.of(point));
+
+        service.findById(7L);
+        service.findById(7L);
+        verify(repository, times(1)).findDtoById(7L);
+
+        // Una recarga de datos vacía la caché
+        eventPublisher.publishEvent(new DatasetLoadedEvent(this, null));
+        service.findById(7L);
+        verify(repository, times(2)).findDtoById(7L);
+
+        CacheStats stats = ((CaffeineCache) cacheManager.getCache(CacheConfig.BY_ID)).getNativeCache().stats();
+        assertEquals(1, stats.hitCount(), "Las estadísticas deben registrar los aciertos");
+        assertEquals(2, stats.missCount());
+    }
+
+    @Test
+    @DirtiesContext
+    void findById_ShouldMissAfterNewDatasetVersionIsPublished() {
+        WifiAccessPointDto point = new WifiAccessPointDto(8L, null, null, null, null, null, null, null);
+        when(repository.findDtoById(8L)).thenReturn(Optional.of(point));
+        when(dataset.currentNumber()).thenReturn(1L);
+
+        service.findById(8L);
+        service.findById(8L);
+        verify(repository, times(1)).findDtoById(8L);
+
+        // Una entrada de la versión anterior no se sirve aunque la caché aún no se haya vaciado
+        when(dataset.currentNumber()).thenReturn(2L);
+        service.findById(8L);
+        verify(repository, times(2)).findDtoById(8L);
+    }
+
+    @Test
+    void findByColonia_ShouldShareEntryAcrossSpellings() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findByColoniaKey("alvaro obregon", pageable)).thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        service.findByColonia("Álvaro Obregón", pageable);
+        service.findByColonia("ALVARO OBREGON", pageable);
+
+        verify(repository, times(1)).findByColoniaKey("alvaro obregon", pageable);
+    }
+}
@@ -1,16 +1,36 @@
 package com.arkondata.pruebatecnica.pipeline.service;
 
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidBoundingBoxException;
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidCursorException;
+import com.arkondata.pruebatecnica.pipeline.exception.InvalidPolygonException;
 import com.arkondata.pruebatecnica.pipeline.exception.ResourceNotFoundException;
-import com.arkondata.pruebatecnica.pipeline.model.entity.WifiAccessPoint;
+import com.arkondata.pruebatecnica.pipeline.exception.ResultWindowTooLargeException;
+import com.arkondata.pruebatecnica.pipeline.exception.UnknownBoundaryException;
+import com.arkondata.pruebatecnica.pipeline.geo.GeoJsonPolygons;
+import com.arkondata.pruebatecnica.pipeline.geo.Polygon;
+import com.arkondata.pruebatecnica.pipeline.index.BoundaryCatalog;
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.model.dto.CursorPage;
+import com.arkondata.pruebatecnica.pipeline.model.dto.GeoJsonGeometry;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDistance;
+import com.arkondata.pruebatecnica.pipeline.model.dto.WifiAccessPointDto;
+import com.arkondata.pruebatecnica.pipeline.pagination.KeysetCursor;
 import com.arkondata.pruebatecnica.pipeline.repository.WifiAccessPointRepository;
+import com.arkondata.pruebatecnica.pipeline.service.impl.DatabaseProximityEngine;
 import com.arkondata.pruebatecnica.pipeline.service.impl.WifiAccessPointServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,21 +53,27 @@ public class WifiAccessPointServiceTest {
     @Mock
     private WifiAccessPointRepository repository;
 
+    @Mock
+    private WifiAccessPointDataset dataset;
+
+    @Mock
+    private BoundaryCatalog boundaries;
+
     @BeforeEach
     void setUp() {
         // Inicializa los mocks y el servicio a probar antes de cada test
         MockitoAnnotations.openMocks(this);
-        service = new WifiAccessPointServiceImpl(repository);
+        service = new WifiAccessPointServiceImpl(repository, new DatabaseProximityEngine(repository), dataset, boundaries, 4096, 10000, 100);
     }
 
     @Test
     void findAll_ShouldReturnPageOfWifiAccessPoints() {
         // Prepara el entorno de prueba configurando el mock del repositorio
         Pageable pageable = PageRequest.of(0, 10);
-        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(mockListOfWifiAccessPoints()));
+        when(repository.findAllBy(pageable)).thenReturn(new PageImpl<>(mockListOfWifiAccessPoints()));
 
         // Ejecuta el método a probar
-        Page<WifiAccessPoint> result = service.findAll(pageable);
+        Page<WifiAccessPointDto> result = service.findAll(pageable);
 
         // Verifica los resultados y las interacciones esperadas
         assertNotNull(result, "El resultado no debe ser null");
@@ -56,14 +82,13 @@ public class WifiAccessPointServiceTest {
 
     @Test
     void findById_ShouldReturnWifiAccessPointWhenExists() {
-        // Configura el mock del repositorio para devolver un WifiAccessPoint existente
+        // Configura el mock del repositorio para devolver un WifiAccessPointDto existente
         Long id = 1L;
-        WifiAccessPoint wifiAccessPoint = new WifiAccessPoint();
-        wifiAccessPoint.setId(id);
-        when(repository.findById(id)).thenReturn(Optional.of(wifiAccessPoint));
+        WifiAccessPointDto wifiAccessPoint = new WifiAccessPointDto(id, null, null, null, null, null, null, null);
+        when(repository.findDtoById(id)).thenReturn(Optional.of(wifiAccessPoint));
 
         // Ejecuta el método a probar
-        WifiAccessPoint result = service.findById(id);
+        WifiAccessPointDto result = service.findById(id);
 
         // Verifica que el resultado sea el esperado
         assertNotNull(result, "El punto de acceso WiFi encontrado no debe ser null");
@@ -72,33 +97,141 @@ public class WifiAccessPointServiceTest {
 
     @Test
     void findById_ShouldThrowResourceNotFoundExceptionWhenDoesNotExist() {
-        // Configura el mock del repositorio para simular que el WifiAccessPoint no existe
+        // Configura el mock del repositorio para simular que el WifiAccessPointDto no existe
         Long id = 1L;
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findDtoById(id)).thenReturn(Optional.empty());
 
         // Verifica que se lance la excepción esperada cuando el recurso no existe
         assertThrows(ResourceNotFoundException.class, () -> service.findById(id), "Se debe lanzar ResourceNotFoundException cuando el punto de acceso WiFi no existe");
     }
 
+    @Test
+    void findByColonia_ShouldSearchByFoldedKey() {
+        // El nombre capturado sin acentos y en minúsculas se busca por su llave normalizada
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.findByColoniaKey("alvaro obregon", pageable)).thenReturn(new PageImpl<>(mockListOfWifiAccessPoints()));
+
+        Page<WifiAccessPointDto> result = service.findByColonia("  Álvaro  OBREGÓN ", pageable);
+
+        assertEquals(10, result.getContent().size());
+        verify(repository).findByColoniaKey("alvaro obregon", pageable);
+    }
+
+    @Test
+    void findAfter_ShouldSeekFromCursorAndReturnNextCursor() {
+        // Se piden 3 puntos después del id 4; el repositorio devuelve 4 filas, por lo que hay página siguiente
+        List<WifiAccessPointDto> rows = mockListOfWifiAccessPoints().subList(4, 8);
+        when(repository.findByIdGreaterThanOrderByIdAsc(4L, PageRequest.of(0, 4))).thenReturn(rows);
+
+        CursorPage<WifiAccessPointDto> page = service.findAfter(KeysetCursor.encode(4), 3);
+
+        assertEquals(3, page.getContent().size(), "La fila adicional no debe incluirse en la página");
+        assertEquals(KeysetCursor.encode(7), page.getNext(), "El cursor siguiente apunta al último id entregado");
+    }
+
+    @Test
+    void findAfter_ShouldStartAtFirstRowAndEndWithoutCursor() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 21))).thenReturn(mockListOfWifiAccessPoints());
+
+        CursorPage<WifiAccessPointDto> page = service.findAfter("", 20);
+
+        assertEquals(10, page.getContent().size());
+        assertNull(page.getNext(), "La última página no debe tener cursor siguiente");
+    }
+
+    @Test
+    void findAfter_ShouldRejectForeignCursor() {
+        assertThrows(InvalidCursorException.class, () -> service.findAfter("no-es-un-cursor", 20));
+        assertThrows(InvalidCursorException.class, () -> service.findAfter("MTIz", 20), "Un Base64 válido sin la llave de orden también se rechaza");
+    }
+
+    @Test
+    void findNearest_ShouldWidenRadiusUntilKPointsAreFound() {
+        // La primera consulta (1 km) encuentra 2 puntos y la segunda (2 km) los 3 solicitados
+        List<WifiAccessPointDto> points = mockListOfWifiAccessPoints().subList(0, 3);
+        when(repository.findSliceByProximity(anyDouble(), anyDouble(), eq(1d), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(points.subList(0, 2), PageRequest.of(0, 3), false));
+        when(repository.findSliceByProximity(anyDouble(), anyDouble(), eq(2d), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(points, PageRequest.of(0, 3), true));
+
+        List<WifiAccessPointDistance> result = service.findNearest(19.432608, -99.133209, 3);
+
+        assertEquals(3, result.size(), "Se deben devolver los 3 puntos solicitados");
+        assertEquals(1L, result.get(0).getAccessPoint().getId());
+        assertTrue(result.get(0).getDistance() > 0, "Cada punto debe incluir su distancia");
+        verify(repository, times(2)).findSliceByProximity(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class));
+        verify(repository, never()).findByProximity(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class));
+    }
+
+    @Test
+    void findWithin_ShouldQueryRangeAndGuardResultWindow() {
+        Pageable pageable = PageRequest.of(2, 100);
+        when(repository.findByLatitudBetweenAndLongitudBetween(19.40, 19.44, -99.18, -99.12, pageable))
+                .thenReturn(new PageImpl<>(mockListOfWifiAccessPoints(), pageable, 210));
+
+        Page<WifiAccessPointDto> result = service.findWithin(19.40, -99.18, 19.44, -99.12, pageable);
+
+        assertEquals(210, result.getTotalElements());
+        assertThrows(InvalidBoundingBoxException.class,
+                () -> service.findWithin(19.44, -99.18, 19.40, -99.12, pageable), "El sur no puede estar al norte");
+        assertThrows(ResultWindowTooLargeException.class,
+                () -> service.findSliceWithin(19.40, -99.18, 19.44, -99.12, PageRequest.of(100, 100)),
+                "La página 100 de 100 llega al resultado 10100");
+        assertThrows(ResultWindowTooLargeException.class,
+                () -> service.findWithin(19.40, -99.18, 19.44, -99.12, Pageable.unpaged()));
+        verify(repository, times(1)).findByLatitudBetweenAndLongitudBetween(anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class));
+        verify(repository, never()).findSliceByLatitudBetweenAndLongitudBetween(anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Pageable.class));
+    }
+
+    @Test
+    void findInBoundary_ShouldRefineRectangleCandidatesWithPolygon() throws IOException {
+        // Triángulo cuyo rectángulo contiene los puntos 1 a 3 y cuya hipotenusa deja fuera al 3
+        GeoJsonGeometry triangle = new GeoJsonGeometry("Polygon", new ObjectMapper().readTree(
+                "[[[-98.2, 20.3], [-96.0, 20.3], [-98.2, 23.0], [-98.2, 20.3]]]"));
+        Polygon polygon = GeoJsonPolygons.read(triangle.getType(), triangle.getCoordinates());
+        List<WifiAccessPointDto> candidates = mockListOfWifiAccessPoints().subList(0, 3);
+        when(repository.findByLatitudBetweenAndLongitudBetween(anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(Pageable.unpaged())))
+                .thenReturn(new PageImpl<>(candidates));
+        when(boundaries.alcaldia("Cuauhtémoc")).thenReturn(Collections.singletonList(polygon));
+        when(boundaries.alcaldia("Centro")).thenReturn(Collections.emptyList());
+        when(boundaries.colonia("Centro")).thenReturn(Arrays.asList(polygon, polygon));
+
+        Page<WifiAccessPointDto> alcaldia = service.findInBoundary("Cuauhtémoc", null, PageRequest.of(0, 10));
+        assertEquals(2, alcaldia.getTotalElements(), "El punto 3 está en el rectángulo pero fuera del triángulo");
+        assertEquals(1L, alcaldia.getContent().get(0).getId());
+        assertEquals(2, service.findSliceInBoundary("Centro", null, PageRequest.of(0, 10)).getNumberOfElements(),
+                "Sin capa se busca después entre las colonias, sin repetir puntos");
+        assertEquals(2, service.findInPolygon(triangle, PageRequest.of(0, 10)).getTotalElements());
+        assertThrows(UnknownBoundaryException.class, () -> service.findInBoundary("Cuauhtémoc", "colonia", PageRequest.of(0, 10)));
+        assertThrows(InvalidPolygonException.class,
+                () -> service.findInPolygon(new GeoJsonGeometry("Point", triangle.getCoordinates()), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void findInPolygon_ShouldRejectPolygonsWithTooManyVertices() {
+        ArrayNode ring = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i <= 101; i++) {
+            double angle = 2 * Math.PI * i / 101;
+            ring.addArray().add(-99.13 + 0.01 * Math.cos(angle)).add(19.43 + 0.01 * Math.sin(angle));
+        }
+        GeoJsonGeometry circle = new GeoJsonGeometry("Polygon", JsonNodeFactory.instance.arrayNode().add(ring));
+
+        assertThrows(InvalidPolygonException.class, () -> service.findInPolygon(circle, PageRequest.of(0, 10)),
+                "El máximo configurado en la prueba es de 100 vértices");
+        verifyNoInteractions(repository);
+    }
+
     /**
-     * Crea una lista ficticia de objetos WifiAccessPoint para las pruebas.
+     * Crea una lista ficticia de objetos WifiAccessPointDto para las pruebas.
      *
-     * @return Lista de objetos WifiAccessPoint simulados.
+     * @return Lista de objetos WifiAccessPointDto simulados.
      */
-    private List<WifiAccessPoint> mockListOfWifiAccessPoints() {
-        List<WifiAccessPoint> accessPoints = new ArrayList<>();
+    private List<WifiAccessPointDto> mockListOfWifiAccessPoints() {
+        List<WifiAccessPointDto> accessPoints = new ArrayList<>();
         for (int i = 1; i <= 10; i++) {
-            WifiAccessPoint point = new WifiAccessPoint();
             // Configura los atributos del punto de acceso con valores de prueba
-            point.setId((long) i);
-            point.setIdgob("IDGOB" + i);
-            point.setPrograma("Programa" + i);
-            point.setFecha_instalacion("2024-01-01");
-            point.setLatitud(19.432608 + i);
-            point.setLongitud(-99.133209 + i);
-            point.setColonia("Colonia" + i);
-            point.setAlcaldia("Alcaldía" + i);
-            accessPoints.add(point);
+            accessPoints.add(new WifiAccessPointDto((long) i, "IDGOB" + i, "Programa" + i, "2024-01-01",
+                    19.432608 + i, -99.133209 + i, "Colonia" + i, "Alcaldía" + i));
         }
         return accessPoints;
     }
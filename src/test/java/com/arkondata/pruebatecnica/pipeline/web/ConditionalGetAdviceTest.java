@@ -0,0 +1,140 @@
+package com.arkondata.pruebatecnica.pipeline.web;
+
+import com.arkondata.pruebatecnica.pipeline.index.WifiAccessPointDataset;
+import com.arkondata.pruebatecnica.pipeline.ingest.DatasetReloadJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de {@link ConditionalGetAdvice} con peticiones simuladas.
+ */
+public class ConditionalGetAdviceTest {
+
+    private WifiAccessPointDataset dataset;
+
+    private DatasetReloadJob reloadJob;
+
+    private ConditionalGetAdvice advice;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataset = mock(WifiAccessPointDataset.class);
+        reloadJob = mock(DatasetReloadJob.class);
+        ObjectProvider<DatasetReloadJob> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(reloadJob);
+        when(reloadJob.getNextCheck()).thenReturn(Instant.now().plusSeconds(600));
+        when(dataset.currentNumber()).thenReturn(3L);
+        advice = new ConditionalGetAdvice(dataset, provider, 3600);
+    }
+
+    @Test
+    void preHandle_ShouldAnswerNotModifiedForSameVersionAndParameters() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        String etag = get("latitude=19.43&longitude=-99.13&distance=1", null, first);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+        String cacheControl = first.getHeader(HttpHeaders.CACHE_CONTROL);
+        assertTrue(cacheControl.contains("public"));
+        // La recarga se revisa en diez minutos, antes que el máximo de una hora
+        long maxAge = Long.parseLong(cacheControl.replaceAll(".*max-age=(\\d+).*", "$1"));
+        assertTrue(maxAge > 590 && maxAge <= 600, cacheControl);
+
+        MockHttpServletRequest repeat = request("latitude=19.43&longitude=-99.13&distance=1");
+        repeat.addHeader(HttpHeaders.IF_NONE_MATCH, "\"otro\", " + etag);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertFalse(advice.preHandle(repeat, notModified, null));
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+
+        // Otros parámetros, otro formato u otra versión cambian el ETag
+        assertNotEquals(etag, get("latitude=19.43&longitude=-99.13&distance=2", null, new MockHttpServletResponse()));
+        assertNotEquals(etag, get("latitude=19.43&longitude=-99.13&distance=1", "application/octet-stream",
+                new MockHttpServletResponse()));
+        when(dataset.currentNumber()).thenReturn(4L);
+        MockHttpServletRequest stale = request("latitude=19.43&longitude=-99.13&distance=1");
+        stale.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertTrue(advice.preHandle(stale, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreParameterOrderAndEncoding() {
+        String etag = get("latitude=19.43&longitude=-99.13&colonia=SAN%20JOSE", null, new MockHttpServletResponse());
+
+        assertEquals(etag, get("colonia=SAN+JOSE&longitude=-99.13&latitude=19.43", null, new MockHttpServletResponse()));
+        assertEquals(etag, get("longitude=-99.13&colonia=SAN%20JOS%45&latitude=19%2E43", null, new MockHttpServletResponse()));
+        // Un valor con separadores codificados no se confunde con otro parámetro
+        assertNotEquals(get("colonia=A&alcaldia=B", null, new MockHttpServletResponse()),
+                get("colonia=A%26alcaldia%3DB", null, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void beforeBodyWrite_ShouldSkipErrorsUnloadedDataAndVersionChanges() {
+        MockHttpServletRequest error = request("colonia=CENTRO");
+        MockHttpServletResponse errorResponse = new MockHttpServletResponse();
+        assertTrue(advice.preHandle(error, errorResponse, null));
+        errorResponse.setStatus(400);
+        write(error, errorResponse);
+        assertNull(errorResponse.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletRequest reloaded = request("colonia=CENTRO");
+        MockHttpServletResponse reloadedResponse = new MockHttpServletResponse();
+        assertTrue(advice.preHandle(reloaded, reloadedResponse, null));
+        when(dataset.currentNumber()).thenReturn(4L);
+        write(reloaded, reloadedResponse);
+        assertNull(reloadedResponse.getHeader(HttpHeaders.ETAG));
+
+        when(dataset.currentNumber()).thenReturn(0L);
+        assertNull(get("colonia=CENTRO", null, new MockHttpServletResponse()));
+    }
+
+    /**
+     * Atiende una petición GET sin {@code If-None-Match} y devuelve su
+     * {@code ETag}.
+     */
+    private String get(String query, String accept, MockHttpServletResponse response) {
+        MockHttpServletRequest request = request(query);
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        assertTrue(advice.preHandle(request, response, null));
+        write(request, response);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private void write(MockHttpServletRequest request, MockHttpServletResponse response) {
+        advice.beforeBodyWrite("cuerpo", null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+    }
+
+    /**
+     * Petición con la cadena de consulta y, como haría el contenedor, sus
+     * parámetros decodificados.
+     */
+    private static MockHttpServletRequest request(String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/wifi-access-points/proximity");
+        request.setQueryString(query);
+        UriComponentsBuilder.newInstance().query(query).build().getQueryParams()
+                .forEach((name, values) -> values.forEach(value -> request.addParameter(decode(name), decode(value))));
+        return request;
+    }
+
+    private static String decode(String text) {
+        return UriUtils.decode(text.replace('+', ' '), StandardCharsets.UTF_8);
+    }
+}